@@ -0,0 +1,428 @@
+package com.bc.fiduceo.benchmark;
+
+import com.bc.fiduceo.core.Sample;
+import com.bc.fiduceo.core.SatelliteObservation;
+import com.bc.fiduceo.core.Sensor;
+import com.bc.fiduceo.core.UseCaseConfig;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.matchup.MatchupSet;
+import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.reader.AcquisitionInfo;
+import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.util.TimeUtils;
+import ucar.ma2.ArrayByte;
+import ucar.ma2.ArrayFloat;
+import ucar.ma2.ArrayInt;
+import ucar.ma2.ArrayShort;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Attribute;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.bc.fiduceo.util.NetCDFUtils.CF_FILL_VALUE_NAME;
+import static com.bc.fiduceo.util.NetCDFUtils.CF_SCALE_FACTOR_NAME;
+import static com.bc.fiduceo.util.NetCDFUtils.CF_UNITS_NAME;
+
+/**
+ * Creates the synthetic input data used by the benchmarks. Geolocations are calculated from a circular
+ * sun-synchronous orbit, so no test data archive is needed to run the benchmarks. Files are written as
+ * NetCDF-3 to a temporary directory and do not depend on the netCDF C library.
+ */
+public class BenchmarkFixtures {
+
+    public static final String SENSOR_A = "bench-swath-a";
+    public static final String SENSOR_B = "bench-swath-b";
+
+    public static final int SWATH_WIDTH = 409;
+    public static final int SWATH_HEIGHT = 3000;
+    public static final int LINE_TIME_MILLIS = 500;
+
+    public static final int BOW_TIE_WIDTH = 1354;
+    public static final int BOW_TIE_STRIP_HEIGHT = 10;
+    public static final int BOW_TIE_HEIGHT = 40 * BOW_TIE_STRIP_HEIGHT;
+
+    public static final int SMAP_WIDTH = 1560;
+    public static final int SMAP_HEIGHT = 720;
+    public static final float SMAP_FILL_VALUE = -9999.f;
+
+    public static final float FILL_VALUE = -999.f;
+    public static final short VZA_FILL_VALUE = Short.MIN_VALUE;
+    public static final double VZA_SCALE = 0.01;
+
+    // 2010-06-01 10:00:00 UTC
+    public static final long START_MILLIS_A = 1275386400000L;
+    public static final long START_MILLIS_B = START_MILLIS_A + 600 * 1000L;
+    private static final double NODE_LON_A = 0.0;
+    private static final double NODE_LON_B = 10.0;
+
+    private static final double INCLINATION = Math.toRadians(98.7);
+    private static final double ORBIT_PERIOD_SECONDS = 6000.0;
+    private static final double EARTH_ROTATION_DEG_PER_SECOND = 360.0 / 86164.0;
+    private static final double SWATH_HALF_ANGLE = Math.toRadians(13.0);
+    private static final double FIRST_LINE_ANOMALY = Math.toRadians(-40.0);
+    private static final double BOW_TIE_HALF_ANGLE = Math.toRadians(10.5);
+    private static final double BOW_TIE_LINE_ANGLE = 1.0 / 6371.0;
+    private static final double MAX_VZA = 68.0;
+
+    public static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("mms-benchmark");
+    }
+
+    public static void deleteDirectory(Path directory) throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    public static Path writeSwathA(Path directory) throws IOException {
+        return writeSwath(directory.resolve(SENSOR_A + ".nc"), NODE_LON_A, START_MILLIS_A);
+    }
+
+    public static Path writeSwathB(Path directory) throws IOException {
+        return writeSwath(directory.resolve(SENSOR_B + ".nc"), NODE_LON_B, START_MILLIS_B);
+    }
+
+    /**
+     * Creates the longitude and latitude arrays of a swath with SWATH_WIDTH x SWATH_HEIGHT pixels.
+     *
+     * @param nodeLongitude the longitude of the ascending node
+     * @return lon and lat arrays [y][x]
+     */
+    public static ArrayFloat.D2[] createSwathGeolocation(double nodeLongitude) {
+        final ArrayFloat.D2 longitudes = new ArrayFloat.D2(SWATH_HEIGHT, SWATH_WIDTH);
+        final ArrayFloat.D2 latitudes = new ArrayFloat.D2(SWATH_HEIGHT, SWATH_WIDTH);
+        final double[] lonLat = new double[2];
+        for (int y = 0; y < SWATH_HEIGHT; y++) {
+            final double seconds = y * LINE_TIME_MILLIS / 1000.0;
+            final double anomaly = FIRST_LINE_ANOMALY + 2.0 * Math.PI * seconds / ORBIT_PERIOD_SECONDS;
+            for (int x = 0; x < SWATH_WIDTH; x++) {
+                geolocate(anomaly, crossTrackAngle(x, SWATH_WIDTH, SWATH_HALF_ANGLE), nodeLongitude, seconds, lonLat);
+                longitudes.set(y, x, (float) lonLat[0]);
+                latitudes.set(y, x, (float) lonLat[1]);
+            }
+        }
+        return new ArrayFloat.D2[]{longitudes, latitudes};
+    }
+
+    /**
+     * Creates the longitude and latitude arrays of a MODIS-like scan with BOW_TIE_WIDTH x BOW_TIE_HEIGHT pixels.
+     * Each strip of BOW_TIE_STRIP_HEIGHT lines widens along track towards the swath edges, so neighbouring strips
+     * overlap like the MODIS bow-tie.
+     *
+     * @return lon and lat arrays [y][x]
+     */
+    public static ArrayFloat.D2[] createBowTieGeolocation() {
+        final ArrayFloat.D2 longitudes = new ArrayFloat.D2(BOW_TIE_HEIGHT, BOW_TIE_WIDTH);
+        final ArrayFloat.D2 latitudes = new ArrayFloat.D2(BOW_TIE_HEIGHT, BOW_TIE_WIDTH);
+        final double[] lonLat = new double[2];
+        final double stripCenter = (BOW_TIE_STRIP_HEIGHT - 1) * 0.5;
+        for (int y = 0; y < BOW_TIE_HEIGHT; y++) {
+            final int strip = y / BOW_TIE_STRIP_HEIGHT;
+            final int lineInStrip = y % BOW_TIE_STRIP_HEIGHT;
+            for (int x = 0; x < BOW_TIE_WIDTH; x++) {
+                final double crossTrack = crossTrackAngle(x, BOW_TIE_WIDTH, BOW_TIE_HALF_ANGLE);
+                final double relative = crossTrack / BOW_TIE_HALF_ANGLE;
+                final double growth = 1.0 + relative * relative;
+                final double line = strip * BOW_TIE_STRIP_HEIGHT + stripCenter + (lineInStrip - stripCenter) * growth;
+                final double anomaly = FIRST_LINE_ANOMALY + line * BOW_TIE_LINE_ANGLE;
+                final double seconds = (anomaly - FIRST_LINE_ANOMALY) * ORBIT_PERIOD_SECONDS / (2.0 * Math.PI);
+                geolocate(anomaly, crossTrack, NODE_LON_A, seconds, lonLat);
+                longitudes.set(y, x, (float) lonLat[0]);
+                latitudes.set(y, x, (float) lonLat[1]);
+            }
+        }
+        return new ArrayFloat.D2[]{longitudes, latitudes};
+    }
+
+    /**
+     * Writes a quarter degree SMAP-like grid with the dimensions (ydim_grid, xdim_grid, look). Longitudes
+     * decrease with x and wrap after 1440 columns, cells outside of the synthetic swath stripes are fill values.
+     *
+     * @param directory the target directory
+     * @return the path of the file written
+     * @throws IOException on disk access errors
+     */
+    public static Path writeSmapGrid(Path directory) throws IOException {
+        final Path file = directory.resolve("bench-smap.nc");
+        final NetcdfFileWriter writer = NetcdfFileWriter.createNew(NetcdfFileWriter.Version.netcdf3, file.toString());
+        try {
+            writer.addDimension(null, "ydim_grid", SMAP_HEIGHT);
+            writer.addDimension(null, "xdim_grid", SMAP_WIDTH);
+            writer.addDimension(null, "look", 2);
+            final Variable cellon = addFloatVariable(writer, "cellon", "ydim_grid xdim_grid look", SMAP_FILL_VALUE, "degrees");
+            final Variable cellat = addFloatVariable(writer, "cellat", "ydim_grid xdim_grid look", SMAP_FILL_VALUE, "degrees");
+            writer.create();
+
+            final ArrayFloat.D3 longitudes = new ArrayFloat.D3(SMAP_HEIGHT, SMAP_WIDTH, 2);
+            final ArrayFloat.D3 latitudes = new ArrayFloat.D3(SMAP_HEIGHT, SMAP_WIDTH, 2);
+            for (int y = 0; y < SMAP_HEIGHT; y++) {
+                final float lat = (y + 0.5f) / 4.f - 90.f;
+                for (int x = 0; x < SMAP_WIDTH; x++) {
+                    final int cell = Math.floorMod(1439 - x, 1440);
+                    final float lon = (cell + 0.5f) / 4.f;
+                    for (int look = 0; look < 2; look++) {
+                        final boolean valid = ((x + y / 2 + look * 30) / 90) % 3 != 2;
+                        longitudes.set(y, x, look, valid ? lon : SMAP_FILL_VALUE);
+                        latitudes.set(y, x, look, valid ? lat : SMAP_FILL_VALUE);
+                    }
+                }
+            }
+            writer.write(cellon, longitudes);
+            writer.write(cellat, latitudes);
+        } catch (InvalidRangeException e) {
+            throw new IOException(e);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    /**
+     * Draws geo-locations of random pixels, slightly displaced so that the lookups do not hit the pixel centers.
+     *
+     * @param geolocation lon and lat arrays [y][x]
+     * @param numPoints   the number of points
+     * @param seed        random seed
+     * @return lon and lat values of the points
+     */
+    public static double[][] createLookupPoints(ArrayFloat.D2[] geolocation, int numPoints, long seed) {
+        final int[] shape = geolocation[0].getShape();
+        final Random random = new Random(seed);
+        final double[] lons = new double[numPoints];
+        final double[] lats = new double[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            final int x = random.nextInt(shape[1]);
+            final int y = random.nextInt(shape[0]);
+            lons[i] = geolocation[0].get(y, x) + (random.nextDouble() - 0.5) * 0.01;
+            lats[i] = geolocation[1].get(y, x) + (random.nextDouble() - 0.5) * 0.01;
+        }
+        return new double[][]{lons, lats};
+    }
+
+    public static SatelliteObservation readObservation(Path file, String sensorKey, GeometryFactory geometryFactory) throws IOException {
+        final ReaderContext readerContext = new ReaderContext();
+        readerContext.setGeometryFactory(geometryFactory);
+
+        try (Reader reader = new SwathFixtureReaderPlugin().createReader(readerContext)) {
+            reader.open(file.toFile());
+            final AcquisitionInfo acquisitionInfo = reader.read();
+
+            final SatelliteObservation observation = new SatelliteObservation();
+            observation.setSensor(new Sensor(sensorKey));
+            observation.setStartTime(acquisitionInfo.getSensingStart());
+            observation.setStopTime(acquisitionInfo.getSensingStop());
+            observation.setDataFilePath(file.toString());
+            observation.setGeoBounds(acquisitionInfo.getBoundingGeometry());
+            observation.setTimeAxes(acquisitionInfo.getTimeAxes());
+            observation.setNodeType(acquisitionInfo.getNodeType());
+            return observation;
+        }
+    }
+
+    /**
+     * Creates a matchup set between swath A (primary) and swath B (secondary). Primary pixels are drawn
+     * at random, the secondary samples are located close in space and time so that roughly half of the sample
+     * sets pass the conditions of the benchmark use case.
+     *
+     * @param primaryPath   path of swath A
+     * @param secondaryPath path of swath B
+     * @param numSamples    the number of sample sets
+     * @param seed          random seed
+     * @return the matchup set
+     */
+    public static MatchupSet createMatchupSet(Path primaryPath, Path secondaryPath, int numSamples, long seed) {
+        final ArrayFloat.D2[] geolocation = createSwathGeolocation(NODE_LON_A);
+        final Random random = new Random(seed);
+        final String secondaryKey = SENSOR_B;
+        if (!secondaryKey.equals(SampleSet.getOnlyOneSecondaryKey())) {
+            // the matchup tool sets the key to the name of the single secondary sensor, the key may only be set once per JVM
+            SampleSet.setOnlyOneSecondaryKey(secondaryKey);
+        }
+
+        final MatchupSet matchupSet = new MatchupSet();
+        matchupSet.setPrimaryObservationPath(primaryPath);
+        matchupSet.setPrimaryProcessingVersion("v1.0");
+        matchupSet.setSecondaryObservationPath(secondaryKey, secondaryPath);
+        matchupSet.setSecondaryProcessingVersion(secondaryKey, "v1.0");
+
+        for (int i = 0; i < numSamples; i++) {
+            final int x = random.nextInt(SWATH_WIDTH);
+            final int y = random.nextInt(SWATH_HEIGHT);
+            final double lon = geolocation[0].get(y, x);
+            final double lat = geolocation[1].get(y, x);
+            final long time = START_MILLIS_A + (long) y * LINE_TIME_MILLIS;
+
+            final int secondaryX = Math.min(SWATH_WIDTH - 1, Math.max(0, x + random.nextInt(41) - 20));
+            final int secondaryY = Math.min(SWATH_HEIGHT - 1, Math.max(0, y + random.nextInt(41) - 20));
+            final double secondaryLon = lon + (random.nextDouble() - 0.5) * 0.1;
+            final double secondaryLat = lat + (random.nextDouble() - 0.5) * 0.1;
+            final long secondaryTime = time + (long) ((random.nextDouble() - 0.5) * 1200000.0);
+
+            final SampleSet sampleSet = new SampleSet();
+            sampleSet.setPrimary(new Sample(x, y, lon, lat, time));
+            sampleSet.setSecondary(secondaryKey, new Sample(secondaryX, secondaryY, secondaryLon, secondaryLat, secondaryTime));
+            matchupSet.getSampleSets().add(sampleSet);
+        }
+        return matchupSet;
+    }
+
+    /**
+     * Creates the use case configuration of the benchmarks: swath A primary, swath B secondary, time-delta,
+     * spherical-distance and border-distance conditions, angular and pixel-value screenings.
+     *
+     * @param outputPath the MMD output directory
+     * @return the configuration
+     */
+    public static UseCaseConfig createUseCaseConfig(Path outputPath) {
+        final String xml = "<use-case-config name=\"benchmark\">" +
+                "  <sensors>" +
+                "    <sensor><name>" + SENSOR_A + "</name><primary>true</primary></sensor>" +
+                "    <sensor><name>" + SENSOR_B + "</name></sensor>" +
+                "  </sensors>" +
+                "  <dimensions>" +
+                "    <dimension name=\"" + SENSOR_A + "\"><nx>5</nx><ny>5</ny></dimension>" +
+                "    <dimension name=\"" + SENSOR_B + "\"><nx>7</nx><ny>7</ny></dimension>" +
+                "  </dimensions>" +
+                "  <output-path>" + outputPath.toAbsolutePath() + "</output-path>" +
+                "  <conditions>" +
+                "    <time-delta><time-delta-seconds>300</time-delta-seconds></time-delta>" +
+                "    <spherical-distance><max-pixel-distance-km>5.0</max-pixel-distance-km></spherical-distance>" +
+                "    <border-distance>" +
+                "      <primary><nx>2</nx><ny>2</ny></primary>" +
+                "      <secondary><nx>3</nx><ny>3</ny></secondary>" +
+                "    </border-distance>" +
+                "  </conditions>" +
+                "  <screenings>" +
+                "    <angular>" +
+                "      <primary-vza-variable name=\"vza\"/>" +
+                "      <secondary-vza-variable name=\"vza\"/>" +
+                "      <max-primary-vza>55.0</max-primary-vza>" +
+                "      <max-secondary-vza>55.0</max-secondary-vza>" +
+                "      <max-angle-delta>20.0</max-angle-delta>" +
+                "    </angular>" +
+                "    <pixel-value>" +
+                "      <primary-expression>bt &gt; 230.0</primary-expression>" +
+                "      <secondary-expression>flags == 0</secondary-expression>" +
+                "    </pixel-value>" +
+                "  </screenings>" +
+                "</use-case-config>";
+        return UseCaseConfig.load(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Path writeSwath(Path file, double nodeLongitude, long startMillis) throws IOException {
+        final NetcdfFileWriter writer = NetcdfFileWriter.createNew(NetcdfFileWriter.Version.netcdf3, file.toString());
+        try {
+            writer.addDimension(null, "y", SWATH_HEIGHT);
+            writer.addDimension(null, "x", SWATH_WIDTH);
+
+            final Variable lonVariable = addFloatVariable(writer, "lon", "y x", FILL_VALUE, "degrees_east");
+            final Variable latVariable = addFloatVariable(writer, "lat", "y x", FILL_VALUE, "degrees_north");
+
+            final Variable timeVariable = writer.addVariable(null, "time", DataType.INT, "y");
+            timeVariable.addAttribute(new Attribute(CF_FILL_VALUE_NAME, Integer.MIN_VALUE));
+            timeVariable.addAttribute(new Attribute(CF_UNITS_NAME, "seconds since 1970-01-01 00:00:00"));
+
+            final Variable vzaVariable = writer.addVariable(null, "vza", DataType.SHORT, "y x");
+            vzaVariable.addAttribute(new Attribute(CF_FILL_VALUE_NAME, VZA_FILL_VALUE));
+            vzaVariable.addAttribute(new Attribute(CF_SCALE_FACTOR_NAME, VZA_SCALE));
+            vzaVariable.addAttribute(new Attribute(CF_UNITS_NAME, "degrees"));
+
+            final Variable btVariable = addFloatVariable(writer, "bt", "y x", FILL_VALUE, "K");
+
+            final Variable flagsVariable = writer.addVariable(null, "flags", DataType.BYTE, "y x");
+            flagsVariable.addAttribute(new Attribute(CF_FILL_VALUE_NAME, (byte) -1));
+
+            final long stopMillis = startMillis + (long) (SWATH_HEIGHT - 1) * LINE_TIME_MILLIS;
+            writer.addGroupAttribute(null, new Attribute("start_time", (int) (startMillis / 1000)));
+            writer.addGroupAttribute(null, new Attribute("stop_time", (int) (stopMillis / 1000)));
+            writer.addGroupAttribute(null, new Attribute("title", "MMS benchmark swath " + TimeUtils.format(TimeUtils.create(startMillis))));
+            writer.create();
+
+            final ArrayFloat.D2[] geolocation = createSwathGeolocation(nodeLongitude);
+            final ArrayInt.D1 time = new ArrayInt.D1(SWATH_HEIGHT, false);
+            final ArrayShort.D2 vza = new ArrayShort.D2(SWATH_HEIGHT, SWATH_WIDTH, false);
+            final ArrayFloat.D2 bt = new ArrayFloat.D2(SWATH_HEIGHT, SWATH_WIDTH);
+            final ArrayByte.D2 flags = new ArrayByte.D2(SWATH_HEIGHT, SWATH_WIDTH, false);
+            for (int y = 0; y < SWATH_HEIGHT; y++) {
+                time.set(y, (int) ((startMillis + (long) y * LINE_TIME_MILLIS) / 1000));
+                for (int x = 0; x < SWATH_WIDTH; x++) {
+                    final double relative = Math.abs(crossTrackAngle(x, SWATH_WIDTH, SWATH_HALF_ANGLE)) / SWATH_HALF_ANGLE;
+                    vza.set(y, x, (short) Math.round(relative * MAX_VZA / VZA_SCALE));
+
+                    final double lat = geolocation[1].get(y, x);
+                    bt.set(y, x, (float) (210.0 + 90.0 * Math.cos(Math.toRadians(lat)) + 3.0 * Math.sin(x * 0.1)));
+                    flags.set(y, x, (byte) ((x * 7 + y * 13) % 5 == 0 ? 1 : 0));
+                }
+            }
+
+            writer.write(lonVariable, geolocation[0]);
+            writer.write(latVariable, geolocation[1]);
+            writer.write(timeVariable, time);
+            writer.write(vzaVariable, vza);
+            writer.write(btVariable, bt);
+            writer.write(flagsVariable, flags);
+        } catch (InvalidRangeException e) {
+            throw new IOException(e);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    private static double crossTrackAngle(int x, int width, double halfAngle) {
+        final double center = (width - 1) * 0.5;
+        return (x - center) / center * halfAngle;
+    }
+
+    private static void geolocate(double anomaly, double crossTrackAngle, double nodeLongitude, double seconds, double[] lonLat) {
+        final double cosAnomaly = Math.cos(anomaly);
+        final double sinAnomaly = Math.sin(anomaly);
+        final double cosInclination = Math.cos(INCLINATION);
+        final double sinInclination = Math.sin(INCLINATION);
+
+        // sub-satellite point P = cos(a) * u + sin(a) * v with u = (1, 0, 0), v = (0, cos(i), sin(i)),
+        // the orbit normal is n = u x v = (0, -sin(i), cos(i)), the pixel is rotated from P towards n
+        final double cosCross = Math.cos(crossTrackAngle);
+        final double sinCross = Math.sin(crossTrackAngle);
+        final double qx = cosCross * cosAnomaly;
+        final double qy = cosCross * sinAnomaly * cosInclination - sinCross * sinInclination;
+        final double qz = cosCross * sinAnomaly * sinInclination + sinCross * cosInclination;
+
+        final double lat = Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, qz))));
+        final double lon = Math.toDegrees(Math.atan2(qy, qx)) + nodeLongitude - seconds * EARTH_ROTATION_DEG_PER_SECOND;
+        lonLat[0] = normalizeLongitude(lon);
+        lonLat[1] = lat;
+    }
+
+    private static double normalizeLongitude(double lon) {
+        double normalized = lon % 360.0;
+        if (normalized >= 180.0) {
+            normalized -= 360.0;
+        } else if (normalized < -180.0) {
+            normalized += 360.0;
+        }
+        return normalized;
+    }
+
+    private static Variable addFloatVariable(NetcdfFileWriter writer, String name, String dimensions, float fillValue, String units) {
+        final Variable variable = writer.addVariable(null, name, DataType.FLOAT, dimensions);
+        variable.addAttribute(new Attribute(CF_FILL_VALUE_NAME, fillValue));
+        variable.addAttribute(new Attribute(CF_UNITS_NAME, units));
+        return variable;
+    }
+}
@@ -0,0 +1,184 @@
+package com.bc.fiduceo.benchmark;
+
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.core.NodeType;
+import com.bc.fiduceo.geometry.Geometry;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.geometry.Polygon;
+import com.bc.fiduceo.location.PixelLocator;
+import com.bc.fiduceo.location.PixelLocatorFactory;
+import com.bc.fiduceo.reader.AcquisitionInfo;
+import com.bc.fiduceo.reader.BoundingPolygonCreator;
+import com.bc.fiduceo.reader.RawDataReader;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.reader.ReaderUtils;
+import com.bc.fiduceo.reader.netcdf.NetCDFReader;
+import com.bc.fiduceo.reader.time.TimeLocator;
+import com.bc.fiduceo.reader.time.TimeLocator_StartStopDate;
+import com.bc.fiduceo.util.NetCDFUtils;
+import com.bc.fiduceo.util.TimeUtils;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayInt;
+import ucar.ma2.MAMath;
+import ucar.nc2.Variable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reader for the synthetic swath files written by {@link BenchmarkFixtures}.
+ */
+class SwathFixtureReader extends NetCDFReader {
+
+    private static final int NUM_SPLITS = 2;
+
+    private final GeometryFactory geometryFactory;
+
+    private PixelLocator pixelLocator;
+    private TimeLocator timeLocator;
+    private BoundingPolygonCreator boundingPolygonCreator;
+
+    SwathFixtureReader(ReaderContext readerContext) {
+        geometryFactory = readerContext.getGeometryFactory();
+    }
+
+    @Override
+    public void open(File file) throws IOException {
+        super.open(file);
+        pixelLocator = null;
+        timeLocator = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pixelLocator = null;
+        timeLocator = null;
+        super.close();
+    }
+
+    @Override
+    public AcquisitionInfo read() throws IOException {
+        final AcquisitionInfo acquisitionInfo = new AcquisitionInfo();
+        acquisitionInfo.setSensingStart(getStartDate());
+        acquisitionInfo.setSensingStop(getStopDate());
+        acquisitionInfo.setNodeType(NodeType.ASCENDING);
+
+        final Array longitudes = arrayCache.get(getLongitudeVariableName());
+        final Array latitudes = arrayCache.get(getLatitudeVariableName());
+        final BoundingPolygonCreator polygonCreator = getBoundingPolygonCreator();
+
+        Geometry boundingGeometry = polygonCreator.createBoundingGeometry(longitudes, latitudes);
+        final Geometry timeAxisGeometry;
+        if (boundingGeometry.isValid()) {
+            timeAxisGeometry = polygonCreator.createTimeAxisGeometry(longitudes, latitudes);
+        } else {
+            boundingGeometry = polygonCreator.createBoundingGeometrySplitted(longitudes, latitudes, NUM_SPLITS, false);
+            timeAxisGeometry = polygonCreator.createTimeAxisGeometrySplitted(longitudes, latitudes, NUM_SPLITS);
+        }
+        acquisitionInfo.setBoundingGeometry(boundingGeometry);
+        ReaderUtils.setTimeAxes(acquisitionInfo, timeAxisGeometry, geometryFactory);
+
+        return acquisitionInfo;
+    }
+
+    @Override
+    public String getRegEx() {
+        return "bench-swath-[ab].nc";
+    }
+
+    @Override
+    public PixelLocator getPixelLocator() throws IOException {
+        if (pixelLocator == null) {
+            final Array longitudes = arrayCache.get(getLongitudeVariableName());
+            final Array latitudes = arrayCache.get(getLatitudeVariableName());
+            final Dimension productSize = getProductSize();
+            pixelLocator = PixelLocatorFactory.getSwathPixelLocator(longitudes, latitudes, productSize.getNx(), productSize.getNy());
+        }
+        return pixelLocator;
+    }
+
+    @Override
+    public PixelLocator getSubScenePixelLocator(Polygon sceneGeometry) throws IOException {
+        final Dimension productSize = getProductSize();
+        final int subsetHeight = getBoundingPolygonCreator().getSubsetHeight(productSize.getNy(), NUM_SPLITS);
+        return PixelLocatorFactory.getSubScenePixelLocator(sceneGeometry, productSize.getNx(), productSize.getNy(), subsetHeight, getPixelLocator());
+    }
+
+    @Override
+    public TimeLocator getTimeLocator() throws IOException {
+        if (timeLocator == null) {
+            timeLocator = new TimeLocator_StartStopDate(getStartDate(), getStopDate(), getProductSize().getNy());
+        }
+        return timeLocator;
+    }
+
+    @Override
+    public int[] extractYearMonthDayFromFilename(String fileName) {
+        // the fixture files are not organised in an archive tree
+        return new int[]{2010, 6, 1};
+    }
+
+    @Override
+    public Array readRaw(int centerX, int centerY, Interval interval, String variableName) throws IOException {
+        final Array array = arrayCache.get(variableName);
+        final Number fillValue = getFillValue(variableName);
+        return RawDataReader.read(centerX, centerY, interval, fillValue, array, getProductSize());
+    }
+
+    @Override
+    public Array readScaled(int centerX, int centerY, Interval interval, String variableName) throws IOException {
+        final Array array = readRaw(centerX, centerY, interval, variableName);
+        final double scaleFactor = getScaleFactorCf(variableName);
+        final double offset = getOffset(variableName);
+        if (ReaderUtils.mustScale(scaleFactor, offset)) {
+            final MAMath.ScaleOffset scaleOffset = new MAMath.ScaleOffset(scaleFactor, offset);
+            return MAMath.convert2Unpacked(array, scaleOffset);
+        }
+        return array;
+    }
+
+    @Override
+    public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException {
+        return ReaderUtils.readAcquisitionTimeFromTimeLocator(x, y, interval, getProductSize(), getTimeLocator());
+    }
+
+    @Override
+    public List<Variable> getVariables() {
+        return netcdfFile.getVariables();
+    }
+
+    @Override
+    public Dimension getProductSize() {
+        final Variable longitudes = netcdfFile.findVariable(getLongitudeVariableName());
+        final int[] shape = longitudes.getShape();
+        return new Dimension("lon", shape[1], shape[0]);
+    }
+
+    @Override
+    public String getLongitudeVariableName() {
+        return "lon";
+    }
+
+    @Override
+    public String getLatitudeVariableName() {
+        return "lat";
+    }
+
+    private Date getStartDate() {
+        return TimeUtils.create(NetCDFUtils.getGlobalAttributeInt("start_time", netcdfFile) * 1000L);
+    }
+
+    private Date getStopDate() {
+        return TimeUtils.create(NetCDFUtils.getGlobalAttributeInt("stop_time", netcdfFile) * 1000L);
+    }
+
+    private BoundingPolygonCreator getBoundingPolygonCreator() {
+        if (boundingPolygonCreator == null) {
+            boundingPolygonCreator = new BoundingPolygonCreator(new Interval(40, 100), geometryFactory);
+        }
+        return boundingPolygonCreator;
+    }
+}
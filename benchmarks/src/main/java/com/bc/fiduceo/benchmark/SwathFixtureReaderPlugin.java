@@ -0,0 +1,26 @@
+package com.bc.fiduceo.benchmark;
+
+import com.bc.fiduceo.reader.DataType;
+import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.reader.ReaderPlugin;
+
+public class SwathFixtureReaderPlugin implements ReaderPlugin {
+
+    private static final String[] SENSOR_KEYS = new String[]{BenchmarkFixtures.SENSOR_A, BenchmarkFixtures.SENSOR_B};
+
+    @Override
+    public Reader createReader(ReaderContext readerContext) {
+        return new SwathFixtureReader(readerContext);
+    }
+
+    @Override
+    public String[] getSupportedSensorKeys() {
+        return SENSOR_KEYS;
+    }
+
+    @Override
+    public DataType getDataType() {
+        return DataType.POLAR_ORBITING_SATELLITE;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bc.fiduceo.location;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ucar.ma2.ArrayFloat;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SWATH_HEIGHT;
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SWATH_WIDTH;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwathPixelLocatorBenchmark {
+
+    private static final int NUM_POINTS = 1024;
+
+    private ArrayFloat.D2[] geolocation;
+    private PixelLocator pixelLocator;
+    private double[] lons;
+    private double[] lats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        geolocation = BenchmarkFixtures.createSwathGeolocation(0.0);
+        pixelLocator = PixelLocatorFactory.getSwathPixelLocator(geolocation[0], geolocation[1], SWATH_WIDTH, SWATH_HEIGHT);
+
+        final double[][] points = BenchmarkFixtures.createLookupPoints(geolocation, NUM_POINTS, 17L);
+        lons = points[0];
+        lats = points[1];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_POINTS)
+    public void getPixelLocation(Blackhole blackhole) {
+        for (int i = 0; i < NUM_POINTS; i++) {
+            blackhole.consume(pixelLocator.getPixelLocation(lons[i], lats[i]));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PixelLocator createAndLocate() {
+        final PixelLocator locator = PixelLocatorFactory.getSwathPixelLocator(geolocation[0], geolocation[1], SWATH_WIDTH, SWATH_HEIGHT);
+        locator.getPixelLocation(lons[0], lats[0]);
+        return locator;
+    }
+}
@@ -0,0 +1,104 @@
+package com.bc.fiduceo.matchup;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.core.UseCaseConfig;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.matchup.writer.IOVariablesList;
+import com.bc.fiduceo.matchup.writer.MmdWriter;
+import com.bc.fiduceo.matchup.writer.MmdWriterConfig;
+import com.bc.fiduceo.matchup.writer.MmdWriterFactory;
+import com.bc.fiduceo.reader.ReaderFactory;
+import com.bc.fiduceo.tool.ToolContext;
+import com.bc.fiduceo.util.TempFileUtils;
+import com.bc.fiduceo.util.TimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.START_MILLIS_A;
+
+/**
+ * Writes a complete MMD file for a synthetic matchup collection: IO variable extraction, file creation and the
+ * window reads and writes for all samples of both sensors. The default format NetCDF-4 requires the netCDF C
+ * library, run with "-p format=N3" where it is not installed.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MmdWriterBenchmark {
+
+    @Param({"1000", "10000"})
+    public int numSamples;
+
+    @Param({"N4"})
+    public String format;
+
+    private Path fixtureDirectory;
+    private ToolContext toolContext;
+    private MmdWriterConfig writerConfig;
+    private MatchupCollection matchupCollection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixtureDirectory = BenchmarkFixtures.createDirectory();
+        final Path primaryPath = BenchmarkFixtures.writeSwathA(fixtureDirectory);
+        final Path secondaryPath = BenchmarkFixtures.writeSwathB(fixtureDirectory);
+
+        matchupCollection = new MatchupCollection();
+        matchupCollection.add(BenchmarkFixtures.createMatchupSet(primaryPath, secondaryPath, numSamples, 43L));
+
+        final UseCaseConfig useCaseConfig = BenchmarkFixtures.createUseCaseConfig(fixtureDirectory.resolve("mmd"));
+        final GeometryFactory geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+        toolContext = new ToolContext();
+        toolContext.setStartDate(TimeUtils.create(START_MILLIS_A - 86400000L));
+        toolContext.setEndDate(TimeUtils.create(START_MILLIS_A + 86400000L));
+        toolContext.setUseCaseConfig(useCaseConfig);
+        toolContext.setGeometryFactory(geometryFactory);
+        toolContext.setReaderFactory(ReaderFactory.create(geometryFactory, new TempFileUtils(), null, null));
+
+        final String writerConfigXml = "<mmd-writer-config>" +
+                "  <overwrite>true</overwrite>" +
+                "  <netcdf-format>" + format + "</netcdf-format>" +
+                "</mmd-writer-config>";
+        writerConfig = MmdWriterConfig.load(new ByteArrayInputStream(writerConfigXml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFixtures.deleteDirectory(fixtureDirectory);
+    }
+
+    @Benchmark
+    public void writeMMD() throws IOException, InvalidRangeException {
+        final UseCaseConfig useCaseConfig = toolContext.getUseCaseConfig();
+        final IOVariablesList ioVariablesList = new IOVariablesList(toolContext.getReaderFactory());
+        try {
+            MatchupTool.createIOVariablesPerSensor(ioVariablesList, matchupCollection, useCaseConfig, writerConfig.getVariablesConfiguration());
+
+            final MmdWriter mmdWriter = MmdWriterFactory.createFileWriter(writerConfig);
+            mmdWriter.writeMMD(matchupCollection, toolContext, ioVariablesList);
+        } finally {
+            ioVariablesList.close();
+        }
+    }
+}
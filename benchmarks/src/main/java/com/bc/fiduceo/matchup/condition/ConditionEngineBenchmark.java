@@ -0,0 +1,83 @@
+package com.bc.fiduceo.matchup.condition;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.UseCaseConfig;
+import com.bc.fiduceo.matchup.MatchupSet;
+import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.tool.ToolContext;
+import com.bc.fiduceo.util.TimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SENSOR_A;
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SENSOR_B;
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.START_MILLIS_A;
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SWATH_HEIGHT;
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SWATH_WIDTH;
+
+/**
+ * Time-delta, spherical-distance and border-distance conditions on a synthetic matchup set. The conditions
+ * do not access the data files, the observation paths are not evaluated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConditionEngineBenchmark {
+
+    @Param({"10000", "100000"})
+    public int numSamples;
+
+    private ConditionEngine conditionEngine;
+    private ConditionEngineContext conditionEngineContext;
+    private MatchupSet template;
+    private MatchupSet matchupSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Path outputPath = Paths.get(System.getProperty("java.io.tmpdir"));
+        final UseCaseConfig useCaseConfig = BenchmarkFixtures.createUseCaseConfig(outputPath);
+        template = BenchmarkFixtures.createMatchupSet(outputPath.resolve(SENSOR_A + ".nc"), outputPath.resolve(SENSOR_B + ".nc"), numSamples, 37L);
+
+        final ToolContext toolContext = new ToolContext();
+        toolContext.setStartDate(TimeUtils.create(START_MILLIS_A - 86400000L));
+        toolContext.setEndDate(TimeUtils.create(START_MILLIS_A + 86400000L));
+        toolContext.setUseCaseConfig(useCaseConfig);
+
+        conditionEngineContext = ConditionEngine.createContext(toolContext);
+        conditionEngineContext.setPrimarySize(new Dimension(SENSOR_A, SWATH_WIDTH, SWATH_HEIGHT));
+        conditionEngineContext.setSecondarySize(new Dimension(SENSOR_B, SWATH_WIDTH, SWATH_HEIGHT), SampleSet.getOnlyOneSecondaryKey());
+
+        conditionEngine = new ConditionEngine();
+        conditionEngine.configure(useCaseConfig);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyMatchupSet() {
+        // the conditions remove sample sets, each invocation has to start from the full set
+        matchupSet = template.clone();
+    }
+
+    @Benchmark
+    public MatchupSet process() {
+        conditionEngine.process(matchupSet, conditionEngineContext);
+        return matchupSet;
+    }
+}
@@ -0,0 +1,131 @@
+package com.bc.fiduceo.matchup.condition;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.core.Sample;
+import com.bc.fiduceo.matchup.MatchupSet;
+import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.math.SphericalDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SENSOR_A;
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SENSOR_B;
+
+/**
+ * Unique samples condition on a synthetic matchup set with millions of sample sets, the secondary pixels act as
+ * reference and are matched by several primary pixels each. The "string" variant runs the former grouping by
+ * String keys into a HashMap of sample lists for comparison. Run with "-prof gc" to see the allocation rates
+ * of both variants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx6g"})
+@State(Scope.Benchmark)
+public class UniqueSamplesConditionBenchmark {
+
+    @Param({"1000000", "4000000"})
+    public int numSamples;
+
+    @Param({"primitive", "string"})
+    public String grouping;
+
+    private UniqueSamplesCondition condition;
+    private ConditionEngineContext conditionEngineContext;
+    private List<SampleSet> sampleSets;
+    private MatchupSet matchupSet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Path outputPath = Paths.get(System.getProperty("java.io.tmpdir"));
+        final MatchupSet template = BenchmarkFixtures.createMatchupSet(outputPath.resolve(SENSOR_A + ".nc"), outputPath.resolve(SENSOR_B + ".nc"), numSamples, 41L);
+        sampleSets = template.getSampleSets();
+
+        final UniqueSamplesCondition.Configuration configuration = new UniqueSamplesCondition.Configuration();
+        configuration.referenceSensorKey = SENSOR_B;
+        configuration.associatedSensorKey = SENSOR_A;
+        condition = new UniqueSamplesCondition(configuration);
+        conditionEngineContext = new ConditionEngineContext();
+
+        matchupSet = new MatchupSet();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetMatchupSet() {
+        // the condition replaces the sample sets, the sample sets themselves are not modified
+        matchupSet.setSampleSets(new ArrayList<>(sampleSets));
+    }
+
+    @Benchmark
+    public MatchupSet apply() {
+        if ("string".equals(grouping)) {
+            matchupSet.setSampleSets(applyStringKeyed(sampleSets));
+        } else {
+            condition.apply(matchupSet, conditionEngineContext);
+        }
+        return matchupSet;
+    }
+
+    // the grouping as implemented up to version 1.6.2
+    private static List<SampleSet> applyStringKeyed(List<SampleSet> sampleSets) {
+        final HashMap<String, ReferenceContainer> references = new HashMap<>();
+        for (final SampleSet sampleSet : sampleSets) {
+            final Sample reference = sampleSet.getSecondary(SENSOR_B);
+            final String key = reference.getX() + "_" + reference.getY();
+            final ReferenceContainer container = references.computeIfAbsent(key, k -> new ReferenceContainer(reference));
+            container.associated.add(sampleSet.getPrimary());
+        }
+
+        final List<SampleSet> resultList = new ArrayList<>();
+        for (final Map.Entry<String, ReferenceContainer> entry : references.entrySet()) {
+            final ReferenceContainer container = entry.getValue();
+            Sample closest = container.associated.get(0);
+            if (container.associated.size() > 1) {
+                final SphericalDistance sphericalDistance = new SphericalDistance(container.reference.getLon(), container.reference.getLat());
+                double minDistance = Double.MAX_VALUE;
+                for (final Sample associated : container.associated) {
+                    final double distance = sphericalDistance.distance(associated.getLon(), associated.getLat());
+                    if (distance < minDistance) {
+                        minDistance = distance;
+                        closest = associated;
+                    }
+                }
+            }
+
+            final SampleSet sampleSet = new SampleSet();
+            sampleSet.setPrimary(closest);
+            sampleSet.setSecondary(SENSOR_B, container.reference);
+            resultList.add(sampleSet);
+        }
+        return resultList;
+    }
+
+    private static class ReferenceContainer {
+        final Sample reference;
+        final List<Sample> associated;
+
+        ReferenceContainer(Sample reference) {
+            this.reference = reference;
+            associated = new ArrayList<>();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bc.fiduceo.matchup.screening;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.benchmark.SwathFixtureReaderPlugin;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.matchup.MatchupSet;
+import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.tool.ToolContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SENSOR_B;
+
+/**
+ * Angular and pixel-value screening on a synthetic matchup set, reading the screening variables through
+ * the fixture reader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScreeningEngineBenchmark {
+
+    @Param({"1000", "10000"})
+    public int numSamples;
+
+    private Path fixtureDirectory;
+    private Reader primaryReader;
+    private Reader secondaryReader;
+    private Map<String, Reader> secondaryReaders;
+    private ScreeningEngine screeningEngine;
+    private MatchupSet template;
+    private MatchupSet matchupSet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixtureDirectory = BenchmarkFixtures.createDirectory();
+        final Path primaryPath = BenchmarkFixtures.writeSwathA(fixtureDirectory);
+        final Path secondaryPath = BenchmarkFixtures.writeSwathB(fixtureDirectory);
+        template = BenchmarkFixtures.createMatchupSet(primaryPath, secondaryPath, numSamples, 41L);
+
+        final ReaderContext readerContext = new ReaderContext();
+        readerContext.setGeometryFactory(new GeometryFactory(GeometryFactory.Type.S2));
+        final SwathFixtureReaderPlugin readerPlugin = new SwathFixtureReaderPlugin();
+        primaryReader = readerPlugin.createReader(readerContext);
+        primaryReader.open(primaryPath.toFile());
+        secondaryReader = readerPlugin.createReader(readerContext);
+        secondaryReader.open(secondaryPath.toFile());
+        secondaryReaders = new HashMap<>();
+        secondaryReaders.put(SENSOR_B, secondaryReader);
+
+        final ToolContext toolContext = new ToolContext();
+        toolContext.setUseCaseConfig(BenchmarkFixtures.createUseCaseConfig(fixtureDirectory));
+        screeningEngine = new ScreeningEngine(toolContext);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        primaryReader.close();
+        secondaryReader.close();
+        BenchmarkFixtures.deleteDirectory(fixtureDirectory);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyMatchupSet() {
+        // the screenings remove sample sets, each invocation has to start from the full set
+        matchupSet = template.clone();
+    }
+
+    @Benchmark
+    public MatchupSet process() throws IOException, InvalidRangeException {
+        screeningEngine.process(matchupSet, primaryReader, secondaryReaders);
+        return matchupSet;
+    }
+}
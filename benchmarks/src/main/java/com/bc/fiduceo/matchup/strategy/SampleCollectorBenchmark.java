@@ -0,0 +1,116 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.core.Sample;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.location.PixelLocator;
+import com.bc.fiduceo.matchup.MatchupSet;
+import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.reader.time.TimeLocator;
+import com.bc.fiduceo.tool.ToolContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.geom.Point2D;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secondary sample collection of the seed point strategy for a number of secondary orbits, each covering a
+ * longitude band of the primary samples. The "clone" variant copies the primary matchup set for each secondary
+ * as done up to version 1.6.2, the "pair" variant shares the primary samples. Run with "-prof gc" to compare the
+ * allocation rates of both variants.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SampleCollectorBenchmark {
+
+    @Param({"20000", "200000"})
+    public int numSamples;
+
+    @Param({"14"})
+    public int numSecondaries;
+
+    @Param({"pair", "clone"})
+    public String collection;
+
+    private MatchupSet primaryMatchups;
+    private SampleCollector[] collectors;
+    private TimeLocator timeLocator;
+    private String secondaryKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        primaryMatchups = new MatchupSet();
+        for (int i = 0; i < numSamples; i++) {
+            final double lon = -180.0 + 360.0 * i / numSamples;
+            primaryMatchups.addPrimary(new Sample(i % 400, i / 400, lon, 10.0, 1000L + i));
+        }
+
+        final ToolContext context = new ToolContext();
+        context.setGeometryFactory(new GeometryFactory(GeometryFactory.Type.S2));
+        collectors = new SampleCollector[numSecondaries];
+        for (int k = 0; k < numSecondaries; k++) {
+            final double minLon = -180.0 + k * 360.0 / numSecondaries;
+            collectors[k] = new SampleCollector(context, new LonBandPixelLocator(minLon, minLon + 360.0 / numSecondaries));
+        }
+
+        timeLocator = (x, y) -> x + 1000L * y;
+        secondaryKey = SampleSet.getOnlyOneSecondaryKey();
+    }
+
+    @Benchmark
+    public int collect() {
+        int numMatches = 0;
+        if ("clone".equals(collection)) {
+            for (final SampleCollector collector : collectors) {
+                final MatchupSet current = primaryMatchups.clone();
+                numMatches += collector.addSecondarySamples(current.getSampleSets(), timeLocator, secondaryKey).size();
+            }
+        } else {
+            for (final SampleCollector collector : collectors) {
+                numMatches += collector.pairSecondarySamples(primaryMatchups.getSampleSets(), timeLocator, secondaryKey).size();
+            }
+        }
+        return numMatches;
+    }
+
+    private static class LonBandPixelLocator implements PixelLocator {
+
+        private static final Point2D[] EMPTY = new Point2D[0];
+
+        private final double minLon;
+        private final double maxLon;
+
+        LonBandPixelLocator(double minLon, double maxLon) {
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+        }
+
+        @Override
+        public Point2D getGeoLocation(double x, double y, Point2D g) {
+            g.setLocation(minLon + x * 0.01, y * 0.01);
+            return g;
+        }
+
+        @Override
+        public Point2D[] getPixelLocation(double lon, double lat) {
+            if (lon < minLon || lon >= maxLon) {
+                return EMPTY;
+            }
+            return new Point2D[]{new Point2D.Double((lon - minLon) * 100.0, lat * 100.0)};
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.bc.fiduceo.math;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.core.SatelliteObservation;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intersection of the bounding geometries of two overlapping swaths, as calculated for each primary/secondary
+ * observation pair by the polar orbiting matchup strategy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntersectionEngineBenchmark {
+
+    private Path fixtureDirectory;
+    private SatelliteObservation primaryObservation;
+    private SatelliteObservation secondaryObservation;
+    private IntersectionIndex intersectionIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixtureDirectory = BenchmarkFixtures.createDirectory();
+        final GeometryFactory geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+
+        final Path primaryPath = BenchmarkFixtures.writeSwathA(fixtureDirectory);
+        final Path secondaryPath = BenchmarkFixtures.writeSwathB(fixtureDirectory);
+        primaryObservation = BenchmarkFixtures.readObservation(primaryPath, BenchmarkFixtures.SENSOR_A, geometryFactory);
+        secondaryObservation = BenchmarkFixtures.readObservation(secondaryPath, BenchmarkFixtures.SENSOR_B, geometryFactory);
+        intersectionIndex = new IntersectionIndex(300000L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFixtures.deleteDirectory(fixtureDirectory);
+    }
+
+    @Benchmark
+    public Intersection[] getIntersectingIntervals() {
+        return IntersectionEngine.getIntersectingIntervals(primaryObservation, secondaryObservation);
+    }
+
+    @Benchmark
+    public Intersection[] getIntersectingIntervals_index() {
+        // the index caches the prepared geometries per observation, this measures the warm cache case
+        return intersectionIndex.getIntersectingIntervals(primaryObservation, secondaryObservation);
+    }
+}
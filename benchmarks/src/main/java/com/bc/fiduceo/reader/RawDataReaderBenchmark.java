@@ -0,0 +1,111 @@
+package com.bc.fiduceo.reader;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.util.NetCDFUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ucar.ma2.Array;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.NetcdfFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SWATH_HEIGHT;
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.SWATH_WIDTH;
+
+/**
+ * Window extraction from a fully cached variable, the per-sample operation of the MMD writer. About 5% of the
+ * window centers are placed at the product border to include the fill value path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RawDataReaderBenchmark {
+
+    private static final int NUM_WINDOWS = 1024;
+
+    @Param({"bt", "vza", "flags"})
+    public String variableName;
+
+    @Param({"5", "21"})
+    public int windowSize;
+
+    private Path fixtureDirectory;
+    private NetcdfFile netcdfFile;
+    private Array rawArray;
+    private Number fillValue;
+    private Dimension productSize;
+    private Interval interval;
+    private WindowReader windowReader;
+    private int[] centerX;
+    private int[] centerY;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixtureDirectory = BenchmarkFixtures.createDirectory();
+        final Path swathFile = BenchmarkFixtures.writeSwathA(fixtureDirectory);
+        netcdfFile = NetcdfFiles.open(swathFile.toString());
+
+        final ArrayCache arrayCache = new ArrayCache(netcdfFile);
+        rawArray = arrayCache.get(variableName);
+        fillValue = NetCDFUtils.getFillValue(netcdfFile.findVariable(variableName));
+        productSize = new Dimension("size", SWATH_WIDTH, SWATH_HEIGHT);
+        interval = new Interval(windowSize, windowSize);
+        windowReader = new Read2dFrom2d(arrayCache, variableName, SWATH_WIDTH, fillValue);
+
+        final Random random = new Random(31L);
+        centerX = new int[NUM_WINDOWS];
+        centerY = new int[NUM_WINDOWS];
+        for (int i = 0; i < NUM_WINDOWS; i++) {
+            if (i % 20 == 0) {
+                centerX[i] = random.nextBoolean() ? 0 : SWATH_WIDTH - 1;
+            } else {
+                centerX[i] = random.nextInt(SWATH_WIDTH);
+            }
+            centerY[i] = random.nextInt(SWATH_HEIGHT);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        netcdfFile.close();
+        BenchmarkFixtures.deleteDirectory(fixtureDirectory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_WINDOWS)
+    public void rawDataReaderRead(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < NUM_WINDOWS; i++) {
+            blackhole.consume(RawDataReader.read(centerX[i], centerY[i], interval, fillValue, rawArray, productSize));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_WINDOWS)
+    public void windowReaderRead(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < NUM_WINDOWS; i++) {
+            blackhole.consume(windowReader.read(centerX[i], centerY[i], interval));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bc.fiduceo.reader.modis;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.location.PixelLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ucar.ma2.ArrayFloat;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.bc.fiduceo.benchmark.BenchmarkFixtures.BOW_TIE_STRIP_HEIGHT;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BowTiePixelLocatorBenchmark {
+
+    private static final int NUM_POINTS = 256;
+
+    private ArrayFloat.D2[] geolocation;
+    private PixelLocator pixelLocator;
+    private double[] lons;
+    private double[] lats;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        geolocation = BenchmarkFixtures.createBowTieGeolocation();
+        pixelLocator = new BowTiePixelLocator(geolocation[0], geolocation[1], BOW_TIE_STRIP_HEIGHT);
+
+        final double[][] points = BenchmarkFixtures.createLookupPoints(geolocation, NUM_POINTS, 23L);
+        lons = points[0];
+        lats = points[1];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_POINTS)
+    public void getPixelLocation(Blackhole blackhole) {
+        for (int i = 0; i < NUM_POINTS; i++) {
+            blackhole.consume(pixelLocator.getPixelLocation(lons[i], lats[i]));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public PixelLocator createPixelLocator() throws IOException {
+        return new BowTiePixelLocator(geolocation[0], geolocation[1], BOW_TIE_STRIP_HEIGHT);
+    }
+}
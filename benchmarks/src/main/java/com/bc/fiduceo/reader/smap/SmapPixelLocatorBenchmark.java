@@ -0,0 +1,72 @@
+package com.bc.fiduceo.reader.smap;
+
+import com.bc.fiduceo.benchmark.BenchmarkFixtures;
+import com.bc.fiduceo.location.PixelLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.NetcdfFiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmapPixelLocatorBenchmark {
+
+    private static final int NUM_POINTS = 1024;
+
+    private Path fixtureDirectory;
+    private NetcdfFile netcdfFile;
+    private PixelLocator pixelLocator;
+    private double[] lons;
+    private double[] lats;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixtureDirectory = BenchmarkFixtures.createDirectory();
+        final Path smapFile = BenchmarkFixtures.writeSmapGrid(fixtureDirectory);
+        netcdfFile = NetcdfFiles.open(smapFile.toString());
+        pixelLocator = new SmapPixelLocator(netcdfFile.findVariable("cellon"), netcdfFile.findVariable("cellat"), 0);
+
+        final Random random = new Random(29L);
+        lons = new double[NUM_POINTS];
+        lats = new double[NUM_POINTS];
+        for (int i = 0; i < NUM_POINTS; i++) {
+            lons[i] = random.nextDouble() * 360.0 - 180.0;
+            lats[i] = random.nextDouble() * 160.0 - 80.0;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        netcdfFile.close();
+        BenchmarkFixtures.deleteDirectory(fixtureDirectory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NUM_POINTS)
+    public void getPixelLocation(Blackhole blackhole) {
+        for (int i = 0; i < NUM_POINTS; i++) {
+            blackhole.consume(pixelLocator.getPixelLocation(lons[i], lats[i]));
+        }
+    }
+}
@@ -24,11 +24,14 @@ import com.bc.fiduceo.log.FiduceoLogger;
 import com.bc.fiduceo.util.TimeUtils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 public class Archive {
 
@@ -120,34 +123,116 @@ public class Archive {
     }
 
     public Path[] get(Date startDate, Date endDate, String processingVersion, String sensorType) throws IOException {
-        final ArrayList<Path> pathArrayList = new ArrayList<>();
+        return list(startDate, endDate, processingVersion, sensorType, false).getPaths();
+    }
+
+    /**
+     * Lists the products of the time interval. Each distinct product directory is listed once, the directories
+     * are listed concurrently. The product order is the same as for get().
+     *
+     * @param startDate             the start of the time interval
+     * @param endDate               the end of the time interval
+     * @param processingVersion     the processing version
+     * @param sensorType            the sensor type
+     * @param withModificationTimes whether to read the last modification times of the products, otherwise these
+     *                              are set to -1
+     * @return the listing
+     * @throws IOException on disk access failures
+     */
+    public ArchiveListing list(Date startDate, Date endDate, String processingVersion, String sensorType, boolean withModificationTimes) throws IOException {
+        final List<Path> productDirs = getProductDirectories(startDate, endDate, processingVersion, sensorType);
+
+        final List<ArchiveListing> dirListings = new ArrayList<>(productDirs.size());
+        for (int i = 0; i < productDirs.size(); i++) {
+            dirListings.add(null);
+        }
+        try {
+            IntStream.range(0, productDirs.size()).parallel().forEach(i -> {
+                try {
+                    dirListings.set(i, listDirectory(productDirs.get(i), withModificationTimes));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        final ArchiveListing listing = new ArchiveListing();
+        for (final ArchiveListing dirListing : dirListings) {
+            listing.addAll(dirListing);
+        }
+        return listing;
+    }
+
+    /**
+     * Resolves the distinct product directories of the time interval, in temporal order. The time interval is
+     * stepped by the finest time element of the path rule: by day if the rule contains DAY or DAY_OF_YEAR, by month
+     * if it contains MONTH, by year if it contains YEAR. A rule without time elements results in a single directory.
+     *
+     * @param startDate         the start of the time interval
+     * @param endDate           the end of the time interval
+     * @param processingVersion the processing version
+     * @param sensorType        the sensor type
+     * @return the product directories
+     */
+    public List<Path> getProductDirectories(Date startDate, Date endDate, String processingVersion, String sensorType) {
+        final int calendarField = getTimeStepField(getPathElements(sensorType));
+
         final Calendar utcCalendar = TimeUtils.getUTCCalendar();
         utcCalendar.setTime(startDate);
+        if (calendarField == Calendar.MONTH) {
+            utcCalendar.set(Calendar.DAY_OF_MONTH, 1);
+        } else if (calendarField == Calendar.YEAR || calendarField < 0) {
+            utcCalendar.set(Calendar.DAY_OF_YEAR, 1);
+        }
 
+        final LinkedHashSet<Path> productDirs = new LinkedHashSet<>();
         while (utcCalendar.getTime().compareTo(endDate) <= 0) {
             final int year = utcCalendar.get(Calendar.YEAR);
             final int month = utcCalendar.get(Calendar.MONTH) + 1;
             final int day = utcCalendar.get(Calendar.DAY_OF_MONTH);
-            final Path productsDir = createValidProductPath(processingVersion, sensorType, year, month, day);
-
-            if (Files.exists(productsDir)) {
-                log.info("The product directory: " + productsDir);
-                final Iterator<Path> iterator = Files.list(productsDir).iterator();
-                while (iterator.hasNext()) {
-                    final Path next = iterator.next();
-                    if (pathArrayList.contains(next)) {
-                        // @todo 3 tb/tb this is a crude skip-what-you-already-have logic. We really need to determine
-                        // the time loop increment by checking the pathSegments defined - which is not that simple tb 2016-11-02
-                        continue;
-                    }
-                    pathArrayList.add(next);
-                }
-            } else {
-                log.warning("The directory doest not exist: " + productsDir);
+            productDirs.add(createValidProductPath(processingVersion, sensorType, year, month, day));
+
+            if (calendarField < 0) {
+                break;
+            }
+            utcCalendar.add(calendarField, 1);
+        }
+
+        return new ArrayList<>(productDirs);
+    }
+
+    // package access for testing only
+    static int getTimeStepField(String[] pathElements) {
+        final List<String> elements = Arrays.asList(pathElements);
+        if (elements.contains(DAY) || elements.contains(DAY_OF_YEAR)) {
+            return Calendar.DAY_OF_MONTH;
+        } else if (elements.contains(MONTH)) {
+            return Calendar.MONTH;
+        } else if (elements.contains(YEAR)) {
+            return Calendar.YEAR;
+        }
+        return -1;
+    }
+
+    private ArchiveListing listDirectory(Path productsDir, boolean withModificationTimes) throws IOException {
+        final ArchiveListing listing = new ArchiveListing();
+        if (!Files.isDirectory(productsDir)) {
+            log.warning("The directory doest not exist: " + productsDir);
+            return listing;
+        }
+
+        log.info("The product directory: " + productsDir);
+        try (Stream<Path> pathStream = Files.list(productsDir)) {
+            final Iterator<Path> iterator = pathStream.iterator();
+            while (iterator.hasNext()) {
+                final Path next = iterator.next();
+                final long lastModified = withModificationTimes ? Files.getLastModifiedTime(next).toMillis() : -1L;
+                listing.add(next, lastModified);
             }
-            utcCalendar.add(Calendar.DAY_OF_MONTH, 1);
         }
-        return pathArrayList.toArray(new Path[0]);
+        return listing;
     }
 
     public Path createValidProductPath(String processingVersion, String sensorType, int year, int month, int day) {
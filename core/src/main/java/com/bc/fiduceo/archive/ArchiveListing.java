@@ -0,0 +1,131 @@
+package com.bc.fiduceo.archive;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An ordered, duplicate free list of product paths with their last modification times. A listing can be stored
+ * as snapshot file, one "modification-time TAB path" line per product, and compared to a later listing.
+ */
+public class ArchiveListing {
+
+    private final LinkedHashMap<Path, Long> entries;
+
+    public ArchiveListing() {
+        entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * Adds a product, replacing the modification time if the path is already listed.
+     *
+     * @param path         the product path
+     * @param lastModified the last modification time in milliseconds since 1970, or -1 if unknown
+     */
+    public void add(Path path, long lastModified) {
+        entries.put(path, lastModified);
+    }
+
+    public void addAll(ArchiveListing other) {
+        entries.putAll(other.entries);
+    }
+
+    public void remove(Path path) {
+        entries.remove(path);
+    }
+
+    public boolean contains(Path path) {
+        return entries.containsKey(path);
+    }
+
+    /**
+     * Retrieves the last modification time of a product.
+     *
+     * @param path the product path
+     * @return the modification time, or -1 if the path is not listed or the time is unknown
+     */
+    public long getLastModified(Path path) {
+        final Long lastModified = entries.get(path);
+        if (lastModified == null) {
+            return -1L;
+        }
+        return lastModified;
+    }
+
+    /**
+     * Checks whether a product is listed with the given, known, modification time.
+     *
+     * @param path         the product path
+     * @param lastModified the current modification time
+     * @return true if listed and not modified
+     */
+    public boolean isUnchanged(Path path, long lastModified) {
+        return lastModified >= 0 && getLastModified(path) == lastModified;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Path[] getPaths() {
+        return entries.keySet().toArray(new Path[0]);
+    }
+
+    /**
+     * Writes the listing to a snapshot file. The file is written to a temporary file first and moved in place, a
+     * previous snapshot stays intact if writing fails.
+     *
+     * @param snapshotFile the file
+     * @throws IOException on disk access failures
+     */
+    public void writeTo(Path snapshotFile) throws IOException {
+        final Path absoluteFile = snapshotFile.toAbsolutePath();
+        final Path tempFile = absoluteFile.resolveSibling(absoluteFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<Path, Long> entry : entries.entrySet()) {
+                writer.write(Long.toString(entry.getValue()));
+                writer.write('\t');
+                writer.write(entry.getKey().toString());
+                writer.newLine();
+            }
+        }
+        Files.move(tempFile, absoluteFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a snapshot file written by writeTo(). The paths are created on the file system of the snapshot file.
+     *
+     * @param snapshotFile the file
+     * @return the listing
+     * @throws IOException on disk access failures or invalid content
+     */
+    public static ArchiveListing readFrom(Path snapshotFile) throws IOException {
+        final ArchiveListing listing = new ArchiveListing();
+        try (BufferedReader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                final int tabIndex = line.indexOf('\t');
+                if (tabIndex < 0) {
+                    throw new IOException("Invalid listing snapshot line: " + line);
+                }
+                try {
+                    final long lastModified = Long.parseLong(line.substring(0, tabIndex));
+                    listing.add(snapshotFile.getFileSystem().getPath(line.substring(tabIndex + 1)), lastModified);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid listing snapshot line: " + line);
+                }
+            }
+        }
+        return listing;
+    }
+}
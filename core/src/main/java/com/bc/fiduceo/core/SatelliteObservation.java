@@ -27,6 +27,7 @@ import com.bc.fiduceo.geometry.TimeAxis;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Date;
+import java.util.function.Supplier;
 
 public class SatelliteObservation {
 
@@ -35,6 +36,8 @@ public class SatelliteObservation {
     private Date stopTime;
     private Geometry geoBounds;
     private TimeAxis[] timeAxes;
+    private Supplier<Geometry> geoBoundsDecoder;
+    private Supplier<TimeAxis[]> timeAxesDecoder;
     private Sensor sensor;
     private NodeType nodeType;
     private Path dataFilePath;
@@ -45,12 +48,29 @@ public class SatelliteObservation {
         id = -1;
     }
 
-    public Geometry getGeoBounds() {
+    public synchronized Geometry getGeoBounds() {
+        if (geoBoundsDecoder != null) {
+            geoBounds = geoBoundsDecoder.get();
+            geoBoundsDecoder = null;
+        }
         return geoBounds;
     }
 
-    public void setGeoBounds(Geometry geoBounds) {
+    public synchronized void setGeoBounds(Geometry geoBounds) {
         this.geoBounds = geoBounds;
+        geoBoundsDecoder = null;
+    }
+
+    /**
+     * Sets a decoder that creates the geo-bounds on first access. Used by the database drivers, so that observations
+     * discarded by the caller (e.g. after a time check) never get their geometries decoded. The decoding is
+     * synchronized on the observation, observations may be shared between threads.
+     *
+     * @param geoBoundsDecoder the decoder, invoked at most once
+     */
+    public synchronized void setGeoBoundsDecoder(Supplier<Geometry> geoBoundsDecoder) {
+        this.geoBoundsDecoder = geoBoundsDecoder;
+        geoBounds = null;
     }
 
     public Date getStartTime() {
@@ -93,12 +113,27 @@ public class SatelliteObservation {
         this.dataFilePath = Paths.get(path);
     }
 
-    public TimeAxis[] getTimeAxes() {
+    public synchronized TimeAxis[] getTimeAxes() {
+        if (timeAxesDecoder != null) {
+            timeAxes = timeAxesDecoder.get();
+            timeAxesDecoder = null;
+        }
         return timeAxes;
     }
 
-    public void setTimeAxes(TimeAxis[] timeAxes) {
+    public synchronized void setTimeAxes(TimeAxis[] timeAxes) {
         this.timeAxes = timeAxes;
+        timeAxesDecoder = null;
+    }
+
+    /**
+     * Sets a decoder that creates the time axes on first access.
+     *
+     * @param timeAxesDecoder the decoder, invoked at most once
+     */
+    public synchronized void setTimeAxesDecoder(Supplier<TimeAxis[]> timeAxesDecoder) {
+        this.timeAxesDecoder = timeAxesDecoder;
+        timeAxes = null;
     }
 
     public void setVersion(String version) {
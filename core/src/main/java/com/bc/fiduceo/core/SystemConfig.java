@@ -37,6 +37,8 @@ public class SystemConfig {
     private String geometryLibraryType;
     private ArchiveConfig archiveConfig;
     private int readerCacheSize;
+    private int tileCacheSize;
+    private String insituCacheLocation;
     private String tempDir;
 
     public static SystemConfig loadFrom(File configDirectory) throws IOException {
@@ -63,6 +65,7 @@ public class SystemConfig {
     public SystemConfig() {
         geometryLibraryType = "S2";
         readerCacheSize = 8;
+        tileCacheSize = 256;
     }
 
     public String getGeometryLibraryType() {
@@ -77,6 +80,21 @@ public class SystemConfig {
         return readerCacheSize;
     }
 
+    /**
+     * The size of the tile cache shared by all readers reading tiled, in MB.
+     */
+    public int getTileCacheSize() {
+        return tileCacheSize;
+    }
+
+    /**
+     * The location of the columnar images of text based in-situ files: "sidecar" stores them next to the source
+     * files, any other value is a cache directory. Null when the images are disabled.
+     */
+    public String getInsituCacheLocation() {
+        return insituCacheLocation;
+    }
+
     public String getTempDir() {
         return tempDir;
     }
@@ -100,6 +118,16 @@ public class SystemConfig {
             this.readerCacheSize = Integer.parseInt(readerCacheSize.getTextTrim());
         }
 
+        final Element tileCacheSize = rootElement.getChild("tile-cache-size");
+        if (tileCacheSize != null) {
+            this.tileCacheSize = Integer.parseInt(tileCacheSize.getTextTrim());
+        }
+
+        final Element insituCacheElement = rootElement.getChild("insitu-cache");
+        if (insituCacheElement != null) {
+            this.insituCacheLocation = insituCacheElement.getTextTrim();
+        }
+
         final Element tempDirElement = rootElement.getChild("temp-directory");
         if (tempDirElement != null) {
             this.tempDir = tempDirElement.getTextTrim();
@@ -44,6 +44,8 @@ public class UseCaseConfig {
     public static final String TAG_NAME_ROOT = "use-case-config";
     static final String TAG_NAME_OUTPUT_PATH = "output-path";
     static final String TAG_NAME_WRITE_DISTANCE = "write-distance";
+    static final String TAG_NAME_SCANLINE_SAMPLING = "scanline-sampling";
+    static final String TAG_NAME_TEMPORAL_JOIN = "temporal-join";
     public static final String TAG_NAME_SENSORS = "sensors";
     public static final String TAG_NAME_SENSOR = "sensor";
     static final String TAG_NAME_RANDOM_POINTS_PER_DAY = "random-points-per-day";
@@ -68,6 +70,8 @@ public class UseCaseConfig {
     private List<Dimension> dimensions;
     private String outputPath;
     private boolean writeDistance;
+    private boolean scanlineSampling;
+    private boolean temporalJoin;
     private int randomPointsPerDay;
     private String distributionFunction;
     private boolean testRun;
@@ -178,6 +182,35 @@ public class UseCaseConfig {
         this.writeDistance = writeDistance;
     }
 
+    /**
+     * Retrieves whether the primary samples shall be collected using the scan-line polygon rasterization
+     * instead of testing each pixel of the bounding rectangle. Only suited for monotonic swath geometries.
+     *
+     * @return true if scan-line sampling is configured
+     */
+    public boolean isScanlineSampling() {
+        return scanlineSampling;
+    }
+
+    void setScanlineSampling(boolean scanlineSampling) {
+        this.scanlineSampling = scanlineSampling;
+    }
+
+    /**
+     * Retrieves whether the secondary observations shall be requested once for the complete processing interval and
+     * paired with the primary observations by a sweep over the time axis, instead of one database request per
+     * primary observation.
+     *
+     * @return true if the temporal join is configured
+     */
+    public boolean isTemporalJoin() {
+        return temporalJoin;
+    }
+
+    void setTemporalJoin(boolean temporalJoin) {
+        this.temporalJoin = temporalJoin;
+    }
+
     public boolean isTestRun() {
         return testRun;
     }
@@ -311,6 +344,16 @@ public class UseCaseConfig {
             setWriteDistance(writeDistance);
         }
 
+        final Element scanlineSamplingElement = rootElement.getChild(TAG_NAME_SCANLINE_SAMPLING);
+        if (scanlineSamplingElement != null) {
+            setScanlineSampling(Boolean.parseBoolean(scanlineSamplingElement.getValue()));
+        }
+
+        final Element temporalJoinElement = rootElement.getChild(TAG_NAME_TEMPORAL_JOIN);
+        if (temporalJoinElement != null) {
+            setTemporalJoin(Boolean.parseBoolean(temporalJoinElement.getValue()));
+        }
+
         final Element seedPointsElem = rootElement.getChild(TAG_NAME_RANDOM_POINTS_PER_DAY);
         if (seedPointsElem != null) {
             setRandomPointsPerDay(getMandatoryPositiveIntegerValue(seedPointsElem));
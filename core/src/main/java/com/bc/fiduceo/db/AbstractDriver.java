@@ -34,14 +34,21 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.HashMap;
 import java.util.List;
 
 abstract class AbstractDriver implements Driver {
 
     static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss.S";
+    static final char LIKE_ESCAPE = '!';
 
     Connection connection;
 
+    // statements are prepared once per connection, sensors are few and never change their id
+    private final HashMap<String, PreparedStatement> preparedStatements = new HashMap<>();
+    private final HashMap<String, Integer> sensorIds = new HashMap<>();
+    private final HashMap<Integer, String> sensorNames = new HashMap<>();
+
     @Override
     public void open(DatabaseConfig databaseConfig) throws SQLException {
         final BasicDataSource dataSource = databaseConfig.getDataSource();
@@ -95,22 +102,28 @@ abstract class AbstractDriver implements Driver {
         statement.execute("DROP TABLE IF EXISTS SENSOR");
 
         connection.commit();
+
+        clearCaches();
     }
 
     @Override
     public void close() throws SQLException {
+        clearCaches();
         connection.close();
     }
 
     @Override
     public int insert(Sensor sensor) throws SQLException {
-        final PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO SENSOR VALUES(default, ?)", Statement.RETURN_GENERATED_KEYS);
+        final PreparedStatement preparedStatement = getPreparedStatement("INSERT INTO SENSOR VALUES(default, ?)", Statement.RETURN_GENERATED_KEYS);
         preparedStatement.setString(1, sensor.getName());
         preparedStatement.executeUpdate();
 
         final ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
         if (generatedKeys.next()) {
-            return generatedKeys.getInt(1);
+            final int sensorId = generatedKeys.getInt(1);
+            sensorIds.put(sensor.getName(), sensorId);
+            sensorNames.put(sensorId, sensor.getName());
+            return sensorId;
         }
         return -1;
     }
@@ -136,35 +149,179 @@ abstract class AbstractDriver implements Driver {
         return observations.size() > 0;
     }
 
+    @Override
+    public int replacePathPrefix(String oldPrefix, String newPrefix, List<SatelliteObservation> observations) throws SQLException {
+        if (observations.isEmpty()) {
+            return 0;
+        }
+
+        int minId = Integer.MAX_VALUE;
+        int maxId = Integer.MIN_VALUE;
+        for (final SatelliteObservation observation : observations) {
+            minId = Math.min(minId, observation.getId());
+            maxId = Math.max(maxId, observation.getId());
+        }
+
+        final String sql = "UPDATE SATELLITE_OBSERVATION SET DataFile = CONCAT(?, SUBSTRING(DataFile, ?)) " +
+                "WHERE DataFile LIKE ? ESCAPE '" + LIKE_ESCAPE + "' AND ID BETWEEN ? AND ?";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setString(1, newPrefix);
+            preparedStatement.setInt(2, oldPrefix.codePointCount(0, oldPrefix.length()) + 1);
+            preparedStatement.setString(3, toPrefixPattern(oldPrefix));
+            preparedStatement.setInt(4, minId);
+            preparedStatement.setInt(5, maxId);
+            final int numUpdated = preparedStatement.executeUpdate();
+
+            connection.commit();
+            return numUpdated;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
     Sensor getSensor(int id) throws SQLException {
-        final Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
-        final ResultSet resultSet = statement.executeQuery("SELECT * FROM SENSOR where ID = " + id);
-        if (resultSet.next()) {
-            final Sensor sensor = new Sensor();
-            sensor.setName(resultSet.getString("Name"));
-            return sensor;
-        } else {
-            throw new SQLException("No Sensor available for ID '" + id + "'");
+        String sensorName = sensorNames.get(id);
+        if (sensorName == null) {
+            final PreparedStatement preparedStatement = getPreparedStatement("SELECT Name FROM SENSOR WHERE ID = ?", Statement.NO_GENERATED_KEYS);
+            preparedStatement.setInt(1, id);
+            final ResultSet resultSet = preparedStatement.executeQuery();
+            if (!resultSet.next()) {
+                throw new SQLException("No Sensor available for ID '" + id + "'");
+            }
+            sensorName = resultSet.getString("Name");
+            resultSet.close();
+
+            sensorNames.put(id, sensorName);
+            sensorIds.put(sensorName, id);
         }
+
+        final Sensor sensor = new Sensor();
+        sensor.setName(sensorName);
+        return sensor;
     }
 
     Integer getSensorId(String sensorName) throws SQLException {
-        final Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
-        final ResultSet resultSet = statement.executeQuery("SELECT ID FROM SENSOR WHERE NAME = '" + sensorName + "'");
+        final Integer cachedId = sensorIds.get(sensorName);
+        if (cachedId != null) {
+            return cachedId;
+        }
 
+        final Integer sensorId = querySensorId(sensorName);
         connection.commit();
+        return sensorId;
+    }
+
+    /**
+     * Retrieves the id of the sensor, the sensor is inserted if not present. Nothing is committed: a sensor inserted
+     * here becomes part of the running transaction and is committed or rolled back together with the observations
+     * referring to it.
+     *
+     * @param sensor the sensor
+     * @return the sensor id
+     * @throws SQLException on database errors
+     */
+    int getOrInsertSensorId(Sensor sensor) throws SQLException {
+        final Integer cachedId = sensorIds.get(sensor.getName());
+        if (cachedId != null) {
+            return cachedId;
+        }
+
+        final Integer sensorId = querySensorId(sensor.getName());
+        if (sensorId != null) {
+            return sensorId;
+        }
+        return insert(sensor);
+    }
+
+    private Integer querySensorId(String sensorName) throws SQLException {
+        final PreparedStatement preparedStatement = getPreparedStatement("SELECT ID FROM SENSOR WHERE NAME = ?", Statement.NO_GENERATED_KEYS);
+        preparedStatement.setString(1, sensorName);
+        final ResultSet resultSet = preparedStatement.executeQuery();
+
+        Integer sensorId = null;
+        if (resultSet.next()) {
+            sensorId = resultSet.getInt("ID");
+            sensorIds.put(sensorName, sensorId);
+            sensorNames.put(sensorId, sensorName);
+        }
+        resultSet.close();
+        return sensorId;
+    }
+
+    PreparedStatement getPreparedStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        PreparedStatement preparedStatement = preparedStatements.get(sql);
+        if (preparedStatement == null) {
+            preparedStatement = connection.prepareStatement(sql, autoGeneratedKeys);
+            preparedStatements.put(sql, preparedStatement);
+        }
+        return preparedStatement;
+    }
+
+    /**
+     * Rolls back the current transaction after a failed batch. The cached sensor ids may refer to sensors inserted
+     * in the rolled back transaction and are dropped.
+     *
+     * @throws SQLException on database errors
+     */
+    void rollback() throws SQLException {
+        sensorIds.clear();
+        sensorNames.clear();
+        connection.rollback();
+    }
+
+    // package access for testing only
+    static String toPrefixPattern(String prefix) {
+        final StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < prefix.length(); i++) {
+            final char c = prefix.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        pattern.append('%');
+        return pattern.toString();
+    }
+
+    // package access for testing only
+    static int[] getGeneratedIds(ResultSet generatedKeys, int numExpected) throws SQLException {
+        final int[] ids = new int[numExpected];
+        int numIds = 0;
+        while (generatedKeys.next()) {
+            if (numIds < numExpected) {
+                ids[numIds] = generatedKeys.getInt(1);
+            }
+            ++numIds;
+        }
+        generatedKeys.close();
 
-        if (resultSet.first()) {
-            return resultSet.getInt("ID");
-        } else {
-            return null;
+        if (numIds != numExpected) {
+            throw new SQLException("Internal driver error: " + numIds + " IDs generated for " + numExpected + " SATELLITE_OBSERVATION entries");
         }
+        return ids;
+    }
+
+    private void clearCaches() throws SQLException {
+        for (final PreparedStatement preparedStatement : preparedStatements.values()) {
+            preparedStatement.close();
+        }
+        preparedStatements.clear();
+        sensorIds.clear();
+        sensorNames.clear();
     }
 
     // package access for testing only tb 2016-11-29
     static String createSql(QueryParameter parameter) {
+        return createSql(parameter, "*");
+    }
+
+    // package access for testing only
+    static String createSql(QueryParameter parameter, String columns) {
         final StringBuilder sql = new StringBuilder();
-        sql.append("SELECT * FROM SATELLITE_OBSERVATION obs INNER JOIN SENSOR sen ON obs.SensorId = sen.ID LEFT OUTER JOIN TIMEAXIS axis ON obs.ID = axis.ObservationId");
+        sql.append("SELECT ");
+        sql.append(columns);
+        sql.append(" FROM SATELLITE_OBSERVATION obs INNER JOIN SENSOR sen ON obs.SensorId = sen.ID LEFT OUTER JOIN TIMEAXIS axis ON obs.ID = axis.ObservationId");
 
         boolean hasWhereClause = hasWhereClause(parameter);
         if (!hasWhereClause) {
@@ -238,6 +395,17 @@ abstract class AbstractDriver implements Driver {
             sql.append("obs.Version = '");
             sql.append(version);
             sql.append("'");
+            appendAnd = true;
+        }
+
+        final int lastId = parameter.getLastId();
+        if (lastId >= 0) {
+            if (appendAnd) {
+                sql.append(" AND ");
+            }
+
+            sql.append("obs.ID > ");
+            sql.append(lastId);
         }
     }
 
@@ -266,7 +434,8 @@ abstract class AbstractDriver implements Driver {
                 parameter.getStopTime() == null &&
                 parameter.getSensorName() == null &&
                 parameter.getVersion() == null &&
-                parameter.getPath() == null) {
+                parameter.getPath() == null &&
+                parameter.getLastId() < 0) {
             hasWhereClause = false;
         }
         return hasWhereClause;
@@ -8,7 +8,6 @@ import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -45,7 +44,7 @@ class DbMaintenanceTool {
         final Option dryRunOption = new Option("d", "dryrun", false, "Defines 'dryrun' status, i.e. just test the replacement and report problems.");
         options.addOption(dryRunOption);
 
-        final Option pathOption = new Option("p", "path", true, "Observation path segment to be replaced or truncated.");
+        final Option pathOption = new Option("p", "path", true, "Leading observation path segment to be replaced or truncated.");
         options.addOption(pathOption);
 
         final Option replaceOption = new Option("r", "replace", true, "Observation path segment replacement.");
@@ -57,6 +56,9 @@ class DbMaintenanceTool {
         final Option segmentsOption = new Option("s", "segments", true, "Number of segments to consider for paths missing the search expression (default: 4)");
         options.addOption(segmentsOption);
 
+        final Option geometriesOption = new Option("g", "geometries", false, "Checks that all observation geometries decode from the binary storage format.");
+        options.addOption(geometriesOption);
+
         return options;
     }
 
@@ -88,7 +90,10 @@ class DbMaintenanceTool {
 
         boolean dryrun = commandLine.hasOption("dryrun");
 
-        if (dryrun) {
+        if (commandLine.hasOption("geometries")) {
+            logger.info("Checking observation geometries");
+            executeGeometryCheck(queryParameter);
+        } else if (dryrun) {
             int numPathSegments = 4;
             final boolean segments = commandLine.hasOption("segments");
             if (segments) {
@@ -103,10 +108,10 @@ class DbMaintenanceTool {
 
             if (truncate) {
                 logger.info("Removing path segment: " + oldPathSegment);
-                processTruncate(oldPathSegment, queryParameter);
+                processReplace(oldPathSegment, "", queryParameter);
             } else {
                 logger.info("Replacing paths - old: " + oldPathSegment + "  new: " + newPathSegment);
-                processUpdate(oldPathSegment, newPathSegment, queryParameter);
+                processReplace(oldPathSegment, newPathSegment, queryParameter);
             }
         }
     }
@@ -121,8 +126,7 @@ class DbMaintenanceTool {
             total_count += satelliteObservations.size();
             logger.info("processed " + total_count + " datasets");
 
-            final int newOffset = queryParameter.getOffset() + PAGE_SIZE;
-            queryParameter.setOffset(newOffset);
+            setNextPage(queryParameter, satelliteObservations);
             satelliteObservations = storage.get(queryParameter);
         }
 
@@ -140,88 +144,91 @@ class DbMaintenanceTool {
         }
     }
 
-    private void processTruncate(String oldPathSegment, QueryParameter queryParameter) throws SQLException {
+    private void executeGeometryCheck(QueryParameter queryParameter) throws SQLException {
         try {
             int total_count = 0;
+            int error_count = 0;
 
             List<SatelliteObservation> satelliteObservations = storage.get(queryParameter);
             while (satelliteObservations.size() > 0) {
-                truncatePaths(oldPathSegment, satelliteObservations);
+                error_count += checkGeometries(satelliteObservations);
 
                 total_count += satelliteObservations.size();
                 logger.info("processed " + total_count + " datasets");
 
-                final int newOffset = queryParameter.getOffset() + PAGE_SIZE;
-                queryParameter.setOffset(newOffset);
+                setNextPage(queryParameter, satelliteObservations);
                 satelliteObservations = storage.get(queryParameter);
             }
+
+            System.out.println("Datasets checked: " + total_count);
+            System.out.println("Datasets with undecodable geometries: " + error_count);
         } finally {
             cleanup();
         }
     }
 
-    private void processUpdate(String oldPathSegment, String newPathSegment, QueryParameter queryParameter) throws SQLException {
+    private void processReplace(String oldPathSegment, String newPathSegment, QueryParameter queryParameter) throws SQLException {
         try {
+            final long startTime = System.currentTimeMillis();
             int total_count = 0;
+            int update_count = 0;
 
             List<SatelliteObservation> satelliteObservations = storage.get(queryParameter);
             while (satelliteObservations.size() > 0) {
-                updatePaths(oldPathSegment, newPathSegment, satelliteObservations);
+                update_count += storage.replacePathPrefix(oldPathSegment, newPathSegment, satelliteObservations);
 
                 total_count += satelliteObservations.size();
-                logger.info("processed " + total_count + " datasets");
+                logger.info("processed " + total_count + " datasets, updated " + update_count);
 
-                final int newOffset = queryParameter.getOffset() + PAGE_SIZE;
-                queryParameter.setOffset(newOffset);
+                setNextPage(queryParameter, satelliteObservations);
                 satelliteObservations = storage.get(queryParameter);
             }
+
+            final long duration = System.currentTimeMillis() - startTime;
+            logger.info("updated " + update_count + " datasets in " + duration + " ms");
+            System.out.println("Datasets updated: " + update_count);
         } finally {
             cleanup();
         }
     }
 
-    private void truncatePaths(String oldPathSegment, List<SatelliteObservation> satelliteObservations) throws SQLException {
-        AbstractBatch batch = null;
-
-        for (final SatelliteObservation observation : satelliteObservations) {
-            final String oldPath = observation.getDataFilePath().toString();
-            final int start = oldPath.indexOf(oldPath);
-            if (start >= 0) {
-                final String newPath = StringUtils.remove(oldPath, oldPathSegment);
-                batch = storage.updatePathBatch(observation, newPath, batch);
-            }
-        }
-
-        if (batch != null) {
-            storage.commitBatch(batch);
+    // package access for testing only
+    static void setNextPage(QueryParameter queryParameter, List<SatelliteObservation> page) {
+        final int lastId = page.get(page.size() - 1).getId();
+        if (lastId > 0) {
+            // keyset pagination - the database does not need to skip the previous pages
+            queryParameter.setLastId(lastId);
+            queryParameter.setOffset(-1);
+        } else {
+            // observations without database id, i.e. MongoDB documents
+            queryParameter.setOffset(queryParameter.getOffset() + PAGE_SIZE);
         }
     }
 
-    private void updatePaths(String oldPathSegment, String newPathSegment, List<SatelliteObservation> satelliteObservations) throws SQLException {
-        AbstractBatch batch = null;
-
+    private void checkPaths(String oldPathSegment, List<SatelliteObservation> satelliteObservations) {
         for (final SatelliteObservation observation : satelliteObservations) {
             final String oldPath = observation.getDataFilePath().toString();
-            if (oldPath.contains(oldPathSegment)) {
-                final String newPath = oldPath.replace(oldPathSegment, newPathSegment);
-                batch = storage.updatePathBatch(observation, newPath, batch);
+            if (oldPath.startsWith(oldPathSegment)) {
+                accumulator.addMatch();
+            } else {
+                accumulator.addMiss(oldPath);
             }
         }
-
-        if (batch != null) {
-            storage.commitBatch(batch);
-        }
     }
 
-    private void checkPaths(String oldPathSegment, List<SatelliteObservation> satelliteObservations) {
+    private int checkGeometries(List<SatelliteObservation> satelliteObservations) {
+        int error_count = 0;
         for (final SatelliteObservation observation : satelliteObservations) {
-            final String oldPath = observation.getDataFilePath().toString();
-            if (oldPath.contains(oldPathSegment)) {
-                accumulator.addMatch();
-            } else {
-                accumulator.addMiss(oldPath);
+            try {
+                // the drivers decode lazily, accessing the geometries triggers the decoding
+                observation.getGeoBounds();
+                observation.getTimeAxes();
+            } catch (RuntimeException e) {
+                logger.warning("Unable to decode geometries of '" + observation.getDataFilePath() + "': " + e.getMessage());
+                ++error_count;
             }
         }
+        return error_count;
     }
 
     private void cleanup() throws SQLException {
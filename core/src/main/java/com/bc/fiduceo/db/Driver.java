@@ -53,12 +53,34 @@ public interface Driver {
 
     void insert(SatelliteObservation satelliteObservation) throws SQLException;
 
+    /**
+     * Inserts a list of observations as one batch, committed once. For large ingestion runs this avoids the
+     * database round trips per observation.
+     *
+     * @param satelliteObservations the observations
+     * @throws SQLException on database errors, the complete batch is rolled back
+     */
+    void insert(List<SatelliteObservation> satelliteObservations) throws SQLException;
+
     void update(SatelliteObservation satelliteObservation) throws SQLException;
 
     AbstractBatch updatePathBatch(SatelliteObservation satelliteObservation, String newPath, AbstractBatch batch) throws SQLException;
 
     void commitBatch(AbstractBatch batch) throws SQLException;
 
+    /**
+     * Replaces the leading path segment of the data file paths of the observations given with a single set-based
+     * update in the database. Paths not starting with the segment are left unchanged, passing an empty replacement
+     * removes the segment.
+     *
+     * @param oldPrefix    the leading path segment to be replaced
+     * @param newPrefix    the replacement
+     * @param observations the observations to update, a page as retrieved from the database
+     * @return the number of observations updated
+     * @throws SQLException on database errors
+     */
+    int replacePathPrefix(String oldPrefix, String newPrefix, List<SatelliteObservation> observations) throws SQLException;
+
     List<SatelliteObservation> get() throws SQLException;
 
     List<SatelliteObservation> get(QueryParameter parameter) throws SQLException;
@@ -28,6 +28,7 @@ import com.bc.fiduceo.util.TimeUtils;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -54,57 +55,62 @@ public class H2Driver extends AbstractDriver {
 
     @Override
     public void insert(SatelliteObservation observation) throws SQLException {
-        final Sensor sensor = observation.getSensor();
-        Integer sensorId = getSensorId(sensor.getName());
-        if (sensorId == null) {
-            sensorId = insert(sensor);
-        }
+        insert(Collections.singletonList(observation));
+    }
 
-        PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO SATELLITE_OBSERVATION VALUES(default, ?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
-        preparedStatement.setTimestamp(1, TimeUtils.toTimestamp(observation.getStartTime()));
-        preparedStatement.setTimestamp(2, TimeUtils.toTimestamp(observation.getStopTime()));
-        preparedStatement.setByte(3, (byte) observation.getNodeType().toId());
-        final com.bc.fiduceo.geometry.Geometry geoBounds = observation.getGeoBounds();
-        if (geoBounds != null) {
-            final String wkt = geometryFactory.format(geoBounds);
-            preparedStatement.setString(4, wkt);
-        } else {
-            preparedStatement.setNull(4, Types.VARCHAR);
-        }
-        preparedStatement.setInt(5, sensorId);
-        preparedStatement.setString(6, observation.getVersion());
-        preparedStatement.setString(7, observation.getDataFilePath().toString());
-        preparedStatement.executeUpdate();
-
-        final ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-        final int observationId;
-        if (generatedKeys.next()) {
-            observationId = generatedKeys.getInt(1);
-        } else {
-            throw new SQLException("Internal driver error: no ID generated for SATELLITE_OBSERVATION");
+    @Override
+    public void insert(List<SatelliteObservation> observations) throws SQLException {
+        if (observations.isEmpty()) {
+            return;
         }
 
-        final TimeAxis[] timeAxes = observation.getTimeAxes();
-        if (timeAxes != null) {
-            for (final TimeAxis timeAxis : timeAxes) {
-                preparedStatement = connection.prepareStatement("INSERT INTO TIMEAXIS VALUES(default, ?, ?, ?, ?)");
-                preparedStatement.setInt(1, observationId);
-                final String wkt = geometryFactory.format(timeAxis.getGeometry());
-                preparedStatement.setString(2, wkt);
-                preparedStatement.setTimestamp(3, TimeUtils.toTimestamp(timeAxis.getStartTime()));
-                preparedStatement.setTimestamp(4, TimeUtils.toTimestamp(timeAxis.getEndTime()));
-                preparedStatement.executeUpdate();
+        try {
+            final PreparedStatement observationStatement = getPreparedStatement("INSERT INTO SATELLITE_OBSERVATION VALUES(default, ?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            for (final SatelliteObservation observation : observations) {
+                final int sensorId = getOrInsertSensorId(observation.getSensor());
+
+                observationStatement.setTimestamp(1, TimeUtils.toTimestamp(observation.getStartTime()));
+                observationStatement.setTimestamp(2, TimeUtils.toTimestamp(observation.getStopTime()));
+                observationStatement.setByte(3, (byte) observation.getNodeType().toId());
+                final com.bc.fiduceo.geometry.Geometry geoBounds = observation.getGeoBounds();
+                if (geoBounds != null) {
+                    observationStatement.setBytes(4, geometryFactory.toStorageFormat(geoBounds));
+                } else {
+                    observationStatement.setNull(4, Types.VARBINARY);
+                }
+                observationStatement.setInt(5, sensorId);
+                observationStatement.setString(6, observation.getVersion());
+                observationStatement.setString(7, observation.getDataFilePath().toString());
+                observationStatement.addBatch();
+            }
+            observationStatement.executeBatch();
+            final int[] observationIds = getGeneratedIds(observationStatement.getGeneratedKeys(), observations.size());
+
+            final PreparedStatement timeAxisStatement = getPreparedStatement("INSERT INTO TIMEAXIS VALUES(default, ?, ?, ?, ?)", Statement.NO_GENERATED_KEYS);
+            boolean hasTimeAxes = false;
+            for (int i = 0; i < observationIds.length; i++) {
+                final TimeAxis[] timeAxes = observations.get(i).getTimeAxes();
+                if (timeAxes == null) {
+                    continue;
+                }
+                for (final TimeAxis timeAxis : timeAxes) {
+                    timeAxisStatement.setInt(1, observationIds[i]);
+                    timeAxisStatement.setBytes(2, geometryFactory.toStorageFormat(timeAxis.getGeometry()));
+                    timeAxisStatement.setTimestamp(3, TimeUtils.toTimestamp(timeAxis.getStartTime()));
+                    timeAxisStatement.setTimestamp(4, TimeUtils.toTimestamp(timeAxis.getEndTime()));
+                    timeAxisStatement.addBatch();
+                    hasTimeAxes = true;
+                }
+            }
+            if (hasTimeAxes) {
+                timeAxisStatement.executeBatch();
             }
-        } else {
-            preparedStatement = connection.prepareStatement("INSERT INTO TIMEAXIS VALUES(default, ?, ?, ?, ?)");
-            preparedStatement.setInt(1, observationId);
-            preparedStatement.setNull(2, Types.VARCHAR);
-            preparedStatement.setTimestamp(3, TimeUtils.toTimestamp(observation.getStartTime()));
-            preparedStatement.setTimestamp(4, TimeUtils.toTimestamp(observation.getStopTime()));
-            preparedStatement.executeUpdate();
-        }
 
-        connection.commit();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            rollback();
+            throw e;
+        }
     }
 
     @Override
@@ -160,11 +166,9 @@ public class H2Driver extends AbstractDriver {
             final int nodeTypeId = resultSet.getInt("NodeType");
             observation.setNodeType(NodeType.fromId(nodeTypeId));
 
-            final Object geoBounds = resultSet.getObject("GeoBounds");
+            final byte[] geoBounds = resultSet.getBytes("GeoBounds");
             if (geoBounds != null) {
-                final String geoBoundsWkt = geoBounds.toString();
-                final com.bc.fiduceo.geometry.Geometry geometry = geometryFactory.fromStorageFormat(geoBoundsWkt.getBytes());
-                observation.setGeoBounds(geometry);
+                observation.setGeoBoundsDecoder(() -> geometryFactory.fromStorageFormat(geoBounds));
             }
 
             final int sensorId = resultSet.getInt("SensorId");
@@ -177,9 +181,9 @@ public class H2Driver extends AbstractDriver {
             final String dataFile = resultSet.getString("DataFile");
             observation.setDataFilePath(dataFile);
 
-            final List<TimeAxis> timeAxesList = new ArrayList<>();
+            final List<StoredTimeAxis> timeAxesList = new ArrayList<>();
             while (observationId == resultSet.getInt("id")) {
-                final TimeAxis timeAxis = getTimeAxis(resultSet);
+                final StoredTimeAxis timeAxis = getTimeAxis(resultSet);
                 if (timeAxis != null) {
                     timeAxesList.add(timeAxis);
                 }
@@ -190,7 +194,7 @@ public class H2Driver extends AbstractDriver {
             }
             resultSet.previous();   // need to rewind one result because the while loop runs one result too far tb 2016-09-23
 
-            observation.setTimeAxes(timeAxesList.toArray(new TimeAxis[0]));
+            observation.setTimeAxesDecoder(() -> StoredTimeAxis.decode(timeAxesList, geometryFactory));
 
             resultList.add(observation);
         }
@@ -198,8 +202,8 @@ public class H2Driver extends AbstractDriver {
         return resultList;
     }
 
-    private TimeAxis getTimeAxis(ResultSet resultSet) throws SQLException {
-        final Object axis = resultSet.getObject("Axis");
+    private StoredTimeAxis getTimeAxis(ResultSet resultSet) throws SQLException {
+        final byte[] axis = resultSet.getBytes("Axis");
         if (axis == null) {
             return null;
         }
@@ -209,13 +213,6 @@ public class H2Driver extends AbstractDriver {
         final Timestamp endTime = resultSet.getTimestamp("StopTime");
         final Date axisEndTime = TimeUtils.toDate(endTime);
 
-        final String axisWkt = axis.toString();
-        final Geometry geometry = geometryFactory.fromStorageFormat(axisWkt.getBytes());
-        if (geometry instanceof MultiLineString) {
-            return new L3TimeAxis(axisStartTime, axisEndTime, geometry);
-        } else {
-            final LineString axisGeometry = (LineString) geometry;
-            return geometryFactory.createTimeAxis(axisGeometry, axisStartTime, axisEndTime);
-        }
+        return new StoredTimeAxis(axis, axisStartTime, axisEndTime);
     }
 }
@@ -33,14 +33,18 @@ import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.model.geojson.PolygonCoordinates;
 import com.mongodb.client.model.geojson.Position;
+import com.mongodb.client.result.UpdateResult;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.bson.Document;
 import org.esa.snap.core.util.StringUtils;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.regex.Pattern;
 
 @SuppressWarnings("unchecked")
 public class MongoDbDriver extends AbstractDriver {
@@ -140,6 +144,21 @@ public class MongoDbDriver extends AbstractDriver {
         observationCollection.insertOne(document);
     }
 
+    @Override
+    public void insert(List<SatelliteObservation> satelliteObservations) {
+        if (satelliteObservations.isEmpty()) {
+            return;
+        }
+
+        final List<Document> documents = new ArrayList<>(satelliteObservations.size());
+        for (final SatelliteObservation satelliteObservation : satelliteObservations) {
+            documents.add(createSatelliteObservationDocument(satelliteObservation));
+        }
+
+        final MongoCollection<Document> observationCollection = database.getCollection(SATELLITE_DATA_COLLECTION);
+        observationCollection.insertMany(documents);
+    }
+
     @Override
     public void update(SatelliteObservation satelliteObservation) throws SQLException {
         final QueryParameter queryParameter = new QueryParameter();
@@ -181,6 +200,33 @@ public class MongoDbDriver extends AbstractDriver {
         }
     }
 
+    @Override
+    public int replacePathPrefix(String oldPrefix, String newPrefix, List<SatelliteObservation> observations) {
+        if (observations.isEmpty()) {
+            return 0;
+        }
+
+        final List<String> paths = new ArrayList<>();
+        for (final SatelliteObservation observation : observations) {
+            paths.add(observation.getDataFilePath().toString());
+        }
+        final Document filterDocument = new Document("$and", Arrays.asList(
+                new Document(DATA_FILE_KEY, new Document("$in", paths)),
+                new Document(DATA_FILE_KEY, new Document("$regex", "^" + Pattern.quote(oldPrefix)))));
+
+        // aggregation pipeline update, requires MongoDB 4.2 or later
+        final String dataFileField = "$" + DATA_FILE_KEY;
+        final Document remainderDocument = new Document("$substrCP", Arrays.asList(dataFileField,
+                oldPrefix.codePointCount(0, oldPrefix.length()),
+                new Document("$strLenCP", dataFileField)));
+        final Document concatDocument = new Document("$concat", Arrays.asList(newPrefix, remainderDocument));
+        final Document updateDocument = new Document("$set", new Document(DATA_FILE_KEY, concatDocument));
+
+        final MongoCollection<Document> observationCollection = database.getCollection(SATELLITE_DATA_COLLECTION);
+        final UpdateResult updateResult = observationCollection.updateMany(filterDocument, Collections.singletonList(updateDocument));
+        return (int) updateResult.getModifiedCount();
+    }
+
     @Override
     public int insert(Sensor sensor) {
         // we use embedded storage at the moment, no need to separately ingest the sensor tb 2016-02-09
@@ -192,6 +238,8 @@ public class MongoDbDriver extends AbstractDriver {
         return get(null);
     }
 
+    // MongoDB documents carry no numeric observation id, the lastId of the parameter is not evaluated. Use offset
+    // based paging instead.
     @Override
     public List<SatelliteObservation> get(QueryParameter parameter) {
         final MongoCollection<Document> observationCollection = database.getCollection(SATELLITE_DATA_COLLECTION);
@@ -25,7 +25,6 @@ package com.bc.fiduceo.db;
 import com.bc.fiduceo.core.NodeType;
 import com.bc.fiduceo.core.SatelliteObservation;
 import com.bc.fiduceo.core.Sensor;
-import com.bc.fiduceo.geometry.Geometry;
 import com.bc.fiduceo.geometry.GeometryFactory;
 import com.bc.fiduceo.util.TimeUtils;
 
@@ -35,6 +34,7 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class MySQLDriver extends AbstractDriver {
@@ -58,22 +58,36 @@ public class MySQLDriver extends AbstractDriver {
 
     @Override
     public void insert(SatelliteObservation observation) throws SQLException {
-        final Sensor sensor = observation.getSensor();
-        Integer sensorId = getSensorId(sensor.getName());
-        if (sensorId == null) {
-            sensorId = insert(sensor);
-        }
+        insert(Collections.singletonList(observation));
+    }
 
-        final PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO SATELLITE_OBSERVATION VALUES(default, ?, ?, ?, GeomFromWKB(?), ?, ?, ?, ?)");
-        preparedStatement.setTimestamp(1, TimeUtils.toTimestamp(observation.getStartTime()));
-        preparedStatement.setTimestamp(2, TimeUtils.toTimestamp(observation.getStopTime()));
-        preparedStatement.setByte(3, (byte) observation.getNodeType().toId());
-        preparedStatement.setObject(4, geometryFactory.toStorageFormat(observation.getGeoBounds()));
-        preparedStatement.setInt(5, sensorId);
-        preparedStatement.setString(6, observation.getDataFilePath().toString());
-        // @todo 2 tb/tb insert TimeAxes here 2013-03-07
+    @Override
+    public void insert(List<SatelliteObservation> observations) throws SQLException {
+        if (observations.isEmpty()) {
+            return;
+        }
 
-        preparedStatement.executeUpdate();
+        try {
+            final PreparedStatement preparedStatement = getPreparedStatement("INSERT INTO SATELLITE_OBSERVATION VALUES(default, ?, ?, ?, GeomFromWKB(?), ?, ?, ?, ?)", Statement.NO_GENERATED_KEYS);
+            for (final SatelliteObservation observation : observations) {
+                final int sensorId = getOrInsertSensorId(observation.getSensor());
+
+                preparedStatement.setTimestamp(1, TimeUtils.toTimestamp(observation.getStartTime()));
+                preparedStatement.setTimestamp(2, TimeUtils.toTimestamp(observation.getStopTime()));
+                preparedStatement.setByte(3, (byte) observation.getNodeType().toId());
+                preparedStatement.setObject(4, geometryFactory.toStorageFormat(observation.getGeoBounds()));
+                preparedStatement.setInt(5, sensorId);
+                preparedStatement.setString(6, observation.getDataFilePath().toString());
+                // @todo 2 tb/tb insert TimeAxes here 2013-03-07
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            rollback();
+            throw e;
+        }
     }
 
     @Override
@@ -113,8 +127,7 @@ public class MySQLDriver extends AbstractDriver {
             observation.setNodeType(NodeType.fromId(nodeTypeId));
 
             final byte[] geoBoundsBytes = resultSet.getBytes("AsWKB(GeoBounds)");
-            final Geometry geometry = geometryFactory.fromStorageFormat(geoBoundsBytes);
-            observation.setGeoBounds(geometry);
+            observation.setGeoBoundsDecoder(() -> geometryFactory.fromStorageFormat(geoBoundsBytes));
 
             final int sensorId = resultSet.getInt("SensorId");
             final Sensor sensor = getSensor(sensorId);
@@ -27,15 +27,19 @@ import com.bc.fiduceo.geometry.*;
 import com.bc.fiduceo.util.TimeUtils;
 import org.apache.commons.dbcp2.BasicDataSource;
 import org.esa.snap.core.util.StringUtils;
-import org.postgis.PGgeometry;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 
 public class PostGISDriver extends AbstractDriver {
 
+    // geometries are transferred as WKB in both directions, the server side WKT conversion is avoided
+    private static final String SELECT_COLUMNS = "obs.ID, obs.StartDate, obs.StopDate, obs.NodeType, ST_AsBinary(obs.GeoBounds) AS GeoBounds, " +
+            "obs.SensorId, obs.Version, obs.DataFile, ST_AsBinary(axis.Axis) AS Axis, axis.StartTime, axis.StopTime";
+
     private GeometryFactory geometryFactory;
 
     @Override
@@ -113,43 +117,62 @@ public class PostGISDriver extends AbstractDriver {
 
     @Override
     public void insert(SatelliteObservation observation) throws SQLException {
-        final Sensor sensor = observation.getSensor();
-        Integer sensorId = getSensorId(sensor.getName());
-        if (sensorId == null) {
-            sensorId = insert(sensor);
-        }
+        insert(Collections.singletonList(observation));
+    }
 
-        PreparedStatement preparedStatement = connection.prepareStatement("INSERT INTO SATELLITE_OBSERVATION VALUES(default, ?, ?, ?, ST_GeomFromText(?), ?, ?, ?) RETURNING ID");
-        preparedStatement.setTimestamp(1, TimeUtils.toTimestamp(observation.getStartTime()));
-        preparedStatement.setTimestamp(2, TimeUtils.toTimestamp(observation.getStopTime()));
-        preparedStatement.setByte(3, (byte) observation.getNodeType().toId());
-        final Geometry geoBounds = observation.getGeoBounds();
-        if (geoBounds != null) {
-            preparedStatement.setString(4, new String(geometryFactory.toStorageFormat(geoBounds)));
-        } else {
-            preparedStatement.setNull(4, Types.OTHER);
+    @Override
+    public void insert(List<SatelliteObservation> observations) throws SQLException {
+        if (observations.isEmpty()) {
+            return;
         }
-        preparedStatement.setInt(5, sensorId);
-        preparedStatement.setString(6, observation.getVersion());
-        preparedStatement.setString(7, observation.getDataFilePath().toString());
 
-        final ResultSet resultSet = preparedStatement.executeQuery();
-        resultSet.next();
-        final int observationId = resultSet.getInt(1);
-        final TimeAxis[] timeAxes = observation.getTimeAxes();
-        if (timeAxes != null) {
-            for (final TimeAxis timeAxis : timeAxes) {
-                preparedStatement = connection.prepareStatement("INSERT INTO TIMEAXIS VALUES(default, ?, ST_GeomFromText(?), ?, ?)");
-                preparedStatement.setInt(1, observationId);
-                final String wkt = geometryFactory.format(timeAxis.getGeometry());
-                preparedStatement.setString(2, wkt);
-                preparedStatement.setTimestamp(3, TimeUtils.toTimestamp(timeAxis.getStartTime()));
-                preparedStatement.setTimestamp(4, TimeUtils.toTimestamp(timeAxis.getEndTime()));
-                preparedStatement.executeUpdate();
+        try {
+            final PreparedStatement observationStatement = getPreparedStatement("INSERT INTO SATELLITE_OBSERVATION VALUES(default, ?, ?, ?, ST_GeomFromWKB(?), ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+            for (final SatelliteObservation observation : observations) {
+                final int sensorId = getOrInsertSensorId(observation.getSensor());
+
+                observationStatement.setTimestamp(1, TimeUtils.toTimestamp(observation.getStartTime()));
+                observationStatement.setTimestamp(2, TimeUtils.toTimestamp(observation.getStopTime()));
+                observationStatement.setByte(3, (byte) observation.getNodeType().toId());
+                final Geometry geoBounds = observation.getGeoBounds();
+                if (geoBounds != null) {
+                    observationStatement.setBytes(4, geometryFactory.toStorageFormat(geoBounds));
+                } else {
+                    observationStatement.setNull(4, Types.BINARY);
+                }
+                observationStatement.setInt(5, sensorId);
+                observationStatement.setString(6, observation.getVersion());
+                observationStatement.setString(7, observation.getDataFilePath().toString());
+                observationStatement.addBatch();
+            }
+            observationStatement.executeBatch();
+            final int[] observationIds = getGeneratedIds(observationStatement.getGeneratedKeys(), observations.size());
+
+            final PreparedStatement timeAxisStatement = getPreparedStatement("INSERT INTO TIMEAXIS VALUES(default, ?, ST_GeomFromWKB(?), ?, ?)", Statement.NO_GENERATED_KEYS);
+            boolean hasTimeAxes = false;
+            for (int i = 0; i < observationIds.length; i++) {
+                final TimeAxis[] timeAxes = observations.get(i).getTimeAxes();
+                if (timeAxes == null) {
+                    continue;
+                }
+                for (final TimeAxis timeAxis : timeAxes) {
+                    timeAxisStatement.setInt(1, observationIds[i]);
+                    timeAxisStatement.setBytes(2, geometryFactory.toStorageFormat(timeAxis.getGeometry()));
+                    timeAxisStatement.setTimestamp(3, TimeUtils.toTimestamp(timeAxis.getStartTime()));
+                    timeAxisStatement.setTimestamp(4, TimeUtils.toTimestamp(timeAxis.getEndTime()));
+                    timeAxisStatement.addBatch();
+                    hasTimeAxes = true;
+                }
+            }
+            if (hasTimeAxes) {
+                timeAxisStatement.executeBatch();
             }
-        }
 
-        connection.commit();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            rollback();
+            throw e;
+        }
     }
 
     @Override
@@ -183,20 +206,20 @@ public class PostGISDriver extends AbstractDriver {
     @Override
     public List<SatelliteObservation> get(QueryParameter parameter) throws SQLException {
         final Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-        String sql = createSql(parameter);
+        String sql = createSql(parameter, SELECT_COLUMNS);
         final ResultSet resultSet = statement.executeQuery(sql);
 
         final List<SatelliteObservation> resultList = new ArrayList<>();
-        final List<TimeAxis> timeAxesList = new ArrayList<>();
+        List<StoredTimeAxis> timeAxesList = new ArrayList<>();
         int currentId = -1;
         SatelliteObservation currentObservation = null;
         while (resultSet.next()) {
             final int observationId = resultSet.getInt("id");
             if (observationId != currentId) {
                 if (currentObservation != null) {
-                    currentObservation.setTimeAxes(timeAxesList.toArray(new TimeAxis[0]));
+                    setTimeAxes(currentObservation, timeAxesList);
                     resultList.add(currentObservation);
-                    timeAxesList.clear();
+                    timeAxesList = new ArrayList<>();
                 }
 
                 currentId = observationId;
@@ -212,10 +235,9 @@ public class PostGISDriver extends AbstractDriver {
                 final int nodeTypeId = resultSet.getInt("NodeType");
                 currentObservation.setNodeType(NodeType.fromId(nodeTypeId));
 
-                final PGgeometry geoBounds = (PGgeometry) resultSet.getObject("GeoBounds");
+                final byte[] geoBounds = resultSet.getBytes("GeoBounds");
                 if (geoBounds != null) {
-                    final Geometry geometry = geometryFactory.fromStorageFormat(geoBounds.getValue().getBytes());
-                    currentObservation.setGeoBounds(geometry);
+                    currentObservation.setGeoBoundsDecoder(() -> geometryFactory.fromStorageFormat(geoBounds));
                 }
 
                 final int sensorId = resultSet.getInt("SensorId");
@@ -228,13 +250,13 @@ public class PostGISDriver extends AbstractDriver {
                 final String dataFile = resultSet.getString("DataFile");
                 currentObservation.setDataFilePath(dataFile);
 
-                final TimeAxis timeAxis = getTimeAxis(resultSet);
+                final StoredTimeAxis timeAxis = getTimeAxis(resultSet);
                 if (timeAxis != null) {
                     timeAxesList.add(timeAxis);
                 }
             } else {
                 // update current observation with TimeAxis
-                final TimeAxis timeAxis = getTimeAxis(resultSet);
+                final StoredTimeAxis timeAxis = getTimeAxis(resultSet);
                 if (timeAxis != null) {
                     timeAxesList.add(timeAxis);
                 }
@@ -242,9 +264,8 @@ public class PostGISDriver extends AbstractDriver {
         }
 
         if (currentObservation != null) {
-            currentObservation.setTimeAxes(timeAxesList.toArray(new TimeAxis[0]));
+            setTimeAxes(currentObservation, timeAxesList);
             resultList.add(currentObservation);
-            timeAxesList.clear();
         }
 
         connection.commit();
@@ -274,8 +295,12 @@ public class PostGISDriver extends AbstractDriver {
         return numValues > 0;
     }
 
-    private TimeAxis getTimeAxis(ResultSet resultSet) throws SQLException {
-        final PGgeometry axis = (PGgeometry) resultSet.getObject("Axis");
+    private void setTimeAxes(SatelliteObservation observation, List<StoredTimeAxis> storedTimeAxes) {
+        observation.setTimeAxesDecoder(() -> StoredTimeAxis.decode(storedTimeAxes, geometryFactory));
+    }
+
+    private StoredTimeAxis getTimeAxis(ResultSet resultSet) throws SQLException {
+        final byte[] axis = resultSet.getBytes("Axis");
         if (axis == null) {
             return null;
         }
@@ -285,13 +310,6 @@ public class PostGISDriver extends AbstractDriver {
         final Timestamp endTime = resultSet.getTimestamp("StopTime");
         final java.util.Date axisEndTime = TimeUtils.toDate(endTime);
 
-        final String axisWkt = axis.getValue();
-        final Geometry geometry = geometryFactory.fromStorageFormat(axisWkt.getBytes());
-        if (geometry instanceof MultiLineString) {
-            return new L3TimeAxis(axisStartTime, axisEndTime, geometry);
-        } else {
-            final LineString axisGeometry = (LineString) geometry;
-            return geometryFactory.createTimeAxis(axisGeometry, axisStartTime, axisEndTime);
-        }
+        return new StoredTimeAxis(axis, axisStartTime, axisEndTime);
     }
 }
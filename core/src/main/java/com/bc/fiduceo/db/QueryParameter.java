@@ -30,10 +30,12 @@ public class QueryParameter {
     private String path;
     private int pageSize;
     private int offset;
+    private int lastId;
 
     public QueryParameter() {
         pageSize = -1;
         offset = -1;
+        lastId = -1;
     }
 
     public void setStartTime(Date startDate) {
@@ -91,4 +93,19 @@ public class QueryParameter {
     public void setOffset(int offset) {
         this.offset = offset;
     }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Restricts the query to observations with a database id larger than the id given. Results are ordered by id,
+     * so passing the id of the last observation of a page retrieves the next page (keyset pagination). In contrast
+     * to an offset, the database does not need to skip all previous rows.
+     *
+     * @param lastId the id of the last observation already retrieved, -1 to switch off
+     */
+    public void setLastId(int lastId) {
+        this.lastId = lastId;
+    }
 }
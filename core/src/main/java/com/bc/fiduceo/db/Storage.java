@@ -64,6 +64,10 @@ public class Storage {
         driver.insert(satelliteObservation);
     }
 
+    public void insert(List<SatelliteObservation> satelliteObservations) throws SQLException {
+        driver.insert(satelliteObservations);
+    }
+
     public void update(SatelliteObservation satelliteObservation) throws SQLException {
         driver.update(satelliteObservation);
     }
@@ -72,6 +76,10 @@ public class Storage {
         return driver.updatePathBatch(satelliteObservation, newPath, batch);
     }
 
+    public int replacePathPrefix(String oldPrefix, String newPrefix, List<SatelliteObservation> observations) throws SQLException {
+        return driver.replacePathPrefix(oldPrefix, newPrefix, observations);
+    }
+
     public void commitBatch(AbstractBatch batch) throws SQLException {
         driver.commitBatch(batch);
     }
@@ -0,0 +1,45 @@
+package com.bc.fiduceo.db;
+
+import com.bc.fiduceo.geometry.Geometry;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.geometry.L3TimeAxis;
+import com.bc.fiduceo.geometry.LineString;
+import com.bc.fiduceo.geometry.MultiLineString;
+import com.bc.fiduceo.geometry.TimeAxis;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A time axis as read from the database, with the geometry still in the binary storage format. Decoding is
+ * deferred until the observation's time axes are accessed.
+ */
+class StoredTimeAxis {
+
+    private final byte[] geometryData;
+    private final Date startTime;
+    private final Date endTime;
+
+    StoredTimeAxis(byte[] geometryData, Date startTime, Date endTime) {
+        this.geometryData = geometryData;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    static TimeAxis[] decode(List<StoredTimeAxis> storedTimeAxes, GeometryFactory geometryFactory) {
+        final TimeAxis[] timeAxes = new TimeAxis[storedTimeAxes.size()];
+        for (int i = 0; i < timeAxes.length; i++) {
+            timeAxes[i] = storedTimeAxes.get(i).decode(geometryFactory);
+        }
+        return timeAxes;
+    }
+
+    TimeAxis decode(GeometryFactory geometryFactory) {
+        final Geometry geometry = geometryFactory.fromStorageFormat(geometryData);
+        if (geometry instanceof MultiLineString) {
+            return new L3TimeAxis(startTime, endTime, geometry);
+        } else {
+            return geometryFactory.createTimeAxis((LineString) geometry, startTime, endTime);
+        }
+    }
+}
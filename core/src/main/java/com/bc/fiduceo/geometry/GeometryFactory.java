@@ -29,6 +29,7 @@ import java.util.List;
 public class GeometryFactory extends AbstractGeometryFactory {
 
     private final GeometryFactoryInterface factoryImpl;
+    private final Type type;
 
     public GeometryFactory(Type type) {
         if (type == Type.JTS) {
@@ -38,18 +39,31 @@ public class GeometryFactory extends AbstractGeometryFactory {
         } else {
             throw new IllegalArgumentException("unknown geometry factory type");
         }
+        this.type = type;
     }
 
     public GeometryFactory(String type) {
         if ("S2".equalsIgnoreCase(type)) {
             factoryImpl = new BcS2GeometryFactory();
+            this.type = Type.S2;
         } else if ("JTS".equalsIgnoreCase(type)) {
             factoryImpl = new JtsGeometryFactory();
+            this.type = Type.JTS;
         } else {
             throw new IllegalArgumentException("unknown geometry factory type");
         }
     }
 
+    /**
+     * Returns the geometry library type. Polygon edges are great circle segments for S2 and straight lines in
+     * the lon/lat plane for JTS.
+     *
+     * @return the type
+     */
+    public Type getType() {
+        return type;
+    }
+
     @Override
     public Geometry parse(String wkt) {
         return factoryImpl.parse(wkt);
@@ -21,6 +21,8 @@
 package com.bc.fiduceo.geometry.s2;
 
 import com.bc.fiduceo.geometry.*;
+import com.bc.geometry.s2.S2WKBReader;
+import com.bc.geometry.s2.S2WKBWriter;
 import com.bc.geometry.s2.S2WKTReader;
 import com.bc.geometry.s2.S2WKTWriter;
 import com.google.common.geometry.*;
@@ -32,15 +34,47 @@ import java.util.List;
 public class BcS2GeometryFactory extends AbstractGeometryFactory {
 
     private final S2WKTReader s2WKTReader;
+    private final S2WKBReader s2WKBReader;
 
     public BcS2GeometryFactory() {
         s2WKTReader = new S2WKTReader();
+        s2WKBReader = new S2WKBReader();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Geometry parse(String wkt) {
         final Object geometry = s2WKTReader.read(wkt);
+        return createGeometry(geometry);
+    }
+
+    @Override
+    public String format(Geometry geometry) {
+        return S2WKTWriter.write(geometry.getInner());
+    }
+
+    @Override
+    public byte[] toStorageFormat(Geometry geometry) {
+        return S2WKBWriter.write(geometry.getInner());
+    }
+
+    @Override
+    public Geometry fromStorageFormat(byte[] rawData) {
+        if (isWkt(rawData)) {
+            // databases written by older versions may still deliver WKT
+            return parse(new String(rawData));
+        }
+        final Object geometry = s2WKBReader.read(rawData);
+        return createGeometry(geometry);
+    }
+
+    // package access for testing only
+    static boolean isWkt(byte[] rawData) {
+        // WKB always starts with the byte order marker 0 or 1, WKT with the geometry type name
+        return rawData.length > 0 && Character.isLetter(rawData[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Geometry createGeometry(Object geometry) {
         if (geometry instanceof S2Polygon) {
             //normalizePolygon((S2Polygon) geometry);
             return new BcS2Polygon(geometry);
@@ -66,23 +100,6 @@ public class BcS2GeometryFactory extends AbstractGeometryFactory {
         throw new RuntimeException("Unsupported geometry type");
     }
 
-    @Override
-    public String format(Geometry geometry) {
-        return S2WKTWriter.write(geometry.getInner());
-    }
-
-    @Override
-    public byte[] toStorageFormat(Geometry geometry) {
-        final String wkt = S2WKTWriter.write(geometry.getInner());
-        return wkt.getBytes();
-    }
-
-    @Override
-    public Geometry fromStorageFormat(byte[] rawData) {
-        final String geometryWkt = new String(rawData);
-        return parse(geometryWkt);
-    }
-
     @Override
     public Point createPoint(double lon, double lat) {
         final S2LatLng s2LatLng = S2LatLng.fromDegrees(lat, lon);
@@ -78,7 +78,7 @@ public class IntersectionEngine {
         return (int) (later.getStartTime().getTime() - earlier.getStopTime().getTime());
     }
 
-    private static Intersection getIntersection(Geometry primaryGeometry, Geometry secondaryGeometry, TimeAxis primaryTimeAxis, TimeAxis secondaryTimeAxis) {
+    static Intersection getIntersection(Geometry primaryGeometry, Geometry secondaryGeometry, TimeAxis primaryTimeAxis, TimeAxis secondaryTimeAxis) {
         final TimeInfo timeInfo = new TimeInfo();
         final Geometry intersectionGeometry = primaryGeometry.getIntersection(secondaryGeometry);
         if (intersectionGeometry.isEmpty()) {
@@ -0,0 +1,242 @@
+package com.bc.fiduceo.math;
+
+import com.bc.fiduceo.core.SatelliteObservation;
+import com.bc.fiduceo.geometry.Geometry;
+import com.bc.fiduceo.geometry.GeometryUtil;
+import com.bc.fiduceo.geometry.TimeAxis;
+import com.google.common.geometry.S2Cap;
+import com.google.common.geometry.S2LatLngRect;
+import com.google.common.geometry.S2Region;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-run replacement for the static {@link IntersectionEngine} calls. The sub-geometries of each observation are
+ * extracted once, together with their S2 bounding caps, bounding rectangles and time intervals. Pairs of
+ * sub-geometries are pruned by time, cap and rectangle before the exact (and expensive) S2 intersection is
+ * calculated.
+ * Observations are identified by their data file path, so the same secondary observation retrieved again from
+ * the database for a later primary re-uses the index entry. The number of indexed observations is bounded, the
+ * least recently used entries are dropped first.
+ */
+public class IntersectionIndex {
+
+    public static final int DEFAULT_MAX_OBSERVATIONS = 512;
+
+    private final long maxTimeDeltaInMillis;
+    private final LinkedHashMap<Object, IndexedObservation> observations;
+
+    private long numCacheHits;
+    private long numCacheMisses;
+    private long numPairs;
+    private long numTimeRejected;
+    private long numCapRejected;
+    private long numRectRejected;
+    private long numExactTests;
+    private long numIntersections;
+
+    /**
+     * Creates the index.
+     *
+     * @param maxTimeDeltaInMillis the maximal time delta between primary and secondary; sub-geometry pairs that are
+     *                             further apart in time are never intersected.
+     */
+    public IntersectionIndex(long maxTimeDeltaInMillis) {
+        this(maxTimeDeltaInMillis, DEFAULT_MAX_OBSERVATIONS);
+    }
+
+    /**
+     * Creates the index.
+     *
+     * @param maxTimeDeltaInMillis the maximal time delta between primary and secondary
+     * @param maxObservations      the maximal number of indexed observations kept
+     */
+    public IntersectionIndex(long maxTimeDeltaInMillis, int maxObservations) {
+        if (maxObservations < 2) {
+            throw new IllegalArgumentException("At least two observations must be kept: " + maxObservations);
+        }
+        this.maxTimeDeltaInMillis = maxTimeDeltaInMillis;
+        observations = new LinkedHashMap<Object, IndexedObservation>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, IndexedObservation> eldest) {
+                return size() > maxObservations;
+            }
+        };
+    }
+
+    public Intersection[] getIntersectingIntervals(SatelliteObservation primaryObservation, SatelliteObservation secondaryObservation) {
+        final IndexedObservation primary = getIndexed(primaryObservation);
+        final IndexedObservation secondary = getIndexed(secondaryObservation);
+
+        final List<Intersection> intersectionList = new ArrayList<>();
+        for (int primaryIndex = 0; primaryIndex < primary.geometries.length; primaryIndex++) {
+            for (int secondaryIndex = 0; secondaryIndex < secondary.geometries.length; secondaryIndex++) {
+                ++numPairs;
+                if (!isCloseInTime(primary, primaryIndex, secondary, secondaryIndex)) {
+                    ++numTimeRejected;
+                    continue;
+                }
+
+                final S2Cap primaryCap = primary.caps[primaryIndex];
+                final S2Cap secondaryCap = secondary.caps[secondaryIndex];
+                if (primaryCap != null && secondaryCap != null && !capsIntersect(primaryCap, secondaryCap)) {
+                    ++numCapRejected;
+                    continue;
+                }
+
+                final S2LatLngRect primaryRect = primary.rects[primaryIndex];
+                final S2LatLngRect secondaryRect = secondary.rects[secondaryIndex];
+                if (primaryRect != null && secondaryRect != null && !primaryRect.intersects(secondaryRect)) {
+                    ++numRectRejected;
+                    continue;
+                }
+
+                ++numExactTests;
+                final Geometry primaryGeometry = primary.geometries[primaryIndex];
+                final Geometry secondaryGeometry = secondary.geometries[secondaryIndex];
+                final Intersection intersection = IntersectionEngine.getIntersection(primaryGeometry, secondaryGeometry,
+                                                                                     primary.timeAxes[primaryIndex],
+                                                                                     secondary.timeAxes[secondaryIndex]);
+                if (intersection != null) {
+                    ++numIntersections;
+                    intersection.setPrimaryGeometry(primaryGeometry);
+                    intersection.setSecondaryGeometry(secondaryGeometry);
+                    intersectionList.add(intersection);
+                }
+            }
+        }
+        return intersectionList.toArray(new Intersection[0]);
+    }
+
+    public long getNumCacheHits() {
+        return numCacheHits;
+    }
+
+    public long getNumCacheMisses() {
+        return numCacheMisses;
+    }
+
+    public long getNumPairs() {
+        return numPairs;
+    }
+
+    public long getNumTimeRejected() {
+        return numTimeRejected;
+    }
+
+    public long getNumCapRejected() {
+        return numCapRejected;
+    }
+
+    public long getNumRectRejected() {
+        return numRectRejected;
+    }
+
+    public long getNumExactTests() {
+        return numExactTests;
+    }
+
+    public long getNumIntersections() {
+        return numIntersections;
+    }
+
+    @Override
+    public String toString() {
+        return "observations: " + observations.size() + " (cache hits: " + numCacheHits + ", misses: " + numCacheMisses + ")" +
+                ", geometry pairs: " + numPairs +
+                ", rejected by time: " + numTimeRejected +
+                ", rejected by cap: " + numCapRejected +
+                ", rejected by rect: " + numRectRejected +
+                ", exact tests: " + numExactTests +
+                ", intersections: " + numIntersections;
+    }
+
+    // package access for testing only
+    static boolean capsIntersect(S2Cap cap_1, S2Cap cap_2) {
+        if (cap_1.isEmpty() || cap_2.isEmpty()) {
+            return false;
+        }
+        if (cap_1.isFull() || cap_2.isFull()) {
+            return true;
+        }
+        final double axisAngle = cap_1.axis().angle(cap_2.axis());
+        return axisAngle <= cap_1.angle().radians() + cap_2.angle().radians();
+    }
+
+    private boolean isCloseInTime(IndexedObservation primary, int primaryIndex, IndexedObservation secondary, int secondaryIndex) {
+        final long gap = Math.max(secondary.startTimes[secondaryIndex] - primary.stopTimes[primaryIndex],
+                                  primary.startTimes[primaryIndex] - secondary.stopTimes[secondaryIndex]);
+        return gap < maxTimeDeltaInMillis;
+    }
+
+    private IndexedObservation getIndexed(SatelliteObservation observation) {
+        final Object key = observation.getDataFilePath() != null ? observation.getDataFilePath() : observation;
+        IndexedObservation indexed = observations.get(key);
+        if (indexed == null) {
+            ++numCacheMisses;
+            indexed = new IndexedObservation(observation);
+            observations.put(key, indexed);
+        } else {
+            ++numCacheHits;
+        }
+        return indexed;
+    }
+
+    private static class IndexedObservation {
+
+        private final Geometry[] geometries;
+        private final TimeAxis[] timeAxes;
+        private final S2Cap[] caps;
+        private final S2LatLngRect[] rects;
+        private final long[] startTimes;
+        private final long[] stopTimes;
+
+        IndexedObservation(SatelliteObservation observation) {
+            geometries = GeometryUtil.getSubGeometries(observation.getGeoBounds());
+            timeAxes = observation.getTimeAxes();
+
+            final int numGeometries = geometries.length;
+            caps = new S2Cap[numGeometries];
+            rects = new S2LatLngRect[numGeometries];
+            startTimes = new long[numGeometries];
+            stopTimes = new long[numGeometries];
+            for (int i = 0; i < numGeometries; i++) {
+                rects[i] = getRectBound(geometries[i]);
+                if (rects[i] != null) {
+                    caps[i] = rects[i].getCapBound();
+                    final Object inner = geometries[i].getInner();
+                    if (inner instanceof S2Region) {
+                        caps[i] = ((S2Region) inner).getCapBound();
+                    }
+                }
+
+                startTimes[i] = timeAxes[i].getStartTime().getTime();
+                stopTimes[i] = timeAxes[i].getEndTime().getTime();
+            }
+        }
+
+        private static S2LatLngRect getRectBound(Geometry geometry) {
+            final Object inner = geometry.getInner();
+            if (inner instanceof S2Region) {
+                return ((S2Region) inner).getRectBound();
+            }
+
+            if (inner instanceof List) {
+                S2LatLngRect rect = S2LatLngRect.empty();
+                for (final Object element : (List<?>) inner) {
+                    if (!(element instanceof S2Region)) {
+                        return null;
+                    }
+                    rect = rect.union(((S2Region) element).getRectBound());
+                }
+                return rect;
+            }
+
+            // non-S2 geometries are not pruned spatially
+            return null;
+        }
+    }
+}
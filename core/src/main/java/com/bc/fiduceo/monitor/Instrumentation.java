@@ -0,0 +1,177 @@
+package com.bc.fiduceo.monitor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide collection of stage timers and counters. Timers accumulate wall clock nanoseconds and
+ * invocation counts per stage name, counters accumulate arbitrary long values (bytes, samples, cache hits).
+ * All operations are thread safe. Each timed stage is additionally emitted as JFR event when a flight
+ * recording is running.
+ */
+public class Instrumentation {
+
+    private static final Instrumentation instance = new Instrumentation();
+
+    private final Map<String, Timer> timers;
+    private final Map<String, LongAdder> counters;
+
+    // package access for testing only
+    Instrumentation() {
+        timers = new ConcurrentSkipListMap<>();
+        counters = new ConcurrentSkipListMap<>();
+    }
+
+    public static Instrumentation get() {
+        return instance;
+    }
+
+    /**
+     * Starts timing the stage with the given name. Use in a try-with-resources block, the time is
+     * recorded when the returned split is closed.
+     *
+     * @param stage the stage name
+     * @return the running split
+     */
+    public Split start(String stage) {
+        return new Split(stage);
+    }
+
+    public void record(String stage, long nanos) {
+        timers.computeIfAbsent(stage, key -> new Timer()).add(nanos);
+    }
+
+    public void add(String counter, long value) {
+        counters.computeIfAbsent(counter, key -> new LongAdder()).add(value);
+    }
+
+    public void increment(String counter) {
+        add(counter, 1L);
+    }
+
+    public long getCount(String stage) {
+        final Timer timer = timers.get(stage);
+        return timer == null ? 0L : timer.count.sum();
+    }
+
+    public long getNanos(String stage) {
+        final Timer timer = timers.get(stage);
+        return timer == null ? 0L : timer.nanos.sum();
+    }
+
+    public long getCounter(String counter) {
+        final LongAdder adder = counters.get(counter);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    public void reset() {
+        timers.clear();
+        counters.clear();
+    }
+
+    /**
+     * Writes the current state as JSON object with the sections "timers" and "counters", both sorted by name.
+     *
+     * @return the JSON string
+     */
+    public String toJson() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("{\n");
+        builder.append("  \"timers\": {");
+        boolean first = true;
+        for (final Map.Entry<String, Timer> entry : timers.entrySet()) {
+            final Timer timer = entry.getValue();
+            builder.append(first ? "\n" : ",\n");
+            builder.append("    ").append(quote(entry.getKey())).append(": {");
+            builder.append("\"count\": ").append(timer.count.sum());
+            builder.append(", \"total_nanos\": ").append(timer.nanos.sum());
+            builder.append(", \"max_nanos\": ").append(timer.max.get());
+            builder.append("}");
+            first = false;
+        }
+        builder.append(first ? "},\n" : "\n  },\n");
+
+        builder.append("  \"counters\": {");
+        first = true;
+        for (final Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            builder.append(first ? "\n" : ",\n");
+            builder.append("    ").append(quote(entry.getKey())).append(": ").append(entry.getValue().sum());
+            first = false;
+        }
+        builder.append(first ? "}\n" : "\n  }\n");
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    public void writeReport(Path reportFile) throws IOException {
+        final Path targetDir = reportFile.getParent();
+        if (targetDir != null && !Files.isDirectory(targetDir)) {
+            Files.createDirectories(targetDir);
+        }
+        try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+    }
+
+    // package access for testing only
+    static String quote(String value) {
+        final StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+        return builder.toString();
+    }
+
+    public class Split implements AutoCloseable {
+
+        private final String stage;
+        private final long startNanos;
+        private final StageEvent event;
+
+        private Split(String stage) {
+            this.stage = stage;
+            event = new StageEvent();
+            event.begin();
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            record(stage, System.nanoTime() - startNanos);
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage;
+                event.commit();
+            }
+        }
+    }
+
+    private static class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        void add(long elapsed) {
+            count.increment();
+            nanos.add(elapsed);
+            max.accumulate(elapsed);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bc.fiduceo.monitor;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event emitted for each timed processing stage. The event is only
+ * recorded when a JFR recording is active, e.g. when the JVM is started with
+ * "-XX:StartFlightRecording".
+ */
+@Name("com.bc.fiduceo.Stage")
+@Label("Processing Stage")
+@Category({"Fiduceo", "Matchup"})
+@Description("Duration of a timed processing stage")
+class StageEvent extends jdk.jfr.Event {
+
+    @Label("Stage")
+    String stage;
+}
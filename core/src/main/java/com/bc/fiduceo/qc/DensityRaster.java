@@ -0,0 +1,53 @@
+package com.bc.fiduceo.qc;
+
+/**
+ * Matchup counts on a fixed global raster in plate carree projection, matching the background map of the
+ * {@link GlobalPlot}. Memory use is independent of the number of matchups.
+ */
+class DensityRaster {
+
+    static final int WIDTH = 2048;
+    static final int HEIGHT = 1024;
+
+    private final int[] counts;
+    private long numPoints;
+
+    DensityRaster() {
+        counts = new int[WIDTH * HEIGHT];
+        numPoints = 0;
+    }
+
+    void add(double lon, double lat) {
+        if (!(lon >= -180.0 && lon <= 180.0 && lat >= -90.0 && lat <= 90.0)) {
+            return;
+        }
+
+        final int x = Math.min((int) ((lon + 180.0) / 360.0 * WIDTH), WIDTH - 1);
+        final int y = Math.min((int) ((90.0 - lat) / 180.0 * HEIGHT), HEIGHT - 1);
+        ++counts[y * WIDTH + x];
+        ++numPoints;
+    }
+
+    void merge(DensityRaster other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        numPoints += other.numPoints;
+    }
+
+    int getCount(int x, int y) {
+        return counts[y * WIDTH + x];
+    }
+
+    int getMaxCount() {
+        int maxCount = 0;
+        for (final int count : counts) {
+            maxCount = Math.max(maxCount, count);
+        }
+        return maxCount;
+    }
+
+    long getNumPoints() {
+        return numPoints;
+    }
+}
@@ -3,6 +3,7 @@ package com.bc.fiduceo.qc;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 class FileMessages {
 
@@ -20,4 +21,11 @@ class FileMessages {
         final List<String> messages = messagesMap.computeIfAbsent(fileName, k -> new ArrayList<>());
         messages.add(message);
     }
+
+    void merge(FileMessages other) {
+        for (final Map.Entry<String, List<String>> entry : other.messagesMap.entrySet()) {
+            final List<String> messages = messagesMap.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+            messages.addAll(entry.getValue());
+        }
+    }
 }
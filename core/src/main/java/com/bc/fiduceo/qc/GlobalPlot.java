@@ -1,12 +1,9 @@
 package com.bc.fiduceo.qc;
 
-import org.esa.snap.core.datamodel.GeoPos;
-
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
-import java.util.ArrayList;
 
 class GlobalPlot {
 
@@ -18,7 +15,7 @@ class GlobalPlot {
         image = ImageIO.read(new ByteArrayInputStream(imageBuffer));
     }
 
-    static GlobalPlot create() throws IOException {
+    static synchronized GlobalPlot create() throws IOException {
         if (imageBuffer == null) {
             final InputStream is = GlobalPlot.class.getResourceAsStream("bluemarble-2048.png");
             if (is == null) {
@@ -33,19 +30,27 @@ class GlobalPlot {
         return new GlobalPlot();
     }
 
-    void plot(ArrayList<GeoPos> pointList) {
-        final Graphics2D graphics = image.createGraphics();
-        graphics.setColor(Color.magenta);
-
-        for (final GeoPos point : pointList) {
-            final double x = (point.getLon() + 180.0) / 360.0;
-            final double y = (90.0 - point.getLat()) / 180.0;
-            final int i = (int) (y * 1024);
-            final int k = (int) (x * 2048);
-            graphics.fill(new Rectangle(k, i, 1, 1));
+    /**
+     * Paints the cells holding matchups, magenta for single matchups up to white for the most dense cells
+     * (logarithmic scale).
+     *
+     * @param raster the matchup density
+     */
+    void plot(DensityRaster raster) {
+        final int maxCount = raster.getMaxCount();
+        final double logMax = Math.log(Math.max(maxCount, 2));
+        final int width = Math.min(image.getWidth(), DensityRaster.WIDTH);
+        final int height = Math.min(image.getHeight(), DensityRaster.HEIGHT);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int count = raster.getCount(x, y);
+                if (count > 0) {
+                    final int green = (int) (255.0 * Math.log(count) / logMax);
+                    image.setRGB(x, y, new Color(255, Math.min(green, 255), 255).getRGB());
+                }
+            }
         }
-
-        graphics.dispose();
     }
 
     void writeTo(String pngFilePath) throws IOException {
@@ -2,45 +2,42 @@ package com.bc.fiduceo.qc;
 
 import com.bc.fiduceo.util.TimeUtils;
 
-import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Map;
 
 class MatchupAccumulator {
 
-    private final Calendar utcCalendar;
-    private final HashMap<String, Integer> daysMap;
-    private int matchupSum;
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    // matchup counts keyed by days since 1970-01-01
+    private final HashMap<Long, int[]> dayCounts;
+    private long matchupSum;
     private int fileCount;
 
     public MatchupAccumulator() {
-        utcCalendar = TimeUtils.getUTCCalendar();
-        daysMap = new HashMap<>();
+        dayCounts = new HashMap<>();
         matchupSum = 0;
         fileCount = 0;
     }
 
     HashMap<String, Integer> getDaysMap() {
+        final HashMap<String, Integer> daysMap = new HashMap<>();
+        for (final Map.Entry<Long, int[]> entry : dayCounts.entrySet()) {
+            final Date day = new Date(entry.getKey() * SECONDS_PER_DAY * 1000L);
+            daysMap.put(TimeUtils.format(day, "yyyy-MM-dd"), entry.getValue()[0]);
+        }
         return daysMap;
     }
 
-    public int getSummaryCount() {
+    public long getSummaryCount() {
         return matchupSum;
     }
 
     public void add(int timeStamp) {
-        utcCalendar.setTimeInMillis(timeStamp * 1000L);
-        final Date time = utcCalendar.getTime();
-        final String dayString = TimeUtils.format(time, "yyyy-MM-dd");
-
-        Integer count = daysMap.get(dayString);
-        if (count == null) {
-            count = 1;
-            daysMap.put(dayString, count);
-        } else {
-            ++count;
-            daysMap.replace(dayString, count);
-        }
+        final long day = Math.floorDiv((long) timeStamp, SECONDS_PER_DAY);
+        final int[] count = dayCounts.computeIfAbsent(day, k -> new int[1]);
+        ++count[0];
 
         matchupSum++;
     }
@@ -52,4 +49,18 @@ class MatchupAccumulator {
     void countFile() {
         ++fileCount;
     }
+
+    /**
+     * Adds the counts of another accumulator, e.g. of a file scanned concurrently.
+     *
+     * @param other the accumulator to merge
+     */
+    void merge(MatchupAccumulator other) {
+        for (final Map.Entry<Long, int[]> entry : other.dayCounts.entrySet()) {
+            final int[] count = dayCounts.computeIfAbsent(entry.getKey(), k -> new int[1]);
+            count[0] += entry.getValue()[0];
+        }
+        matchupSum += other.matchupSum;
+        fileCount += other.fileCount;
+    }
 }
@@ -8,18 +8,23 @@ import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
-import org.esa.snap.core.datamodel.GeoPos;
 import org.esa.snap.core.util.StringUtils;
 import org.esa.snap.core.util.io.FileUtils;
 import ucar.ma2.Array;
 import ucar.ma2.IndexIterator;
 import ucar.ma2.InvalidRangeException;
 import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -32,6 +37,9 @@ class MmdQCTool {
 
     private final static Logger logger = FiduceoLogger.getLogger();
 
+    private static final int CHUNK_SIZE = 65536;
+    private static final int DEFAULT_NUM_BINS = 20;
+
     // package access for testing only tb 2023-02-14
     static Options getOptions() {
         final Options options = new Options();
@@ -59,11 +67,25 @@ class MmdQCTool {
         final Option latOption = new Option("lat", "latitude", true, "Defines the variable name for the latitude.");
         options.addOption(latOption);
 
+        final Option statsOption = new Option("s", "stats", true, "Defines comma separated variables for statistics, use 'name:min:max' for histograms.");
+        options.addOption(statsOption);
+
+        final Option binsOption = new Option("b", "bins", true, "Defines the number of histogram bins, default 20.");
+        options.addOption(binsOption);
+
+        final Option threadsOption = new Option("n", "threads", true, "Defines the number of files analysed in parallel, default: available processors.");
+        options.addOption(threadsOption);
+
         return options;
     }
 
     // package access for testing only tb 2023-02-14
     static void writeReport(OutputStream outputStream, MatchupAccumulator accumulator, FileMessages fileMessages) {
+        writeReport(outputStream, accumulator, fileMessages, new ArrayList<>());
+    }
+
+    // package access for testing only
+    static void writeReport(OutputStream outputStream, MatchupAccumulator accumulator, FileMessages fileMessages, List<VariableStatistics> statistics) {
         final PrintWriter writer = new PrintWriter(outputStream);
 
         final int fileCount = accumulator.getFileCount();
@@ -98,9 +120,37 @@ class MmdQCTool {
             writer.println(entry.getKey() + ": " + entry.getValue());
         }
 
+        if (!statistics.isEmpty()) {
+            writer.println();
+            writer.println("Variable statistics:");
+            for (final VariableStatistics variableStatistics : statistics) {
+                writeStatistics(writer, variableStatistics);
+            }
+        }
+
         writer.flush();
     }
 
+    private static void writeStatistics(PrintWriter writer, VariableStatistics statistics) {
+        writer.println(statistics.getName() + ": valid " + statistics.getValidCount() +
+                ", fill " + statistics.getFillCount() +
+                ", min " + statistics.getMin() +
+                ", max " + statistics.getMax() +
+                ", mean " + statistics.getMean());
+        if (!statistics.hasHistogram()) {
+            return;
+        }
+
+        final long[] histogram = statistics.getHistogram();
+        final double histogramMin = statistics.getHistogramMin();
+        final double binWidth = (statistics.getHistogramMax() - histogramMin) / histogram.length;
+        writer.println(" - below " + histogramMin + ": " + statistics.getBelowCount());
+        for (int i = 0; i < histogram.length; i++) {
+            writer.println(" - " + (histogramMin + i * binWidth) + " .. " + (histogramMin + (i + 1) * binWidth) + ": " + histogram[i]);
+        }
+        writer.println(" - above " + statistics.getHistogramMax() + ": " + statistics.getAboveCount());
+    }
+
     void run(CommandLine commandLine) throws IOException {
         final String inputDirOption = commandLine.getOptionValue("i");
         final List<Path> mmdFiles = getInputFiles(inputDirOption);
@@ -114,31 +164,37 @@ class MmdQCTool {
             outDir = new File(outDirString);
         }
 
-        final FileMessages fileMessages = new FileMessages();
-        final MatchupAccumulator matchupAccumulator = new MatchupAccumulator();
-
-        // loop over files
-        for (final Path mmdFile : mmdFiles) {
-            try (final NetcdfFile netcdfFile = NetCDFUtils.openReadOnly(mmdFile.toAbsolutePath().toString())) {
-                matchupAccumulator.countFile();
+        final boolean plot = commandLine.hasOption("p");
+        if (plot && (StringUtils.isNullOrEmpty(commandLine.getOptionValue("lon")) || StringUtils.isNullOrEmpty(commandLine.getOptionValue("lat")))) {
+            throw new IllegalArgumentException("must provide lon and lat variable names for plotting");
+        }
 
-                // read time variable center pixel
-                final String timeVariableName = commandLine.getOptionValue("t");
-                final Array timeArray = NetCDFUtils.getCenterPosArrayFromMMDFile(netcdfFile, timeVariableName, null,
-                        null, FiduceoConstants.MATCHUP_COUNT);
-                final IndexIterator iterator = timeArray.getIndexIterator();
-                while (iterator.hasNext()) {
-                    final int time = iterator.getIntNext();
-                    matchupAccumulator.add(time);
-                }
+        final List<VariableStatistics> statistics = createStatistics(commandLine);
+        final ScanResult result = new ScanResult(statistics, plot);
 
-                if (commandLine.hasOption("p")) {
-                    plotMatchups(mmdFile, netcdfFile, commandLine, outDir);
-                }
+        final int numThreads = getNumThreads(commandLine);
+        final ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        try {
+            final CompletionService<ScanResult> completionService = new ExecutorCompletionService<>(executorService);
+            for (final Path mmdFile : mmdFiles) {
+                completionService.submit(() -> scanFile(mmdFile, commandLine, statistics, outDir));
+            }
 
-            } catch (IOException | InvalidRangeException ioException) {
-                fileMessages.add(mmdFile.getFileName().toString(), ioException.getMessage());
+            // merged in order of completion, each file result is released once merged
+            for (int i = 0; i < mmdFiles.size(); i++) {
+                result.merge(completionService.take().get());
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while analysing the input files", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        } finally {
+            executorService.shutdownNow();
         }
 
         final Date now = TimeUtils.createNow();
@@ -149,44 +205,149 @@ class MmdQCTool {
             throw new IOException("unable to create report file: " + reportFile.getAbsolutePath());
         }
         try (FileOutputStream outStream = new FileOutputStream(reportFile)) {
-            writeReport(outStream, matchupAccumulator, fileMessages);
+            writeReport(outStream, result.accumulator, result.fileMessages, result.statistics);
+        }
+
+        if (plot) {
+            final File pngFile = new File(outDir, "mmd_qc_locations_" + timeString + ".png");
+            writePlot(result.densityRaster, pngFile);
         }
     }
 
-    private static void plotMatchups(Path mmdFile, NetcdfFile netcdfFile, CommandLine commandLine, File outDir) throws IOException, InvalidRangeException {
-        final String lonVariable = commandLine.getOptionValue("lon");
-        final String latVariable = commandLine.getOptionValue("lat");
+    // package access for testing only
+    static List<VariableStatistics> createStatistics(CommandLine commandLine) {
+        final List<VariableStatistics> statistics = new ArrayList<>();
+        final String statsOption = commandLine.getOptionValue("s");
+        if (StringUtils.isNullOrEmpty(statsOption)) {
+            return statistics;
+        }
 
-        if (StringUtils.isNullOrEmpty(lonVariable) || StringUtils.isNullOrEmpty(latVariable)) {
-            throw new IllegalArgumentException("must provide lon and lat variable names for plotting");
+        final String binsOption = commandLine.getOptionValue("b");
+        final int numBins = StringUtils.isNullOrEmpty(binsOption) ? DEFAULT_NUM_BINS : Integer.parseInt(binsOption.trim());
+        for (final String definition : statsOption.split(",")) {
+            if (!definition.trim().isEmpty()) {
+                statistics.add(VariableStatistics.create(definition, numBins));
+            }
+        }
+        return statistics;
+    }
+
+    // package access for testing only
+    static int getNumThreads(CommandLine commandLine) {
+        final String threadsOption = commandLine.getOptionValue("n");
+        if (StringUtils.isNullOrEmpty(threadsOption)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        final int numThreads = Integer.parseInt(threadsOption.trim());
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive: " + numThreads);
         }
+        return numThreads;
+    }
+
+    private static ScanResult scanFile(Path mmdFile, CommandLine commandLine, List<VariableStatistics> statistics, File outDir) throws IOException {
+        final boolean plot = commandLine.hasOption("p");
+        final ScanResult result = new ScanResult(statistics, plot);
 
-        final String filenameWithoutExtension = FileUtils.getFilenameWithoutExtension(mmdFile.toFile());
-        final String pngFile = filenameWithoutExtension.concat(".png");
-        final File pngFilePath = new File(outDir, pngFile);
+        try (final NetcdfFile netcdfFile = NetCDFUtils.openReadOnly(mmdFile.toAbsolutePath().toString())) {
+            result.accumulator.countFile();
 
-        final GlobalPlot filePlot = GlobalPlot.create();
-        final Array latitudes = NetCDFUtils.getCenterPosArrayFromMMDFile(netcdfFile, latVariable, null,
-                null, FiduceoConstants.MATCHUP_COUNT);
+            final Variable timeVariable = NetCDFUtils.getVariable(netcdfFile, commandLine.getOptionValue("t"));
+            final Variable lonVariable = plot ? NetCDFUtils.getVariable(netcdfFile, commandLine.getOptionValue("lon")) : null;
+            final Variable latVariable = plot ? NetCDFUtils.getVariable(netcdfFile, commandLine.getOptionValue("lat")) : null;
+            final Variable[] statsVariables = new Variable[result.statistics.size()];
+            for (int i = 0; i < statsVariables.length; i++) {
+                statsVariables[i] = NetCDFUtils.getVariable(netcdfFile, result.statistics.get(i).getName());
+            }
 
-        final Array longitudes = NetCDFUtils.getCenterPosArrayFromMMDFile(netcdfFile, lonVariable, null,
-                null, FiduceoConstants.MATCHUP_COUNT);
+            final int numMatchups = getMatchupCount(timeVariable);
+            for (int start = 0; start < numMatchups; start += CHUNK_SIZE) {
+                final int count = Math.min(CHUNK_SIZE, numMatchups - start);
+
+                final Array timeArray = readCenterChunk(timeVariable, start, count);
+                final IndexIterator iterator = timeArray.getIndexIterator();
+                while (iterator.hasNext()) {
+                    result.accumulator.add(iterator.getIntNext());
+                }
+
+                if (plot) {
+                    final Array longitudes = readCenterChunk(lonVariable, start, count);
+                    final Array latitudes = readCenterChunk(latVariable, start, count);
+                    for (int i = 0; i < longitudes.getSize(); i++) {
+                        result.densityRaster.add(longitudes.getFloat(i), latitudes.getFloat(i));
+                    }
+                }
 
-        int numMatches = 1;
-        int[] shape = latitudes.getShape();
-        if (shape.length > 0) {
-           numMatches = shape[0];
+                for (int i = 0; i < statsVariables.length; i++) {
+                    addToStatistics(statsVariables[i], readCenterChunk(statsVariables[i], start, count), result.statistics.get(i));
+                }
+            }
+
+            if (plot) {
+                final String filenameWithoutExtension = FileUtils.getFilenameWithoutExtension(mmdFile.toFile());
+                writePlot(result.densityRaster, new File(outDir, filenameWithoutExtension.concat(".png")));
+            }
+        } catch (IOException | InvalidRangeException | RuntimeException exception) {
+            result.fileMessages.add(mmdFile.getFileName().toString(), exception.getMessage());
         }
 
-        final ArrayList<GeoPos> pointList = new ArrayList<>();
-        for (int i = 0; i < numMatches; i++) {
-            final GeoPos geoPos = new GeoPos(latitudes.getFloat(i), longitudes.getFloat(i));
-            pointList.add(geoPos);
+        return result;
+    }
+
+    // package access for testing only
+    static void addToStatistics(Variable variable, Array rawData, VariableStatistics statistics) {
+        final double fillValue = NetCDFUtils.getFillValue(variable).doubleValue();
+        final double scaleFactor = NetCDFUtils.getScaleFactor(variable);
+        final double offset = NetCDFUtils.getOffset(variable);
+
+        final IndexIterator iterator = rawData.getIndexIterator();
+        while (iterator.hasNext()) {
+            final double rawValue = iterator.getDoubleNext();
+            if (rawValue == fillValue || Double.isNaN(rawValue)) {
+                statistics.addFill();
+            } else {
+                statistics.add(rawValue * scaleFactor + offset);
+            }
         }
+    }
 
-        filePlot.plot(pointList);
-        filePlot.writeTo(pngFilePath.getAbsolutePath());
-        filePlot.dispose();
+    // package access for testing only
+    static int getMatchupCount(Variable variable) {
+        final int countIdx = variable.findDimensionIndex(FiduceoConstants.MATCHUP_COUNT);
+        if (countIdx < 0) {
+            return 1;
+        }
+        return variable.getShape()[countIdx];
+    }
+
+    /**
+     * Reads the center pixel values of a range of matchups, the chunked equivalent of
+     * NetCDFUtils.getCenterPosArrayFromMMDFile() without scaling.
+     */
+    // package access for testing only
+    static Array readCenterChunk(Variable variable, int start, int count) throws IOException, InvalidRangeException {
+        final int countIdx = variable.findDimensionIndex(FiduceoConstants.MATCHUP_COUNT);
+
+        final int[] shape = variable.getShape();
+        final int[] origin = new int[shape.length];
+        for (int i = 0; i < shape.length; i++) {
+            if (i == countIdx) {
+                origin[i] = start;
+                shape[i] = count;
+            } else {
+                origin[i] = shape[i] / 2;
+                shape[i] = 1;
+            }
+        }
+
+        return variable.read(origin, shape).reduce();
+    }
+
+    private static void writePlot(DensityRaster densityRaster, File pngFile) throws IOException {
+        final GlobalPlot globalPlot = GlobalPlot.create();
+        globalPlot.plot(densityRaster);
+        globalPlot.writeTo(pngFile.getAbsolutePath());
+        globalPlot.dispose();
     }
 
     private List<Path> getInputFiles(String inputDirOption) throws IOException {
@@ -203,6 +364,38 @@ class MmdQCTool {
         }
     }
 
+    /**
+     * The results of analysing one or more MMD files, merged after the files are scanned in parallel.
+     */
+    static class ScanResult {
+
+        private final MatchupAccumulator accumulator;
+        private final FileMessages fileMessages;
+        private final List<VariableStatistics> statistics;
+        private final DensityRaster densityRaster;
+
+        ScanResult(List<VariableStatistics> statisticsTemplates, boolean plot) {
+            accumulator = new MatchupAccumulator();
+            fileMessages = new FileMessages();
+            statistics = new ArrayList<>();
+            for (final VariableStatistics template : statisticsTemplates) {
+                statistics.add(template.createEmpty());
+            }
+            densityRaster = plot ? new DensityRaster() : null;
+        }
+
+        void merge(ScanResult other) {
+            accumulator.merge(other.accumulator);
+            fileMessages.merge(other.fileMessages);
+            for (int i = 0; i < statistics.size(); i++) {
+                statistics.get(i).merge(other.statistics.get(i));
+            }
+            if (densityRaster != null) {
+                densityRaster.merge(other.densityRaster);
+            }
+        }
+    }
+
     static void printUsageTo(OutputStream outputStream) {
         final String ls = System.lineSeparator();
         final PrintWriter writer = new PrintWriter(outputStream);
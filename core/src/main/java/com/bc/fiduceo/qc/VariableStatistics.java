@@ -0,0 +1,163 @@
+package com.bc.fiduceo.qc;
+
+/**
+ * Streaming statistics of one MMD variable: valid and fill value counts, minimum, maximum, mean and, if a value
+ * range is configured, a histogram of equally sized bins. Statistics of different files are merged.
+ */
+class VariableStatistics {
+
+    private final String name;
+    private final double histogramMin;
+    private final double histogramMax;
+    private final long[] histogram;
+
+    private long validCount;
+    private long fillCount;
+    private long belowCount;
+    private long aboveCount;
+    private double min;
+    private double max;
+    private double sum;
+
+    VariableStatistics(String name, double histogramMin, double histogramMax, int numBins) {
+        this.name = name;
+        this.histogramMin = histogramMin;
+        this.histogramMax = histogramMax;
+        histogram = numBins > 0 ? new long[numBins] : null;
+
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Creates empty statistics from a command line definition, either the variable name only or
+     * "name:min:max" to additionally calculate a histogram.
+     *
+     * @param definition the definition
+     * @param numBins    the number of histogram bins
+     * @return the statistics
+     */
+    static VariableStatistics create(String definition, int numBins) {
+        final String[] tokens = definition.trim().split(":");
+        if (tokens.length == 1) {
+            return new VariableStatistics(tokens[0], Double.NaN, Double.NaN, 0);
+        }
+        if (tokens.length != 3) {
+            throw new IllegalArgumentException("Invalid statistics definition: " + definition);
+        }
+
+        final double histogramMin = Double.parseDouble(tokens[1]);
+        final double histogramMax = Double.parseDouble(tokens[2]);
+        if (!(histogramMax > histogramMin) || numBins < 1) {
+            throw new IllegalArgumentException("Invalid histogram range or bins: " + definition);
+        }
+        return new VariableStatistics(tokens[0], histogramMin, histogramMax, numBins);
+    }
+
+    /**
+     * Creates empty statistics with the configuration of this one.
+     *
+     * @return the statistics
+     */
+    VariableStatistics createEmpty() {
+        return new VariableStatistics(name, histogramMin, histogramMax, histogram != null ? histogram.length : 0);
+    }
+
+    void add(double value) {
+        if (Double.isNaN(value)) {
+            ++fillCount;
+            return;
+        }
+
+        ++validCount;
+        sum += value;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+
+        if (histogram != null) {
+            if (value < histogramMin) {
+                ++belowCount;
+            } else if (value > histogramMax) {
+                ++aboveCount;
+            } else {
+                final int bin = (int) ((value - histogramMin) / (histogramMax - histogramMin) * histogram.length);
+                ++histogram[Math.min(bin, histogram.length - 1)];
+            }
+        }
+    }
+
+    void addFill() {
+        ++fillCount;
+    }
+
+    void merge(VariableStatistics other) {
+        if (!name.equals(other.name)) {
+            throw new IllegalArgumentException("Unable to merge statistics of " + other.name + " into " + name);
+        }
+
+        validCount += other.validCount;
+        fillCount += other.fillCount;
+        belowCount += other.belowCount;
+        aboveCount += other.aboveCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (histogram != null) {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getValidCount() {
+        return validCount;
+    }
+
+    long getFillCount() {
+        return fillCount;
+    }
+
+    double getMin() {
+        return validCount > 0 ? min : Double.NaN;
+    }
+
+    double getMax() {
+        return validCount > 0 ? max : Double.NaN;
+    }
+
+    double getMean() {
+        return validCount > 0 ? sum / validCount : Double.NaN;
+    }
+
+    boolean hasHistogram() {
+        return histogram != null;
+    }
+
+    long[] getHistogram() {
+        return histogram;
+    }
+
+    double getHistogramMin() {
+        return histogramMin;
+    }
+
+    double getHistogramMax() {
+        return histogramMax;
+    }
+
+    long getBelowCount() {
+        return belowCount;
+    }
+
+    long getAboveCount() {
+        return aboveCount;
+    }
+}
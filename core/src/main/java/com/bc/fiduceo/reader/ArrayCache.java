@@ -20,6 +20,9 @@
 
 package com.bc.fiduceo.reader;
 
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.util.NetCDFUtils;
 import org.esa.snap.core.util.StringUtils;
 import ucar.ma2.Array;
 import ucar.ma2.MAMath;
@@ -30,28 +33,52 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Reads variables of a NetCDF file and keeps them in memory. By default variables are read completely on first
+ * access and kept until cleared. In tiled mode, enabled with withTileCache(), windows are served from tiles of a
+ * number of rows of the first dimension; only the tiles intersecting a window are read, and the tiles are kept
+ * in a cache bounded by the number of bytes that may be shared between files (see ReaderContext.getTileCache()).
+ */
 public class ArrayCache {
 
+    public static final int DEFAULT_TILE_HEIGHT = 64;
+
+    private static final AtomicLong TILE_KEY_COUNTER = new AtomicLong();
+
     private final NetcdfFile netcdfFile;
     private final HashMap<String, Variable> injectedVariables;
     private final HashMap<String, ArrayContainer> cache;
     private final HashMap<String, ArrayContainer> scaledCache;
+    private final HashMap<String, ArrayContainer> attributeCache;
+    private final HashMap<String, Variable> tiledVariables;
     private VariableFinder variableFinder;
+    private long numBytesRead;
+    private TileCache tileCache;
+    private int tileHeight;
+    private String tileKeyPrefix;
 
     public ArrayCache(NetcdfFile netcdfFile) {
         this.netcdfFile = netcdfFile;
 
         cache = new HashMap<>();
         scaledCache = new HashMap<>();
+        attributeCache = new HashMap<>();
+        tiledVariables = new HashMap<>();
         injectedVariables = new HashMap<>();
         variableFinder = netcdfFile::findVariable;
+        tileKeyPrefix = createTileKeyPrefix();
     }
 
     public void clear() {
         cache.clear();
         scaledCache.clear();
+        attributeCache.clear();
+        tiledVariables.clear();
         injectedVariables.clear();
+        // tiles of the previous content are not addressed anymore and age out of the tile cache
+        tileKeyPrefix = createTileKeyPrefix();
     }
 
     // package access for testing only tb 2016-04-14
@@ -59,6 +86,27 @@ public class ArrayCache {
         return groupName + "_" + variableName;
     }
 
+    /**
+     * Switches to tiled mode. Window reads then load tiles of tileHeight rows of the first dimension, all other
+     * dimensions complete. Full array access via get() and getScaled() is not affected.
+     *
+     * @param tileCache  the cache for the tiles, may be shared between files
+     * @param tileHeight the number of rows per tile
+     * @return this
+     */
+    public ArrayCache withTileCache(TileCache tileCache, int tileHeight) {
+        if (tileHeight < 1) {
+            throw new IllegalArgumentException("Invalid tile height: " + tileHeight);
+        }
+        this.tileCache = tileCache;
+        this.tileHeight = tileHeight;
+        return this;
+    }
+
+    public boolean isTiled() {
+        return tileCache != null;
+    }
+
     public Array get(String variableName) throws IOException {
         ArrayContainer container = cache.get(variableName);
         if (container == null) {
@@ -151,6 +199,74 @@ public class ArrayCache {
         return arrayContainer.array;
     }
 
+    /**
+     * Reads the window centered at the given location, pixels outside the data are set to the fill value. The result
+     * equals RawDataReader.read() applied to the complete array; in tiled mode only the rows covered by the window
+     * are read.
+     *
+     * @param variableName the variable name
+     * @param centerX      the x coordinate of the window center
+     * @param centerY      the y coordinate of the window center
+     * @param interval     the window size
+     * @param fillValue    the fill value
+     * @param productSize  the product size
+     * @return the window
+     * @throws IOException on disk access failures
+     */
+    public Array readWindow(String variableName, int centerX, int centerY, Interval interval, Number fillValue, Dimension productSize) throws IOException {
+        if (tileCache == null) {
+            return RawDataReader.read(centerX, centerY, interval, fillValue, get(variableName), productSize);
+        }
+
+        final Variable variable = getVariable(variableName);
+        final int[] shape = variable.getShape();
+        if (shape.length != 2 || shape[0] < 2) {
+            return RawDataReader.read(centerX, centerY, interval, fillValue, readComplete(variableName, variable), productSize);
+        }
+
+        final int[] band = RowBands.getBand(centerY - interval.getY() / 2, interval.getY(), shape[0]);
+        final Array bandArray = readRows(variableName, variable, band[0], band[1]);
+        return RawDataReader.read(centerX, centerY - band[0], interval, fillValue, bandArray, productSize);
+    }
+
+    /**
+     * Retrieves the rows startRow (inclusive) to endRow (exclusive) of the first dimension of a variable, all other
+     * dimensions complete. In tiled mode only the intersecting tiles are read, otherwise the rows are a section of
+     * the completely read array.
+     *
+     * @param variableName the variable name
+     * @param startRow     the first row
+     * @param endRow       the row after the last row
+     * @return the rows
+     * @throws IOException on disk access failures
+     */
+    public Array getRows(String variableName, int startRow, int endRow) throws IOException {
+        if (tileCache == null) {
+            final Array array = get(variableName);
+            final int[] origin = new int[array.getRank()];
+            final int[] shape = array.getShape();
+            origin[0] = startRow;
+            shape[0] = endRow - startRow;
+            return NetCDFUtils.section(array, origin, shape);
+        }
+
+        return readRows(variableName, getVariable(variableName), startRow, endRow);
+    }
+
+    /**
+     * Retrieves the shape of a variable without reading data in tiled mode.
+     *
+     * @param variableName the variable name
+     * @return the shape
+     * @throws IOException on disk access failures
+     */
+    public int[] getShape(String variableName) throws IOException {
+        if (tileCache == null) {
+            return get(variableName).getShape();
+        }
+        return getVariable(variableName).getShape();
+    }
+
     /**
      * Retrieves the string representation of the attribute. Returns null if attribute is not present.
      *
@@ -161,13 +277,8 @@ public class ArrayCache {
      * @throws IOException on disk access failures
      */
     public String getStringAttributeValue(String attributeName, String groupName, String variableName) throws IOException {
-        final Array array = get(groupName, variableName);
-        if (array != null) {
-            final String groupedName = createGroupedName(groupName, variableName);
-            return getAttributeStringValue(attributeName, groupedName);
-        }
-
-        return null;
+        final String groupedName = createGroupedName(groupName, variableName);
+        return getAttributeStringValue(attributeName, getAttributeContainer(groupedName, variableName, groupName));
     }
 
     /**
@@ -180,14 +291,8 @@ public class ArrayCache {
      * @throws IOException on disk access failures
      */
     public Attribute getAttribute(String attributeName, String groupName, String variableName) throws IOException {
-        final Array array = get(groupName, variableName);
-        if (array != null) {
-            final String groupedVariableName = createGroupedName(groupName, variableName);
-            final ArrayContainer arrayContainer = cache.get(groupedVariableName);
-            return arrayContainer.get(attributeName);
-        }
-
-        return null;
+        final String groupedVariableName = createGroupedName(groupName, variableName);
+        return getAttributeContainer(groupedVariableName, variableName, groupName).get(attributeName);
     }
 
     /**
@@ -209,12 +314,7 @@ public class ArrayCache {
      * @throws IOException on disk access failures
      */
     public Number getNumberAttributeValue(String attributeName, String variableName) throws IOException {
-        final Array array = get(variableName);
-        if (array != null) {
-            return getAttributeNumberValue(attributeName, variableName);
-        }
-
-        return null;
+        return getAttributeNumberValue(attributeName, getAttributeContainer(variableName, variableName, null));
     }
 
     /**
@@ -227,17 +327,22 @@ public class ArrayCache {
      * @throws IOException on disk access failures
      */
     public Number getNumberAttributeValue(String attributeName, String groupName, String variableName) throws IOException {
-        final Array array = get(groupName, variableName);
-        if (array != null) {
-            final String groupedName = createGroupedName(groupName, variableName);
-            return getAttributeNumberValue(attributeName, groupedName);
-        }
+        final String groupedName = createGroupedName(groupName, variableName);
+        return getAttributeNumberValue(attributeName, getAttributeContainer(groupedName, variableName, groupName));
+    }
 
-        return null;
+    /**
+     * Retrieves the number of bytes loaded from the file since construction. Cache hits are not counted.
+     *
+     * @return the number of bytes read
+     */
+    public long getNumBytesRead() {
+        return numBytesRead;
     }
 
     public void inject(Variable variable) {
         injectedVariables.put(variable.getShortName(), variable);
+        tiledVariables.remove(variable.getShortName());
     }
 
     public List<Variable> getInjectedVariables() {
@@ -256,16 +361,10 @@ public class ArrayCache {
      * @throws IOException on disk access failures
      */
     String getStringAttributeValue(String attributeName, String variableName) throws IOException {
-        final Array array = get(variableName);
-        if (array != null) {
-            return getAttributeStringValue(attributeName, variableName);
-        }
-
-        return null;
+        return getAttributeStringValue(attributeName, getAttributeContainer(variableName, variableName, null));
     }
 
-    private String getAttributeStringValue(String attributeName, String variableKey) {
-        final ArrayContainer arrayContainer = cache.get(variableKey);
+    private String getAttributeStringValue(String attributeName, ArrayContainer arrayContainer) {
         final Attribute attribute = arrayContainer.get(attributeName);
         if (attribute != null) {
             if (attribute.isString()) {
@@ -277,8 +376,7 @@ public class ArrayCache {
         return null;
     }
 
-    private Number getAttributeNumberValue(String attributeName, String variableKey) {
-        final ArrayContainer arrayContainer = cache.get(variableKey);
+    private Number getAttributeNumberValue(String attributeName, ArrayContainer arrayContainer) {
         final Attribute attribute = arrayContainer.get(attributeName);
         if (attribute != null) {
             if (!attribute.isString()) {
@@ -288,8 +386,49 @@ public class ArrayCache {
         return null;
     }
 
+    // in tiled mode the attributes are read without loading the data
+    private ArrayContainer getAttributeContainer(String variableKey, String variableName, String groupName) throws IOException {
+        ArrayContainer container = cache.get(variableKey);
+        if (container != null) {
+            return container;
+        }
+
+        if (tileCache == null) {
+            if (groupName == null) {
+                get(variableName);
+            } else {
+                get(groupName, variableName);
+            }
+            return cache.get(variableKey);
+        }
+
+        container = attributeCache.get(variableKey);
+        if (container == null) {
+            final Group group = groupName == null ? null : findGroup(groupName);
+            container = new ArrayContainer();
+            readAttributes(findVariable(variableName, group), container);
+            attributeCache.put(variableKey, container);
+        }
+        return container;
+    }
+
     private ArrayContainer readArrayAndAttributes(String variableName, Group group) throws IOException {
-        ArrayContainer container;
+        final Variable variable = findVariable(variableName, group);
+        final ArrayContainer container = new ArrayContainer();
+        synchronized (netcdfFile) {
+            container.array = variable.read();
+            numBytesRead += container.array.getSizeBytes();
+        }
+
+        readAttributes(variable, container);
+        return container;
+    }
+
+    private ArrayContainer readArrayAndAttributesFromGroup(String variableName, String groupName) throws IOException {
+        return readArrayAndAttributes(variableName, findGroup(groupName));
+    }
+
+    private Variable findVariable(String variableName, Group group) throws IOException {
         Variable variable = injectedVariables.get(variableName);
         if (variable == null) {
             synchronized (netcdfFile) {
@@ -299,32 +438,72 @@ public class ArrayCache {
                 throw new IOException("requested variable '" + variableName + "' not present in file: " + netcdfFile.getLocation());
             }
         }
-        container = new ArrayContainer();
+        return variable;
+    }
+
+    private Group findGroup(String groupName) throws IOException {
+        final Group group;
         synchronized (netcdfFile) {
-            container.array = variable.read();
+            group = netcdfFile.findGroup(groupName);
         }
+        if (group == null) {
+            throw new IOException("requested group '" + groupName + "' not present in file: " + netcdfFile.getLocation());
+        }
+        return group;
+    }
 
+    private static void readAttributes(Variable variable, ArrayContainer container) {
         final AttributeContainer attributes = variable.attributes();
         if (attributes != null) {
             for (final Attribute attribute : attributes) {
                 container.attributes.put(attribute.getFullName(), attribute);
             }
         }
-
-        return container;
     }
 
-    private ArrayContainer readArrayAndAttributesFromGroup(String variableName, String groupName) throws IOException {
-        ArrayContainer container;
-        final Group group;
-        synchronized (netcdfFile) {
-            group = netcdfFile.findGroup(groupName);
+    private Variable getVariable(String variableName) throws IOException {
+        Variable variable = tiledVariables.get(variableName);
+        if (variable == null) {
+            variable = findVariable(variableName, null);
+            tiledVariables.put(variableName, variable);
         }
-        if (group == null) {
-            throw new IOException("requested group '" + groupName + "' not present in file: " + netcdfFile.getLocation());
+        return variable;
+    }
+
+    private Array readRows(String variableName, Variable variable, int startRow, int endRow) throws IOException {
+        if (endRow <= startRow) {
+            final int[] shape = variable.getShape();
+            shape[0] = 0;
+            return Array.factory(variable.getDataType(), shape);
         }
-        container = readArrayAndAttributes(variableName, group);
-        return container;
+
+        return RowBands.assemble(startRow, endRow, tileHeight, tileIndex -> getTile(variableName, variable, tileIndex));
+    }
+
+    private Array getTile(String variableName, Variable variable, int tileIndex) throws IOException {
+        return tileCache.get(tileKeyPrefix + variableName + "|" + tileIndex, () -> {
+            final int startRow = tileIndex * tileHeight;
+            final int numRows = Math.min(tileHeight, variable.getShape(0) - startRow);
+            synchronized (netcdfFile) {
+                final Array tile = RowBands.readRows(variable, startRow, numRows);
+                numBytesRead += tile.getSizeBytes();
+                return tile;
+            }
+        });
+    }
+
+    private Array readComplete(String variableName, Variable variable) throws IOException {
+        return tileCache.get(tileKeyPrefix + variableName + "|all", () -> {
+            synchronized (netcdfFile) {
+                final Array array = variable.read();
+                numBytesRead += array.getSizeBytes();
+                return array;
+            }
+        });
+    }
+
+    private static String createTileKeyPrefix() {
+        return "ArrayCache" + TILE_KEY_COUNTER.incrementAndGet() + "|";
     }
 
     private void scaleIfNecessary(ArrayContainer arrayContainer, float scale, float offset) {
@@ -0,0 +1,28 @@
+package com.bc.fiduceo.reader;
+
+import com.bc.fiduceo.core.Interval;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+
+/**
+ * Implemented by readers that can deliver the acquisition time windows of many pixel positions at once, without
+ * allocating an {@link ucar.ma2.Array} per window.
+ */
+public interface BulkAcquisitionTimeReader {
+
+    /**
+     * Reads the acquisition time windows for a number of center pixel positions into a caller provided buffer. The
+     * windows are written consecutively in row-major order, window i starts at target[i * interval.getX() * interval.getY()].
+     * The values are identical to the ones returned by {@link Reader#readAcquisitionTime(int, int, Interval)}.
+     *
+     * @param centerX  the center x positions
+     * @param centerY  the center y positions
+     * @param count    the number of positions to read
+     * @param interval the window sizes
+     * @param target   the buffer, at least count * interval.getX() * interval.getY() elements
+     * @throws IOException           on disk access failures
+     * @throws InvalidRangeException on incorrect coordinates supplied
+     */
+    void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException, InvalidRangeException;
+}
@@ -31,16 +31,37 @@ public class Read2dFrom3d extends WindowReader {
     private final Number fillValue;
     private final int[] initialIndexPos;
     private final ArraySource arraySource;
+    private final ArrayCache arrayCache;
+    private final String shortName;
     private int xIndex;
     private int yIndex;
     private Array windowArray;
-        private Array sourceArray;
+    private Array sourceArray;
 
     public Read2dFrom3d(ArraySource arraySource, String[] offsetMapping, Number fillValue) {
+        this(arraySource, null, null, offsetMapping, fillValue);
+    }
+
+    /**
+     * Reads the windows from a variable of the array cache. If the cache is tiled and the y axis is the first
+     * dimension, only the rows covered by a window are read.
+     *
+     * @param arrayCache    the array cache
+     * @param shortName     the variable name
+     * @param offsetMapping the axis mapping, "x", "y" or the fixed index of each dimension
+     * @param fillValue     the fill value
+     */
+    public Read2dFrom3d(ArrayCache arrayCache, String shortName, String[] offsetMapping, Number fillValue) {
+        this(() -> arrayCache.get(shortName), arrayCache, shortName, offsetMapping, fillValue);
+    }
+
+    private Read2dFrom3d(ArraySource arraySource, ArrayCache arrayCache, String shortName, String[] offsetMapping, Number fillValue) {
         this.fillValue = fillValue;
         initialIndexPos = new int[3];
         initializeIndex(offsetMapping);
         this.arraySource = arraySource;
+        this.arrayCache = arrayCache;
+        this.shortName = shortName;
     }
 
     @Override
@@ -48,11 +69,22 @@ public class Read2dFrom3d extends WindowReader {
         final int windowWidth = interval.getX();
         final int windowHeight = interval.getY();
 
-        sourceArray = arraySource.getSource();
+        final int[] shape;
+        final int rowOffset;
+        if (arrayCache != null && arrayCache.isTiled() && yIndex == 0) {
+            shape = arrayCache.getShape(shortName);
+            final int offsetY = centerY - windowHeight / 2;
+            rowOffset = Math.max(0, Math.min(offsetY, shape[0]));
+            final int rowEnd = Math.max(rowOffset, Math.min(offsetY + windowHeight, shape[0]));
+            sourceArray = arrayCache.getRows(shortName, rowOffset, rowEnd);
+        } else {
+            sourceArray = arraySource.getSource();
+            shape = sourceArray.getShape();
+            rowOffset = 0;
+        }
         windowArray = Array.factory(sourceArray.getDataType(), new int[]{windowWidth, windowHeight});
         final Index tarIndex = windowArray.getIndex();
 
-        final int[] shape = sourceArray.getShape();
         final Index srcIndex = sourceArray.getIndex();
         srcIndex.set(initialIndexPos);
 
@@ -69,7 +101,7 @@ public class Read2dFrom3d extends WindowReader {
                   (y, x, yRaw, xRaw) -> {
                       tarIndex.set(y, x);
                       srcIndex.setDim(xIndex, xRaw);
-                      srcIndex.setDim(yIndex, yRaw);
+                      srcIndex.setDim(yIndex, yRaw - rowOffset);
                       windowArray.setObject(tarIndex, sourceArray.getObject(srcIndex));
                   }
         );
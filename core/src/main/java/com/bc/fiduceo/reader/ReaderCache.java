@@ -22,6 +22,7 @@ package com.bc.fiduceo.reader;
 
 import com.bc.fiduceo.archive.Archive;
 import com.bc.fiduceo.log.FiduceoLogger;
+import com.bc.fiduceo.monitor.Instrumentation;
 
 import java.io.File;
 import java.io.IOException;
@@ -36,6 +37,8 @@ public class ReaderCache extends LinkedHashMap<Path, Reader> {
     static final float DEFAULT_LOAD_FACTOR = 0.75f;
     // The default initial capacity - MUST be a power of two.
     static final int DEFAULT_INITIAL_CAPACITY = 1 << 4; // aka 16
+    static final String HITS_COUNTER = "reader-cache.hits";
+    static final String MISSES_COUNTER = "reader-cache.misses";
     private final int cacheSize;
     private final ReaderFactory readerFactory;
     private final FileServer fileServer;
@@ -67,12 +70,17 @@ public class ReaderCache extends LinkedHashMap<Path, Reader> {
     }
 
     public Reader getReaderFor(String sensorName, Path observationPath, String processingVersion) throws IOException {
+        final Instrumentation instrumentation = Instrumentation.get();
         if (containsKey(observationPath)) {
+            instrumentation.increment(HITS_COUNTER);
             return get(observationPath);
         } else {
+            instrumentation.increment(MISSES_COUNTER);
             final Reader reader = readerFactory.getReader(sensorName);
             final File observationFile = fileServer.getFile(reader, observationPath, sensorName, processingVersion);
-            reader.open(observationFile);
+            try (Instrumentation.Split ignored = instrumentation.start("reader-open")) {
+                reader.open(observationFile);
+            }
             add(reader, observationPath);
             return reader;
         }
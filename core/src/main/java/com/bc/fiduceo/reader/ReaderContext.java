@@ -32,6 +32,8 @@ public class ReaderContext {
     private TempFileUtils tempFileUtils;
     private Archive archive;
     private String configDir;
+    private TileCache tileCache;
+    private String insituCacheLocation;
 
     public ReaderContext() {
         configDir = "./config";
@@ -76,4 +78,29 @@ public class ReaderContext {
     public String getConfigDir() {
         return configDir;
     }
+
+    public String getInsituCacheLocation() {
+        return insituCacheLocation;
+    }
+
+    public void setInsituCacheLocation(String insituCacheLocation) {
+        this.insituCacheLocation = insituCacheLocation;
+    }
+
+    public synchronized void setTileCache(TileCache tileCache) {
+        this.tileCache = tileCache;
+    }
+
+    /**
+     * Retrieves the tile cache shared by all readers using this context. Unless set, a cache of 256 MB is created
+     * on first access.
+     *
+     * @return the tile cache
+     */
+    public synchronized TileCache getTileCache() {
+        if (tileCache == null) {
+            tileCache = new TileCache(256L * 1024L * 1024L);
+        }
+        return tileCache;
+    }
 }
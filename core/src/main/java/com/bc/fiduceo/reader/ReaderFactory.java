@@ -58,6 +58,24 @@ public class ReaderFactory {
         return readerFactory;
     }
 
+    /**
+     * Sets the size of the tile cache shared by all readers reading tiled.
+     *
+     * @param megaBytes the cache size in MB
+     */
+    public void setTileCacheSize(int megaBytes) {
+        readerContext.setTileCache(new TileCache(megaBytes * 1024L * 1024L));
+    }
+
+    /**
+     * Sets the location of the columnar images of text based in-situ files, see ColumnarCache.
+     *
+     * @param insituCacheLocation "sidecar", a cache directory or null to disable the images
+     */
+    public void setInsituCacheLocation(String insituCacheLocation) {
+        readerContext.setInsituCacheLocation(insituCacheLocation);
+    }
+
     public Reader getReader(String sensorPlatformKey) {
         if (StringUtils.isNullOrEmpty(sensorPlatformKey)) {
             throw new IllegalArgumentException("No sensor key supplied to select data reader.");
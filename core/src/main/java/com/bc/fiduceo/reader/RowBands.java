@@ -0,0 +1,102 @@
+package com.bc.fiduceo.reader;
+
+import com.bc.fiduceo.util.NetCDFUtils;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Variable;
+
+import java.io.IOException;
+
+/**
+ * Helpers for window reads from row tiles: a tile holds a number of rows of the first dimension of a variable, all
+ * other dimensions complete. Windows are served from the band of rows they cover.
+ */
+public class RowBands {
+
+    /**
+     * Calculates the band of rows covered by a window, clipped to the raster.
+     *
+     * @param offsetY      the first window row, may be outside the raster
+     * @param windowHeight the window height
+     * @param height       the raster height
+     * @return the first row (inclusive) and the last row (exclusive) of the band
+     */
+    public static int[] getBand(int offsetY, int windowHeight, int height) {
+        int start = Math.max(0, Math.min(offsetY, height));
+        int end = Math.max(0, Math.min(offsetY + windowHeight, height));
+        // keep at least two lines, a single line band would be taken for a false dimension when extracting the window
+        start = Math.max(0, Math.min(start, height - 2));
+        end = Math.min(height, Math.max(end, start + 2));
+        return new int[]{start, end};
+    }
+
+    /**
+     * Reads numRows rows of the first dimension starting at startRow, all other dimensions complete.
+     *
+     * @param variable the variable
+     * @param startRow the first row
+     * @param numRows  the number of rows
+     * @return the rows
+     * @throws IOException on disk access failures
+     */
+    public static Array readRows(Variable variable, int startRow, int numRows) throws IOException {
+        final int[] shape = variable.getShape();
+        final int[] origin = new int[shape.length];
+        origin[0] = startRow;
+        shape[0] = numRows;
+        try {
+            return variable.read(origin, shape);
+        } catch (InvalidRangeException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Assembles the rows startRow (inclusive) to endRow (exclusive) from the tiles of tileHeight rows. A band within
+     * a single tile is returned as a section of the tile, otherwise the rows are copied.
+     *
+     * @param startRow   the first row
+     * @param endRow     the row after the last row, must be larger than startRow
+     * @param tileHeight the number of rows per tile
+     * @param tiles      provides the tiles by index
+     * @return the rows
+     * @throws IOException on disk access failures of the tile source
+     */
+    public static Array assemble(int startRow, int endRow, int tileHeight, TileSource tiles) throws IOException {
+        final int firstTile = startRow / tileHeight;
+        final int lastTile = (endRow - 1) / tileHeight;
+        if (firstTile == lastTile) {
+            final Array tile = tiles.getTile(firstTile);
+            final int[] origin = new int[tile.getRank()];
+            final int[] shape = tile.getShape();
+            origin[0] = startRow - firstTile * tileHeight;
+            shape[0] = endRow - startRow;
+            return NetCDFUtils.section(tile, origin, shape);
+        }
+
+        Array rows = null;
+        int rowSize = 0;
+        int writeOffset = 0;
+        for (int tileIndex = firstTile; tileIndex <= lastTile; tileIndex++) {
+            final Array tile = tiles.getTile(tileIndex);
+            if (rows == null) {
+                final int[] shape = tile.getShape();
+                rowSize = (int) (tile.getSize() / shape[0]);
+                shape[0] = endRow - startRow;
+                rows = Array.factory(tile.getDataType(), shape);
+            }
+
+            final int tileY = tileIndex * tileHeight;
+            final int startY = Math.max(startRow, tileY);
+            final int endY = Math.min(endRow, tileY + tileHeight);
+            final int numElems = (endY - startY) * rowSize;
+            Array.arraycopy(tile, (startY - tileY) * rowSize, rows, writeOffset, numElems);
+            writeOffset += numElems;
+        }
+        return rows;
+    }
+
+    public interface TileSource {
+        Array getTile(int tileIndex) throws IOException;
+    }
+}
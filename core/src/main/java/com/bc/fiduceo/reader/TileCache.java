@@ -0,0 +1,103 @@
+package com.bc.fiduceo.reader;
+
+import ucar.ma2.Array;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache for array tiles, bounded by the number of bytes held. When adding a tile exceeds the
+ * budget, the least recently used tiles are dropped. A single tile larger than the budget is returned, but not
+ * kept. All methods are thread safe; tiles are loaded outside of the lock.
+ */
+public class TileCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Array> tiles;
+    private long numBytes;
+
+    public TileCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        tiles = new LinkedHashMap<>(64, 0.75f, true);
+        numBytes = 0L;
+    }
+
+    /**
+     * Retrieves the tile stored under the key, calls the loader and caches the result if not present.
+     *
+     * @param key    the tile key
+     * @param loader loads the tile on cache misses
+     * @return the tile
+     * @throws IOException on disk access failures of the loader
+     */
+    public Array get(String key, TileLoader loader) throws IOException {
+        synchronized (tiles) {
+            final Array tile = tiles.get(key);
+            if (tile != null) {
+                return tile;
+            }
+        }
+
+        final Array tile = loader.load();
+        put(key, tile);
+        return tile;
+    }
+
+    public Array get(String key) {
+        synchronized (tiles) {
+            return tiles.get(key);
+        }
+    }
+
+    public void put(String key, Array tile) {
+        final long tileBytes = tile.getSizeBytes();
+        synchronized (tiles) {
+            final Array replaced = tiles.remove(key);
+            if (replaced != null) {
+                numBytes -= replaced.getSizeBytes();
+            }
+
+            if (tileBytes > maxBytes) {
+                return;
+            }
+
+            final Iterator<Map.Entry<String, Array>> iterator = tiles.entrySet().iterator();
+            while (numBytes + tileBytes > maxBytes && iterator.hasNext()) {
+                numBytes -= iterator.next().getValue().getSizeBytes();
+                iterator.remove();
+            }
+
+            tiles.put(key, tile);
+            numBytes += tileBytes;
+        }
+    }
+
+    public long getSizeInBytes() {
+        synchronized (tiles) {
+            return numBytes;
+        }
+    }
+
+    public int getNumTiles() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void clear() {
+        synchronized (tiles) {
+            tiles.clear();
+            numBytes = 0L;
+        }
+    }
+
+    public interface TileLoader {
+        Array load() throws IOException;
+    }
+}
@@ -83,7 +83,8 @@ public class AIRS_L1B_Reader extends NetCDFReader {
     @Override
     public void open(File file) throws IOException {
         netcdfFile = NetcdfFile.open(file.getPath());
-        arrayCache = new ArrayCache(netcdfFile).withVariableFinder((group, variableName) -> findVariable(variableName));
+        arrayCache = new ArrayCache(netcdfFile).withVariableFinder((group, variableName) -> findVariable(variableName))
+                .withTileCache(readerContext.getTileCache(), ArrayCache.DEFAULT_TILE_HEIGHT);
     }
 
     @Override
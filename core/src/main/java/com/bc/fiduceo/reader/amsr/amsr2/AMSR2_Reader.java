@@ -10,13 +10,13 @@ import com.bc.fiduceo.location.PixelLocatorFactory;
 import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.amsr.AmsrUtils;
 import com.bc.fiduceo.reader.netcdf.NetCDFReader;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.reader.time.TimeLocator_TAI1993Vector;
 import com.bc.fiduceo.util.NetCDFUtils;
 import com.bc.fiduceo.util.TimeUtils;
 import org.esa.snap.core.datamodel.ProductData;
 import ucar.ma2.*;
-import ucar.ma2.DataType;
 import ucar.nc2.Attribute;
 import ucar.nc2.NetcdfFile;
 import ucar.nc2.Variable;
@@ -30,7 +30,7 @@ import java.util.List;
 
 import static com.bc.fiduceo.util.NetCDFUtils.CF_FILL_VALUE_NAME;
 
-public class AMSR2_Reader extends NetCDFReader {
+public class AMSR2_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final String REG_EX = "GW1AM2_\\d{12}_\\d{3}[AD]_L1SGRTBR_\\d{7}.h5(.gz)?";
     private static final String[] LAND_OCEAN_FLAG_EXTENSIONS = new String[]{"6", "10", "23", "36"};
@@ -57,12 +57,14 @@ public class AMSR2_Reader extends NetCDFReader {
             netcdfFile = NetcdfFile.open(file.getPath());
         }
         arrayCache = new ArrayCache(netcdfFile);
+        acquisitionTimes = null;
 
         initializeVariables();
     }
 
     @Override
     public void close() throws IOException {
+        acquisitionTimes = null;
         pixelLocator = null;
         boundingPolygonCreator = null;
         if (netcdfFile != null) {
@@ -152,22 +154,29 @@ public class AMSR2_Reader extends NetCDFReader {
 
     @Override
     public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException {
-        final Array rawTimeTAI = readRaw(x, y, interval, "Scan_Time");
-        final double fillValue = getFillValue("Scan_Time").doubleValue();
+        return getAcquisitionTimes().readWindow(x, y, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
 
+    @Override
+    protected AcquisitionTimes createAcquisitionTimes() throws IOException {
+        final String escapedName = NetCDFUtils.escapeVariableName("Scan_Time");
+        final Array rawTimeTAI = arrayCache.get(escapedName);
+        final Number rawFillValue = getFillValue(escapedName);
+        final double fillValue = getFillValue("Scan_Time").doubleValue();
         final int acquisitionTimeFillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
-        final Array acquisitionTimeUtc = Array.factory(DataType.INT, rawTimeTAI.getShape());
-        for (int i = 0; i < rawTimeTAI.getSize(); i++) {
-            final double rawTimeTAIDouble = rawTimeTAI.getDouble(i);
+
+        return AcquisitionTimes.create(rawTimeTAI, getProductSize(), rawFillValue, (rawTimeTAIDouble, y) -> {
             if (rawTimeTAIDouble != fillValue) {
                 final Date utcDate = TimeUtils.tai1993ToUtc(rawTimeTAIDouble);
-                acquisitionTimeUtc.setInt(i, (int) (utcDate.getTime() * 0.001));
-            } else {
-                acquisitionTimeUtc.setInt(i, acquisitionTimeFillValue);
+                return (int) (utcDate.getTime() * 0.001);
             }
-        }
-
-        return (ArrayInt.D2) acquisitionTimeUtc;
+            return acquisitionTimeFillValue;
+        });
     }
 
     @Override
@@ -32,13 +32,13 @@ import com.bc.fiduceo.location.PixelLocatorFactory;
 import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.amsr.AmsrUtils;
 import com.bc.fiduceo.reader.netcdf.NetCDFReader;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.reader.time.TimeLocator_TAI1993Vector;
 import com.bc.fiduceo.util.NetCDFUtils;
 import com.bc.fiduceo.util.TimeUtils;
 import org.esa.snap.core.datamodel.ProductData;
 import ucar.ma2.*;
-import ucar.ma2.DataType;
 import ucar.nc2.Attribute;
 import ucar.nc2.Group;
 import ucar.nc2.Variable;
@@ -51,7 +51,7 @@ import java.util.List;
 
 import static com.bc.fiduceo.util.NetCDFUtils.CF_FILL_VALUE_NAME;
 
-class AMSRE_Reader extends NetCDFReader {
+class AMSRE_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final String DATE_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
     private static final String[] CHANNEL_QUALITY_FLAG_EXTENSIONS = new String[]{"6V", "6H", "10V", "10H", "18V", "18H", "23V", "23H", "36V", "36H", "89V", "89H"};
@@ -201,23 +201,32 @@ class AMSRE_Reader extends NetCDFReader {
 
     @Override
     public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException {
-        final Array rawTimeTAI = readRaw(x, y, interval, "Time");
+        return getAcquisitionTimes().readWindow(x, y, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
+
+    @Override
+    protected AcquisitionTimes createAcquisitionTimes() throws IOException {
+        final String hdfVariableName = namesConverter.toHdf("Time");
+        final String hdfGroupName = getGroupNameForVariable(hdfVariableName);
+        final Array rawTimeTAI = arrayCache.get(hdfGroupName, hdfVariableName);
+        final Number rawFillValue = getFillValue(hdfGroupName, hdfVariableName);
+
         final String groupName = getGroupNameForVariable("Time");
         final double taiFillValue = getFillValue(groupName, "Time").doubleValue();
-
         final int acquisitionTimeFillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
-        final Array acquisitionTimeUtc = Array.factory(DataType.INT, rawTimeTAI.getShape());
-        for (int i = 0; i < rawTimeTAI.getSize(); i++) {
-            final double rawTimeTAIDouble = rawTimeTAI.getDouble(i);
+
+        return AcquisitionTimes.create(rawTimeTAI, getProductSize(), rawFillValue, (rawTimeTAIDouble, y) -> {
             if (rawTimeTAIDouble != taiFillValue) {
                 final Date utcDate = TimeUtils.tai1993ToUtc(rawTimeTAIDouble);
-                acquisitionTimeUtc.setInt(i, (int) (utcDate.getTime() * 0.001));
-            } else {
-                acquisitionTimeUtc.setInt(i, acquisitionTimeFillValue);
+                return (int) (utcDate.getTime() * 0.001);
             }
-        }
-
-        return (ArrayInt.D2) acquisitionTimeUtc;
+            return acquisitionTimeFillValue;
+        });
     }
 
     @Override
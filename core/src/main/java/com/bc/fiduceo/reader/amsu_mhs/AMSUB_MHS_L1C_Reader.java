@@ -50,6 +50,7 @@ import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.location.PixelLocatorFactory;
 import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.netcdf.NetCDFReader;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.reader.time.TimeLocator_YearDoyMs;
 import com.bc.fiduceo.util.NetCDFUtils;
@@ -68,7 +69,7 @@ import java.util.Date;
 import java.util.List;
 
 
-class AMSUB_MHS_L1C_Reader extends NetCDFReader {
+class AMSUB_MHS_L1C_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final String GEOLOCATION_GROUP_NAME = "Geolocation";
     private static final String DATA_GROUP_NAME = "Data";
@@ -256,28 +257,29 @@ class AMSUB_MHS_L1C_Reader extends NetCDFReader {
     // @todo 3 tb/** this method does the correct thing but there is room for improvement 2016-04-19
     @Override
     public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException {
-        final Array scnlinyr = readRaw(x, y, interval, "scnlinyr");
-        final int fillValue = getFillValue("scnlinyr", "Data", scnlinyr).intValue();
-        final Array acquisitionTimeArray = scnlinyr.copy();
-        final Index acquisitionTimeIndex = acquisitionTimeArray.getIndex();
-        int yTime = y - interval.getY() / 2;
+        return getAcquisitionTimes().readWindow(x, y, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
+
+    @Override
+    protected AcquisitionTimes createAcquisitionTimes() throws IOException {
+        final Array scnlinyr = arrayCache.get(DATA_GROUP_NAME, "scnlinyr");
+        final int fillValue = getFillValue("scnlinyr", DATA_GROUP_NAME, scnlinyr).intValue();
         final TimeLocator timeLocator = getTimeLocator();
-        final Index scnlinyrIndex = scnlinyr.getIndex();
-
-        for (int yIndex = 0; yIndex < interval.getY(); yIndex++) {
-            for (int xIndex = 0; xIndex < interval.getX(); xIndex++) {
-                scnlinyrIndex.set(yIndex, xIndex);
-                acquisitionTimeIndex.set(yIndex, xIndex);
-                if (scnlinyr.getInt(scnlinyrIndex) != fillValue) {
-                    final long scanLineTime = timeLocator.getTimeFor(0, yTime);
-                    final int scanLineTimeInSeconds = (int) (scanLineTime / 1000);
-                    acquisitionTimeArray.setInt(acquisitionTimeIndex, scanLineTimeInSeconds);
-                }
-            }
-            yTime++;
-        }
 
-        return (ArrayInt.D2) acquisitionTimeArray;
+        // fill values of scnlinyr are passed through as acquisition time
+        return AcquisitionTimes.create(scnlinyr, swathSize, fillValue, (rawValue, y) -> {
+            final int year = (int) rawValue;
+            if (year != fillValue) {
+                final long scanLineTime = timeLocator.getTimeFor(0, y);
+                return (int) (scanLineTime / 1000);
+            }
+            return year;
+        });
     }
 
     @Override
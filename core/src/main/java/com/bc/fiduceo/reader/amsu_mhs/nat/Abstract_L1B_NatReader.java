@@ -9,6 +9,7 @@ import com.bc.fiduceo.location.PixelGeoCodingPixelLocator;
 import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.amsu_mhs.nat.record_types.MPHR;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.reader.time.TimeLocator_StartStopDate;
 import com.bc.fiduceo.util.NetCDFUtils;
@@ -29,9 +30,8 @@ import java.util.*;
 
 import static com.bc.fiduceo.core.NodeType.UNDEFINED;
 import static com.bc.fiduceo.reader.amsu_mhs.nat.EPS_Constants.*;
-import static ucar.ma2.DataType.INT;
 
-abstract public class Abstract_L1B_NatReader implements Reader {
+abstract public class Abstract_L1B_NatReader implements Reader, BulkAcquisitionTimeReader {
 
     protected VariableRegistry registry;
     protected EpsVariableCache cache;
@@ -40,11 +40,13 @@ abstract public class Abstract_L1B_NatReader implements Reader {
     private static final int NUM_SPLITS = 2;
 
     private PixelLocator pixelLocator;
+    private AcquisitionTimes acquisitionTimes;
 
     public Abstract_L1B_NatReader(ReaderContext readerContext) {
         this.geometryFactory = readerContext.getGeometryFactory();
         pixelLocator = null;
         productSize = null;
+        acquisitionTimes = null;
     }
 
     public AcquisitionInfo read(Interval interval) throws IOException {
@@ -152,6 +154,7 @@ abstract public class Abstract_L1B_NatReader implements Reader {
             rawDataBuffer = fis.readAllBytes();
         }
         cache = new EpsVariableCache(rawDataBuffer, registry, sensorKey);
+        acquisitionTimes = null;
     }
 
     @Override
@@ -166,6 +169,7 @@ abstract public class Abstract_L1B_NatReader implements Reader {
         }
         pixelLocator = null;
         productSize = null;
+        acquisitionTimes = null;
     }
 
     @Override
@@ -189,38 +193,29 @@ abstract public class Abstract_L1B_NatReader implements Reader {
 
     @Override
     public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException, InvalidRangeException {
-        final int width = interval.getX();
-        final int height = interval.getY();
-        final int[] timeArray = new int[width * height];
-
-        final Dimension size = getProductSize();
-        final int sceneRasterHeight = size.getNy();
-        final int sceneRasterWidth = size.getNx();
-        final int halfHeight = height / 2;
-        final int halfWidth = width / 2;
-        int writeOffset = 0;
-        final int fillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
-        final TimeLocator timeLocator = getTimeLocator();
-
-        for (int yRead = y - halfHeight; yRead <= y + halfHeight; yRead++) {
-            int lineTimeSeconds = fillValue;
-            if (yRead >= 0 && yRead < sceneRasterHeight) {
-                final long lineTimeMillis = timeLocator.getTimeFor(x, yRead);
-                lineTimeSeconds = (int) Math.round(lineTimeMillis * 0.001);
-            }
+        return getAcquisitionTimes().readWindow(x, y, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        getAcquisitionTimes().readWindows(centerX, centerY, count, interval, target);
+    }
+
+    private AcquisitionTimes getAcquisitionTimes() throws IOException {
+        if (acquisitionTimes == null) {
+            final Dimension size = getProductSize();
+            final TimeLocator timeLocator = getTimeLocator();
 
-            for (int xRead = x - halfWidth; xRead <= x + halfWidth; xRead++) {
-                if (xRead >= 0 && xRead < sceneRasterWidth) {
-                    timeArray[writeOffset] = lineTimeSeconds;
-                } else {
-                    timeArray[writeOffset] = fillValue;
-                }
-                ++writeOffset;
+            final int[] lineTimes = new int[size.getNy()];
+            for (int y = 0; y < lineTimes.length; y++) {
+                final long lineTimeMillis = timeLocator.getTimeFor(0, y);
+                lineTimes[y] = (int) Math.round(lineTimeMillis * 0.001);
             }
-        }
 
-        final int[] shape = new int[]{interval.getY(), interval.getX()};
-        return (ArrayInt.D2) Array.factory(INT, shape, timeArray);
+            final int fillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
+            acquisitionTimes = AcquisitionTimes.perLine(lineTimes, size.getNx(), fillValue);
+        }
+        return acquisitionTimes;
     }
 
     public Dimension getProductSize(int fov_count) {
@@ -27,6 +27,7 @@ import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.location.PixelLocatorFactory;
 import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.netcdf.NetCDFReader;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.NetCDFUtils;
 import com.bc.fiduceo.util.TimeUtils;
@@ -43,13 +44,14 @@ import java.util.List;
 
 import static com.bc.fiduceo.util.NetCDFUtils.CF_FILL_VALUE_NAME;
 
-public class AVHRR_GAC_Reader extends NetCDFReader {
+public class AVHRR_GAC_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final int NUM_SPLITS = 2;
     private static final String START_TIME_ATTRIBUTE_NAME = "start_time";
     private static final String STOP_TIME_ATTRIBUTE_NAME = "stop_time";
 
     private final GeometryFactory geometryFactory;
+    private final ReaderContext readerContext;
 
     private BoundingPolygonCreator boundingPolygonCreator;
     private PixelLocator pixelLocator;
@@ -59,6 +61,7 @@ public class AVHRR_GAC_Reader extends NetCDFReader {
 
     AVHRR_GAC_Reader(ReaderContext readerContext) {
         this.geometryFactory = readerContext.getGeometryFactory();
+        this.readerContext = readerContext;
     }
 
     // package access for testing only tb 2016-03-02
@@ -110,6 +113,7 @@ public class AVHRR_GAC_Reader extends NetCDFReader {
     @Override
     public void open(File file) throws IOException {
         super.open(file);
+        arrayCache.withTileCache(readerContext.getTileCache(), ArrayCache.DEFAULT_TILE_HEIGHT);
 
         final String startTimeString = NetCDFUtils.getGlobalAttributeString(START_TIME_ATTRIBUTE_NAME, netcdfFile);
         startTimeMilliSecondsSince1970 = parseDate(startTimeString).getTime();
@@ -219,11 +223,10 @@ public class AVHRR_GAC_Reader extends NetCDFReader {
 
     @Override
     public Array readRaw(int centerX, int centerY, Interval interval, String variableName) throws IOException {
-        final Array rawArray = arrayCache.get(variableName);
         final Number fillValue = getFillValue(variableName);
 
         final com.bc.fiduceo.core.Dimension productSize = getProductSize();
-        return RawDataReader.read(centerX, centerY, interval, fillValue, rawArray, productSize);
+        return arrayCache.readWindow(variableName, centerX, centerY, interval, fillValue, productSize);
     }
 
     @Override
@@ -241,9 +244,26 @@ public class AVHRR_GAC_Reader extends NetCDFReader {
 
     @Override
     public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException {
-        final Array raw = readRaw(x, y, interval, "dtime");
-        final Number fillValue = getFillValue("dtime");
-        return convertToAcquisitionTime(raw, startTimeMilliSecondsSince1970, fillValue.floatValue());
+        return getAcquisitionTimes().readWindow(x, y, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
+
+    @Override
+    protected AcquisitionTimes createAcquisitionTimes() throws IOException {
+        final Array dtime = arrayCache.get("dtime");
+        final float fillValue = getFillValue("dtime").floatValue();
+        final int timesFillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
+
+        return AcquisitionTimes.create(dtime, getProductSize(), fillValue, (seconds, y) -> {
+            if ((float) seconds != fillValue) {
+                return getSecondsSince1970(startTimeMilliSecondsSince1970, (float) seconds);
+            }
+            return timesFillValue;
+        });
     }
 
     @Override
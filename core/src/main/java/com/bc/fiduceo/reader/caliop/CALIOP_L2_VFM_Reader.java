@@ -54,6 +54,8 @@ public class CALIOP_L2_VFM_Reader extends NetCDFReader {
     private static final String start = "CAL_LID_L2_VFM-Standard-V4-10\\.";
     private static final String end = "Z[DN]\\.hdf";
     public static final String REG_EX = start + YYYY + "-" + MM + "-" + DD + "T" + hh + "-" + mm + "-" + ss + end;
+    public static final int NUM_PROFILE_FLAGS = 5515;
+    public static final int NUM_NADIR_FLAGS = 545;
     private static final short[] nadirLineIndices = calcalculateIndizes();
     final GeometryFactory geometryFactory;
     final CaliopUtils caliopUtils;
@@ -67,18 +69,27 @@ public class CALIOP_L2_VFM_Reader extends NetCDFReader {
 
     public static Array readNadirClassificationFlags(Array array) {
         final short[] storage = (short[]) array.getStorage();
-        final short[] nadirStorage = new short[545];
-        int nadirIdx = 0;
+        final short[] nadirStorage = new short[NUM_NADIR_FLAGS];
+        readNadirClassificationFlags(storage, 0, nadirStorage, 0);
+        return Array.factory(DataType.SHORT, new int[]{nadirStorage.length}, nadirStorage);
+    }
+
+    /**
+     * Extracts the nadir classification flags of one profile.
+     *
+     * @param profiles      the flag data of one or more profiles, 5515 values per profile
+     * @param profileOffset the index of the first value of the profile
+     * @param target        the array receiving the 545 nadir flags
+     * @param targetOffset  the index of the first nadir flag in the target array
+     */
+    public static void readNadirClassificationFlags(short[] profiles, int profileOffset, short[] target, int targetOffset) {
+        int nadirIdx = targetOffset;
         for (int i = 0; i < nadirLineIndices.length; i += 2) {
-            int begin = nadirLineIndices[i];
-            int end = nadirLineIndices[i + 1];
-            final short[] shorts = Arrays.copyOfRange(storage, begin, end + 1);
-            for (short aShort : shorts) {
-                nadirStorage[nadirIdx] = aShort;
-                nadirIdx++;
-            }
+            final int begin = nadirLineIndices[i];
+            final int length = nadirLineIndices[i + 1] - begin + 1;
+            System.arraycopy(profiles, profileOffset + begin, target, nadirIdx, length);
+            nadirIdx += length;
         }
-        return Array.factory(DataType.SHORT, new int[]{nadirStorage.length}, nadirStorage);
     }
 
     static short[] calcalculateIndizes() {
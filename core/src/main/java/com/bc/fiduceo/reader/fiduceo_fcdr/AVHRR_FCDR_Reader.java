@@ -9,7 +9,6 @@ import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.TimeUtils;
 import ucar.ma2.Array;
-import ucar.ma2.ArrayInt;
 import ucar.ma2.InvalidRangeException;
 import ucar.ma2.MAMath;
 import ucar.nc2.Variable;
@@ -122,8 +121,8 @@ public class AVHRR_FCDR_Reader extends FCDR_Reader {
     }
 
     @Override
-    public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException, InvalidRangeException {
-        return readAcquisitionTime(x, y, interval, "Time");
+    protected String getTimeVariableName() {
+        return "Time";
     }
 
     @Override
@@ -5,9 +5,12 @@ import com.bc.fiduceo.geometry.*;
 import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.location.PixelLocatorFactory;
 import com.bc.fiduceo.reader.BoundingPolygonCreator;
+import com.bc.fiduceo.reader.BulkAcquisitionTimeReader;
 import com.bc.fiduceo.reader.Geometries;
 import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.reader.ReaderUtils;
 import com.bc.fiduceo.reader.netcdf.NetCDFReader;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.util.NetCDFUtils;
 import com.bc.fiduceo.util.TimeUtils;
 import ucar.ma2.*;
@@ -21,7 +24,7 @@ import java.util.List;
 
 import static com.bc.fiduceo.util.NetCDFUtils.*;
 
-abstract class FCDR_Reader extends NetCDFReader {
+abstract class FCDR_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final int NUM_SPLITS = 2;
 
@@ -171,31 +174,37 @@ abstract class FCDR_Reader extends NetCDFReader {
         return PixelLocatorFactory.getSubScenePixelLocator(sceneGeometry, width, height, subsetHeight, pixelLocator);
     }
 
-    protected ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval, String timeVariableName) throws IOException, InvalidRangeException {
-        final Array timeArray = readScaled(x, y, interval, timeVariableName);
+    @Override
+    public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException {
+        return getAcquisitionTimes().readWindow(x, y, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
 
+    @Override
+    protected AcquisitionTimes createAcquisitionTimes() throws IOException {
+        final String timeVariableName = getTimeVariableName();
+        final Array rawTimes = arrayCache.get(timeVariableName);
         final Number fillValue = getFillValue(timeVariableName);
-        final int[] shape = timeArray.getShape();
-        int height = shape[0];
-        int width = shape[1];
-        final ArrayInt.D2 integerTimeArray = new ArrayInt.D2(height, width, false);
+        final double scaleFactor = getScaleFactorCf(timeVariableName);
+        final double offset = getOffset(timeVariableName);
+        final boolean mustScale = ReaderUtils.mustScale(scaleFactor, offset);
         final int targetFillValue = (int) NetCDFUtils.getDefaultFillValue(DataType.INT, false);
-        final Index index = timeArray.getIndex();
-        for (int i = 0; i < height; i++) {
-            for (int j = 0; j < width; j++) {
-                index.set(i, j);
-                final double rawTime = timeArray.getDouble(index);
-                if (!fillValue.equals(rawTime)) {
-                    integerTimeArray.set(i, j, (int) Math.round(rawTime));
-                } else {
-                    integerTimeArray.set(i, j, targetFillValue);
-                }
-            }
-        }
 
-        return integerTimeArray;
+        return AcquisitionTimes.create(rawTimes, getProductSize(), fillValue, (rawValue, y) -> {
+            final double time = mustScale ? rawValue * scaleFactor + offset : rawValue;
+            if (!fillValue.equals(time)) {
+                return (int) Math.round(time);
+            }
+            return targetFillValue;
+        });
     }
 
+    protected abstract String getTimeVariableName();
+
     BoundingPolygonCreator getBoundingPolygonCreator(Interval interval) {
         if (boundingPolygonCreator == null) {
             boundingPolygonCreator = new BoundingPolygonCreator(interval, geometryFactory);
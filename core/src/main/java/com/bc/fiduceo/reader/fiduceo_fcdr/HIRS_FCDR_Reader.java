@@ -10,7 +10,6 @@ import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.NetCDFUtils;
 import ucar.ma2.Array;
-import ucar.ma2.ArrayInt;
 import ucar.ma2.InvalidRangeException;
 import ucar.ma2.MAMath;
 import ucar.nc2.Variable;
@@ -142,8 +141,8 @@ class HIRS_FCDR_Reader extends FCDR_Reader {
     }
 
     @Override
-    public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException, InvalidRangeException {
-        return readAcquisitionTime(x, y, interval, "time");
+    protected String getTimeVariableName() {
+        return "time";
     }
 
     @Override
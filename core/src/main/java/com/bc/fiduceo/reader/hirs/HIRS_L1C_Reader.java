@@ -30,6 +30,7 @@ import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.location.PixelLocatorFactory;
 import com.bc.fiduceo.reader.*;
 import com.bc.fiduceo.reader.netcdf.NetCDFReader;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.NetCDFUtils;
 import com.bc.fiduceo.util.TimeUtils;
@@ -42,7 +43,7 @@ import ucar.nc2.Variable;
 import java.io.IOException;
 import java.util.*;
 
-class HIRS_L1C_Reader extends NetCDFReader {
+class HIRS_L1C_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final int NUM_BT_CHANNELS = 19;
     private static final int NUM_RADIANCE_CHANNELS = 20;
@@ -189,11 +190,20 @@ class HIRS_L1C_Reader extends NetCDFReader {
 
     @Override
     public ArrayInt.D2 readAcquisitionTime(int centerX, int centerY, Interval interval) throws IOException {
+        return getAcquisitionTimes().readWindow(centerX, centerY, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
+
+    @Override
+    protected AcquisitionTimes createAcquisitionTimes() throws IOException {
         final Array timeArray = arrayCache.get("time");
         final Number fillValue = NetCDFUtils.getDefaultFillValue(timeArray);
 
-        final Dimension productSize = getProductSize();
-        return (ArrayInt.D2) RawDataReader.read(centerX, centerY, interval, fillValue, timeArray, productSize);
+        return AcquisitionTimes.create(timeArray, getProductSize(), fillValue, (rawValue, y) -> (int) rawValue);
     }
 
     @Override
@@ -48,6 +48,7 @@ import com.bc.fiduceo.geometry.GeometryFactory;
 import com.bc.fiduceo.geometry.Polygon;
 import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.reader.*;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.NetCDFUtils;
 import com.bc.fiduceo.util.VariableProxy;
@@ -68,7 +69,7 @@ import java.util.List;
 import static com.bc.fiduceo.util.NetCDFUtils.*;
 
 
-public class IASI_Reader implements Reader {
+public class IASI_Reader implements Reader, BulkAcquisitionTimeReader {
 
     private static final String REG_EX = "IASI_xxx_1C_M0[1-3]_\\d{14}Z_\\d{14}Z_\\w_\\w_\\d{14}Z.nat";
 
@@ -89,6 +90,7 @@ public class IASI_Reader implements Reader {
     private MDRCache mdrCache;
     private List<Variable> variableList;
     private HashMap<String, ReadProxy> proxiesMap;
+    private AcquisitionTimes acquisitionTimes;
 
     IASI_Reader(ReaderContext readerContext) {
         this.geometryFactory = readerContext.getGeometryFactory();
@@ -123,10 +125,12 @@ public class IASI_Reader implements Reader {
 
         mdrCache = new MDRCache(iis, firstMdrOffset, mdrVersion);
         proxiesMap = mdrCache.getReadProxies();
+        acquisitionTimes = null;
     }
 
     @Override
     public void close() throws IOException {
+        acquisitionTimes = null;
         timeLocator = null;
         geolocationData = null;
         pixelLocator = null;
@@ -248,16 +252,34 @@ public class IASI_Reader implements Reader {
 
     @Override
     public ArrayInt.D2 readAcquisitionTime(int x, int y, Interval interval) throws IOException {
-        final Array timeInMillis = readRaw(x, y, interval, "GEPSDatIasi");
-        final Array timeInSeconds = Array.factory(DataType.INT, timeInMillis.getShape());
-        final long size = timeInMillis.getSize();
-        for (int i = 0; i < size; i++) {
-            final long millis = timeInMillis.getLong(i);
-            final int seconds = (int) Math.round(millis * 0.001);
-            timeInSeconds.setInt(i, seconds);
+        return getAcquisitionTimes().readWindow(x, y, interval);
+    }
+
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        getAcquisitionTimes().readWindows(centerX, centerY, count, interval, target);
+    }
+
+    private AcquisitionTimes getAcquisitionTimes() throws IOException {
+        if (acquisitionTimes == null) {
+            final Dimension productSize = getProductSize();
+            final int width = productSize.getNx();
+            final int height = productSize.getNy();
+            final TimeLocator timeLocator = getTimeLocator();
+
+            final int[] times = new int[width * height];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    times[y * width + x] = (int) Math.round(timeLocator.getTimeFor(x, y) * 0.001);
+                }
+            }
 
+            final ReadProxy readProxy = proxiesMap.get("GEPSDatIasi");
+            final Number fillValue = getDefaultFillValue(readProxy.getDataType(), readProxy.isUnsigned());
+            final int outsideValue = (int) Math.round(fillValue.longValue() * 0.001);
+            acquisitionTimes = AcquisitionTimes.perPixel(times, width, height, outsideValue);
         }
-        return (ArrayInt.D2) timeInSeconds;
+        return acquisitionTimes;
     }
 
     @Override
@@ -0,0 +1,594 @@
+package com.bc.fiduceo.reader.insitu;
+
+import com.bc.fiduceo.log.FiduceoLogger;
+import ucar.ma2.DataType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Columnar binary image of a parsed text based in-situ file: typed primitive columns plus a time index (the record
+ * indices in ascending time order). Readers store the image after parsing the text once and memory map it on later
+ * opens. An image is valid as long as size and modification time of the source file are unchanged.
+ * <p>
+ * The cache location is the system config setting "insitu-cache", handed to the readers by the ReaderContext.
+ * Caching is disabled unless it is set. The value "sidecar" stores the images next to the source files, any other
+ * value is used as cache directory.
+ */
+public class ColumnarCache {
+
+    public static final String SIDECAR = "sidecar";
+
+    private static final Logger logger = FiduceoLogger.getLogger();
+
+    private static final String EXTENSION = ".mmscol";
+    private static final int MAGIC = 0x4d4d5343;    // "MMSC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 56;
+
+    private static final byte TYPE_BYTE = 1;
+    private static final byte TYPE_SHORT = 2;
+    private static final byte TYPE_INT = 3;
+    private static final byte TYPE_LONG = 4;
+    private static final byte TYPE_FLOAT = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_STRING = 7;
+
+    private final ByteBuffer buffer;
+    private final long sourceSize;
+    private final long sourceLastModified;
+    private final int numRecords;
+    private final Map<String, Column> columns;
+    private final String timeColumnName;
+    private final long minTime;
+    private final long maxTime;
+    private final int timeIndexOffset;
+
+    private ColumnarCache(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a columnar cache file of version " + VERSION);
+        }
+        sourceSize = buffer.getLong(8);
+        sourceLastModified = buffer.getLong(16);
+        numRecords = buffer.getInt(24);
+        final int numColumns = buffer.getInt(28);
+        final int timeColumn = buffer.getInt(32);
+        minTime = buffer.getLong(36);
+        maxTime = buffer.getLong(44);
+        timeIndexOffset = buffer.getInt(52);
+
+        columns = new LinkedHashMap<>();
+        String timeName = null;
+        int position = HEADER_SIZE;
+        for (int i = 0; i < numColumns; i++) {
+            final byte[] nameBytes = new byte[buffer.getShort(position)];
+            position += 2;
+            for (int k = 0; k < nameBytes.length; k++) {
+                nameBytes[k] = buffer.get(position + k);
+            }
+            position += nameBytes.length;
+            final String name = new String(nameBytes, StandardCharsets.UTF_8);
+            final byte type = buffer.get(position);
+            final int offset = buffer.getInt(position + 1);
+            position += 5;
+
+            columns.put(name, new Column(type, offset));
+            if (i == timeColumn) {
+                timeName = name;
+            }
+        }
+        timeColumnName = timeName;
+    }
+
+    /**
+     * Creates the image of parsed data in memory.
+     *
+     * @param source         the source file, size and modification time are recorded for invalidation
+     * @param columnData     the columns by name, each a byte[], short[], int[], long[], float[], double[] or String[]
+     *                       holding one value per record
+     * @param timeColumnName the name of the integral column used for the time index, may be null
+     * @return the image
+     */
+    public static ColumnarCache create(File source, Map<String, Object> columnData, String timeColumnName) {
+        int numRecords = -1;
+        int timeColumn = -1;
+        int headerSize = HEADER_SIZE;
+        final byte[][] names = new byte[columnData.size()][];
+        final Object[] data = new Object[columnData.size()];
+        int i = 0;
+        for (final Map.Entry<String, Object> entry : columnData.entrySet()) {
+            names[i] = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            data[i] = entry.getValue();
+            final int length = java.lang.reflect.Array.getLength(data[i]);
+            if (numRecords < 0) {
+                numRecords = length;
+            } else if (length != numRecords) {
+                throw new IllegalArgumentException("Column '" + entry.getKey() + "' has " + length + " values, expected " + numRecords);
+            }
+            if (entry.getKey().equals(timeColumnName)) {
+                timeColumn = i;
+            }
+            headerSize += 2 + names[i].length + 5;
+            i++;
+        }
+        if (numRecords < 0) {
+            numRecords = 0;
+        }
+        if (timeColumnName != null && timeColumn < 0) {
+            throw new IllegalArgumentException("Time column not found: " + timeColumnName);
+        }
+
+        final byte[][][] stringBytes = new byte[data.length][][];
+        final int[] offsets = new int[data.length];
+        int offset = align(headerSize);
+        for (i = 0; i < data.length; i++) {
+            offsets[i] = offset;
+            if (data[i] instanceof String[]) {
+                final String[] strings = (String[]) data[i];
+                stringBytes[i] = new byte[numRecords][];
+                int numBytes = 0;
+                for (int k = 0; k < numRecords; k++) {
+                    stringBytes[i][k] = strings[k] != null ? strings[k].getBytes(StandardCharsets.UTF_8) : new byte[0];
+                    numBytes += stringBytes[i][k].length;
+                }
+                offset = align(offset + 4 * (numRecords + 1) + numBytes);
+            } else {
+                offset = align(offset + elementSize(getTypeCode(data[i])) * numRecords);
+            }
+        }
+        final int timeIndexOffset = offset;
+        final int totalSize = timeIndexOffset + (timeColumn >= 0 ? 4 * numRecords : 0);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(totalSize);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(source.length());
+        buffer.putLong(source.lastModified());
+        buffer.putInt(numRecords);
+        buffer.putInt(data.length);
+        buffer.putInt(timeColumn);
+        buffer.putLong(0L);     // min and max time, set below
+        buffer.putLong(0L);
+        buffer.putInt(timeIndexOffset);
+        for (i = 0; i < data.length; i++) {
+            buffer.putShort((short) names[i].length);
+            buffer.put(names[i]);
+            buffer.put(getTypeCode(data[i]));
+            buffer.putInt(offsets[i]);
+        }
+
+        for (i = 0; i < data.length; i++) {
+            buffer.position(offsets[i]);
+            writeColumn(buffer, data[i], stringBytes[i]);
+        }
+
+        if (timeColumn >= 0) {
+            final long[] times = toLongs(data[timeColumn]);
+            final int[] timeIndex = createTimeIndex(times);
+            buffer.position(timeIndexOffset);
+            for (final int index : timeIndex) {
+                buffer.putInt(index);
+            }
+            if (numRecords > 0) {
+                buffer.putLong(36, times[timeIndex[0]]);
+                buffer.putLong(44, times[timeIndex[numRecords - 1]]);
+            }
+        }
+        buffer.clear();
+
+        try {
+            return new ColumnarCache(buffer);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks whether caching is enabled by the cache location.
+     *
+     * @param cacheLocation the cache location, "sidecar" or a directory, may be null
+     * @return true when images are loaded and stored
+     */
+    public static boolean isEnabled(String cacheLocation) {
+        return cacheLocation != null && !cacheLocation.trim().isEmpty();
+    }
+
+    /**
+     * Retrieves the location of the image for a source file.
+     *
+     * @param source        the source file
+     * @param key           the layout key of the reader creating the image, e.g. the format name
+     * @param cacheLocation the cache location, "sidecar" or a directory, may be null
+     * @return the image file or null when caching is disabled
+     */
+    public static File getCacheFile(File source, String key, String cacheLocation) {
+        if (!isEnabled(cacheLocation)) {
+            return null;
+        }
+
+        final String name = source.getName();
+        if (SIDECAR.equals(cacheLocation.trim())) {
+            return new File(source.getAbsoluteFile().getParentFile(), name + "." + key + EXTENSION);
+        }
+
+        // the cache directory may hold images of equally named files from different archive locations
+        final String pathHash = Integer.toHexString(source.getAbsolutePath().hashCode());
+        return new File(cacheLocation.trim(), name + "." + pathHash + "." + key + EXTENSION);
+    }
+
+    /**
+     * Memory maps the image of a source file.
+     *
+     * @param source        the source file
+     * @param key           the layout key of the reader
+     * @param cacheLocation the cache location, "sidecar" or a directory, may be null
+     * @return the image or null when caching is disabled or no valid image is present
+     */
+    public static ColumnarCache load(File source, String key, String cacheLocation) {
+        final File cacheFile = getCacheFile(source, key, cacheLocation);
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final ColumnarCache cache = new ColumnarCache(buffer);
+            if (cache.sourceSize != source.length() || cache.sourceLastModified != source.lastModified()) {
+                return null;
+            }
+            return cache;
+        } catch (IOException | RuntimeException e) {
+            logger.warning("Ignoring unreadable in-situ cache file " + cacheFile.getAbsolutePath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the image of a source file, if caching is enabled. The file is written to a temporary file and moved in
+     * place, so concurrent readers see either the complete image or none. Failures are logged, not thrown.
+     *
+     * @param source        the source file
+     * @param key           the layout key of the reader
+     * @param cacheLocation the cache location, "sidecar" or a directory, may be null
+     */
+    public void store(File source, String key, String cacheLocation) {
+        final File cacheFile = getCacheFile(source, key, cacheLocation);
+        if (cacheFile == null) {
+            return;
+        }
+
+        File tempFile = null;
+        try {
+            final File cacheDir = cacheFile.getParentFile();
+            if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+                throw new IOException("Unable to create directory " + cacheDir.getAbsolutePath());
+            }
+            tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDir);
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.WRITE)) {
+                final ByteBuffer data = buffer.duplicate();
+                data.clear();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warning("Unable to write in-situ cache file " + cacheFile.getAbsolutePath() + ": " + e.getMessage());
+            if (tempFile != null && tempFile.isFile() && !tempFile.delete()) {
+                tempFile.deleteOnExit();
+            }
+        }
+    }
+
+    public int getRecordCount() {
+        return numRecords;
+    }
+
+    public boolean hasColumn(String name) {
+        return columns.containsKey(name);
+    }
+
+    public DataType getDataType(String name) {
+        switch (getColumn(name).type) {
+            case TYPE_BYTE:
+                return DataType.BYTE;
+            case TYPE_SHORT:
+                return DataType.SHORT;
+            case TYPE_INT:
+                return DataType.INT;
+            case TYPE_LONG:
+                return DataType.LONG;
+            case TYPE_FLOAT:
+                return DataType.FLOAT;
+            case TYPE_DOUBLE:
+                return DataType.DOUBLE;
+            default:
+                return DataType.STRING;
+        }
+    }
+
+    /**
+     * Retrieves one value, boxed to its column type (Byte, Short, Integer, Long, Float, Double or String).
+     *
+     * @param name  the column name
+     * @param index the record index
+     * @return the value
+     */
+    public Object getValue(String name, int index) {
+        final Column column = getColumn(name);
+        checkIndex(index);
+        switch (column.type) {
+            case TYPE_BYTE:
+                return buffer.get(column.offset + index);
+            case TYPE_SHORT:
+                return buffer.getShort(column.offset + 2 * index);
+            case TYPE_INT:
+                return buffer.getInt(column.offset + 4 * index);
+            case TYPE_LONG:
+                return buffer.getLong(column.offset + 8 * index);
+            case TYPE_FLOAT:
+                return buffer.getFloat(column.offset + 4 * index);
+            case TYPE_DOUBLE:
+                return buffer.getDouble(column.offset + 8 * index);
+            default:
+                return getString(column, index);
+        }
+    }
+
+    /**
+     * Retrieves one value of an integral column, widened to long.
+     *
+     * @param name  the column name
+     * @param index the record index
+     * @return the value
+     */
+    public long getLong(String name, int index) {
+        final Column column = getColumn(name);
+        checkIndex(index);
+        return getLong(column, index);
+    }
+
+    public double getDouble(String name, int index) {
+        final Column column = getColumn(name);
+        checkIndex(index);
+        switch (column.type) {
+            case TYPE_FLOAT:
+                return buffer.getFloat(column.offset + 4 * index);
+            case TYPE_DOUBLE:
+                return buffer.getDouble(column.offset + 8 * index);
+            default:
+                return getLong(column, index);
+        }
+    }
+
+    /**
+     * Copies an integral column, widened to long.
+     *
+     * @param name the column name
+     * @return the values of all records
+     */
+    public long[] getLongs(String name) {
+        final Column column = getColumn(name);
+        final long[] values = new long[numRecords];
+        for (int i = 0; i < numRecords; i++) {
+            values[i] = getLong(column, i);
+        }
+        return values;
+    }
+
+    public String getTimeColumnName() {
+        return timeColumnName;
+    }
+
+    public long getMinTime() {
+        return minTime;
+    }
+
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    /**
+     * Retrieves the record indices in ascending order of the time column. Records with equal times keep their
+     * order in the source file.
+     *
+     * @return the time index
+     */
+    public int[] getTimeIndex() {
+        if (timeColumnName == null) {
+            throw new IllegalStateException("No time column");
+        }
+        final int[] timeIndex = new int[numRecords];
+        for (int i = 0; i < numRecords; i++) {
+            timeIndex[i] = buffer.getInt(timeIndexOffset + 4 * i);
+        }
+        return timeIndex;
+    }
+
+    // package access for testing only
+    static int[] createTimeIndex(long[] times) {
+        final int[] timeIndex = new int[times.length];
+        boolean sorted = true;
+        for (int i = 0; i < times.length; i++) {
+            timeIndex[i] = i;
+            if (i > 0 && times[i] < times[i - 1]) {
+                sorted = false;
+            }
+        }
+        if (sorted) {
+            return timeIndex;
+        }
+
+        // stable, on boxed indices - text files are usually written in time order and take the branch above
+        final Integer[] boxed = new Integer[times.length];
+        for (int i = 0; i < times.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (a, b) -> Long.compare(times[a], times[b]));
+        for (int i = 0; i < times.length; i++) {
+            timeIndex[i] = boxed[i];
+        }
+        return timeIndex;
+    }
+
+    private Column getColumn(String name) {
+        final Column column = columns.get(name);
+        if (column == null) {
+            throw new RuntimeException("Unknown column: " + name);
+        }
+        return column;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= numRecords) {
+            throw new IndexOutOfBoundsException("Record index " + index + " out of range [0, " + numRecords + ")");
+        }
+    }
+
+    private long getLong(Column column, int index) {
+        switch (column.type) {
+            case TYPE_BYTE:
+                return buffer.get(column.offset + index);
+            case TYPE_SHORT:
+                return buffer.getShort(column.offset + 2 * index);
+            case TYPE_INT:
+                return buffer.getInt(column.offset + 4 * index);
+            case TYPE_LONG:
+                return buffer.getLong(column.offset + 8 * index);
+            default:
+                throw new RuntimeException("Not an integral column, type code " + column.type);
+        }
+    }
+
+    private String getString(Column column, int index) {
+        final int bytesOffset = column.offset + 4 * (numRecords + 1);
+        final int start = buffer.getInt(column.offset + 4 * index);
+        final int end = buffer.getInt(column.offset + 4 * (index + 1));
+        final byte[] bytes = new byte[end - start];
+        for (int k = 0; k < bytes.length; k++) {
+            bytes[k] = buffer.get(bytesOffset + start + k);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeColumn(ByteBuffer buffer, Object data, byte[][] stringBytes) {
+        if (data instanceof byte[]) {
+            buffer.put((byte[]) data);
+        } else if (data instanceof short[]) {
+            for (final short value : (short[]) data) {
+                buffer.putShort(value);
+            }
+        } else if (data instanceof int[]) {
+            for (final int value : (int[]) data) {
+                buffer.putInt(value);
+            }
+        } else if (data instanceof long[]) {
+            for (final long value : (long[]) data) {
+                buffer.putLong(value);
+            }
+        } else if (data instanceof float[]) {
+            for (final float value : (float[]) data) {
+                buffer.putFloat(value);
+            }
+        } else if (data instanceof double[]) {
+            for (final double value : (double[]) data) {
+                buffer.putDouble(value);
+            }
+        } else {
+            int end = 0;
+            buffer.putInt(end);
+            for (final byte[] bytes : stringBytes) {
+                end += bytes.length;
+                buffer.putInt(end);
+            }
+            for (final byte[] bytes : stringBytes) {
+                buffer.put(bytes);
+            }
+        }
+    }
+
+    private static long[] toLongs(Object data) {
+        if (data instanceof long[]) {
+            return (long[]) data;
+        }
+        final int length = java.lang.reflect.Array.getLength(data);
+        final long[] values = new long[length];
+        if (data instanceof int[]) {
+            final int[] ints = (int[]) data;
+            for (int i = 0; i < length; i++) {
+                values[i] = ints[i];
+            }
+        } else if (data instanceof short[]) {
+            final short[] shorts = (short[]) data;
+            for (int i = 0; i < length; i++) {
+                values[i] = shorts[i];
+            }
+        } else if (data instanceof byte[]) {
+            final byte[] bytes = (byte[]) data;
+            for (int i = 0; i < length; i++) {
+                values[i] = bytes[i];
+            }
+        } else {
+            throw new IllegalArgumentException("Time column must be of integral type");
+        }
+        return values;
+    }
+
+    private static byte getTypeCode(Object data) {
+        if (data instanceof byte[]) {
+            return TYPE_BYTE;
+        } else if (data instanceof short[]) {
+            return TYPE_SHORT;
+        } else if (data instanceof int[]) {
+            return TYPE_INT;
+        } else if (data instanceof long[]) {
+            return TYPE_LONG;
+        } else if (data instanceof float[]) {
+            return TYPE_FLOAT;
+        } else if (data instanceof double[]) {
+            return TYPE_DOUBLE;
+        } else if (data instanceof String[]) {
+            return TYPE_STRING;
+        }
+        throw new IllegalArgumentException("Unsupported column data: " + data.getClass().getName());
+    }
+
+    private static int elementSize(byte type) {
+        switch (type) {
+            case TYPE_BYTE:
+                return 1;
+            case TYPE_SHORT:
+                return 2;
+            case TYPE_INT:
+            case TYPE_FLOAT:
+                return 4;
+            default:
+                return 8;
+        }
+    }
+
+    private static int align(int offset) {
+        return (offset + 7) & ~7;
+    }
+
+    private static class Column {
+        private final byte type;
+        private final int offset;
+
+        Column(byte type, int offset) {
+            this.type = type;
+            this.offset = offset;
+        }
+    }
+}
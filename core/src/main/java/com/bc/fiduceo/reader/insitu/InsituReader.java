@@ -5,8 +5,23 @@ import ucar.ma2.Array;
 
 import java.io.IOException;
 
-public abstract class InsituReader extends NetCDFReader {
+public abstract class InsituReader extends NetCDFReader implements TimeIndexedReader {
+
+    private TimeIndex timeIndex;
 
     abstract public Array getSourceArray(String variableName) throws IOException;
 
+    @Override
+    public TimeIndex getTimeIndex() throws IOException {
+        if (timeIndex == null) {
+            timeIndex = TimeIndex.create(getTimeLocator(), getProductSize().getNy());
+        }
+        return timeIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        timeIndex = null;
+        super.close();
+    }
 }
@@ -0,0 +1,127 @@
+package com.bc.fiduceo.reader.insitu;
+
+import com.bc.fiduceo.reader.time.TimeLocator;
+
+import java.util.Arrays;
+
+/**
+ * Records of an in-situ file in ascending time order. Time intervals are resolved by binary search to a range of
+ * positions in this order, each position maps to the record (y) index in the file.
+ */
+public class TimeIndex {
+
+    private final long[] sortedTimes;
+    private final int[] recordIndices;
+
+    /**
+     * Creates the index from the times and the record indices sorted by time, e.g. as stored in a
+     * {@link ColumnarCache}.
+     *
+     * @param sortedTimes   the record times in milliseconds since 1970, ascending
+     * @param recordIndices the record index of each position
+     */
+    public TimeIndex(long[] sortedTimes, int[] recordIndices) {
+        if (sortedTimes.length != recordIndices.length) {
+            throw new IllegalArgumentException("Times and record indices differ in length");
+        }
+        this.sortedTimes = sortedTimes;
+        this.recordIndices = recordIndices;
+    }
+
+    /**
+     * Creates the index from the record times in file order.
+     *
+     * @param times the record times in milliseconds since 1970, one per record
+     * @return the index
+     */
+    public static TimeIndex create(long[] times) {
+        final int[] recordIndices = ColumnarCache.createTimeIndex(times);
+        final long[] sortedTimes = new long[times.length];
+        for (int i = 0; i < times.length; i++) {
+            sortedTimes[i] = times[recordIndices[i]];
+        }
+        return new TimeIndex(sortedTimes, recordIndices);
+    }
+
+    /**
+     * Creates the index of a reader with one record per line (y) of the product.
+     *
+     * @param timeLocator the time locator of the reader
+     * @param numRecords  the number of records
+     * @return the index
+     */
+    public static TimeIndex create(TimeLocator timeLocator, int numRecords) {
+        final long[] times = new long[numRecords];
+        for (int y = 0; y < numRecords; y++) {
+            times[y] = timeLocator.getTimeFor(0, y);
+        }
+        return create(times);
+    }
+
+    public int getRecordCount() {
+        return sortedTimes.length;
+    }
+
+    /**
+     * Retrieves the first position with a time at or after the start time.
+     *
+     * @param startMillis the start time in milliseconds since 1970
+     * @return the position, the record count if all records are earlier
+     */
+    public int getStartPosition(long startMillis) {
+        int low = 0;
+        int high = sortedTimes.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedTimes[mid] < startMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Retrieves the position following the last record with a time at or before the stop time.
+     *
+     * @param stopMillis the stop time in milliseconds since 1970
+     * @return the exclusive end position
+     */
+    public int getEndPosition(long stopMillis) {
+        int low = 0;
+        int high = sortedTimes.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedTimes[mid] <= stopMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public long getTime(int position) {
+        return sortedTimes[position];
+    }
+
+    public int getRecordIndex(int position) {
+        return recordIndices[position];
+    }
+
+    /**
+     * Retrieves the records acquired within the time interval, both borders included.
+     *
+     * @param startMillis the start time in milliseconds since 1970
+     * @param stopMillis  the stop time in milliseconds since 1970
+     * @return the record indices, ascending
+     */
+    public int[] getRecordIndices(long startMillis, long stopMillis) {
+        final int start = getStartPosition(startMillis);
+        final int end = Math.max(start, getEndPosition(stopMillis));
+        final int[] indices = Arrays.copyOfRange(recordIndices, start, end);
+        Arrays.sort(indices);
+        return indices;
+    }
+}
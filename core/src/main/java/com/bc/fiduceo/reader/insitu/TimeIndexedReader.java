@@ -0,0 +1,19 @@
+package com.bc.fiduceo.reader.insitu;
+
+import java.io.IOException;
+
+/**
+ * Optional capability of readers for in-situ record series: the records acquired in a time interval are found in the
+ * time index, without reading the acquisition time of every record.
+ */
+public interface TimeIndexedReader {
+
+    /**
+     * Retrieves the time index of the opened file. The index is built once per file and kept until the reader is
+     * closed.
+     *
+     * @return the time index
+     * @throws IOException on disk access failures
+     */
+    TimeIndex getTimeIndex() throws IOException;
+}
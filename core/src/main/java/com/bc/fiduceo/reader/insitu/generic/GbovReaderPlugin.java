@@ -12,7 +12,7 @@ public class GbovReaderPlugin implements ReaderPlugin {
 
     @Override
     public Reader createReader(ReaderContext readerContext) {
-        return new GenericCsvReader(GenericCsvHelper.RESOURCE_KEY_GBOV);
+        return new GenericCsvReader(readerContext, GenericCsvHelper.RESOURCE_KEY_GBOV);
     }
 
     @Override
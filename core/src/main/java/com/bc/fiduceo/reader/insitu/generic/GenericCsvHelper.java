@@ -1,5 +1,7 @@
 package com.bc.fiduceo.reader.insitu.generic;
 
+import com.bc.fiduceo.reader.insitu.ColumnarCache;
+import com.bc.fiduceo.util.NetCDFUtils;
 import com.bc.fiduceo.util.TimeUtils;
 import ucar.ma2.DataType;
 
@@ -13,7 +15,9 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GenericCsvHelper {
 
@@ -70,6 +74,46 @@ public class GenericCsvHelper {
         return records;
     }
 
+    /**
+     * Converts parsed records to typed columns, one per record variable. Missing values are replaced by the fill
+     * value of the variable, as in the reader windows.
+     *
+     * @param records         the parsed records
+     * @param recordVariables the variables read from the records, station database variables excluded
+     * @param timeName        the name of the time variable
+     * @param source          the parsed file
+     * @return the columnar image of the records
+     */
+    public static ColumnarCache toColumnarCache(List<GenericRecord> records, List<GenericVariable> recordVariables, String timeName, File source) {
+        final int numRecords = records.size();
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        for (final GenericVariable variable : recordVariables) {
+            final String name = variable.getName();
+            final String type = variable.getType();
+            if (getNcDataType(type) == DataType.STRING) {
+                final String[] column = new String[numRecords];
+                for (int ii = 0; ii < numRecords; ii++) {
+                    final Object value = records.get(ii).get(name);
+                    column[ii] = value != null ? value.toString() : null;
+                }
+                columns.put(name, column);
+                continue;
+            }
+
+            final Number fillValue = variable.getFillValue() != null ?
+                    castFillValue(variable.getFillValue(), type) :
+                    NetCDFUtils.getDefaultFillValue(getFillValueClass(type));
+            final Object column = java.lang.reflect.Array.newInstance(getFillValueClass(type), numRecords);
+            for (int ii = 0; ii < numRecords; ii++) {
+                final Number value = (Number) records.get(ii).get(name);
+                setColumnValue(column, ii, value != null ? value : fillValue);
+            }
+            columns.put(name, column);
+        }
+
+        return ColumnarCache.create(source, columns, columns.containsKey(timeName) ? timeName : null);
+    }
+
     private static String[] tokenize(String line, String delimiter) {
         if ("space".equalsIgnoreCase(delimiter)) {
             return line.trim().split("\\s+");
@@ -170,6 +214,22 @@ public class GenericCsvHelper {
         }
     }
 
+    private static void setColumnValue(Object column, int index, Number value) {
+        if (column instanceof byte[]) {
+            ((byte[]) column)[index] = value.byteValue();
+        } else if (column instanceof short[]) {
+            ((short[]) column)[index] = value.shortValue();
+        } else if (column instanceof int[]) {
+            ((int[]) column)[index] = value.intValue();
+        } else if (column instanceof long[]) {
+            ((long[]) column)[index] = value.longValue();
+        } else if (column instanceof float[]) {
+            ((float[]) column)[index] = value.floatValue();
+        } else {
+            ((double[]) column)[index] = value.doubleValue();
+        }
+    }
+
     public static String getPrimaryIdFromFilename(File file, String resourceKey) {
         String filename = file.getName();
         if (resourceKey.equals(RESOURCE_KEY_NDBC_SM) || resourceKey.equals(RESOURCE_KEY_NDBC_CW)) {
@@ -7,6 +7,10 @@ import com.bc.fiduceo.geometry.Polygon;
 import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.reader.AcquisitionInfo;
 import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.reader.insitu.ColumnarCache;
+import com.bc.fiduceo.reader.insitu.TimeIndex;
+import com.bc.fiduceo.reader.insitu.TimeIndexedReader;
 import com.bc.fiduceo.reader.netcdf.StringVariable;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.reader.time.TimeLocator_MillisSince1970;
@@ -28,25 +32,47 @@ import java.util.List;
 /**
  * Generic CSV/ASCII reader driven by an json config file.
  */
-public class GenericCsvReader implements Reader {
+public class GenericCsvReader implements Reader, TimeIndexedReader {
 
-    private String resourceKey;
+    private final String resourceKey;
+    private final String cacheLocation;
 
     private CsvFormatConfig config;
     private List<GenericVariable> variables;
     private List<GenericRecord> records;
+    private ColumnarCache columns;
+    private TimeIndex timeIndex;
     private GenericRecord stationDatabaseRecord;
 
-    public GenericCsvReader(String resourceKey) {
+    public GenericCsvReader(ReaderContext readerContext, String resourceKey) {
         this.resourceKey = resourceKey;
+        this.cacheLocation = readerContext.getInsituCacheLocation();
     }
 
     @Override
     public void open(File file) throws IOException {
         config = CsvFormatConfig.loadConfig(resourceKey);
-        records = GenericCsvHelper.parseData(file, config, resourceKey);
         variables = config.getAllVariables();
 
+        final List<GenericVariable> recordVariables = new ArrayList<>();
+        for (final GenericVariable variable : variables) {
+            if (variable.getOrigin() != 's') {
+                recordVariables.add(variable);
+            }
+        }
+
+        if (ColumnarCache.isEnabled(cacheLocation)) {
+            columns = ColumnarCache.load(file, resourceKey, cacheLocation);
+            if (columns == null || !hasAllColumns(columns, recordVariables)) {
+                final List<GenericRecord> parsedRecords = GenericCsvHelper.parseData(file, config, resourceKey);
+                columns = GenericCsvHelper.toColumnarCache(parsedRecords, recordVariables, config.getTimeName(), file);
+                columns.store(file, resourceKey, cacheLocation);
+            }
+        } else {
+            // without cache the columnar image would only be an additional copy of the parsed records
+            records = GenericCsvHelper.parseData(file, config, resourceKey);
+        }
+
         StationDatabase stationDatabase = config.getStationDatabase();
         if (stationDatabase != null) {
             String primaryId = GenericCsvHelper.getPrimaryIdFromFilename(file, resourceKey);
@@ -64,6 +90,8 @@ public class GenericCsvReader implements Reader {
             records.clear();
             records = null;
         }
+        columns = null;
+        timeIndex = null;
         if (variables != null) {
             variables.clear();
             variables = null;
@@ -87,21 +115,26 @@ public class GenericCsvReader implements Reader {
     public AcquisitionInfo read() throws IOException {
         AcquisitionInfo acquisitionInfo = new AcquisitionInfo();
 
-        int minTime = Integer.MAX_VALUE;
-        int maxTime = Integer.MIN_VALUE;
-        String timeName = config.getTimeName();
-        for (final GenericRecord record : records) {
-            int time = (int) record.getValues().get(timeName);
-            if (time < minTime) {
-                minTime = time;
-            }
-            if (time > maxTime) {
-                maxTime = time;
+        if (columns != null) {
+            acquisitionInfo.setSensingStart(new Date(columns.getMinTime() * 1000L));
+            acquisitionInfo.setSensingStop(new Date(columns.getMaxTime() * 1000L));
+        } else {
+            int minTime = Integer.MAX_VALUE;
+            int maxTime = Integer.MIN_VALUE;
+            String timeName = config.getTimeName();
+            for (final GenericRecord record : records) {
+                int time = (int) record.getValues().get(timeName);
+                if (time < minTime) {
+                    minTime = time;
+                }
+                if (time > maxTime) {
+                    maxTime = time;
+                }
             }
-        }
 
-        acquisitionInfo.setSensingStart(new Date(minTime * 1000L));
-        acquisitionInfo.setSensingStop(new Date(maxTime * 1000L));
+            acquisitionInfo.setSensingStart(new Date(minTime * 1000L));
+            acquisitionInfo.setSensingStop(new Date(maxTime * 1000L));
+        }
 
         acquisitionInfo.setNodeType(NodeType.UNDEFINED);
 
@@ -128,17 +161,25 @@ public class GenericCsvReader implements Reader {
 
     @Override
     public TimeLocator getTimeLocator() throws IOException {
-        long[] timeArray = new long[records.size()];
+        return new TimeLocator_MillisSince1970(getTimesInMillis());
+    }
 
-        int ii = 0;
-        for (final GenericRecord record : records) {
-            String timeName = config.getTimeName();
-            int timeInSeconds = (int) record.getValues().get(timeName);
-            timeArray[ii] = timeInSeconds * 1000L;
-            ii++;
+    @Override
+    public TimeIndex getTimeIndex() throws IOException {
+        if (timeIndex == null) {
+            if (columns != null) {
+                final String timeName = config.getTimeName();
+                final int[] recordIndices = columns.getTimeIndex();
+                final long[] sortedTimes = new long[recordIndices.length];
+                for (int ii = 0; ii < recordIndices.length; ii++) {
+                    sortedTimes[ii] = columns.getLong(timeName, recordIndices[ii]) * 1000L;
+                }
+                timeIndex = new TimeIndex(sortedTimes, recordIndices);
+            } else {
+                timeIndex = TimeIndex.create(getTimesInMillis());
+            }
         }
-
-        return new TimeLocator_MillisSince1970(timeArray);
+        return timeIndex;
     }
 
     @Override
@@ -153,9 +194,10 @@ public class GenericCsvReader implements Reader {
             Object o;
             if (variable.getOrigin() == 's') {
                 o = stationDatabaseRecord.get(variableName);
+            } else if (columns != null) {
+                o = columns.getValue(variableName, centerY);
             } else {
-                GenericRecord record = records.get(centerY);
-                o = record.get(variableName);
+                o = records.get(centerY).get(variableName);
             }
             return createResultArray(o, variable.getFillValue(), variable.getType(), interval);
         }
@@ -201,7 +243,8 @@ public class GenericCsvReader implements Reader {
 
     @Override
     public Dimension getProductSize() throws IOException {
-        return new Dimension("product_size", 1, records.size());
+        final int numRecords = columns != null ? columns.getRecordCount() : records.size();
+        return new Dimension("product_size", 1, numRecords);
     }
 
     @Override
@@ -214,6 +257,37 @@ public class GenericCsvReader implements Reader {
         return config.getLatitudeName();
     }
 
+    private long[] getTimesInMillis() {
+        final String timeName = config.getTimeName();
+        if (columns != null) {
+            final long[] timeArray = columns.getLongs(timeName);
+            for (int ii = 0; ii < timeArray.length; ii++) {
+                timeArray[ii] *= 1000L;
+            }
+            return timeArray;
+        }
+
+        final long[] timeArray = new long[records.size()];
+        int ii = 0;
+        for (final GenericRecord record : records) {
+            int timeInSeconds = (int) record.getValues().get(timeName);
+            timeArray[ii] = timeInSeconds * 1000L;
+            ii++;
+        }
+        return timeArray;
+    }
+
+    private static boolean hasAllColumns(ColumnarCache columns, List<GenericVariable> recordVariables) {
+        // images written before a change of the format configuration are parsed again
+        for (final GenericVariable variable : recordVariables) {
+            final String name = variable.getName();
+            if (!columns.hasColumn(name) || columns.getDataType(name) != GenericCsvHelper.getNcDataType(variable.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private GenericVariable findVariable(String variableName) {
         for (GenericVariable variable : variables) {
             if (variable.getName().equals(variableName)) {
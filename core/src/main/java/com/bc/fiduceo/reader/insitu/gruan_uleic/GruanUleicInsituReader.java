@@ -7,6 +7,8 @@ import com.bc.fiduceo.geometry.Polygon;
 import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.reader.AcquisitionInfo;
 import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.insitu.TimeIndex;
+import com.bc.fiduceo.reader.insitu.TimeIndexedReader;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.reader.time.TimeLocator_SecsSince1970;
 import com.bc.fiduceo.util.NetCDFUtils;
@@ -29,7 +31,7 @@ import java.util.List;
 
 import static com.bc.fiduceo.util.NetCDFUtils.*;
 
-public class GruanUleicInsituReader implements Reader {
+public class GruanUleicInsituReader implements Reader, TimeIndexedReader {
 
     private static final String REG_EX = "[a-z]{3}_matchup_points.txt";
 
@@ -38,6 +40,7 @@ public class GruanUleicInsituReader implements Reader {
     private FileReader fileReader;
     private ArrayList<String> linelist;
     private List<Variable> variableList;
+    private TimeIndex timeIndex;
 
     GruanUleicInsituReader() {
         decoder = new HashMap<>();
@@ -74,11 +77,13 @@ public class GruanUleicInsituReader implements Reader {
         }
 
         variableList = null;
+        timeIndex = null;
     }
 
     @Override
     public void close() throws IOException {
         variableList = null;
+        timeIndex = null;
         if (linelist != null) {
             linelist.clear();
             linelist = null;
@@ -124,6 +129,14 @@ public class GruanUleicInsituReader implements Reader {
         return new TimeLocator_SecsSince1970(this);
     }
 
+    @Override
+    public TimeIndex getTimeIndex() {
+        if (timeIndex == null) {
+            timeIndex = TimeIndex.create(getTimeLocator(), linelist.size());
+        }
+        return timeIndex;
+    }
+
     @Override
     public int[] extractYearMonthDayFromFilename(String fileName) {
         return new int[3];
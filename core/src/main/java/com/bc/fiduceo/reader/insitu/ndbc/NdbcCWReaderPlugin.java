@@ -13,7 +13,7 @@ public class NdbcCWReaderPlugin implements ReaderPlugin {
 
     @Override
     public Reader createReader(ReaderContext readerContext) {
-        return new GenericCsvReader(GenericCsvHelper.RESOURCE_KEY_NDBC_CW);
+        return new GenericCsvReader(readerContext, GenericCsvHelper.RESOURCE_KEY_NDBC_CW);
     }
 
     @Override
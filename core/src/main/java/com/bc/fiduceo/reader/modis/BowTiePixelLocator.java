@@ -21,9 +21,6 @@
 package com.bc.fiduceo.reader.modis;
 
 import com.bc.ceres.core.ProgressMonitor;
-import com.bc.fiduceo.geometry.GeometryFactory;
-import com.bc.fiduceo.geometry.LineString;
-import com.bc.fiduceo.geometry.Point;
 import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.math.SphericalDistance;
 import com.bc.fiduceo.util.NetCDFUtils;
@@ -35,36 +32,105 @@ import ucar.ma2.Array;
 import ucar.ma2.IndexIterator;
 
 import java.awt.geom.Point2D;
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 class BowTiePixelLocator implements PixelLocator {
 
-    private final GeometryFactory geometryFactory;
-    private Array longitudes;
-    private Array latitudes;
+    private static final int NUM_CENTER_LINE_SEGMENTS = 10;
+    private static final int SHARED_CACHE_SIZE = 3;
 
-    private List<GeoCoding> geoCodingList;
-    private List<LineString> centerLinesList;
+    // the locators are referenced weakly, they are released as soon as no open reader uses them anymore
+    private static final Map<String, WeakReference<BowTiePixelLocator>> sharedLocators = new LinkedHashMap<String, WeakReference<BowTiePixelLocator>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, WeakReference<BowTiePixelLocator>> eldest) {
+            return size() > SHARED_CACHE_SIZE;
+        }
+    };
+
+    private final int stripHeight;
+    private final Product dummyProduct;
+
+    private AtomicReferenceArray<GeoCoding> geoCodings;
+    private float[][] stripLons;
+    private float[][] stripLats;
+    private double[][] centerLineLons;
+    private double[][] centerLineLats;
+    private StripIndex stripIndex;
     private int sceneWidth;
     private int sceneHeight;
     private int listSize;
-    private final int stripHeight;
 
-
-    BowTiePixelLocator(Array longitudes, Array latitudes, GeometryFactory geometryFactory, int stripHeight) throws IOException {
-        this.geometryFactory = geometryFactory;
-        this.longitudes = longitudes;
-        this.latitudes = latitudes;
+    BowTiePixelLocator(Array longitudes, Array latitudes, int stripHeight) throws IOException {
         this.stripHeight = stripHeight;
 
-        init();
+        final int[] shape = longitudes.getShape();
+        dummyProduct = new Product("DummyProduct", "type", shape[1], shape[0]);
+
+        init(longitudes, latitudes);
+    }
+
+    BowTiePixelLocator(Array longitudes, Array latitudes) throws IOException {
+        this(longitudes, latitudes, 2);
+    }
+
+    /**
+     * Retrieves the locator for the geolocation file. The locators of the last granules opened are kept in a small
+     * cache, so readers opening a granule share the strip index and all strip geocodings created so far. The
+     * geolocation arrays are only requested when the granule is not in the cache. The cache does not keep the
+     * locators alive, a locator is released when the readers using it are closed.
+     *
+     * @param file        the file containing the geolocation data
+     * @param stripHeight the number of lines per bow-tie strip
+     * @param longitudes  supplies the longitude array
+     * @param latitudes   supplies the latitude array
+     * @return the locator
+     * @throws IOException on disk access failures
+     */
+    static BowTiePixelLocator getShared(File file, int stripHeight, ArraySupplier longitudes, ArraySupplier latitudes) throws IOException {
+        final String key = file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified() + ":" + stripHeight;
+        synchronized (sharedLocators) {
+            final BowTiePixelLocator locator = getLiveLocator(key);
+            if (locator != null) {
+                return locator;
+            }
+        }
+
+        final BowTiePixelLocator locator = new BowTiePixelLocator(longitudes.get(), latitudes.get(), stripHeight);
+        synchronized (sharedLocators) {
+            final BowTiePixelLocator concurrentLocator = getLiveLocator(key);
+            if (concurrentLocator != null) {
+                return concurrentLocator;
+            }
+            sharedLocators.put(key, new WeakReference<>(locator));
+            return locator;
+        }
     }
 
-    BowTiePixelLocator(Array longitudes, Array latitudes, GeometryFactory geometryFactory) throws IOException {
-        this(longitudes, latitudes, geometryFactory, 2);
+    // to be called with the lock on sharedLocators held
+    private static BowTiePixelLocator getLiveLocator(String key) {
+        final WeakReference<BowTiePixelLocator> reference = sharedLocators.get(key);
+        if (reference == null) {
+            return null;
+        }
+
+        final BowTiePixelLocator locator = reference.get();
+        if (locator == null) {
+            sharedLocators.remove(key);
+        }
+        return locator;
+    }
+
+    // package access for testing only
+    static void clearShared() {
+        synchronized (sharedLocators) {
+            sharedLocators.clear();
+        }
     }
 
     @Override
@@ -76,7 +142,7 @@ class BowTiePixelLocator implements PixelLocator {
         if (index == listSize) {
             index--;
         }
-        final GeoCoding geoCoding = geoCodingList.get(index);
+        final GeoCoding geoCoding = getGeoCoding(index);
         if (geoCoding == null) {
             return null;
         }
@@ -94,22 +160,9 @@ class BowTiePixelLocator implements PixelLocator {
     @Override
     public Point2D[] getPixelLocation(double lon, double lat) {
         final SphericalDistance sphericalDistance = new SphericalDistance(lon, lat);
-        int minIndex = 0;
-        int currentIndex = 0;
-        double minDistance = Double.MAX_VALUE;
-        for (final LineString lineString : centerLinesList) {
-            if (lineString != null) {
-                final Point[] lineCoordinates = lineString.getCoordinates();
-                final int centerIndex = lineCoordinates.length / 2;
-                final Point centerPoint = lineCoordinates[centerIndex];
-
-                final double currentDistance = sphericalDistance.distance(centerPoint.getLon(), centerPoint.getLat());
-                if (currentDistance <= minDistance) {
-                    minDistance = currentDistance;
-                    minIndex = currentIndex;
-                }
-            }
-            ++currentIndex;
+        int minIndex = stripIndex.nearest(lon, lat);
+        if (minIndex < 0) {
+            minIndex = 0;
         }
 
         // check minIndex - 1 to minIndex + 1, if inside product
@@ -125,12 +178,12 @@ class BowTiePixelLocator implements PixelLocator {
 
         for (int i = 0; i < subSearchIndices.length; i++) {
             if (subSearchIndices[i] > 0) {
-                final LineString centerLine = centerLinesList.get(subSearchIndices[i]);
-                if (centerLine != null) {
-                    final Point[] lineCoordinates = centerLine.getCoordinates();
+                final double[] lineLons = centerLineLons[subSearchIndices[i]];
+                final double[] lineLats = centerLineLats[subSearchIndices[i]];
+                if (lineLons != null) {
                     double lineDist = Double.MAX_VALUE;
-                    for (final Point lineCoordinate : lineCoordinates) {
-                        final double currentDistance = sphericalDistance.distance(lineCoordinate.getLon(), lineCoordinate.getLat());
+                    for (int k = 0; k < lineLons.length; k++) {
+                        final double currentDistance = sphericalDistance.distance(lineLons[k], lineLats[k]);
                         if (currentDistance < lineDist) {
                             lineDist = currentDistance;
                         }
@@ -142,7 +195,7 @@ class BowTiePixelLocator implements PixelLocator {
         }
 
         minIndex = Integer.MIN_VALUE;
-        minDistance = Double.MAX_VALUE;
+        double minDistance = Double.MAX_VALUE;
         for (int i = 0; i < subSearchDistances.length; i++) {
             final double currentDistance = subSearchDistances[i];
             if (Double.isNaN(currentDistance)) {
@@ -158,7 +211,7 @@ class BowTiePixelLocator implements PixelLocator {
             return new Point2D[0];
         }
 
-        final GeoCoding geoCoding = geoCodingList.get(minIndex);
+        final GeoCoding geoCoding = getGeoCoding(minIndex);
         final PixelPos pixelPos = geoCoding.getPixelPos(new GeoPos(lat, lon), null);
         final double subGeocodingY = pixelPos.getY();
 
@@ -172,25 +225,99 @@ class BowTiePixelLocator implements PixelLocator {
         return new Point2D[]{resultPoint};
     }
 
-    void dispose() {
-        latitudes = null;
-        longitudes = null;
+    // package access for testing only
+    int getNumGeoCodingsCreated() {
+        int count = 0;
+        for (int i = 0; i < listSize; i++) {
+            if (geoCodings.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
     }
 
-    private void init() throws IOException {
-        boolean cross180 = false;
-        geoCodingList = new ArrayList<>();
-        centerLinesList = new ArrayList<>();
+    /**
+     * Calculates the center line of a strip with the interpolation of a TiePointGrid with pixel offset 0.5 and
+     * sub-sampling 1: bilinear for the latitudes, bilinear on sine and cosine for the longitudes, linear
+     * extrapolation beyond the outer pixel centers.
+     *
+     * @param lons   the strip longitudes, width * height
+     * @param lats   the strip latitudes, width * height
+     * @param width  the strip width
+     * @param height the strip height
+     * @return the center line as {lons, lats}
+     */
+    // package access for testing only
+    static double[][] createCenterLine(float[] lons, float[] lats, int width, int height) {
+        final int numPoints = NUM_CENTER_LINE_SEGMENTS + 1;
+        final double[] lineLons = new double[numPoints];
+        final double[] lineLats = new double[numPoints];
+
+        final double stepX = width / (double) NUM_CENTER_LINE_SEGMENTS;
+        final double fj = height / 2.0 - 0.5;
+        final int j = floorAndCrop(fj, height - 2);
+        final double wj = fj - j;
+        final int j1 = Math.min(j + 1, height - 1);
+
+        for (int k = 0; k < numPoints; k++) {
+            final double fi = k * stepX - 0.5;
+            final int i = floorAndCrop(fi, width - 2);
+            final double wi = fi - i;
+            final int i1 = Math.min(i + 1, width - 1);
+
+            final int i00 = j * width + i;
+            final int i10 = j * width + i1;
+            final int i01 = j1 * width + i;
+            final int i11 = j1 * width + i1;
+
+            lineLats[k] = interpolate(wi, wj, lats[i00], lats[i10], lats[i01], lats[i11]);
+
+            final double sin = interpolate(wi, wj, sin(lons[i00]), sin(lons[i10]), sin(lons[i01]), sin(lons[i11]));
+            final double cos = interpolate(wi, wj, cos(lons[i00]), cos(lons[i10]), cos(lons[i01]), cos(lons[i11]));
+            lineLons[k] = Math.toDegrees(Math.atan2(sin, cos));
+        }
 
+        return new double[][]{lineLons, lineLats};
+    }
+
+    private GeoCoding getGeoCoding(int index) {
+        final GeoCoding geoCoding = geoCodings.get(index);
+        if (geoCoding != null || stripLats[index] == null) {
+            return geoCoding;
+        }
+
+        synchronized (dummyProduct) {
+            if (geoCodings.get(index) == null) {
+                final int y = index * stripHeight;
+                final TiePointGrid latTPG = new TiePointGrid("lat" + y, sceneWidth, stripHeight, 0.5, 0.5, 1, 1, stripLats[index]);
+                final TiePointGrid lonTPG = new TiePointGrid("lon" + y, sceneWidth, stripHeight, 0.5, 0.5, 1, 1, stripLons[index], true);
+                dummyProduct.addTiePointGrid(latTPG);
+                dummyProduct.addTiePointGrid(lonTPG);
+
+                geoCodings.set(index, new TiePointGeoCoding(latTPG, lonTPG, DefaultGeographicCRS.WGS84));
+            }
+            return geoCodings.get(index);
+        }
+    }
+
+    private void init(Array longitudes, Array latitudes) throws IOException {
         final int[] shape = longitudes.getShape();
         sceneWidth = shape[1];
         sceneHeight = shape[0];
-        final Product dummyProduct = new Product("DummyProduct", "type", sceneWidth, sceneHeight);
+
+        listSize = (sceneHeight + stripHeight - 1) / stripHeight;
+        geoCodings = new AtomicReferenceArray<>(listSize);
+        stripLons = new float[listSize][];
+        stripLats = new float[listSize][];
+        centerLineLons = new double[listSize][];
+        centerLineLats = new double[listSize][];
+        final double[] referenceLons = new double[listSize];
+        final double[] referenceLats = new double[listSize];
 
         final int gcRawSize = sceneWidth * stripHeight;
         shape[0] = stripHeight;   // one scan
         final int[] origin = {0, 0};
-        for (int y = 0; y < sceneHeight; y += stripHeight) {
+        for (int y = 0, index = 0; y < sceneHeight; y += stripHeight, index++) {
             origin[0] = y;
             final float[] lons = new float[gcRawSize];
             final float[] lats = new float[gcRawSize];
@@ -208,41 +335,43 @@ class BowTiePixelLocator implements PixelLocator {
 
             final Range range = Range.computeRangeFloat(lats, IndexValidator.TRUE, null, ProgressMonitor.NULL);
             if (range.getMin() < -90) {
-                geoCodingList.add(null);
-                centerLinesList.add(null);
+                referenceLons[index] = Double.NaN;
+                referenceLats[index] = Double.NaN;
             } else {
-                final TiePointGrid latTPG = new TiePointGrid("lat" + y, sceneWidth, stripHeight, 0.5, 0.5, 1, 1, lats);
-                final TiePointGrid lonTPG = new TiePointGrid("lon" + y, sceneWidth, stripHeight, 0.5, 0.5, 1, 1, lons, true);
-                dummyProduct.addTiePointGrid(latTPG);
-                dummyProduct.addTiePointGrid(lonTPG);
+                stripLons[index] = lons;
+                stripLats[index] = lats;
 
-                final TiePointGeoCoding geoCoding = new TiePointGeoCoding(latTPG, lonTPG, DefaultGeographicCRS.WGS84);
-                cross180 = cross180 || geoCoding.isCrossingMeridianAt180();
-                geoCodingList.add(geoCoding);
+                final double[][] centerLine = createCenterLine(lons, lats, sceneWidth, stripHeight);
+                centerLineLons[index] = centerLine[0];
+                centerLineLats[index] = centerLine[1];
 
-                final LineString centerLine = createCenterLine(geoCoding, sceneWidth);
-                centerLinesList.add(centerLine);
+                final int centerIndex = centerLine[0].length / 2;
+                referenceLons[index] = centerLine[0][centerIndex];
+                referenceLats[index] = centerLine[1][centerIndex];
             }
         }
-        listSize = geoCodingList.size();
-    }
 
-    private LineString createCenterLine(TiePointGeoCoding geoCoding, final int sceneWidth) {
-        final double numberOfSegments = 10.0;
-        final double stepX = sceneWidth / numberOfSegments;
+        stripIndex = new StripIndex(referenceLons, referenceLats);
+    }
 
-        final PixelPos pixelPos = new PixelPos();
-        final GeoPos geoPos = new GeoPos();
+    private static int floorAndCrop(double value, int max) {
+        final int floor = (int) Math.floor(value);
+        return Math.max(0, Math.min(floor, max));
+    }
 
-        final List<Point> points = new ArrayList<>();
+    private static double interpolate(double wi, double wj, double x00, double x10, double x01, double x11) {
+        return x00 + wi * (x10 - x00) + wj * (x01 - x00) + wi * wj * (x11 + x00 - x01 - x10);
+    }
 
-        pixelPos.y = stripHeight / 2.0;
+    private static float sin(float lon) {
+        return (float) Math.sin(Math.toRadians(lon));
+    }
 
-        for (pixelPos.x = 0; pixelPos.x < sceneWidth + 0.5; pixelPos.x += stepX) {
-            geoCoding.getGeoPos(pixelPos, geoPos);
-            points.add(geometryFactory.createPoint(geoPos.getLon(), geoPos.getLat()));
-        }
+    private static float cos(float lon) {
+        return (float) Math.cos(Math.toRadians(lon));
+    }
 
-        return geometryFactory.createLineString(points);
+    interface ArraySupplier {
+        Array get() throws IOException;
     }
 }
@@ -35,7 +35,7 @@ import java.util.List;
 import static com.bc.fiduceo.reader.modis.ModisConstants.LATITUDE_VAR_NAME;
 import static com.bc.fiduceo.reader.modis.ModisConstants.LONGITUDE_VAR_NAME;
 
-class MxD021KM_Reader extends NetCDFReader {
+class MxD021KM_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final String REG_EX = "M([OY])D021KM.A\\d{7}.\\d{4}.\\d{3}.\\d{13}.hdf";
     private static final String GEOLOCATION_GROUP = "MODIS_SWATH_Type_L1B/Geolocation_Fields";
@@ -407,6 +407,11 @@ class MxD021KM_Reader extends NetCDFReader {
         return (ArrayInt.D2) acquisitionTimeFromTimeLocator(y, interval);
     }
 
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
+
     @Override
     public String getLongitudeVariableName() {
         return LONGITUDE_VAR_NAME;
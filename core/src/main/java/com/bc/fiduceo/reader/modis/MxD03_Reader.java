@@ -81,10 +81,8 @@ class MxD03_Reader extends NetCDFReader {
     @Override
     public PixelLocator getPixelLocator() throws IOException {
         if (pixelLocator == null) {
-            final Array lonArray = arrayCache.get(GEOLOCATION_GROUP, "Longitude");
-            final Array latArray = arrayCache.get(GEOLOCATION_GROUP, "Latitude");
-
-            pixelLocator = new BowTiePixelLocator(lonArray, latArray, geometryFactory, 10);
+            pixelLocator = BowTiePixelLocator.getShared(new File(netcdfFile.getLocation()), 10,
+                    () -> arrayCache.get(GEOLOCATION_GROUP, "Longitude"), () -> arrayCache.get(GEOLOCATION_GROUP, "Latitude"));
         }
 
         return pixelLocator;
@@ -51,7 +51,7 @@ import java.util.List;
 import static com.bc.fiduceo.reader.modis.ModisConstants.LATITUDE_VAR_NAME;
 import static com.bc.fiduceo.reader.modis.ModisConstants.LONGITUDE_VAR_NAME;
 
-public class MxD06_Reader extends NetCDFReader {
+public class MxD06_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final String REG_EX = "M([OY])D06_L2.A\\d{7}.\\d{4}.\\d{3}.\\d{13}.hdf";
 
@@ -82,10 +82,7 @@ public class MxD06_Reader extends NetCDFReader {
         timeLocator = null;
         productSize = null;
 
-        if (pixelLocator != null) {
-            pixelLocator.dispose();
-            pixelLocator = null;
-        }
+        pixelLocator = null;
         super.close();
     }
 
@@ -183,6 +180,11 @@ public class MxD06_Reader extends NetCDFReader {
         return (ArrayInt.D2) acquisitionTimeFromTimeLocator(y, interval);
     }
 
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
+
     @Override
     public List<Variable> getVariables() {
         final List<Variable> variablesInFile = netcdfFile.getVariables();
@@ -316,7 +318,8 @@ public class MxD06_Reader extends NetCDFReader {
     }
 
     private void createPixelLocator() throws IOException {
-         pixelLocator = new BowTiePixelLocator(arrayCache.get(GEOLOCATION_GROUP, LONGITUDE_VAR_NAME), arrayCache.get(GEOLOCATION_GROUP, LATITUDE_VAR_NAME), geometryFactory);
+        pixelLocator = BowTiePixelLocator.getShared(new File(netcdfFile.getLocation()), 2,
+                () -> arrayCache.get(GEOLOCATION_GROUP, LONGITUDE_VAR_NAME), () -> arrayCache.get(GEOLOCATION_GROUP, LATITUDE_VAR_NAME));
     }
 
     private Array readRaw1km(int centerX, int centerY, Interval interval, Array array, Number fillValue) throws IOException, InvalidRangeException {
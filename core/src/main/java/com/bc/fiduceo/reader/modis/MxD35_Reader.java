@@ -33,6 +33,7 @@ import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.location.PixelLocatorFactory;
 import com.bc.fiduceo.reader.AcquisitionInfo;
 import com.bc.fiduceo.reader.BoundingPolygonCreator;
+import com.bc.fiduceo.reader.BulkAcquisitionTimeReader;
 import com.bc.fiduceo.reader.Geometries;
 import com.bc.fiduceo.reader.RawDataReader;
 import com.bc.fiduceo.reader.ReaderContext;
@@ -69,7 +70,7 @@ import static com.bc.fiduceo.util.NetCDFUtils.CF_FLAG_VALUES_NAME;
 import static com.bc.fiduceo.util.NetCDFUtils.CF_SCALE_FACTOR_NAME;
 import static com.bc.fiduceo.util.NetCDFUtils.CF_VALID_RANGE_NAME;
 
-public class MxD35_Reader extends NetCDFReader {
+public class MxD35_Reader extends NetCDFReader implements BulkAcquisitionTimeReader {
 
     private static final String REG_EX = "M([OY])D35_L2.A\\d{7}.\\d{4}.\\d{3}.\\d{13}.hdf";
 
@@ -283,10 +284,7 @@ public class MxD35_Reader extends NetCDFReader {
         timeLocator = null;
         _productSize = null;
 
-        if (pixelLocator != null && pixelLocator instanceof BowTiePixelLocator) {
-            ((BowTiePixelLocator) pixelLocator).dispose();
-            pixelLocator = null;
-        }
+        pixelLocator = null;
         if (mxD03Reader != null) {
             mxD03Reader.close();
             mxD03Reader = null;
@@ -418,6 +416,11 @@ public class MxD35_Reader extends NetCDFReader {
         return (ArrayInt.D2) acquisitionTimeFromTimeLocator(y, interval);
     }
 
+    @Override
+    public void readAcquisitionTimes(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        readAcquisitionTimesFromCache(centerX, centerY, count, interval, target);
+    }
+
     @Override
     public List<Variable> getVariables() throws InvalidRangeException, IOException {
         getPixelLocator();
@@ -641,7 +644,8 @@ public class MxD35_Reader extends NetCDFReader {
     }
 
     private PixelLocator createPixelLocator() throws IOException, InvalidRangeException {
-        return new BowTiePixelLocator(arrayCache.get(LONGITUDE_VAR_NAME), arrayCache.get(LATITUDE_VAR_NAME), geometryFactory, 10);
+        return BowTiePixelLocator.getShared(new File(netcdfFile.getLocation()), 10,
+                () -> arrayCache.get(LONGITUDE_VAR_NAME), () -> arrayCache.get(LATITUDE_VAR_NAME));
     }
 
     private static class FlagDefinition {
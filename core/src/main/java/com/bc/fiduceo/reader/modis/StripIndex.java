@@ -0,0 +1,206 @@
+package com.bc.fiduceo.reader.modis;
+
+/**
+ * Nearest neighbour index over one reference location per bow-tie strip. The locations are stored as unit vectors
+ * in an implicit kd-tree, the chord distance in 3d space is monotonic to the spherical distance, so the nearest
+ * tree node is the strip with the smallest great circle distance.
+ */
+class StripIndex {
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final int[] strips;
+    private final byte[] axes;
+    private final int size;
+
+    /**
+     * Creates the index.
+     *
+     * @param lons the longitudes of the strip reference points, NaN for strips that are not to be indexed
+     * @param lats the latitudes of the strip reference points, NaN for strips that are not to be indexed
+     */
+    StripIndex(double[] lons, double[] lats) {
+        int numValid = 0;
+        for (int i = 0; i < lons.length; i++) {
+            if (isValid(lons[i], lats[i])) {
+                numValid++;
+            }
+        }
+
+        x = new double[numValid];
+        y = new double[numValid];
+        z = new double[numValid];
+        strips = new int[numValid];
+        axes = new byte[numValid];
+        size = numValid;
+
+        int writeIndex = 0;
+        for (int i = 0; i < lons.length; i++) {
+            if (isValid(lons[i], lats[i])) {
+                final double lonRad = Math.toRadians(lons[i]);
+                final double latRad = Math.toRadians(lats[i]);
+                final double cosLat = Math.cos(latRad);
+                x[writeIndex] = cosLat * Math.cos(lonRad);
+                y[writeIndex] = cosLat * Math.sin(lonRad);
+                z[writeIndex] = Math.sin(latRad);
+                strips[writeIndex] = i;
+                writeIndex++;
+            }
+        }
+
+        build(0, size);
+    }
+
+    /**
+     * Retrieves the strip with the reference point closest to the given location.
+     *
+     * @param lon the longitude
+     * @param lat the latitude
+     * @return the strip index or -1 if the index is empty
+     */
+    int nearest(double lon, double lat) {
+        if (size == 0) {
+            return -1;
+        }
+
+        final double lonRad = Math.toRadians(lon);
+        final double latRad = Math.toRadians(lat);
+        final double cosLat = Math.cos(latRad);
+        final double[] query = {cosLat * Math.cos(lonRad), cosLat * Math.sin(lonRad), Math.sin(latRad)};
+        // [0] squared distance, [1] tree node
+        final double[] best = {Double.MAX_VALUE, -1};
+        search(0, size, query, best);
+        return strips[(int) best[1]];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void build(int lo, int hi) {
+        if (hi - lo < 2) {
+            return;
+        }
+
+        final byte axis = getWidestAxis(lo, hi);
+        final int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, axis);
+        axes[mid] = axis;
+
+        build(lo, mid);
+        build(mid + 1, hi);
+    }
+
+    private void search(int lo, int hi, double[] query, double[] best) {
+        if (lo >= hi) {
+            return;
+        }
+
+        final int mid = (lo + hi) >>> 1;
+        final double dx = query[0] - x[mid];
+        final double dy = query[1] - y[mid];
+        final double dz = query[2] - z[mid];
+        final double sqDistance = dx * dx + dy * dy + dz * dz;
+        if (sqDistance < best[0] || (sqDistance == best[0] && strips[mid] > strips[(int) best[1]])) {
+            best[0] = sqDistance;
+            best[1] = mid;
+        }
+
+        if (hi - lo == 1) {
+            return;
+        }
+
+        final double delta = query[axes[mid]] - get(mid, axes[mid]);
+        if (delta < 0) {
+            search(lo, mid, query, best);
+            if (delta * delta <= best[0]) {
+                search(mid + 1, hi, query, best);
+            }
+        } else {
+            search(mid + 1, hi, query, best);
+            if (delta * delta <= best[0]) {
+                search(lo, mid, query, best);
+            }
+        }
+    }
+
+    private byte getWidestAxis(int lo, int hi) {
+        byte widestAxis = 0;
+        double widestExtent = -1.0;
+        for (byte axis = 0; axis < 3; axis++) {
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int i = lo; i < hi; i++) {
+                final double value = get(i, axis);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestExtent) {
+                widestExtent = max - min;
+                widestAxis = axis;
+            }
+        }
+        return widestAxis;
+    }
+
+    // quickselect, moves the k-th element along the axis to position k, smaller ones left, larger ones right
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            final double pivot = get((left + right) >>> 1, axis);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (get(i, axis) < pivot) {
+                    i++;
+                }
+                while (get(j, axis) > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double get(int index, int axis) {
+        if (axis == 0) {
+            return x[index];
+        } else if (axis == 1) {
+            return y[index];
+        }
+        return z[index];
+    }
+
+    private void swap(int i, int j) {
+        double tmp = x[i];
+        x[i] = x[j];
+        x[j] = tmp;
+
+        tmp = y[i];
+        y[i] = y[j];
+        y[j] = tmp;
+
+        tmp = z[i];
+        z[i] = z[j];
+        z[j] = tmp;
+
+        final int tmpStrip = strips[i];
+        strips[i] = strips[j];
+        strips[j] = tmpStrip;
+    }
+
+    private static boolean isValid(double lon, double lat) {
+        return !Double.isNaN(lon) && !Double.isNaN(lat);
+    }
+}
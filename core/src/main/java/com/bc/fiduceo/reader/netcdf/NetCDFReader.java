@@ -1,8 +1,10 @@
 package com.bc.fiduceo.reader.netcdf;
 
 import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.monitor.Instrumentation;
 import com.bc.fiduceo.reader.ArrayCache;
 import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.time.AcquisitionTimes;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.NetCDFUtils;
 import ucar.ma2.*;
@@ -20,16 +22,20 @@ public abstract class NetCDFReader implements Reader {
 
     protected ArrayCache arrayCache;
     protected NetcdfFile netcdfFile;
+    protected AcquisitionTimes acquisitionTimes;
 
     @Override
     public void open(File file) throws IOException {
         netcdfFile = NetcdfFiles.open(file.getPath());
         arrayCache = new ArrayCache(netcdfFile);
+        acquisitionTimes = null;
     }
 
     @Override
     public void close() throws IOException {
+        acquisitionTimes = null;
         if (arrayCache != null) {
+            Instrumentation.get().add("bytes-read." + getClass().getSimpleName(), arrayCache.getNumBytesRead());
             arrayCache.clear();
             arrayCache = null;
         }
@@ -162,39 +168,60 @@ public abstract class NetCDFReader implements Reader {
         // nothing to do here. If required, readers may override this method tb 2020-11-25
     }
 
-    protected Array acquisitionTimeFromTimeLocator(int y, Interval interval) throws IOException {
-        final int height = interval.getY();
-        final int width = interval.getX();
-        final int y_offset = y - height / 2;
-        int[] shape = new int[]{height, width};
-
+    /**
+     * Retrieves the acquisition times of the opened product, created on first access by createAcquisitionTimes().
+     *
+     * @return the acquisition times
+     * @throws IOException on disk access failures
+     */
+    protected AcquisitionTimes getAcquisitionTimes() throws IOException {
+        if (acquisitionTimes == null) {
+            acquisitionTimes = createAcquisitionTimes();
+        }
+        return acquisitionTimes;
+    }
+
+    /**
+     * Creates the acquisition times of the opened product. The default implementation converts the line times of
+     * the time locator, columns are not limited to the product width. Readers override this to convert their time
+     * variables.
+     *
+     * @return the acquisition times
+     * @throws IOException on disk access failures
+     */
+    protected AcquisitionTimes createAcquisitionTimes() throws IOException {
         final TimeLocator timeLocator = getTimeLocator();
-        final int pHeight = getProductSize().getNy();
-
-        final Array acquisitionTime = Array.factory(DataType.INT, shape);
-        final Index index = acquisitionTime.getIndex();
-
         final int acquisitionTimeFillValue = getDefaultFillValue(int.class).intValue();
 
-        for (int ya = 0; ya < height; ya++) {
-            final int yRead = y_offset + ya;
-            final int lineTimeInSeconds;
-            if (yRead < 0 || yRead >= pHeight) {
-                lineTimeInSeconds = acquisitionTimeFillValue;
+        final int[] lineTimes = new int[getProductSize().getNy()];
+        for (int y = 0; y < lineTimes.length; y++) {
+            final long lineTime = timeLocator.getTimeFor(0, y);
+            if (lineTime < 0) {
+                lineTimes[y] = acquisitionTimeFillValue;
             } else {
-                final long lineTime = timeLocator.getTimeFor(0, yRead);
-                if (lineTime < 0) {
-                    lineTimeInSeconds = acquisitionTimeFillValue;
-                } else {
-                    lineTimeInSeconds = (int) (lineTime / 1000);
-                }
-            }
-
-            for (int xa = 0; xa < width; xa++) {
-                index.set(ya, xa);
-                acquisitionTime.setInt(index, lineTimeInSeconds);
+                lineTimes[y] = (int) (lineTime / 1000);
             }
         }
-        return acquisitionTime;
+        return AcquisitionTimes.perLine(lineTimes, AcquisitionTimes.UNBOUNDED_WIDTH, acquisitionTimeFillValue);
+    }
+
+    /**
+     * Reads the acquisition time windows of many pixel positions from getAcquisitionTimes(). Readers whose
+     * readAcquisitionTime() is served by the same acquisition times declare
+     * {@link com.bc.fiduceo.reader.BulkAcquisitionTimeReader} and delegate to this method.
+     *
+     * @param centerX  the center x positions
+     * @param centerY  the center y positions
+     * @param count    the number of positions to read
+     * @param interval the window sizes
+     * @param target   the buffer, at least count * interval.getX() * interval.getY() elements
+     * @throws IOException on disk access failures
+     */
+    protected void readAcquisitionTimesFromCache(int[] centerX, int[] centerY, int count, Interval interval, int[] target) throws IOException {
+        getAcquisitionTimes().readWindows(centerX, centerY, count, interval, target);
+    }
+
+    protected Array acquisitionTimeFromTimeLocator(int y, Interval interval) throws IOException {
+        return getAcquisitionTimes().readWindow(0, y, interval);
     }
 }
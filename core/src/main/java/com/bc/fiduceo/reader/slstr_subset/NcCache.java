@@ -1,18 +1,31 @@
 package com.bc.fiduceo.reader.slstr_subset;
 
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.reader.RawDataReader;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.reader.ReaderUtils;
+import com.bc.fiduceo.reader.RowBands;
+import com.bc.fiduceo.reader.TileCache;
 import com.bc.fiduceo.store.Store;
 import com.bc.fiduceo.util.NetCDFUtils;
 import org.esa.snap.core.util.StringUtils;
 import org.esa.snap.core.util.io.CsvReader;
 import ucar.ma2.Array;
 import ucar.nc2.NetcdfFile;
+import ucar.nc2.NetcdfFiles;
 import ucar.nc2.Variable;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,39 +33,61 @@ import java.util.TreeSet;
 
 import static ucar.nc2.NetcdfFiles.openInMemory;
 
+/**
+ * Provides the variables of the NetCDF members of an SLSTR subset product. Members are opened in place when the
+ * store is backed by the default file system, members of zip archives are copied to temporary files. Variable data
+ * is read in row tiles of full raster width, the tiles are kept in a cache bounded by the number of bytes.
+ */
 class NcCache {
 
+    static final int TILE_HEIGHT = 64;
+    static final long DEFAULT_CACHE_BYTES = 64L * 1024L * 1024L;
+
     private final Charset charset = StandardCharsets.UTF_8;
     private final char[] separators = new char[]{'|'};
 
+    private final long cacheBytes;
+
     private Store store;
     private RasterInfo rasterInfo;
+    private ReaderContext readerContext;
     private HashMap<String, String> dddBMap;
     private HashMap<String, NetcdfFile> ncFilesMap;
     private HashMap<String, Variable> variablesMap;
-    private HashMap<String, Array> rawArraysMap;
-    private HashMap<String, Array> scaledArraysMap;
+    private List<File> tempFiles;
+    private TileCache tileCache;
+
+    NcCache() {
+        this(DEFAULT_CACHE_BYTES);
+    }
+
+    NcCache(long cacheBytes) {
+        this.cacheBytes = cacheBytes;
+    }
 
     void open(Store store, RasterInfo rasterInfo) throws IOException {
+        open(store, rasterInfo, null);
+    }
+
+    void open(Store store, RasterInfo rasterInfo, ReaderContext readerContext) throws IOException {
         this.store = store;
         this.rasterInfo = rasterInfo;
+        this.readerContext = readerContext;
 
         parseDDDB();
 
         ncFilesMap = new HashMap<>();
         variablesMap = new HashMap<>();
-        rawArraysMap = new HashMap<>();
-        scaledArraysMap = new HashMap<>();
+        tempFiles = new ArrayList<>();
+        tileCache = new TileCache(cacheBytes);
     }
 
     void close() throws IOException {
         dddBMap.clear();
         dddBMap = null;
 
-        rawArraysMap.clear();
-        rawArraysMap = null;
-        scaledArraysMap.clear();
-        scaledArraysMap = null;
+        tileCache.clear();
+        tileCache = null;
 
         variablesMap.clear();
         variablesMap = null;
@@ -63,6 +98,13 @@ class NcCache {
         ncFilesMap.clear();
         ncFilesMap = null;
 
+        for (final File tempFile : tempFiles) {
+            readerContext.deleteTempFile(tempFile);
+        }
+        tempFiles.clear();
+        tempFiles = null;
+        readerContext = null;
+
         if (store != null) {
             store.close();
             store = null;
@@ -114,25 +156,96 @@ class NcCache {
         }
     }
 
-    Array getRawArray(String variableName) throws IOException {
-        Array array = rawArraysMap.get(variableName);
-        if (array == null) {
-            final Variable variable = getVariable(variableName);
-            array = variable.read();
-            rawArraysMap.put(variableName, array);
+    /**
+     * Reads the window centered at the given location, pixels outside the variable raster are set to the fill value.
+     * Only the tiles intersecting the window are read from disk.
+     *
+     * @param variableName the variable name
+     * @param centerX      the x coordinate of the window center, in the variable raster
+     * @param centerY      the y coordinate of the window center, in the variable raster
+     * @param interval     the window size
+     * @param productSize  the product size
+     * @return the window data, possibly a view into a cached tile
+     * @throws IOException on disk access failures
+     */
+    Array readRaw(String variableName, int centerX, int centerY, Interval interval, Dimension productSize) throws IOException {
+        return read(variableName, centerX, centerY, interval, productSize, false);
+    }
+
+    /**
+     * Reads the window centered at the given location with scaling applied, pixels outside the variable raster are
+     * set to the fill value.
+     *
+     * @param variableName the variable name
+     * @param centerX      the x coordinate of the window center, in the variable raster
+     * @param centerY      the y coordinate of the window center, in the variable raster
+     * @param interval     the window size
+     * @param productSize  the product size
+     * @return the window data, possibly a view into a cached tile
+     * @throws IOException on disk access failures
+     */
+    Array readScaled(String variableName, int centerX, int centerY, Interval interval, Dimension productSize) throws IOException {
+        return read(variableName, centerX, centerY, interval, productSize, true);
+    }
+
+    // package access for testing only
+    TileCache getTileCache() {
+        return tileCache;
+    }
+
+    private Array read(String variableName, int centerX, int centerY, Interval interval, Dimension productSize, boolean scaled) throws IOException {
+        final Variable variable = getVariable(variableName);
+        final Number fillValue = NetCDFUtils.getFillValue(variable);
+        final boolean scale = scaled && mustScale(variable);
+
+        final int[] shape = variable.getShape();
+        if (shape.length != 2 || shape[0] < 2) {
+            final Array array = getTile(variable, scale, -1, shape);
+            return RawDataReader.read(centerX, centerY, interval, fillValue, array, productSize);
+        }
+
+        final int height = shape[0];
+        final int[] band = RowBands.getBand(centerY - interval.getY() / 2, interval.getY(), height);
+        final Array bandArray = readBand(variable, scale, band[0], band[1], shape[1]);
+        return RawDataReader.read(centerX, centerY - band[0], interval, fillValue, bandArray, productSize);
+    }
+
+    private Array readBand(Variable variable, boolean scale, int bandStart, int bandEnd, int width) throws IOException {
+        final int height = variable.getShape()[0];
+        return RowBands.assemble(bandStart, bandEnd, TILE_HEIGHT, tileIndex -> getTile(variable, scale, tileIndex, getTileShape(tileIndex, height, width)));
+    }
+
+    private Array getTile(Variable variable, boolean scale, int tileIndex, int[] tileShape) throws IOException {
+        final String variableName = variable.getShortName();
+        if (scale) {
+            final String key = getTileKey(variableName, "scaled", tileIndex);
+            return tileCache.get(key, () -> NetCDFUtils.scaleIfNecessary(variable, getTile(variable, false, tileIndex, tileShape)));
         }
-        return array;
+
+        final String key = getTileKey(variableName, "raw", tileIndex);
+        return tileCache.get(key, () -> {
+            if (tileIndex < 0) {
+                return variable.read();
+            }
+            return RowBands.readRows(variable, tileIndex * TILE_HEIGHT, tileShape[0]);
+        });
+    }
+
+    // package access for testing only
+    static int[] getTileShape(int tileIndex, int height, int width) {
+        final int tileY = tileIndex * TILE_HEIGHT;
+        return new int[]{Math.min(TILE_HEIGHT, height - tileY), width};
     }
 
-    Array getScaledArray(String variableName) throws IOException {
-        Array array = scaledArraysMap.get(variableName);
-        if (array == null) {
-            final Array rawArray = getRawArray(variableName);
-            Variable variable = getVariable(variableName);
-            array = NetCDFUtils.scaleIfNecessary(variable, rawArray);
-            scaledArraysMap.put(variableName, array);
+    private static String getTileKey(String variableName, String type, int tileIndex) {
+        if (tileIndex < 0) {
+            return variableName + ":" + type + ":all";
         }
-        return array;
+        return variableName + ":" + type + ":" + tileIndex;
+    }
+
+    private static boolean mustScale(Variable variable) {
+        return ReaderUtils.mustScale(NetCDFUtils.getScaleFactor(variable), NetCDFUtils.getOffset(variable));
     }
 
     // package access for testing only tb 2022-08-18
@@ -144,8 +257,19 @@ class NcCache {
         NetcdfFile ncFile = ncFilesMap.get(fileName);
         if (ncFile == null) {
             final TreeSet<String> keys = store.getKeysEndingWith(fileName);
-            final byte[] bytes = store.getBytes(keys.first());
-            ncFile = openInMemory(fileName, bytes);
+            final String key = keys.first();
+            final Path path = store.getPath(key);
+            if (path != null && path.getFileSystem() == FileSystems.getDefault()) {
+                ncFile = NetcdfFiles.open(path.toString());
+            } else if (path != null && readerContext != null) {
+                final File tempFile = readerContext.createTempFile("slstr", "nc");
+                tempFiles.add(tempFile);
+                Files.copy(path, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                ncFile = NetcdfFiles.open(tempFile.getAbsolutePath());
+            } else {
+                final byte[] bytes = store.getBytes(key);
+                ncFile = openInMemory(fileName, bytes);
+            }
             ncFilesMap.put(fileName, ncFile);
         }
         return ncFile;
@@ -90,7 +90,7 @@ public class SlstrRegriddedSubsetReader implements Reader {
             manifest = XfduManifest.createManifest(document);
 
             rasterInfo = getRasterInfo(manifest);
-            ncCache.open(store, rasterInfo);
+            ncCache.open(store, rasterInfo, readerContext);
 
             final MetadataElement metadataRoot = new MetadataElement("root");
             metadataRoot.addElement(manifest.getMetadata());
@@ -232,28 +232,22 @@ public class SlstrRegriddedSubsetReader implements Reader {
 
     @Override
     public Array readRaw(int centerX, int centerY, Interval interval, String variableName) throws IOException, InvalidRangeException {
-        final Variable variable = ncCache.getVariable(variableName);
-        final Array rawArray = ncCache.getRawArray(variableName);
         final Transform transform = getTransform(variableName);
-        final Number fillValue = NetCDFUtils.getFillValue(variable);
 
         final int mappedX = (int) transform.mapCoordinate_X(centerX);
         final int mappedY = (int) transform.mapCoordinate_Y(centerY);
 
-        return RawDataReader.read(mappedX, mappedY, interval, fillValue, rawArray, getProductSize()).copy();
+        return ncCache.readRaw(variableName, mappedX, mappedY, interval, getProductSize()).copy();
     }
 
     @Override
     public Array readScaled(int centerX, int centerY, Interval interval, String variableName) throws IOException, InvalidRangeException {
-        final Variable variable = ncCache.getVariable(variableName);
-        final Array scaledArray = ncCache.getScaledArray(variableName);
         final Transform transform = getTransform(variableName);
-        final Number fillValue = NetCDFUtils.getFillValue(variable);
 
         final int mappedX = (int) transform.mapCoordinate_X(centerX);
         final int mappedY = (int) transform.mapCoordinate_Y(centerY);
 
-        return RawDataReader.read(mappedX, mappedY, interval, fillValue, scaledArray, getProductSize()).copy();
+        return ncCache.readScaled(variableName, mappedX, mappedY, interval, getProductSize()).copy();
     }
 
     @Override
@@ -5,6 +5,7 @@ import com.bc.fiduceo.util.VariableProxy;
 import org.esa.snap.core.datamodel.TiePointGrid;
 import ucar.ma2.Array;
 import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
 import ucar.ma2.MAMath;
 import ucar.nc2.Variable;
 
@@ -24,8 +25,21 @@ public class SlstrSubsetTiePointVariable extends VariableProxy {
 
     @Override
     public Array read() throws IOException {
-        final int[] shape = getShape();
-        final double[] doubles = _tiePointGrid.readPixels(0, 0, shape[1], shape[0], new double[shape[0] * shape[1]]);
+        return interpolate(new int[]{0, 0}, getShape());
+    }
+
+    @Override
+    public Array read(int[] origin, int[] shape) throws IOException, InvalidRangeException {
+        final int[] fullShape = getShape();
+        if (origin.length != 2 || shape.length != 2 || origin[0] < 0 || origin[1] < 0 ||
+                origin[0] + shape[0] > fullShape[0] || origin[1] + shape[1] > fullShape[1]) {
+            throw new InvalidRangeException("Requested section exceeds the variable shape");
+        }
+        return interpolate(origin, shape);
+    }
+
+    private Array interpolate(int[] origin, int[] shape) {
+        final double[] doubles = _tiePointGrid.readPixels(origin[1], origin[0], shape[1], shape[0], new double[shape[0] * shape[1]]);
         final Array array = Array.makeFromJavaArray(doubles).reshape(shape);
         if (getDataType() != array.getDataType()) {
             return MAMath.convert(array, getDataType());
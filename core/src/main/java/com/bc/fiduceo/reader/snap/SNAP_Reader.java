@@ -27,9 +27,16 @@ import static ucar.ma2.DataType.*;
 
 public abstract class SNAP_Reader implements Reader {
 
+    static final int TILE_HEIGHT = 64;
+    static final long SHARED_CACHE_BYTES = 256L * 1024L * 1024L;
+
+    // the tiles are shared by all SNAP based readers in the JVM, keyed by product file, raster name and tile row
+    private static final TileCache TILE_CACHE = new TileCache(SHARED_CACHE_BYTES);
+
     protected final GeometryFactory geometryFactory;
 
     private Product uncachedProduct;
+    private String productKey;
     protected Product product;
     protected PixelLocator pixelLocator;
 
@@ -44,6 +51,7 @@ public abstract class SNAP_Reader implements Reader {
         }
         pixelLocator = null;
         uncachedProduct = null;
+        productKey = createProductKey(file);
     }
 
     protected void openCached(File file, String formatName) throws IOException {
@@ -57,6 +65,7 @@ public abstract class SNAP_Reader implements Reader {
         productMap.put("source", uncachedProduct);
         this.product = GPF.createProduct("TileCache", parameterMap, productMap);
         pixelLocator = null;
+        productKey = createProductKey(file);
     }
 
     @Override
@@ -70,6 +79,7 @@ public abstract class SNAP_Reader implements Reader {
             uncachedProduct.dispose();
             uncachedProduct = null;
         }
+        productKey = null;
     }
 
     public AcquisitionInfo read(Interval interval, int numSplits) throws IOException {
@@ -216,35 +226,13 @@ public abstract class SNAP_Reader implements Reader {
             return;
         }
 
-        final DataType dataType = targetArray.getDataType();
-        final Array readingArray = createReadingArray(dataType, new int[]{intersection.width, intersection.height});
-
-        if (dataType == FLOAT) {
-            dataNode.readPixels(intersection.x, intersection.y, intersection.width, intersection.height, (float[]) readingArray.getStorage());
-        } else if (dataType == INT || dataType == SHORT || dataType == BYTE) {
-            dataNode.readPixels(intersection.x, intersection.y, intersection.width, intersection.height, (int[]) readingArray.getStorage());
-        }
-
-        final Index index = targetArray.getIndex();
-        int readIndex = 0;
-        for (int y = 0; y < height; y++) {
-            final int currentY = yOffset + y;
-            for (int x = 0; x < width; x++) {
-                final int currentX = xOffset + x;
-                index.set(y, x);
-                if (currentX >= 0 && currentX < sceneRasterWidth && currentY >= 0 && currentY < sceneRasterHeight) {
-                    targetArray.setObject(index, readingArray.getObject(readIndex));
-                    ++readIndex;
-                } else {
-                    targetArray.setObject(index, noDataValue);
-                }
-            }
+        if (!intersection.equals(subsetRectangle)) {
+            MAMath.setDouble(targetArray, noDataValue);
         }
+        copyFromTiles(dataNode, targetArray, false, sceneRasterWidth, sceneRasterHeight, intersection, width, xOffset, yOffset);
     }
 
     protected void readRawProductData(RasterDataNode dataNode, Array readArray, int width, int height, int xOffset, int yOffset) throws IOException {
-        final DataType dataType = readArray.getDataType();
-
         final Rectangle subsetRectangle = new Rectangle(xOffset, yOffset, width, height);
         final int sceneRasterWidth = dataNode.getRasterWidth();
         final int sceneRasterHeight = dataNode.getRasterHeight();
@@ -255,30 +243,91 @@ public abstract class SNAP_Reader implements Reader {
             return; // no intersecting area with product raster tb 2019-01-17
         }
 
-        final int rasterSize = intersection.width * intersection.height;
-        final ProductData productData = createProductData(dataType, rasterSize);
-        final double noDataValue = getNoDataValue(dataNode);
-
-        dataNode.readRasterData(intersection.x, intersection.y, intersection.width, intersection.height, productData);
-//        for (int i = 0; i < rasterSize; i++) {
-//            readArray.setObject(i, productData.getElemDoubleAt(i));
-//        }
-        int readIndex = 0;
-        final Index index = readArray.getIndex();
-        for (int y = 0; y < height; y++) {
-            final int currentY = yOffset + y;
-            for (int x = 0; x < width; x++) {
-                final int currentX = xOffset + x;
-                index.set(y, x);
-                if (currentX >= 0 && currentX < sceneRasterWidth && currentY >= 0 && currentY < sceneRasterHeight) {
-                    readArray.setObject(index, productData.getElemDoubleAt(readIndex));
-                    ++readIndex;
-                }else {
-                    readArray.setObject(index, noDataValue);
-                }
+        if (!intersection.equals(subsetRectangle)) {
+            MAMath.setDouble(readArray, getNoDataValue(dataNode));
+        }
+        copyFromTiles(dataNode, readArray, true, sceneRasterWidth, sceneRasterHeight, intersection, width, xOffset, yOffset);
+    }
 
-            }
+    private void copyFromTiles(RasterDataNode dataNode, Array targetArray, boolean raw, int rasterWidth, int rasterHeight,
+                               Rectangle intersection, int width, int xOffset, int yOffset) throws IOException {
+        final DataType dataType = targetArray.getDataType();
+        final String keyPrefix = productKey + "|" + dataNode.getName() + "|" + (raw ? "raw" : "geophysical") + "|" + dataType + "|";
+
+        final int firstTile = intersection.y / TILE_HEIGHT;
+        final int lastTile = (intersection.y + intersection.height - 1) / TILE_HEIGHT;
+        for (int tileIndex = firstTile; tileIndex <= lastTile; tileIndex++) {
+            final int tileY = tileIndex * TILE_HEIGHT;
+            final int tileHeight = Math.min(TILE_HEIGHT, rasterHeight - tileY);
+            final Array tile = TILE_CACHE.get(keyPrefix + tileIndex, () -> readTile(dataNode, dataType, raw, tileY, rasterWidth, tileHeight));
+            copyTileRows(tile, tileY, rasterWidth, intersection, targetArray, width, xOffset, yOffset);
+        }
+    }
+
+    /**
+     * Reads a complete tile of full raster width. Raw tiles contain the raster data as stored in the product, the
+     * other tiles the geophysical pixel values.
+     *
+     * @param dataNode    the raster
+     * @param dataType    the data type of the tile, FLOAT, INT, SHORT or BYTE for raw data, FLOAT or INT otherwise
+     * @param raw         whether to read raw data
+     * @param tileY       the first raster line of the tile
+     * @param rasterWidth the raster width
+     * @param tileHeight  the number of lines of the tile
+     * @return the tile
+     * @throws IOException on disk access failures
+     */
+    // package access for testing only
+    static Array readTile(RasterDataNode dataNode, DataType dataType, boolean raw, int tileY, int rasterWidth, int tileHeight) throws IOException {
+        final int[] shape = {tileHeight, rasterWidth};
+        final int rasterSize = rasterWidth * tileHeight;
+        if (raw) {
+            final ProductData productData = createProductData(dataType, rasterSize);
+            dataNode.readRasterData(0, tileY, rasterWidth, tileHeight, productData);
+            return Array.factory(dataType, shape, productData.getElems());
         }
+
+        if (dataType == FLOAT) {
+            final float[] pixels = new float[rasterSize];
+            dataNode.readPixels(0, tileY, rasterWidth, tileHeight, pixels);
+            return Array.factory(dataType, shape, pixels);
+        } else if (dataType == INT) {
+            final int[] pixels = new int[rasterSize];
+            dataNode.readPixels(0, tileY, rasterWidth, tileHeight, pixels);
+            return Array.factory(dataType, shape, pixels);
+        }
+        throw new RuntimeException("unsupported data type: " + dataType);
+    }
+
+    /**
+     * Copies the lines of the tile that are inside of the intersection rectangle to the target window.
+     *
+     * @param tile         the tile, full raster width, same data type as the target
+     * @param tileY        the first raster line of the tile
+     * @param rasterWidth  the raster width
+     * @param intersection the intersection of the window with the raster
+     * @param targetArray  the window array
+     * @param width        the window width
+     * @param xOffset      the raster x coordinate of the first window column
+     * @param yOffset      the raster y coordinate of the first window line
+     */
+    // package access for testing only
+    static void copyTileRows(Array tile, int tileY, int rasterWidth, Rectangle intersection, Array targetArray, int width, int xOffset, int yOffset) {
+        final int tileHeight = (int) (tile.getSize() / rasterWidth);
+        final int startY = Math.max(intersection.y, tileY);
+        final int endY = Math.min(intersection.y + intersection.height, tileY + tileHeight);
+
+        final Object source = tile.getStorage();
+        final Object target = targetArray.getStorage();
+        for (int y = startY; y < endY; y++) {
+            final int readOffset = (y - tileY) * rasterWidth + intersection.x;
+            final int writeOffset = (y - yOffset) * width + intersection.x - xOffset;
+            System.arraycopy(source, readOffset, target, writeOffset, intersection.width);
+        }
+    }
+
+    private static String createProductKey(File file) {
+        return file.getAbsolutePath() + "|" + file.lastModified();
     }
 
     // package access for testing only tb 2019-05-17
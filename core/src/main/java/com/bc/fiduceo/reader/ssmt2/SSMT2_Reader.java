@@ -365,7 +365,7 @@ class SSMT2_Reader extends NetCDFReader {
             ensureFillValue(channelVariable);
             variablesList.add(channelVariable);
             final String[] offsetMapping = {"y", "x", "" + channel};
-            readersMap.put(channelName, new Read2dFrom3d(() -> arrayCache.get(shortName), offsetMapping, fillValue));
+            readersMap.put(channelName, new Read2dFrom3d(arrayCache, shortName, offsetMapping, fillValue));
         }
     }
 
@@ -573,7 +573,7 @@ class SSMT2_Reader extends NetCDFReader {
 
         @Override
         public Array read(int centerX, int centerY, Interval interval) throws IOException {
-            return RawDataReader.read(centerX, centerY, interval, fillValue, arrayCache.get(shortName), productSize);
+            return arrayCache.readWindow(shortName, centerX, centerY, interval, fillValue, productSize);
         }
     }
 
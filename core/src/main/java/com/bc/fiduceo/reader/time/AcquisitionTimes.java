@@ -0,0 +1,209 @@
+package com.bc.fiduceo.reader.time;
+
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayInt;
+import ucar.ma2.DataType;
+import ucar.ma2.IndexIterator;
+
+import java.util.Arrays;
+
+/**
+ * The acquisition times of a product in seconds since 1970, converted once and stored either per scan-line or per
+ * pixel. Windows are cut from the stored values without further conversion, pixels outside the product are set
+ * to the outside value.
+ */
+public class AcquisitionTimes {
+
+    /**
+     * Width of per line times that are not limited in x direction, all columns of a valid line get the line time.
+     */
+    public static final int UNBOUNDED_WIDTH = -1;
+
+    private final int[] times;
+    private final int width;
+    private final int height;
+    private final boolean perPixel;
+    private final int outsideValue;
+
+    private AcquisitionTimes(int[] times, int width, int height, boolean perPixel, int outsideValue) {
+        this.times = times;
+        this.width = width;
+        this.height = height;
+        this.perPixel = perPixel;
+        this.outsideValue = outsideValue;
+    }
+
+    /**
+     * Creates acquisition times with one value per scan-line.
+     *
+     * @param lineTimes    the times per line
+     * @param width        the product width, or UNBOUNDED_WIDTH
+     * @param outsideValue the value for pixels outside the product
+     * @return the acquisition times
+     */
+    public static AcquisitionTimes perLine(int[] lineTimes, int width, int outsideValue) {
+        return new AcquisitionTimes(lineTimes, width, lineTimes.length, false, outsideValue);
+    }
+
+    /**
+     * Creates acquisition times with one value per pixel.
+     *
+     * @param times        the times, row-major order
+     * @param width        the product width
+     * @param height       the product height
+     * @param outsideValue the value for pixels outside the product
+     * @return the acquisition times
+     */
+    public static AcquisitionTimes perPixel(int[] times, int width, int height, int outsideValue) {
+        if (times.length != width * height) {
+            throw new IllegalArgumentException("Times do not match product size");
+        }
+        return new AcquisitionTimes(times, width, height, true, outsideValue);
+    }
+
+    /**
+     * Converts a raw time variable. The dimensionality is interpreted as by the RawDataReader: scalars and vectors
+     * are per line values spanning the product width, two-dimensional (or 1 x height x width) data is per pixel.
+     *
+     * @param rawTimes      the raw time data
+     * @param productSize   the product size
+     * @param rawFillValue  the fill value of the raw data, used for pixels outside the product
+     * @param converter     converts raw values to seconds since 1970
+     * @return the acquisition times
+     */
+    public static AcquisitionTimes create(Array rawTimes, Dimension productSize, Number rawFillValue, Converter converter) {
+        final int outsideValue = converter.toSeconds(toElementType(rawFillValue, rawTimes.getElementType()), -1);
+        final int[] shape = rawTimes.getShape();
+        final int rank = rawTimes.getRank();
+
+        if (rank == 1 && shape[0] == 1) {
+            final double rawTime = rawTimes.getDouble(0);
+            final int[] lineTimes = new int[productSize.getNy()];
+            for (int y = 0; y < lineTimes.length; y++) {
+                lineTimes[y] = converter.toSeconds(rawTime, y);
+            }
+            return perLine(lineTimes, productSize.getNx(), outsideValue);
+        } else if (rank == 1 || (rank == 2 && shape[0] == 1)) {
+            final int[] lineTimes = convert(rawTimes, 1, converter);
+            return perLine(lineTimes, productSize.getNx(), outsideValue);
+        } else if (rank == 2) {
+            return perPixel(convert(rawTimes, shape[1], converter), shape[1], shape[0], outsideValue);
+        } else if (rank == 3 && shape[0] == 1) {
+            return perPixel(convert(rawTimes, shape[2], converter), shape[2], shape[1], outsideValue);
+        }
+
+        throw new RuntimeException("Unsupported input dimensionality");
+    }
+
+    /**
+     * Reads a window of acquisition times.
+     *
+     * @param centerX  the center x position
+     * @param centerY  the center y position
+     * @param interval the window sizes
+     * @return the window
+     */
+    public ArrayInt.D2 readWindow(int centerX, int centerY, Interval interval) {
+        final int[] window = new int[interval.getX() * interval.getY()];
+        fillWindow(centerX, centerY, interval, window, 0);
+
+        final int[] shape = new int[]{interval.getY(), interval.getX()};
+        return (ArrayInt.D2) Array.factory(DataType.INT, shape, window);
+    }
+
+    /**
+     * Reads windows of acquisition times for a number of center positions into a buffer, window i starts at
+     * target[i * interval.getX() * interval.getY()].
+     *
+     * @param centerX  the center x positions
+     * @param centerY  the center y positions
+     * @param count    the number of windows
+     * @param interval the window sizes
+     * @param target   the buffer
+     */
+    public void readWindows(int[] centerX, int[] centerY, int count, Interval interval, int[] target) {
+        final int windowSize = interval.getX() * interval.getY();
+        if (target.length < count * windowSize) {
+            throw new IllegalArgumentException("Target buffer too small");
+        }
+
+        for (int i = 0; i < count; i++) {
+            fillWindow(centerX[i], centerY[i], interval, target, i * windowSize);
+        }
+    }
+
+    private void fillWindow(int centerX, int centerY, Interval interval, int[] target, int targetOffset) {
+        final int windowWidth = interval.getX();
+        final int windowHeight = interval.getY();
+        final int xOffset = centerX - windowWidth / 2;
+        final int yOffset = centerY - windowHeight / 2;
+
+        int writeIndex = targetOffset;
+        for (int ya = 0; ya < windowHeight; ya++) {
+            final int y = yOffset + ya;
+            if (y < 0 || y >= height) {
+                Arrays.fill(target, writeIndex, writeIndex + windowWidth, outsideValue);
+                writeIndex += windowWidth;
+                continue;
+            }
+
+            if (perPixel) {
+                final int lineOffset = y * width;
+                for (int xa = 0; xa < windowWidth; xa++) {
+                    final int x = xOffset + xa;
+                    target[writeIndex++] = x < 0 || x >= width ? outsideValue : times[lineOffset + x];
+                }
+            } else {
+                final int lineTime = times[y];
+                for (int xa = 0; xa < windowWidth; xa++) {
+                    final int x = xOffset + xa;
+                    if (width == UNBOUNDED_WIDTH || (x >= 0 && x < width)) {
+                        target[writeIndex++] = lineTime;
+                    } else {
+                        target[writeIndex++] = outsideValue;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] convert(Array rawTimes, int lineWidth, Converter converter) {
+        final int[] times = new int[(int) rawTimes.getSize()];
+        final IndexIterator iterator = rawTimes.getIndexIterator();
+        for (int i = 0; i < times.length; i++) {
+            times[i] = converter.toSeconds(iterator.getDoubleNext(), i / lineWidth);
+        }
+        return times;
+    }
+
+    // the window readers store the fill value converted to the data type of the raw array
+    private static double toElementType(Number value, Class elementType) {
+        if (elementType == float.class) {
+            return value.floatValue();
+        } else if (elementType == long.class) {
+            return value.longValue();
+        } else if (elementType == int.class) {
+            return value.intValue();
+        } else if (elementType == short.class) {
+            return value.shortValue();
+        } else if (elementType == byte.class) {
+            return value.byteValue();
+        }
+        return value.doubleValue();
+    }
+
+    /**
+     * Converts a raw time value to seconds since 1970.
+     */
+    public interface Converter {
+
+        /**
+         * @param rawValue the raw value
+         * @param y        the scan-line of the value, -1 for the fill value of pixels outside the product
+         * @return the seconds since 1970
+         */
+        int toSeconds(double rawValue, int y);
+    }
+}
@@ -2,6 +2,7 @@ package com.bc.fiduceo.store;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.TreeSet;
 
 public interface Store extends Closeable {
@@ -10,6 +11,17 @@ public interface Store extends Closeable {
 
     TreeSet<String> getKeysEndingWith(String suffix) throws IOException;
 
+    /**
+     * Retrieves the path of the entry, allowing to stream or open the data in place. Returns null if the entry
+     * is not present or the store is not backed by a file system.
+     *
+     * @param key the entry key
+     * @return the path or null
+     */
+    default Path getPath(String key) {
+        return null;
+    }
+
     @Override
     default void close() throws IOException {
     }
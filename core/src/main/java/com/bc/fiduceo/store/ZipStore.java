@@ -34,6 +34,15 @@ public class ZipStore implements Store {
         return null;
     }
 
+    @Override
+    public Path getPath(String key) {
+        final Path path = internalRoot.resolve(key);
+        if (Files.isReadable(path)) {
+            return path;
+        }
+        return null;
+    }
+
     @Override
     public TreeSet<String> getKeysEndingWith(String suffix) throws IOException {
         return Files.walk(internalRoot)
@@ -0,0 +1,102 @@
+package com.bc.fiduceo.archive;
+
+import com.google.common.jimfs.Jimfs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ArchiveListingTest {
+
+    private FileSystem fs;
+    private ArchiveListing listing;
+
+    @Before
+    public void setUp() {
+        fs = Jimfs.newFileSystem();
+        listing = new ArchiveListing();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        fs.close();
+    }
+
+    @Test
+    public void testAdd_keepsOrder_removesDuplicates() {
+        listing.add(fs.getPath("b.nc"), 10L);
+        listing.add(fs.getPath("a.nc"), 11L);
+        listing.add(fs.getPath("b.nc"), 12L);
+
+        assertEquals(2, listing.size());
+        final Path[] paths = listing.getPaths();
+        assertEquals("b.nc", paths[0].toString());
+        assertEquals("a.nc", paths[1].toString());
+        assertEquals(12L, listing.getLastModified(fs.getPath("b.nc")));
+    }
+
+    @Test
+    public void testAddAll_remove_contains() {
+        listing.add(fs.getPath("a.nc"), 10L);
+
+        final ArchiveListing other = new ArchiveListing();
+        other.add(fs.getPath("b.nc"), 20L);
+        other.add(fs.getPath("a.nc"), 30L);
+        listing.addAll(other);
+
+        assertEquals(2, listing.size());
+        assertEquals(30L, listing.getLastModified(fs.getPath("a.nc")));
+
+        listing.remove(fs.getPath("a.nc"));
+        assertFalse(listing.contains(fs.getPath("a.nc")));
+        assertTrue(listing.contains(fs.getPath("b.nc")));
+    }
+
+    @Test
+    public void testIsUnchanged() {
+        listing.add(fs.getPath("a.nc"), 10L);
+        listing.add(fs.getPath("b.nc"), -1L);
+
+        assertTrue(listing.isUnchanged(fs.getPath("a.nc"), 10L));
+        assertFalse(listing.isUnchanged(fs.getPath("a.nc"), 11L));
+        assertFalse(listing.isUnchanged(fs.getPath("b.nc"), -1L));
+        assertFalse(listing.isUnchanged(fs.getPath("c.nc"), 10L));
+        assertEquals(-1L, listing.getLastModified(fs.getPath("c.nc")));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        listing.add(fs.getPath("mhs", "v1", "first.nc"), 1234567890123L);
+        listing.add(fs.getPath("mhs", "v1", "with blank.nc"), 17L);
+
+        final Path snapshotFile = fs.getPath("listing.txt");
+        listing.writeTo(snapshotFile);
+        assertFalse(Files.exists(fs.getPath("listing.txt.tmp")));
+
+        final ArchiveListing readListing = ArchiveListing.readFrom(snapshotFile);
+        assertEquals(2, readListing.size());
+        assertArrayEquals(listing.getPaths(), readListing.getPaths());
+        assertTrue(readListing.isUnchanged(fs.getPath("mhs", "v1", "first.nc"), 1234567890123L));
+        assertTrue(readListing.isUnchanged(fs.getPath("mhs", "v1", "with blank.nc"), 17L));
+    }
+
+    @Test
+    public void testRead_invalidLine() throws IOException {
+        final Path snapshotFile = fs.getPath("listing.txt");
+        Files.write(snapshotFile, Arrays.asList("12\ta.nc", "no_time b.nc"), StandardCharsets.UTF_8);
+
+        try {
+            ArchiveListing.readFrom(snapshotFile);
+            fail("IOException expected");
+        } catch (IOException expected) {
+        }
+    }
+}
@@ -30,8 +30,11 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -306,6 +309,75 @@ public class ArchiveTest {
         assertEquals("archiveRoot\\amsub\\1.0\\2015\\01\\06\\productFile_06.nc".replace("\\", separator), productPaths[2].toString());
     }
 
+    @Test
+    public void testList_withModificationTimes() throws IOException {
+        final Path stPath = Files.createDirectory(root.resolve(sensorType));
+        final Path pvPath = Files.createDirectory(stPath.resolve(processingVersion));
+        final Path monPath = Files.createDirectories(pvPath.resolve("2015").resolve("01"));
+        final Path dayPath = Files.createDirectory(monPath.resolve("21"));
+        final Path product = Files.createFile(dayPath.resolve("productFile.nc"));
+        Files.setLastModifiedTime(product, FileTime.fromMillis(1420000000000L));
+
+        final ArchiveListing listing = archive.list(getDate("2015-021"), getDate("2015-022"), processingVersion, sensorType, true);
+        assertEquals(1, listing.size());
+        assertEquals(1420000000000L, listing.getLastModified(product));
+
+        final ArchiveListing withoutTimes = archive.list(getDate("2015-021"), getDate("2015-022"), processingVersion, sensorType, false);
+        assertEquals(1, withoutTimes.size());
+        assertEquals(-1L, withoutTimes.getLastModified(product));
+    }
+
+    @Test
+    public void testGetProductDirectories_defaultPath() {
+        final List<Path> productDirs = archive.getProductDirectories(getDate("2015-031"), getDate("2015-033"), processingVersion, sensorType);
+
+        assertEquals(3, productDirs.size());
+        assertEquals(root.resolve("amsub").resolve("1.0").resolve("2015").resolve("01").resolve("31"), productDirs.get(0));
+        assertEquals(root.resolve("amsub").resolve("1.0").resolve("2015").resolve("02").resolve("02"), productDirs.get(2));
+    }
+
+    @Test
+    public void testGetProductDirectories_monthlyPath() {
+        final ArchiveConfig archiveConfig = new ArchiveConfig();
+        archiveConfig.setRootPath(root);
+        final HashMap<String, String[]> rules = new HashMap<>();
+        rules.put(sensorType, new String[]{"SENSOR", "YEAR", "MONTH"});
+        archiveConfig.setRules(rules);
+        final Archive configuredArchive = new Archive(archiveConfig);
+
+        // starts at the end of January, the stepping must not skip March
+        final List<Path> productDirs = configuredArchive.getProductDirectories(getDate("2015-031"), getDate("2015-060"), processingVersion, sensorType);
+
+        assertEquals(3, productDirs.size());
+        assertEquals(root.resolve("amsub").resolve("2015").resolve("01"), productDirs.get(0));
+        assertEquals(root.resolve("amsub").resolve("2015").resolve("02"), productDirs.get(1));
+        assertEquals(root.resolve("amsub").resolve("2015").resolve("03"), productDirs.get(2));
+    }
+
+    @Test
+    public void testGetProductDirectories_noTimeElements() {
+        final ArchiveConfig archiveConfig = new ArchiveConfig();
+        archiveConfig.setRootPath(root);
+        final HashMap<String, String[]> rules = new HashMap<>();
+        rules.put(sensorType, new String[]{"in-situ", "VERSION", "SENSOR"});
+        archiveConfig.setRules(rules);
+        final Archive configuredArchive = new Archive(archiveConfig);
+
+        final List<Path> productDirs = configuredArchive.getProductDirectories(getDate("2010-001"), getDate("2019-365"), processingVersion, sensorType);
+
+        assertEquals(1, productDirs.size());
+        assertEquals(root.resolve("in-situ").resolve("1.0").resolve("amsub"), productDirs.get(0));
+    }
+
+    @Test
+    public void testGetTimeStepField() {
+        assertEquals(Calendar.DAY_OF_MONTH, Archive.getTimeStepField(new String[]{"SENSOR", "YEAR", "MONTH", "DAY"}));
+        assertEquals(Calendar.DAY_OF_MONTH, Archive.getTimeStepField(new String[]{"SENSOR", "YEAR", "DAY_OF_YEAR"}));
+        assertEquals(Calendar.MONTH, Archive.getTimeStepField(new String[]{"SENSOR", "YEAR", "MONTH"}));
+        assertEquals(Calendar.YEAR, Archive.getTimeStepField(new String[]{"SENSOR", "YEAR"}));
+        assertEquals(-1, Archive.getTimeStepField(new String[]{"SENSOR", "VERSION"}));
+    }
+
     private Date getDate(String dateString) {
         return TimeUtils.parseDOYBeginOfDay(dateString);
     }
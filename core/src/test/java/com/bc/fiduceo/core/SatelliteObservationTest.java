@@ -20,10 +20,17 @@
 
 package com.bc.fiduceo.core;
 
+import com.bc.fiduceo.geometry.Geometry;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.geometry.LineString;
+import com.bc.fiduceo.geometry.TimeAxis;
 import org.junit.Before;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
 
 public class SatelliteObservationTest {
 
@@ -51,4 +58,59 @@ public class SatelliteObservationTest {
         observation.setVersion(version_2);
         assertEquals(version_2, observation.getVersion());
     }
+
+    @Test
+    public void testGeoBoundsDecoder_decodesOnceOnFirstAccess() {
+        final GeometryFactory geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+        final Geometry polygon = geometryFactory.parse("POLYGON((2 1, 3 1, 3 2, 2 2, 2 1))");
+        final byte[] storageData = geometryFactory.toStorageFormat(polygon);
+        final AtomicInteger numDecodes = new AtomicInteger();
+
+        observation.setGeoBoundsDecoder(() -> {
+            numDecodes.incrementAndGet();
+            return geometryFactory.fromStorageFormat(storageData);
+        });
+        assertEquals(0, numDecodes.get());
+
+        final Geometry geoBounds = observation.getGeoBounds();
+        assertEquals(geometryFactory.format(geometryFactory.parse(geometryFactory.format(polygon))), geometryFactory.format(geoBounds));
+        assertSame(geoBounds, observation.getGeoBounds());
+        assertEquals(1, numDecodes.get());
+    }
+
+    @Test
+    public void testGeoBoundsDecoder_replacedBySetter() {
+        final GeometryFactory geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+        final Geometry polygon = geometryFactory.parse("POLYGON((2 1, 3 1, 3 2, 2 2, 2 1))");
+
+        observation.setGeoBoundsDecoder(() -> {
+            throw new IllegalStateException("must not be called");
+        });
+        observation.setGeoBounds(polygon);
+
+        assertSame(polygon, observation.getGeoBounds());
+    }
+
+    @Test
+    public void testTimeAxesDecoder_decodesOnceOnFirstAccess() {
+        final GeometryFactory geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+        final LineString lineString = (LineString) geometryFactory.parse("LINESTRING(2.5 1, 2.5 2)");
+        final TimeAxis timeAxis = geometryFactory.createTimeAxis(lineString, new Date(1000), new Date(2000));
+        final AtomicInteger numDecodes = new AtomicInteger();
+
+        observation.setTimeAxesDecoder(() -> {
+            numDecodes.incrementAndGet();
+            return new TimeAxis[]{timeAxis};
+        });
+        assertEquals(0, numDecodes.get());
+
+        final TimeAxis[] timeAxes = observation.getTimeAxes();
+        assertEquals(1, timeAxes.length);
+        assertSame(timeAxis, timeAxes[0]);
+        assertSame(timeAxes, observation.getTimeAxes());
+        assertEquals(1, numDecodes.get());
+
+        observation.setTimeAxes(null);
+        assertNull(observation.getTimeAxes());
+    }
 }
@@ -28,6 +28,7 @@ import java.io.ByteArrayInputStream;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 public class SystemConfigTest {
@@ -92,6 +93,8 @@ public class SystemConfigTest {
 
         assertEquals("S2", systemConfig.getGeometryLibraryType());
         assertEquals(8, systemConfig.getReaderCacheSize());
+        assertEquals(256, systemConfig.getTileCacheSize());
+        assertNull(systemConfig.getInsituCacheLocation());
     }
 
     @Test
@@ -106,6 +109,30 @@ public class SystemConfigTest {
         assertEquals(32, systemConfig.getReaderCacheSize());
     }
 
+    @Test
+    public void testLoadAndGet_TileCacheSize() {
+        final String useCaseXml = "<system-config>" +
+                "    <tile-cache-size>512</tile-cache-size>" +
+                "</system-config>";
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(useCaseXml.getBytes());
+
+        final SystemConfig systemConfig = SystemConfig.load(inputStream);
+
+        assertEquals(512, systemConfig.getTileCacheSize());
+    }
+
+    @Test
+    public void testLoadAndGet_InsituCacheLocation() {
+        final String useCaseXml = "<system-config>" +
+                "    <insitu-cache>sidecar</insitu-cache>" +
+                "</system-config>";
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(useCaseXml.getBytes());
+
+        final SystemConfig systemConfig = SystemConfig.load(inputStream);
+
+        assertEquals("sidecar", systemConfig.getInsituCacheLocation());
+    }
+
     @Test
     public void testLoadAndGet_TempDir() {
         final String useCaseXml = "<system-config>" +
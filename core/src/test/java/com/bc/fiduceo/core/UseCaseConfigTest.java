@@ -402,6 +402,44 @@ public class UseCaseConfigTest {
         assertTrue(useCaseConfig.isWriteDistance());
     }
 
+    @Test
+    public void testSetIsScanlineSampling() {
+        assertFalse(useCaseConfig.isScanlineSampling());
+
+        useCaseConfig.setScanlineSampling(true);
+        assertTrue(useCaseConfig.isScanlineSampling());
+    }
+
+    @Test
+    public void testLoad_scanlineSampling() {
+        final String useCaseXml = "<use-case-config name=\"use-case 22\">" +
+                "  <scanline-sampling>true</scanline-sampling>" +
+                "</use-case-config>";
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(useCaseXml.getBytes());
+
+        final UseCaseConfig useCaseConfig = UseCaseConfig.load(inputStream);
+        assertTrue(useCaseConfig.isScanlineSampling());
+    }
+
+    @Test
+    public void testSetIsTemporalJoin() {
+        assertFalse(useCaseConfig.isTemporalJoin());
+
+        useCaseConfig.setTemporalJoin(true);
+        assertTrue(useCaseConfig.isTemporalJoin());
+    }
+
+    @Test
+    public void testLoad_temporalJoin() {
+        final String useCaseXml = "<use-case-config name=\"use-case 22\">" +
+                "  <temporal-join>true</temporal-join>" +
+                "</use-case-config>";
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(useCaseXml.getBytes());
+
+        final UseCaseConfig useCaseConfig = UseCaseConfig.load(inputStream);
+        assertTrue(useCaseConfig.isTemporalJoin());
+    }
+
     @Test
     public void testSetDimensions() {
         final List<Dimension> dimensions = new ArrayList<>();
@@ -24,11 +24,17 @@ package com.bc.fiduceo.db;
 import com.bc.fiduceo.util.TimeUtils;
 import org.junit.Test;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Date;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class AbstractDriverTest {
 
@@ -39,6 +45,16 @@ public class AbstractDriverTest {
         assertEquals("SELECT * FROM SATELLITE_OBSERVATION obs INNER JOIN SENSOR sen ON obs.SensorId = sen.ID LEFT OUTER JOIN TIMEAXIS axis ON obs.ID = axis.ObservationId ORDER by obs.ID ", sql);
     }
 
+    @Test
+    public void testCreateSql_selectedColumns() {
+        final QueryParameter parameter = new QueryParameter();
+        parameter.setSensorName("fieberthermometer");
+
+        final String sql = AbstractDriver.createSql(parameter, "obs.ID, ST_AsBinary(obs.GeoBounds) AS GeoBounds");
+
+        assertEquals("SELECT obs.ID, ST_AsBinary(obs.GeoBounds) AS GeoBounds FROM SATELLITE_OBSERVATION obs INNER JOIN SENSOR sen ON obs.SensorId = sen.ID LEFT OUTER JOIN TIMEAXIS axis ON obs.ID = axis.ObservationId WHERE sen.Name = 'fieberthermometer' ORDER by obs.ID ", sql);
+    }
+
     @Test
     public void testCreateSql_startTime() {
         final QueryParameter parameter = new QueryParameter();
@@ -112,6 +128,44 @@ public class AbstractDriverTest {
         assertEquals("SELECT * FROM SATELLITE_OBSERVATION obs INNER JOIN SENSOR sen ON obs.SensorId = sen.ID LEFT OUTER JOIN TIMEAXIS axis ON obs.ID = axis.ObservationId WHERE obs.Version = 'v2.0' ORDER by obs.ID ", sql);
     }
 
+    @Test
+    public void testCreateSql_lastId() {
+        final QueryParameter parameter = new QueryParameter();
+        parameter.setLastId(20775);
+        parameter.setPageSize(512);
+
+        final String sql = AbstractDriver.createSql(parameter);
+
+        assertEquals("SELECT * FROM SATELLITE_OBSERVATION obs INNER JOIN SENSOR sen ON obs.SensorId = sen.ID LEFT OUTER JOIN TIMEAXIS axis ON obs.ID = axis.ObservationId WHERE obs.ID > 20775 ORDER by obs.ID  LIMIT 512", sql);
+    }
+
+    @Test
+    public void testCreateSql_versionAndLastId() {
+        final QueryParameter parameter = new QueryParameter();
+        parameter.setVersion("v2.0");
+        parameter.setLastId(108);
+
+        final String sql = AbstractDriver.createSql(parameter);
+
+        assertEquals("SELECT * FROM SATELLITE_OBSERVATION obs INNER JOIN SENSOR sen ON obs.SensorId = sen.ID LEFT OUTER JOIN TIMEAXIS axis ON obs.ID = axis.ObservationId WHERE obs.Version = 'v2.0' AND obs.ID > 108 ORDER by obs.ID ", sql);
+    }
+
+    @Test
+    public void testHasWhereClause_lastId() {
+        final QueryParameter parameter = new QueryParameter();
+        parameter.setLastId(0);
+
+        assertTrue(AbstractDriver.hasWhereClause(parameter));
+    }
+
+    @Test
+    public void testToPrefixPattern() {
+        assertEquals("/archive/data/%", AbstractDriver.toPrefixPattern("/archive/data/"));
+        assertEquals("100!%!_done%", AbstractDriver.toPrefixPattern("100%_done"));
+        assertEquals("really!!%", AbstractDriver.toPrefixPattern("really!"));
+        assertEquals("C:\\data%", AbstractDriver.toPrefixPattern("C:\\data"));
+    }
+
     @Test
     public void testHasWhereClause_noParameter() {
          assertFalse(AbstractDriver.hasWhereClause(null));
@@ -190,4 +244,27 @@ public class AbstractDriverTest {
 
         assertEquals(" LIMIT 1000 OFFSET 16389", builder.toString());
     }
+
+    @Test
+    public void testGetGeneratedIds() throws SQLException {
+        final ResultSet generatedKeys = mock(ResultSet.class);
+        when(generatedKeys.next()).thenReturn(true, true, true, false);
+        when(generatedKeys.getInt(1)).thenReturn(17, 18, 19);
+
+        final int[] ids = AbstractDriver.getGeneratedIds(generatedKeys, 3);
+        assertArrayEquals(new int[]{17, 18, 19}, ids);
+    }
+
+    @Test
+    public void testGetGeneratedIds_numberMismatch() throws SQLException {
+        final ResultSet generatedKeys = mock(ResultSet.class);
+        when(generatedKeys.next()).thenReturn(true, false);
+        when(generatedKeys.getInt(1)).thenReturn(17);
+
+        try {
+            AbstractDriver.getGeneratedIds(generatedKeys, 2);
+            fail("SQLException expected");
+        } catch (SQLException expected) {
+        }
+    }
 }
@@ -67,8 +67,9 @@ public class DbMaintenanceToolIntegrationTest {
                     "Valid options are:" + ls +
                     "   -c,--config <arg>     Defines the configuration directory. Defaults to './config'." + ls +
                     "   -d,--dryrun           Defines 'dryrun' status, i.e. just test the replacement and report problems." + ls +
+                    "   -g,--geometries       Checks that all observation geometries decode from the binary storage format." + ls +
                     "   -h,--help             Prints the tool usage." + ls +
-                    "   -p,--path <arg>       Observation path segment to be replaced or truncated." + ls +
+                    "   -p,--path <arg>       Leading observation path segment to be replaced or truncated." + ls +
                     "   -r,--replace <arg>    Observation path segment replacement." + ls +
                     "   -s,--segments <arg>   Number of segments to consider for paths missing the search expression (default: 4)" + ls +
                     "   -t,--truncate         Command to truncate path segment." + ls, err.toString());
@@ -201,6 +202,20 @@ public class DbMaintenanceToolIntegrationTest {
         runTest_dryRun_someNotOk(databaseConfig);
     }
 
+    @Test
+    public void testCheckGeometries_Postgres() throws IOException, ParseException, SQLException {
+        final DatabaseConfig databaseConfig = setUpPostgresDb();
+
+        runTest_checkGeometries(databaseConfig);
+    }
+
+    @Test
+    public void testCheckGeometries_H2() throws IOException, ParseException, SQLException {
+        final DatabaseConfig databaseConfig = setUpH2Db();
+
+        runTest_checkGeometries(databaseConfig);
+    }
+
     @Test
     public void testDryRun_H2_someIncorrectPaths() throws IOException, ParseException, SQLException {
         final DatabaseConfig databaseConfig = setUpH2Db();
@@ -324,8 +339,9 @@ public class DbMaintenanceToolIntegrationTest {
 
             final List<SatelliteObservation> observations = storage.get();
             assertEquals(12, observations.size());
+            // only leading path segments are truncated
             for (SatelliteObservation satelliteObservation : observations) {
-                assertFalse(satelliteObservation.getDataFilePath().toString().contains(cutPath));
+                assertTrue(satelliteObservation.getDataFilePath().toString().contains(cutPath));
             }
         } finally {
             storage.clear();
@@ -422,6 +438,41 @@ public class DbMaintenanceToolIntegrationTest {
         }
     }
 
+    private void runTest_checkGeometries(DatabaseConfig databaseConfig) throws SQLException, ParseException {
+        final String sep = System.lineSeparator();
+        final Storage storage = initializeStorage(databaseConfig);
+
+        for (int i = 0; i < 7; i++) {
+            final SatelliteObservation observation = TestData.createSatelliteObservation(geometryFactory);
+            final String obsPath = TestUtil.assembleFileSystemPath(new String[]{"data", "archive", "the_file_number_" + i}, true);
+            observation.setDataFilePath(obsPath);
+            storage.insert(observation);
+        }
+
+        final PrintStream _out = System.out;
+
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final PrintStream psO = new PrintStream(out);
+            System.setOut(psO);
+
+            final String[] args = new String[]{"-c", configDir.getAbsolutePath(), "-g"};
+
+            DbMaintenanceToolMain.main(args);
+
+            psO.flush();
+
+            assertEquals("Datasets checked: 7" + sep +
+                    "Datasets with undecodable geometries: 0" + sep, out.toString());
+
+        } finally {
+            System.setOut(_out);
+
+            storage.clear();
+            storage.close();
+        }
+    }
+
     private Storage initializeStorage(DatabaseConfig databaseConfig) throws SQLException {
         final Storage storage = Storage.create(databaseConfig, geometryFactory);
 
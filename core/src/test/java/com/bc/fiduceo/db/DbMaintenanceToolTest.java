@@ -1,10 +1,13 @@
 package com.bc.fiduceo.db;
 
+import com.bc.fiduceo.core.SatelliteObservation;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -33,7 +36,7 @@ public class DbMaintenanceToolTest {
         assertNotNull(pathOption);
         assertEquals("p", pathOption.getOpt());
         assertEquals("path", pathOption.getLongOpt());
-        assertEquals("Observation path segment to be replaced or truncated.", pathOption.getDescription());
+        assertEquals("Leading observation path segment to be replaced or truncated.", pathOption.getDescription());
         assertTrue(pathOption.hasArg());
 
         final Option replaceOption = options.getOption("replace");
@@ -49,6 +52,13 @@ public class DbMaintenanceToolTest {
         assertEquals("truncate", truncateOption.getLongOpt());
         assertEquals("Command to truncate path segment.", truncateOption.getDescription());
         assertFalse(truncateOption.hasArg());
+
+        final Option geometriesOption = options.getOption("geometries");
+        assertNotNull(geometriesOption);
+        assertEquals("g", geometriesOption.getOpt());
+        assertEquals("geometries", geometriesOption.getLongOpt());
+        assertEquals("Checks that all observation geometries decode from the binary storage format.", geometriesOption.getDescription());
+        assertFalse(geometriesOption.hasArg());
     }
 
     @Test
@@ -65,10 +75,46 @@ public class DbMaintenanceToolTest {
                 "Valid options are:" + ls +
                 "   -c,--config <arg>     Defines the configuration directory. Defaults to './config'." + ls +
                 "   -d,--dryrun           Defines 'dryrun' status, i.e. just test the replacement and report problems." + ls +
+                "   -g,--geometries       Checks that all observation geometries decode from the binary storage format." + ls +
                 "   -h,--help             Prints the tool usage." + ls +
-                "   -p,--path <arg>       Observation path segment to be replaced or truncated." + ls +
+                "   -p,--path <arg>       Leading observation path segment to be replaced or truncated." + ls +
                 "   -r,--replace <arg>    Observation path segment replacement." + ls +
                 "   -s,--segments <arg>   Number of segments to consider for paths missing the search expression (default: 4)" + ls +
                 "   -t,--truncate         Command to truncate path segment." + ls, stream.toString());
     }
+
+    @Test
+    public void testSetNextPage_keyset() {
+        final QueryParameter queryParameter = new QueryParameter();
+        queryParameter.setOffset(0);
+        queryParameter.setPageSize(512);
+
+        DbMaintenanceTool.setNextPage(queryParameter, createPage(12, 13, 17));
+
+        assertEquals(17, queryParameter.getLastId());
+        assertEquals(-1, queryParameter.getOffset());
+        assertEquals(512, queryParameter.getPageSize());
+    }
+
+    @Test
+    public void testSetNextPage_noIds() {
+        final QueryParameter queryParameter = new QueryParameter();
+        queryParameter.setOffset(1024);
+        queryParameter.setPageSize(512);
+
+        DbMaintenanceTool.setNextPage(queryParameter, createPage(0, 0));
+
+        assertEquals(-1, queryParameter.getLastId());
+        assertEquals(1536, queryParameter.getOffset());
+    }
+
+    private static List<SatelliteObservation> createPage(int... ids) {
+        final List<SatelliteObservation> page = new ArrayList<>();
+        for (final int id : ids) {
+            final SatelliteObservation observation = new SatelliteObservation();
+            observation.setId(id);
+            page.add(observation);
+        }
+        return page;
+    }
 }
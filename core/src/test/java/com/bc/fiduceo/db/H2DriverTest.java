@@ -20,9 +20,19 @@
 
 package com.bc.fiduceo.db;
 
+import com.bc.fiduceo.core.SatelliteObservation;
+import com.bc.fiduceo.core.Sensor;
 import org.junit.Test;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
 
 public class H2DriverTest {
 
@@ -31,4 +41,50 @@ public class H2DriverTest {
         final H2Driver driver = new H2Driver();
         assertEquals("jdbc:h2", driver.getUrlPattern());
     }
+
+    @Test
+    public void testGetOrInsertSensorId_newSensorIsNotCommitted() throws SQLException {
+        final H2Driver driver = new H2Driver();
+        driver.connection = createConnection();
+
+        assertEquals(7, driver.getOrInsertSensorId(new Sensor("new_sensor")));
+        // served from the cache
+        assertEquals(7, driver.getOrInsertSensorId(new Sensor("new_sensor")));
+
+        verify(driver.connection, never()).commit();
+    }
+
+    @Test
+    public void testInsertBatch_failureRollsBackTheNewSensor() throws SQLException {
+        final H2Driver driver = new H2Driver();
+        driver.connection = createConnection();
+
+        // incomplete observation, fails after the sensor has been inserted
+        final SatelliteObservation observation = new SatelliteObservation();
+        observation.setSensor(new Sensor("new_sensor"));
+        try {
+            driver.insert(Collections.singletonList(observation));
+            fail("RuntimeException expected");
+        } catch (RuntimeException expected) {
+        }
+
+        verify(driver.connection, times(1)).rollback();
+        verify(driver.connection, never()).commit();
+    }
+
+    private static Connection createConnection() throws SQLException {
+        final ResultSet emptyResult = mock(ResultSet.class);
+        when(emptyResult.next()).thenReturn(false);
+        final ResultSet generatedKeys = mock(ResultSet.class);
+        when(generatedKeys.next()).thenReturn(true, false);
+        when(generatedKeys.getInt(1)).thenReturn(7);
+
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(emptyResult);
+        when(statement.getGeneratedKeys()).thenReturn(generatedKeys);
+
+        final Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), anyInt())).thenReturn(statement);
+        return connection;
+    }
 }
@@ -47,6 +47,7 @@ public class QueryParameterTest {
 
         assertEquals(-1, parameter.getPageSize());
         assertEquals(-1, parameter.getOffset());
+        assertEquals(-1, parameter.getLastId());
     }
 
     @Test
@@ -124,4 +125,13 @@ public class QueryParameterTest {
         parameter.setOffset(offset_2);
         assertEquals(offset_2, parameter.getOffset());
     }
+
+    @Test
+    public void testSetGetLastId() {
+        parameter.setLastId(1877);
+        assertEquals(1877, parameter.getLastId());
+
+        parameter.setLastId(-1);
+        assertEquals(-1, parameter.getLastId());
+    }
 }
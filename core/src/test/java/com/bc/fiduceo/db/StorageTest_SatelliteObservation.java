@@ -37,10 +37,14 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 
 import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
 
 public abstract class StorageTest_SatelliteObservation {
 
@@ -254,6 +258,63 @@ public abstract class StorageTest_SatelliteObservation {
         assertEquals(sensor.getName(), result.get(0).getSensor().getName());
     }
 
+    @Test
+    public void testInsertBatch_andGet() throws SQLException {
+        final List<SatelliteObservation> observations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final SatelliteObservation observation = TestData.createSatelliteObservation(geometryFactory);
+            observation.setDataFilePath("the_file_" + i);
+            if (i % 2 == 1) {
+                observation.setSensor(new Sensor("other_sensor"));
+            }
+            observations.add(observation);
+        }
+
+        storage.insert(observations);
+
+        final List<SatelliteObservation> result = storage.get();
+        assertEquals(5, result.size());
+        result.sort(Comparator.comparing(observation -> observation.getDataFilePath().toString()));
+
+        for (int i = 0; i < 5; i++) {
+            final SatelliteObservation observationFromDb = result.get(i);
+            assertEquals("the_file_" + i, observationFromDb.getDataFilePath().toString());
+            if (i % 2 == 1) {
+                assertEquals("other_sensor", observationFromDb.getSensor().getName());
+            } else {
+                assertEquals(TestData.SENSOR_NAME, observationFromDb.getSensor().getName());
+            }
+
+            final TimeAxis[] timeAxes = observationFromDb.getTimeAxes();
+            assertEquals(1, timeAxes.length);
+            TestUtil.assertCorrectUTCDate(2015, 4, 25, 22, 13, 20, 0, timeAxes[0].getStartTime());
+        }
+    }
+
+    @Test
+    public void testInsertBatch_emptyList() throws SQLException {
+        storage.insert(new ArrayList<SatelliteObservation>());
+
+        final List<SatelliteObservation> result = storage.get();
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    public void testInsertBatch_followedBySingleInsert() throws SQLException {
+        final SatelliteObservation first = TestData.createSatelliteObservation(geometryFactory);
+        first.setDataFilePath("first_file");
+        storage.insert(Collections.singletonList(first));
+
+        final SatelliteObservation second = TestData.createSatelliteObservation(geometryFactory);
+        second.setDataFilePath("second_file");
+        storage.insert(second);
+
+        final List<SatelliteObservation> result = storage.get();
+        assertEquals(2, result.size());
+        assertEquals(1, result.get(0).getTimeAxes().length);
+        assertEquals(1, result.get(1).getTimeAxes().length);
+    }
+
     @Test
     public void testUpdate() throws SQLException {
         final SatelliteObservation observation = TestData.createSatelliteObservation(geometryFactory);
@@ -710,4 +771,114 @@ public abstract class StorageTest_SatelliteObservation {
         assertEquals(30000010000L, observation_2.getStopTime().getTime());
     }
 
+    @Test
+    public void testInsertAndGet_withKeysetPaging() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            final SatelliteObservation observation = TestData.createSatelliteObservation(new Date(20000000000L + i * 100000L), new Date(20000010000L + i * 100000L), geometryFactory);
+            storage.insert(observation);
+        }
+
+        final QueryParameter queryParameter = new QueryParameter();
+        queryParameter.setPageSize(2);
+
+        List<SatelliteObservation> satelliteObservations = storage.get(queryParameter);
+        assertEquals(2, satelliteObservations.size());
+        final int lastId = satelliteObservations.get(1).getId();
+        assumeTrue("keyset paging requires numeric observation ids", lastId > 0);
+
+        queryParameter.setLastId(lastId);
+        satelliteObservations = storage.get(queryParameter);
+        assertEquals(2, satelliteObservations.size());
+        assertEquals(20000200000L, satelliteObservations.get(0).getStartTime().getTime());
+        assertEquals(20000300000L, satelliteObservations.get(1).getStartTime().getTime());
+
+        queryParameter.setLastId(satelliteObservations.get(1).getId());
+        satelliteObservations = storage.get(queryParameter);
+        assertEquals(1, satelliteObservations.size());
+        assertEquals(20000400000L, satelliteObservations.get(0).getStartTime().getTime());
+
+        queryParameter.setLastId(satelliteObservations.get(0).getId());
+        satelliteObservations = storage.get(queryParameter);
+        assertEquals(0, satelliteObservations.size());
+    }
+
+    @Test
+    public void testReplacePathPrefix() throws SQLException {
+        final String[] paths = {"/data/archive/wrong/file_0.nc", "/archive/correct/file_1.nc", "/data/archive/wrong/file_2.nc", "/data/archive_wrong/file_3.nc",
+                "/mirror/data/archive/wrong/file_4.nc"};
+        for (final String path : paths) {
+            final SatelliteObservation observation = TestData.createSatelliteObservation(geometryFactory);
+            observation.setDataFilePath(path);
+            storage.insert(observation);
+        }
+
+        final int numUpdated = storage.replacePathPrefix("/data/archive/wrong/", "/archive/correct/", storage.get());
+        assertEquals(2, numUpdated);
+
+        final List<SatelliteObservation> result = storage.get();
+        assertEquals(5, result.size());
+        result.sort(Comparator.comparing(observation -> observation.getDataFilePath().toString()));
+        assertEquals("/archive/correct/file_0.nc", result.get(0).getDataFilePath().toString());
+        assertEquals("/archive/correct/file_1.nc", result.get(1).getDataFilePath().toString());
+        assertEquals("/archive/correct/file_2.nc", result.get(2).getDataFilePath().toString());
+        assertEquals("/data/archive_wrong/file_3.nc", result.get(3).getDataFilePath().toString());
+        assertEquals("/mirror/data/archive/wrong/file_4.nc", result.get(4).getDataFilePath().toString());
+    }
+
+    @Test
+    public void testReplacePathPrefix_onlyObservationsOfPage() throws SQLException {
+        for (int i = 0; i < 4; i++) {
+            final SatelliteObservation observation = TestData.createSatelliteObservation(geometryFactory);
+            observation.setDataFilePath("/data/archive/file_" + i + ".nc");
+            storage.insert(observation);
+        }
+
+        final QueryParameter queryParameter = new QueryParameter();
+        queryParameter.setPageSize(2);
+        final List<SatelliteObservation> page = storage.get(queryParameter);
+        assertEquals(2, page.size());
+
+        final List<String> expectedPaths = new ArrayList<>();
+        for (final SatelliteObservation observation : page) {
+            expectedPaths.add(observation.getDataFilePath().toString().substring(5));
+        }
+
+        final int numUpdated = storage.replacePathPrefix("/data/", "/", page);
+        assertEquals(2, numUpdated);
+
+        int numUnchanged = 0;
+        final List<SatelliteObservation> result = storage.get();
+        for (final SatelliteObservation observation : result) {
+            final String path = observation.getDataFilePath().toString();
+            if (path.startsWith("/data/")) {
+                ++numUnchanged;
+            } else {
+                assertTrue(expectedPaths.contains(path));
+            }
+        }
+        assertEquals(2, numUnchanged);
+    }
+
+    @Test
+    public void testReplacePathPrefix_wildcardCharactersAreLiteral() throws SQLException {
+        final String[] paths = {"/data/100%_done/file_0.nc", "/data/100x_done/file_1.nc"};
+        for (final String path : paths) {
+            final SatelliteObservation observation = TestData.createSatelliteObservation(geometryFactory);
+            observation.setDataFilePath(path);
+            storage.insert(observation);
+        }
+
+        final int numUpdated = storage.replacePathPrefix("/data/100%_done/", "/data/", storage.get());
+        assertEquals(1, numUpdated);
+
+        final List<SatelliteObservation> result = storage.get();
+        result.sort(Comparator.comparing(observation -> observation.getDataFilePath().toString()));
+        assertEquals("/data/100x_done/file_1.nc", result.get(0).getDataFilePath().toString());
+        assertEquals("/data/file_0.nc", result.get(1).getDataFilePath().toString());
+    }
+
+    @Test
+    public void testReplacePathPrefix_emptyPage() throws SQLException {
+        assertEquals(0, storage.replacePathPrefix("/data/", "/", new ArrayList<>()));
+    }
 }
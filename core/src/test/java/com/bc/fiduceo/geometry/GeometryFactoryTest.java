@@ -23,6 +23,7 @@ package com.bc.fiduceo.geometry;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
@@ -32,18 +33,22 @@ public class GeometryFactoryTest {
     public void testCreateFromType() {
         GeometryFactory geometryFactory = new GeometryFactory(GeometryFactory.Type.JTS);
         assertNotNull(geometryFactory);
+        assertEquals(GeometryFactory.Type.JTS, geometryFactory.getType());
 
         geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
         assertNotNull(geometryFactory);
+        assertEquals(GeometryFactory.Type.S2, geometryFactory.getType());
     }
 
     @Test
     public void testCreateFromString() {
         GeometryFactory geometryFactory = new GeometryFactory("S2");
         assertNotNull(geometryFactory);
+        assertEquals(GeometryFactory.Type.S2, geometryFactory.getType());
 
         geometryFactory = new GeometryFactory("JTS");
         assertNotNull(geometryFactory);
+        assertEquals(GeometryFactory.Type.JTS, geometryFactory.getType());
 
         try {
             new GeometryFactory("Wurstwasser");
@@ -267,23 +267,67 @@ public class BcS2GeometryFactoryTest {
         final Geometry point = factory.parse("POINT(-22.5 67.23)");
 
         final byte[] storageFormat = factory.toStorageFormat(point);
-        assertEquals("POINT(-22.500000000000004 67.23)", new String(storageFormat));
+        assertEquals(21, storageFormat.length);
+        assertEquals(1, storageFormat[0]);
+        assertEquals(1, storageFormat[1]);
+
+        final Geometry decoded = factory.fromStorageFormat(storageFormat);
+        assertTrue(decoded instanceof Point);
+        assertEquals("POINT(-22.500000000000004 67.23)", factory.format(decoded));
     }
 
     @Test
     public void testToStorageFormat_lineString() {
-        final Geometry point = factory.parse("LINESTRING(1 8, 2 8.5, 3 8.7)");
+        final Geometry lineString = factory.parse("LINESTRING(1 8, 2 8.5, 3 8.7)");
 
-        final byte[] storageFormat = factory.toStorageFormat(point);
-        assertEquals("LINESTRING(1.0 7.999999999999998,2.0 8.5,3.0000000000000004 8.700000000000001)", new String(storageFormat));
+        final byte[] storageFormat = factory.toStorageFormat(lineString);
+        assertEquals(9 + 3 * 16, storageFormat.length);
+        assertEquals(2, storageFormat[1]);
+
+        final Geometry decoded = factory.fromStorageFormat(storageFormat);
+        assertTrue(decoded instanceof LineString);
+        assertEquals(factory.format(factory.parse(factory.format(lineString))), factory.format(decoded));
     }
 
     @Test
     public void testToStorageFormat_polygon() {
-        final Geometry point = factory.parse("POLYGON((1 8, 2 8.5, 3 8.2, 1 8))");
+        final Geometry polygon = factory.parse("POLYGON((1 8, 2 8.5, 3 8.2, 1 8))");
 
-        final byte[] storageFormat = factory.toStorageFormat(point);
-        assertEquals("POLYGON((1.0 7.999999999999998,2.0 8.5,3.0000000000000004 8.2,1.0 7.999999999999998))", new String(storageFormat));
+        final byte[] storageFormat = factory.toStorageFormat(polygon);
+        assertEquals(13 + 4 * 16, storageFormat.length);
+        assertEquals(3, storageFormat[1]);
+
+        final Geometry decoded = factory.fromStorageFormat(storageFormat);
+        assertTrue(decoded instanceof Polygon);
+        assertEquals(factory.format(factory.parse(factory.format(polygon))), factory.format(decoded));
+    }
+
+    @Test
+    public void testToStorageFormat_multiPolygon() {
+        final Geometry multiPolygon = factory.parse("MULTIPOLYGON(((0 0, 2 0, 2 2, 0 2, 0 0)),((10 0, 12 0, 12 2, 10 0)))");
+
+        final Geometry decoded = factory.fromStorageFormat(factory.toStorageFormat(multiPolygon));
+        assertTrue(decoded instanceof MultiPolygon);
+        assertEquals(factory.format(factory.parse(factory.format(multiPolygon))), factory.format(decoded));
+    }
+
+    @Test
+    public void testToStorageFormat_multiLineString() {
+        final Geometry multiLineString = factory.parse("MULTILINESTRING((10 18, 20 20, 10 40),(40 40, 30 30, 40 20, 30 10))");
+
+        final Geometry decoded = factory.fromStorageFormat(factory.toStorageFormat(multiLineString));
+        assertTrue(decoded instanceof MultiLineString);
+        assertEquals(factory.format(factory.parse(factory.format(multiLineString))), factory.format(decoded));
+    }
+
+    @Test
+    public void testIsWkt() {
+        assertTrue(BcS2GeometryFactory.isWkt("POINT(1 2)".getBytes()));
+        assertTrue(BcS2GeometryFactory.isWkt("polygon((1 2, 3 4, 5 6, 1 2))".getBytes()));
+
+        assertFalse(BcS2GeometryFactory.isWkt(new byte[]{1, 1, 0, 0, 0}));
+        assertFalse(BcS2GeometryFactory.isWkt(new byte[]{0, 0, 0, 0, 2}));
+        assertFalse(BcS2GeometryFactory.isWkt(new byte[0]));
     }
 
     @Test
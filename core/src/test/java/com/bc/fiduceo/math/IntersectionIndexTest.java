@@ -0,0 +1,206 @@
+package com.bc.fiduceo.math;
+
+import com.bc.fiduceo.core.SatelliteObservation;
+import com.bc.fiduceo.geometry.Geometry;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.geometry.LineString;
+import com.bc.fiduceo.geometry.TimeAxis;
+import com.google.common.geometry.S1Angle;
+import com.google.common.geometry.S2Cap;
+import com.google.common.geometry.S2LatLng;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+public class IntersectionIndexTest {
+
+    private GeometryFactory geometryFactory;
+
+    @Before
+    public void setUp() {
+        geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+    }
+
+    @Test
+    public void testGetIntersectingIntervals_sameResultAsIntersectionEngine() {
+        final SatelliteObservation observation_1 = createSatelliteObservation("POLYGON((2 1, 3 1, 3 2, 3 3, 3 4, 2 4, 2 3, 2 2, 2 1))",
+                "LINESTRING(2.5 1,2.5 2, 2.5 3, 2.5 4)", 1000, 2000);
+        final SatelliteObservation observation_2 = createSatelliteObservation("POLYGON((2.1 6, 2.1 5, 2.1 4, 2.1 3, 2.9 3, 2.9 4, 2.9 5, 2.9 6, 2.1 6))",
+                "LINESTRING(2.4 6, 2.4 5, 2.4 4, 2.4 3)", 1000, 2000);
+
+        final IntersectionIndex index = new IntersectionIndex(300000);
+        final Intersection[] intersections = index.getIntersectingIntervals(observation_1, observation_2);
+        final Intersection[] expected = IntersectionEngine.getIntersectingIntervals(observation_1, observation_2);
+
+        assertEquals(1, intersections.length);
+        assertEquals(expected.length, intersections.length);
+        assertEquals(geometryFactory.format(expected[0].getGeometry()), geometryFactory.format(intersections[0].getGeometry()));
+
+        final TimeInfo timeInfo = intersections[0].getTimeInfo();
+        assertEquals(1666L, timeInfo.getOverlapInterval().getStartTime().getTime());
+        assertEquals(1999L, timeInfo.getOverlapInterval().getStopTime().getTime());
+        assertSame(observation_1.getGeoBounds(), intersections[0].getPrimaryGeometry());
+        assertSame(observation_2.getGeoBounds(), intersections[0].getSecondaryGeometry());
+
+        assertEquals(1, index.getNumPairs());
+        assertEquals(1, index.getNumExactTests());
+        assertEquals(1, index.getNumIntersections());
+    }
+
+    @Test
+    public void testGetIntersectingIntervals_rejectedByTime() {
+        final SatelliteObservation observation_1 = createSatelliteObservation("POLYGON((2 1, 3 1, 3 2, 3 3, 3 4, 2 4, 2 3, 2 2, 2 1))",
+                "LINESTRING(2.5 1,2.5 2, 2.5 3, 2.5 4)", 1000, 2000);
+        final SatelliteObservation observation_2 = createSatelliteObservation("POLYGON((2.1 6, 2.1 5, 2.1 4, 2.1 3, 2.9 3, 2.9 4, 2.9 5, 2.9 6, 2.1 6))",
+                "LINESTRING(2.4 6, 2.4 5, 2.4 4, 2.4 3)", 10000, 11000);
+
+        final IntersectionIndex index = new IntersectionIndex(5000);
+        final Intersection[] intersections = index.getIntersectingIntervals(observation_1, observation_2);
+        assertEquals(0, intersections.length);
+
+        assertEquals(1, index.getNumPairs());
+        assertEquals(1, index.getNumTimeRejected());
+        assertEquals(0, index.getNumExactTests());
+    }
+
+    @Test
+    public void testGetIntersectingIntervals_rejectedSpatially() {
+        final SatelliteObservation observation_1 = createSatelliteObservation("POLYGON((2 1, 3 1, 3 2, 3 3, 3 4, 2 4, 2 3, 2 2, 2 1))",
+                "LINESTRING(2.5 1,2.5 2, 2.5 3, 2.5 4)", 1000, 2000);
+        final SatelliteObservation observation_2 = createSatelliteObservation("POLYGON((40 5, 40 4, 40 3, 40 2, 41 2, 41 3, 41 4, 41 5, 40 5))",
+                "LINESTRING(40.5 5, 40.5 4, 40.5 3, 40.5 2)", 1000, 2000);
+
+        final IntersectionIndex index = new IntersectionIndex(300000);
+        final Intersection[] intersections = index.getIntersectingIntervals(observation_1, observation_2);
+        assertEquals(0, intersections.length);
+
+        assertEquals(1, index.getNumPairs());
+        assertEquals(0, index.getNumTimeRejected());
+        assertEquals(1, index.getNumCapRejected() + index.getNumRectRejected());
+        assertEquals(0, index.getNumExactTests());
+    }
+
+    @Test
+    public void testGetIntersectingIntervals_segmented() {
+        final SatelliteObservation observation_1 = createSegmentedSatelliteObservation(new String[]{
+                        "POLYGON((2 1, 3 1, 3 2, 2 2, 2 1))",
+                        "POLYGON((2 2, 3 2, 3 3, 2 3, 2 2))"},
+                new String[]{"LINESTRING(2.5 1, 2.5 2)", "LINESTRING(2.5 2, 2.5 3)"},
+                new int[]{1000, 2000}, new int[]{2000, 3000});
+        final SatelliteObservation observation_2 = createSegmentedSatelliteObservation(new String[]{
+                        "POLYGON((2.2 2.5, 2.8 2.5, 2.8 3.5, 2.2 3.5, 2.2 2.5))",
+                        "POLYGON((12.2 2.5, 12.8 2.5, 12.8 3.5, 12.2 3.5, 12.2 2.5))"},
+                new String[]{"LINESTRING(2.5 2.5, 2.5 3.5)", "LINESTRING(12.5 2.5, 12.5 3.5)"},
+                new int[]{2000, 3000}, new int[]{3000, 4000});
+
+        final IntersectionIndex index = new IntersectionIndex(300000);
+        final Intersection[] intersections = index.getIntersectingIntervals(observation_1, observation_2);
+        final Intersection[] expected = IntersectionEngine.getIntersectingIntervals(observation_1, observation_2);
+        assertEquals(1, intersections.length);
+        assertEquals(expected.length, intersections.length);
+        assertEquals(geometryFactory.format(expected[0].getGeometry()), geometryFactory.format(intersections[0].getGeometry()));
+
+        assertEquals(4, index.getNumPairs());
+        assertEquals(3, index.getNumCapRejected() + index.getNumRectRejected());
+        assertEquals(1, index.getNumExactTests());
+        assertEquals(1, index.getNumIntersections());
+    }
+
+    @Test
+    public void testGetIntersectingIntervals_reusesIndexedObservationsByPath() {
+        final SatelliteObservation primary = createSatelliteObservation("POLYGON((2 1, 3 1, 3 2, 3 3, 3 4, 2 4, 2 3, 2 2, 2 1))",
+                "LINESTRING(2.5 1,2.5 2, 2.5 3, 2.5 4)", 1000, 2000);
+        primary.setDataFilePath("/archive/primary.nc");
+        final SatelliteObservation secondary = createSatelliteObservation("POLYGON((2.1 6, 2.1 5, 2.1 4, 2.1 3, 2.9 3, 2.9 4, 2.9 5, 2.9 6, 2.1 6))",
+                "LINESTRING(2.4 6, 2.4 5, 2.4 4, 2.4 3)", 1000, 2000);
+        secondary.setDataFilePath("/archive/secondary.nc");
+        final SatelliteObservation secondaryRequeried = createSatelliteObservation("POLYGON((2.1 6, 2.1 5, 2.1 4, 2.1 3, 2.9 3, 2.9 4, 2.9 5, 2.9 6, 2.1 6))",
+                "LINESTRING(2.4 6, 2.4 5, 2.4 4, 2.4 3)", 1000, 2000);
+        secondaryRequeried.setDataFilePath("/archive/secondary.nc");
+
+        final IntersectionIndex index = new IntersectionIndex(300000);
+        index.getIntersectingIntervals(primary, secondary);
+        assertEquals(0, index.getNumCacheHits());
+        assertEquals(2, index.getNumCacheMisses());
+
+        final Intersection[] intersections = index.getIntersectingIntervals(primary, secondaryRequeried);
+        assertEquals(1, intersections.length);
+        assertSame(secondary.getGeoBounds(), intersections[0].getSecondaryGeometry());
+        assertEquals(2, index.getNumCacheHits());
+        assertEquals(2, index.getNumCacheMisses());
+    }
+
+    @Test
+    public void testGetIntersectingIntervals_dropsLeastRecentlyUsedObservations() {
+        final SatelliteObservation primary = createSatelliteObservation("POLYGON((2 1, 3 1, 3 2, 3 3, 3 4, 2 4, 2 3, 2 2, 2 1))",
+                "LINESTRING(2.5 1,2.5 2, 2.5 3, 2.5 4)", 1000, 2000);
+        primary.setDataFilePath("/archive/primary.nc");
+        final SatelliteObservation secondary_1 = createSatelliteObservation("POLYGON((2.1 6, 2.1 5, 2.1 4, 2.1 3, 2.9 3, 2.9 4, 2.9 5, 2.9 6, 2.1 6))",
+                "LINESTRING(2.4 6, 2.4 5, 2.4 4, 2.4 3)", 1000, 2000);
+        secondary_1.setDataFilePath("/archive/secondary_1.nc");
+        final SatelliteObservation secondary_2 = createSatelliteObservation("POLYGON((2.1 6, 2.1 5, 2.1 4, 2.1 3, 2.9 3, 2.9 4, 2.9 5, 2.9 6, 2.1 6))",
+                "LINESTRING(2.4 6, 2.4 5, 2.4 4, 2.4 3)", 1000, 2000);
+        secondary_2.setDataFilePath("/archive/secondary_2.nc");
+
+        final IntersectionIndex index = new IntersectionIndex(300000, 2);
+        index.getIntersectingIntervals(primary, secondary_1);
+        index.getIntersectingIntervals(primary, secondary_2);
+        assertEquals(1, index.getNumCacheHits());
+        assertEquals(3, index.getNumCacheMisses());
+
+        // secondary_1 has been dropped, the primary is still indexed
+        index.getIntersectingIntervals(primary, secondary_1);
+        assertEquals(2, index.getNumCacheHits());
+        assertEquals(4, index.getNumCacheMisses());
+    }
+
+    @Test
+    public void testConstruct_tooFewObservations() {
+        try {
+            new IntersectionIndex(300000, 1);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testCapsIntersect() {
+        final S2Cap cap_1 = S2Cap.fromAxisAngle(S2LatLng.fromDegrees(0, 0).toPoint(), S1Angle.degrees(5));
+        final S2Cap cap_2 = S2Cap.fromAxisAngle(S2LatLng.fromDegrees(0, 9).toPoint(), S1Angle.degrees(5));
+        final S2Cap cap_3 = S2Cap.fromAxisAngle(S2LatLng.fromDegrees(0, 11).toPoint(), S1Angle.degrees(5));
+
+        assertTrue(IntersectionIndex.capsIntersect(cap_1, cap_2));
+        assertTrue(IntersectionIndex.capsIntersect(cap_2, cap_3));
+        assertFalse(IntersectionIndex.capsIntersect(cap_1, cap_3));
+        assertFalse(IntersectionIndex.capsIntersect(cap_1, S2Cap.empty()));
+        assertTrue(IntersectionIndex.capsIntersect(cap_1, S2Cap.full()));
+    }
+
+    private SatelliteObservation createSatelliteObservation(String polygonWkt, String lineWkt, int startTime, int stopTime) {
+        final Geometry polygon = geometryFactory.parse(polygonWkt);
+        final LineString lineString = (LineString) geometryFactory.parse(lineWkt);
+        final TimeAxis timeAxis = geometryFactory.createTimeAxis(lineString, new Date(startTime), new Date(stopTime));
+        final SatelliteObservation observation = new SatelliteObservation();
+        observation.setGeoBounds(polygon);
+        observation.setTimeAxes(new TimeAxis[]{timeAxis});
+        return observation;
+    }
+
+    private SatelliteObservation createSegmentedSatelliteObservation(String[] polygonWkt, String[] lineWkt, int[] startTime, int[] stopTime) {
+        final SatelliteObservation observation = new SatelliteObservation();
+        final Geometry[] geometries = new Geometry[polygonWkt.length];
+        final TimeAxis[] timeAxes = new TimeAxis[polygonWkt.length];
+        for (int i = 0; i < polygonWkt.length; i++) {
+            geometries[i] = geometryFactory.parse(polygonWkt[i]);
+            final LineString lineString = (LineString) geometryFactory.parse(lineWkt[i]);
+            timeAxes[i] = geometryFactory.createTimeAxis(lineString, new Date(startTime[i]), new Date(stopTime[i]));
+        }
+
+        observation.setGeoBounds(geometryFactory.createGeometryCollection(geometries));
+        observation.setTimeAxes(timeAxes);
+        return observation;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bc.fiduceo.monitor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class InstrumentationTest {
+
+    private Instrumentation instrumentation;
+
+    @Before
+    public void setUp() {
+        instrumentation = new Instrumentation();
+    }
+
+    @Test
+    public void testGet_isSingleton() {
+        assertSame(Instrumentation.get(), Instrumentation.get());
+    }
+
+    @Test
+    public void testRecord() {
+        instrumentation.record("reader-open", 100);
+        instrumentation.record("reader-open", 250);
+
+        assertEquals(2, instrumentation.getCount("reader-open"));
+        assertEquals(350, instrumentation.getNanos("reader-open"));
+    }
+
+    @Test
+    public void testStart_recordsOnClose() {
+        try (Instrumentation.Split ignored = instrumentation.start("db-query")) {
+            assertEquals(0, instrumentation.getCount("db-query"));
+        }
+
+        assertEquals(1, instrumentation.getCount("db-query"));
+        assertTrue(instrumentation.getNanos("db-query") >= 0);
+    }
+
+    @Test
+    public void testCounters() {
+        instrumentation.increment("reader-cache.hits");
+        instrumentation.increment("reader-cache.hits");
+        instrumentation.add("bytes-read.AMSR2_Reader", 2048);
+
+        assertEquals(2, instrumentation.getCounter("reader-cache.hits"));
+        assertEquals(2048, instrumentation.getCounter("bytes-read.AMSR2_Reader"));
+        assertEquals(0, instrumentation.getCounter("reader-cache.misses"));
+    }
+
+    @Test
+    public void testUnknownStage() {
+        assertEquals(0, instrumentation.getCount("intersection"));
+        assertEquals(0, instrumentation.getNanos("intersection"));
+    }
+
+    @Test
+    public void testReset() {
+        instrumentation.record("conditions", 12);
+        instrumentation.increment("matchups");
+
+        instrumentation.reset();
+
+        assertEquals(0, instrumentation.getCount("conditions"));
+        assertEquals(0, instrumentation.getCounter("matchups"));
+    }
+
+    @Test
+    public void testToJson() {
+        instrumentation.record("screenings", 300);
+        instrumentation.record("conditions", 100);
+        instrumentation.record("conditions", 200);
+        instrumentation.add("reader-cache.misses", 3);
+        instrumentation.add("matchups", 17);
+
+        assertEquals("{\n" +
+                "  \"timers\": {\n" +
+                "    \"conditions\": {\"count\": 2, \"total_nanos\": 300, \"max_nanos\": 200},\n" +
+                "    \"screenings\": {\"count\": 1, \"total_nanos\": 300, \"max_nanos\": 300}\n" +
+                "  },\n" +
+                "  \"counters\": {\n" +
+                "    \"matchups\": 17,\n" +
+                "    \"reader-cache.misses\": 3\n" +
+                "  }\n" +
+                "}\n", instrumentation.toJson());
+    }
+
+    @Test
+    public void testToJson_empty() {
+        assertEquals("{\n" +
+                "  \"timers\": {},\n" +
+                "  \"counters\": {}\n" +
+                "}\n", instrumentation.toJson());
+    }
+
+    @Test
+    public void testQuote() {
+        assertEquals("\"plain\"", Instrumentation.quote("plain"));
+        assertEquals("\"a\\\"b\\\\c\"", Instrumentation.quote("a\"b\\c"));
+        assertEquals("\"tab\\u0009\"", Instrumentation.quote("tab\t"));
+    }
+}
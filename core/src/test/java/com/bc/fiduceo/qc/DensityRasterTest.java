@@ -0,0 +1,62 @@
+package com.bc.fiduceo.qc;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class DensityRasterTest {
+
+    private DensityRaster raster;
+
+    @Before
+    public void setUp() {
+        raster = new DensityRaster();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, raster.getNumPoints());
+        assertEquals(0, raster.getMaxCount());
+    }
+
+    @Test
+    public void testAdd() {
+        raster.add(-180.0, 90.0);
+        raster.add(0.0, 0.0);
+        raster.add(0.01, -0.01);
+        raster.add(180.0, -90.0);
+
+        assertEquals(4, raster.getNumPoints());
+        assertEquals(2, raster.getMaxCount());
+        assertEquals(1, raster.getCount(0, 0));
+        assertEquals(2, raster.getCount(1024, 512));
+        assertEquals(1, raster.getCount(DensityRaster.WIDTH - 1, DensityRaster.HEIGHT - 1));
+    }
+
+    @Test
+    public void testAdd_invalid() {
+        raster.add(Double.NaN, 12.0);
+        raster.add(22.0, Float.NaN);
+        raster.add(-181.0, 0.0);
+        raster.add(0.0, 90.5);
+
+        assertEquals(0, raster.getNumPoints());
+        assertEquals(0, raster.getMaxCount());
+    }
+
+    @Test
+    public void testMerge() {
+        raster.add(0.0, 0.0);
+
+        final DensityRaster other = new DensityRaster();
+        other.add(0.0, 0.0);
+        other.add(-180.0, 90.0);
+
+        raster.merge(other);
+
+        assertEquals(3, raster.getNumPoints());
+        assertEquals(2, raster.getCount(1024, 512));
+        assertEquals(1, raster.getCount(0, 0));
+    }
+}
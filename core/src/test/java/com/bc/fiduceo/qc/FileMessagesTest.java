@@ -65,4 +65,27 @@ public class FileMessagesTest {
         assertEquals(1, messages.size());
         assertEquals("yo, here too!", messages.get(0));
     }
+
+    @Test
+    public void testMerge() {
+        fileMessages.add("test_file_1", "something was wrong");
+
+        final FileMessages other = new FileMessages();
+        other.add("test_file_1", "a second issue");
+        other.add("test_file_2", "yo, here too!");
+
+        fileMessages.merge(other);
+
+        final HashMap<String, List<String>> messageMap = fileMessages.getMessageMap();
+        assertEquals(2, messageMap.size());
+
+        List<String> messages = messageMap.get("test_file_1");
+        assertEquals(2, messages.size());
+        assertEquals("something was wrong", messages.get(0));
+        assertEquals("a second issue", messages.get(1));
+
+        messages = messageMap.get("test_file_2");
+        assertEquals(1, messages.size());
+        assertEquals("yo, here too!", messages.get(0));
+    }
 }
@@ -80,4 +80,28 @@ public class MatchupAccumulatorTest {
 
         assertEquals(3, accumulator.getFileCount());
     }
+
+    @Test
+    public void testMerge() {
+        accumulator.add(1676332800);
+        accumulator.add(1676246400);
+        accumulator.countFile();
+
+        final MatchupAccumulator other = new MatchupAccumulator();
+        other.add(1676332810);
+        other.add(1676419200);
+        other.countFile();
+        other.countFile();
+
+        accumulator.merge(other);
+
+        final HashMap<String, Integer> daysMap = accumulator.getDaysMap();
+        assertEquals(3, daysMap.size());
+        assertEquals(1, daysMap.get("2023-02-13").intValue());
+        assertEquals(2, daysMap.get("2023-02-14").intValue());
+        assertEquals(1, daysMap.get("2023-02-15").intValue());
+
+        assertEquals(4, accumulator.getSummaryCount());
+        assertEquals(3, accumulator.getFileCount());
+    }
 }
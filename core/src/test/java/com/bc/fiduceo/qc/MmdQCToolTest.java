@@ -1,10 +1,15 @@
 package com.bc.fiduceo.qc;
 
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -21,20 +26,23 @@ public class MmdQCToolTest {
                 ls +
                 "usage: mmd-qc-tool <options>" + ls +
                 "Valid options are:" + ls +
+                "   -b,--bins <arg>          Defines the number of histogram bins, default 20." + ls +
                 "   -h,--help                Prints the tool usage." + ls +
                 "   -i,--input <arg>         Defines the MMD input directory." + ls +
                 "   -lat,--latitude <arg>    Defines the variable name for the latitude." + ls +
                 "   -lon,--longitude <arg>   Defines the variable name for the longitude." + ls +
+                "   -n,--threads <arg>       Defines the number of files analysed in parallel, default: available processors." + ls +
                 "   -o,--outdir <arg>        Defines the result output directory." + ls +
                 "   -p,--plot                Enables plotting the matchup locations onto a global map. Requires 'lon' and 'lat' to be" + ls +
                 "                            set." + ls +
+                "   -s,--stats <arg>         Defines comma separated variables for statistics, use 'name:min:max' for histograms." + ls +
                 "   -t,--time <arg>          Defines matchup time variable name." + ls, outputStream.toString());
     }
 
     @Test
     public void testGetOptions() {
         final Options options = MmdQCTool.getOptions();
-        assertEquals(7, options.getOptions().size());
+        assertEquals(10, options.getOptions().size());
 
         Option o = options.getOption("h");
         assertEquals("help", o.getLongOpt());
@@ -77,6 +85,24 @@ public class MmdQCToolTest {
         assertEquals("Defines the variable name for the latitude.", o.getDescription());
         assertTrue(o.hasArg());
         assertFalse(o.isRequired());
+
+        o = options.getOption("s");
+        assertEquals("stats", o.getLongOpt());
+        assertEquals("Defines comma separated variables for statistics, use 'name:min:max' for histograms.", o.getDescription());
+        assertTrue(o.hasArg());
+        assertFalse(o.isRequired());
+
+        o = options.getOption("b");
+        assertEquals("bins", o.getLongOpt());
+        assertEquals("Defines the number of histogram bins, default 20.", o.getDescription());
+        assertTrue(o.hasArg());
+        assertFalse(o.isRequired());
+
+        o = options.getOption("n");
+        assertEquals("threads", o.getLongOpt());
+        assertEquals("Defines the number of files analysed in parallel, default: available processors.", o.getDescription());
+        assertTrue(o.hasArg());
+        assertFalse(o.isRequired());
     }
 
     @Test
@@ -139,4 +165,76 @@ public class MmdQCToolTest {
                 "Daily distribution:" + ls +
                 "2022-08-12: 2" + ls, outputStream.toString());
     }
+
+    @Test
+    public void testWriteReport_with_statistics() {
+        final String ls = System.lineSeparator();
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final MatchupAccumulator accumulator = new MatchupAccumulator();
+
+        accumulator.countFile();
+        accumulator.add(1660262400);
+        accumulator.add(1660262800);
+
+        final VariableStatistics sst = VariableStatistics.create("sst", 0);
+        sst.add(280.0);
+        sst.add(290.0);
+        sst.addFill();
+
+        final VariableStatistics flags = VariableStatistics.create("flags:0:4", 2);
+        flags.add(1.0);
+        flags.add(3.0);
+        flags.add(7.0);
+
+        MmdQCTool.writeReport(outputStream, accumulator, new FileMessages(), Arrays.asList(sst, flags));
+
+        assertEquals("Analysed 1 file(s)" + ls + ls +
+                "0 file(s) with errors" + ls + ls +
+                "Total number of matchups: 2" + ls +
+                "Daily distribution:" + ls +
+                "2022-08-12: 2" + ls + ls +
+                "Variable statistics:" + ls +
+                "sst: valid 2, fill 1, min 280.0, max 290.0, mean 285.0" + ls +
+                "flags: valid 3, fill 0, min 1.0, max 7.0, mean 3.6666666666666665" + ls +
+                " - below 0.0: 0" + ls +
+                " - 0.0 .. 2.0: 1" + ls +
+                " - 2.0 .. 4.0: 1" + ls +
+                " - above 4.0: 1" + ls, outputStream.toString());
+    }
+
+    @Test
+    public void testCreateStatistics() throws ParseException {
+        final CommandLine commandLine = new DefaultParser().parse(MmdQCTool.getOptions(), new String[]{"-i", "input", "-t", "time",
+                "-s", "sst, flags:0:4", "-b", "8"});
+
+        final List<VariableStatistics> statistics = MmdQCTool.createStatistics(commandLine);
+        assertEquals(2, statistics.size());
+        assertEquals("sst", statistics.get(0).getName());
+        assertFalse(statistics.get(0).hasHistogram());
+        assertEquals("flags", statistics.get(1).getName());
+        assertEquals(8, statistics.get(1).getHistogram().length);
+    }
+
+    @Test
+    public void testCreateStatistics_noOption() throws ParseException {
+        final CommandLine commandLine = new DefaultParser().parse(MmdQCTool.getOptions(), new String[]{"-i", "input", "-t", "time"});
+
+        assertEquals(0, MmdQCTool.createStatistics(commandLine).size());
+    }
+
+    @Test
+    public void testGetNumThreads() throws ParseException {
+        CommandLine commandLine = new DefaultParser().parse(MmdQCTool.getOptions(), new String[]{"-i", "input", "-t", "time", "-n", "3"});
+        assertEquals(3, MmdQCTool.getNumThreads(commandLine));
+
+        commandLine = new DefaultParser().parse(MmdQCTool.getOptions(), new String[]{"-i", "input", "-t", "time"});
+        assertEquals(Runtime.getRuntime().availableProcessors(), MmdQCTool.getNumThreads(commandLine));
+
+        commandLine = new DefaultParser().parse(MmdQCTool.getOptions(), new String[]{"-i", "input", "-t", "time", "-n", "0"});
+        try {
+            MmdQCTool.getNumThreads(commandLine);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
 }
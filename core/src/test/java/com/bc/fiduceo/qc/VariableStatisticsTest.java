@@ -0,0 +1,117 @@
+package com.bc.fiduceo.qc;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VariableStatisticsTest {
+
+    @Test
+    public void testCreate_nameOnly() {
+        final VariableStatistics statistics = VariableStatistics.create(" sst ", 20);
+
+        assertEquals("sst", statistics.getName());
+        assertFalse(statistics.hasHistogram());
+        assertEquals(0, statistics.getValidCount());
+        assertEquals(0, statistics.getFillCount());
+        assertEquals(Double.NaN, statistics.getMin(), 1e-8);
+        assertEquals(Double.NaN, statistics.getMax(), 1e-8);
+        assertEquals(Double.NaN, statistics.getMean(), 1e-8);
+    }
+
+    @Test
+    public void testCreate_withHistogram() {
+        final VariableStatistics statistics = VariableStatistics.create("sst:270:310", 8);
+
+        assertEquals("sst", statistics.getName());
+        assertTrue(statistics.hasHistogram());
+        assertEquals(8, statistics.getHistogram().length);
+        assertEquals(270.0, statistics.getHistogramMin(), 1e-8);
+        assertEquals(310.0, statistics.getHistogramMax(), 1e-8);
+    }
+
+    @Test
+    public void testCreate_invalid() {
+        try {
+            VariableStatistics.create("sst:270", 8);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        try {
+            VariableStatistics.create("sst:310:270", 8);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        try {
+            VariableStatistics.create("sst:270:310", 0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testAdd() {
+        final VariableStatistics statistics = VariableStatistics.create("sst:0:10", 5);
+
+        statistics.add(1.0);
+        statistics.add(3.5);
+        statistics.add(10.0);
+        statistics.add(-2.0);
+        statistics.add(12.5);
+        statistics.add(Double.NaN);
+        statistics.addFill();
+
+        assertEquals(5, statistics.getValidCount());
+        assertEquals(2, statistics.getFillCount());
+        assertEquals(-2.0, statistics.getMin(), 1e-8);
+        assertEquals(12.5, statistics.getMax(), 1e-8);
+        assertEquals(5.0, statistics.getMean(), 1e-8);
+
+        assertArrayEquals(new long[]{1, 1, 0, 0, 1}, statistics.getHistogram());
+        assertEquals(1, statistics.getBelowCount());
+        assertEquals(1, statistics.getAboveCount());
+    }
+
+    @Test
+    public void testMerge() {
+        final VariableStatistics statistics = VariableStatistics.create("sst:0:10", 2);
+        statistics.add(2.0);
+        statistics.addFill();
+
+        final VariableStatistics other = statistics.createEmpty();
+        other.add(8.0);
+        other.add(11.0);
+
+        statistics.merge(other);
+
+        assertEquals(3, statistics.getValidCount());
+        assertEquals(1, statistics.getFillCount());
+        assertEquals(2.0, statistics.getMin(), 1e-8);
+        assertEquals(11.0, statistics.getMax(), 1e-8);
+        assertEquals(7.0, statistics.getMean(), 1e-8);
+        assertArrayEquals(new long[]{1, 1}, statistics.getHistogram());
+        assertEquals(1, statistics.getAboveCount());
+    }
+
+    @Test
+    public void testMerge_empty() {
+        final VariableStatistics statistics = VariableStatistics.create("sst", 0);
+        statistics.merge(statistics.createEmpty());
+
+        assertEquals(0, statistics.getValidCount());
+        assertEquals(Double.NaN, statistics.getMin(), 1e-8);
+    }
+
+    @Test
+    public void testMerge_differentVariables() {
+        final VariableStatistics statistics = VariableStatistics.create("sst", 0);
+
+        try {
+            statistics.merge(VariableStatistics.create("lst", 0));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
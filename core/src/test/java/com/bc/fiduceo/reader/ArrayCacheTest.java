@@ -21,6 +21,8 @@
 package com.bc.fiduceo.reader;
 
 
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
 import com.bc.fiduceo.util.NetCDFUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -67,6 +69,18 @@ public class ArrayCacheTest {
         verifyNoMoreInteractions(netcdfFile, variable);
     }
 
+    @Test
+    public void testGetNumBytesRead() throws IOException {
+        assertEquals(0, arrayCache.getNumBytesRead());
+
+        arrayCache.get("a_variable");
+        assertEquals(16, arrayCache.getNumBytesRead());
+
+        // second access is served from the cache
+        arrayCache.get("a_variable");
+        assertEquals(16, arrayCache.getNumBytesRead());
+    }
+
     @Test
     public void testRequestedArrayInGroupIsRead() throws IOException {
         final Array resultArray = arrayCache.get("a_group", "a_group_variable");
@@ -498,4 +512,140 @@ public class ArrayCacheTest {
         assertEquals("first", injectedVariables.get(0).getShortName());
         assertEquals("second", injectedVariables.get(1).getShortName());
     }
+
+    @Test
+    public void testWithTileCache_invalidTileHeight() {
+        try {
+            arrayCache.withTileCache(new TileCache(1024), 0);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testIsTiled() {
+        assertFalse(arrayCache.isTiled());
+
+        arrayCache.withTileCache(new TileCache(1024), 2);
+        assertTrue(arrayCache.isTiled());
+    }
+
+    @Test
+    public void testTiled_readWindow_sameAsFullRead() throws Exception {
+        final Array data = createTestData();
+        mockTiledReads(data);
+        arrayCache.withTileCache(new TileCache(1024 * 1024), 2);
+
+        final Interval interval = new Interval(3, 3);
+        final Dimension productSize = new Dimension("size", 3, 0);
+        for (int y = -2; y < 8; y++) {
+            for (int x = -1; x < 4; x++) {
+                final Array expected = RawDataReader.read(x, y, interval, -1, data, productSize);
+                final Array window = arrayCache.readWindow("a_variable", x, y, interval, -1, productSize);
+                assertArrayEquals("x: " + x + " y: " + y, (int[]) expected.getStorage(), (int[]) window.copyTo1DJavaArray());
+            }
+        }
+
+        verify(variable, never()).read();
+    }
+
+    @Test
+    public void testTiled_readWindow_readsOnlyIntersectingTiles() throws Exception {
+        final Array data = createTestData();
+        mockTiledReads(data);
+        final TileCache tileCache = new TileCache(1024 * 1024);
+        arrayCache.withTileCache(tileCache, 2);
+
+        arrayCache.readWindow("a_variable", 1, 1, new Interval(3, 3), -1, new Dimension("size", 3, 0));
+        assertEquals(2, tileCache.getNumTiles());
+        assertEquals(48, arrayCache.getNumBytesRead());
+
+        // second access is served from the tiles
+        arrayCache.readWindow("a_variable", 2, 2, new Interval(3, 3), -1, new Dimension("size", 3, 0));
+        assertEquals(2, tileCache.getNumTiles());
+        assertEquals(48, arrayCache.getNumBytesRead());
+
+        verify(variable, times(2)).read(any(int[].class), any(int[].class));
+        verify(variable, never()).read();
+    }
+
+    @Test
+    public void testTiled_readWindow_tileAndProductEdges() throws Exception {
+        final Array data = createTestData();
+        mockTiledReads(data);
+
+        final Dimension productSize = new Dimension("size", 3, 6);
+        final Interval[] intervals = {new Interval(3, 3), new Interval(1, 5), new Interval(5, 7)};
+        for (final int tileHeight : new int[]{1, 2, 4, 6, 8}) {
+            final ArrayCache tiledCache = new ArrayCache(netcdfFile).withTileCache(new TileCache(1024 * 1024), tileHeight);
+            for (final Interval interval : intervals) {
+                for (int y = -4; y < 10; y++) {
+                    for (int x = -3; x < 6; x++) {
+                        final String message = "tile height: " + tileHeight + " window: " + interval.getX() + "x" + interval.getY() + " x: " + x + " y: " + y;
+                        final Array expected = RawDataReader.read(x, y, interval, -1, data, productSize);
+                        final Array window = tiledCache.readWindow("a_variable", x, y, interval, -1, productSize);
+                        assertArrayEquals(message, (int[]) expected.getStorage(), (int[]) window.copyTo1DJavaArray());
+                    }
+                }
+            }
+        }
+
+        verify(variable, never()).read();
+    }
+
+    @Test
+    public void testTiled_getNumberAttribute_doesNotReadData() throws IOException {
+        final AttributeContainerMutable attributes = new AttributeContainerMutable("test");
+        attributes.addAttribute(new Attribute("attribute_number", 19));
+        when(variable.attributes()).thenReturn(attributes);
+        arrayCache.withTileCache(new TileCache(1024), 2);
+
+        final Number attributeValue = arrayCache.getNumberAttributeValue("attribute_number", "a_variable");
+        assertEquals(19, attributeValue.intValue());
+
+        verify(netcdfFile, times(1)).findVariable(null, "a_variable");
+        verify(variable, times(1)).attributes();
+        verifyNoMoreInteractions(netcdfFile, variable);
+    }
+
+    @Test
+    public void testGetRows() throws Exception {
+        final Array data = createTestData();
+        when(variable.read()).thenReturn(data);
+
+        final Array rows = arrayCache.getRows("a_variable", 1, 3);
+        assertArrayEquals(new int[]{2, 3}, rows.getShape());
+        assertArrayEquals(new int[]{3, 4, 5, 6, 7, 8}, (int[]) rows.copyTo1DJavaArray());
+    }
+
+    @Test
+    public void testTiled_getRows_acrossTiles() throws Exception {
+        mockTiledReads(createTestData());
+        arrayCache.withTileCache(new TileCache(1024 * 1024), 2);
+
+        final Array rows = arrayCache.getRows("a_variable", 1, 4);
+        assertArrayEquals(new int[]{3, 3}, rows.getShape());
+        assertArrayEquals(new int[]{3, 4, 5, 6, 7, 8, 9, 10, 11}, (int[]) rows.copyTo1DJavaArray());
+    }
+
+    private static Array createTestData() {
+        return NetCDFUtils.create(new int[][]{
+                {0, 1, 2},
+                {3, 4, 5},
+                {6, 7, 8},
+                {9, 10, 11},
+                {12, 13, 14},
+                {15, 16, 17}
+        });
+    }
+
+    private void mockTiledReads(Array data) throws Exception {
+        when(variable.getShape()).thenAnswer(invocation -> data.getShape());
+        when(variable.getDataType()).thenReturn(data.getDataType());
+        when(variable.read(any(int[].class), any(int[].class))).thenAnswer(invocation -> {
+            final int[] origin = invocation.getArgument(0);
+            final int[] shape = invocation.getArgument(1);
+            return data.section(origin, shape).copy();
+        });
+    }
 }
@@ -222,6 +222,24 @@ public class Read2dFrom3d_Test {
         read("Byte3D", layer, centerX, centerY, windowWidth, windowHeight, expected);
     }
 
+    @Test
+    public void testRead_tiledArrayCache_sameAsFullRead() throws IOException {
+        final ArrayCache tiledCache = new ArrayCache(netcdfFile).withTileCache(new TileCache(1024 * 1024), 3);
+        final String[] offsetMapping = {"y", "x", "4"};
+        final WindowReader fullReader = new Read2dFrom3d(arrayCache, "Int3D", offsetMapping, -1);
+        final WindowReader tiledReader = new Read2dFrom3d(tiledCache, "Int3D", offsetMapping, -1);
+
+        final int[] shape = arrayCache.getShape("Int3D");
+        final Interval interval = new Interval(5, 5);
+        for (int y = -3; y < shape[0] + 3; y++) {
+            for (int x = -3; x < shape[1] + 3; x++) {
+                final Array expected = fullReader.read(x, y, interval);
+                final Array window = tiledReader.read(x, y, interval);
+                assertArrayEquals("x: " + x + " y: " + y, (int[]) expected.getStorage(), (int[]) window.getStorage());
+            }
+        }
+    }
+
     private void read(final String name, String layer, final int centerX, final int centerY, final int windowWidth, final int windowHeight, Object expected) throws IOException {
         final Read2dFrom3d.ArraySource arraySource = () -> arrayCache.get(name);
         final String[] offsetMapping = {"y", "x", layer};
@@ -24,6 +24,7 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.monitor.Instrumentation;
 import org.junit.*;
 
 import java.io.IOException;
@@ -109,6 +110,18 @@ public class ReaderCacheTest {
         verify(reader_2, times(1)).close();
     }
 
+    @Test
+    public void testGetReaderFor_countsHits() throws IOException {
+        final Instrumentation instrumentation = Instrumentation.get();
+        final long hitsBefore = instrumentation.getCounter(ReaderCache.HITS_COUNTER);
+        final Reader reader = mock(Reader.class);
+        readerCache.add(reader, Paths.get("a/relative/path"));
+
+        final Reader retrievedReader = readerCache.getReaderFor("whatever", Paths.get("a/relative/path"), "v1");
+        assertSame(reader, retrievedReader);
+        assertEquals(hitsBefore + 1, instrumentation.getCounter(ReaderCache.HITS_COUNTER));
+    }
+
 
 
 
@@ -10,6 +10,8 @@ import java.io.File;
 import java.io.IOException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -63,4 +65,27 @@ public class ReaderContextTest {
         readerContext.setConfigDir("/the/secret/path");
         assertEquals("/the/secret/path", readerContext.getConfigDir());
     }
+
+    @Test
+    public void testSetGetInsituCacheLocation() {
+        assertNull(readerContext.getInsituCacheLocation());
+
+        readerContext.setInsituCacheLocation("sidecar");
+        assertEquals("sidecar", readerContext.getInsituCacheLocation());
+    }
+
+    @Test
+    public void testSetGetTileCache() {
+        final TileCache tileCache = new TileCache(1024);
+
+        readerContext.setTileCache(tileCache);
+        assertSame(tileCache, readerContext.getTileCache());
+    }
+
+    @Test
+    public void testGetTileCache_defaultIsCreatedOnce() {
+        final TileCache tileCache = readerContext.getTileCache();
+        assertNotNull(tileCache);
+        assertSame(tileCache, readerContext.getTileCache());
+    }
 }
@@ -0,0 +1,101 @@
+package com.bc.fiduceo.reader;
+
+import com.bc.fiduceo.util.NetCDFUtils;
+import org.junit.Test;
+import ucar.ma2.Array;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Variable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RowBandsTest {
+
+    @Test
+    public void testGetBand() {
+        assertArrayEquals(new int[]{2, 5}, RowBands.getBand(2, 3, 10));
+        assertArrayEquals(new int[]{0, 2}, RowBands.getBand(-2, 3, 10));
+        assertArrayEquals(new int[]{0, 2}, RowBands.getBand(-5, 3, 10));
+        assertArrayEquals(new int[]{8, 10}, RowBands.getBand(9, 3, 10));
+        assertArrayEquals(new int[]{8, 10}, RowBands.getBand(12, 3, 10));
+        assertArrayEquals(new int[]{0, 1}, RowBands.getBand(0, 3, 1));
+
+        assertArrayEquals(new int[]{10, 15}, RowBands.getBand(10, 5, 1200));
+        assertArrayEquals(new int[]{0, 3}, RowBands.getBand(-2, 5, 1200));
+        assertArrayEquals(new int[]{1197, 1200}, RowBands.getBand(1197, 5, 1200));
+    }
+
+    @Test
+    public void testGetBand_atLeastTwoLines() {
+        assertArrayEquals(new int[]{10, 12}, RowBands.getBand(10, 1, 1200));
+        assertArrayEquals(new int[]{1198, 1200}, RowBands.getBand(1199, 1, 1200));
+        assertArrayEquals(new int[]{0, 2}, RowBands.getBand(-4, 1, 1200));
+    }
+
+    @Test
+    public void testReadRows() throws Exception {
+        final Variable variable = mock(Variable.class);
+        when(variable.getShape()).thenReturn(new int[]{6, 3});
+        final Array rows = NetCDFUtils.create(new int[][]{{3, 4, 5}, {6, 7, 8}});
+        when(variable.read(new int[]{1, 0}, new int[]{2, 3})).thenReturn(rows);
+
+        assertSame(rows, RowBands.readRows(variable, 1, 2));
+    }
+
+    @Test
+    public void testReadRows_invalidRange() throws Exception {
+        final Variable variable = mock(Variable.class);
+        when(variable.getShape()).thenReturn(new int[]{6, 3});
+        when(variable.read(any(int[].class), any(int[].class))).thenThrow(new InvalidRangeException("out of range"));
+
+        try {
+            RowBands.readRows(variable, 5, 2);
+            fail("IOException expected");
+        } catch (IOException expected) {
+            assertEquals("out of range", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testAssemble_withinSingleTile() throws IOException {
+        final List<Integer> requested = new ArrayList<>();
+        final Array rows = RowBands.assemble(3, 5, 3, tileIndex -> {
+            requested.add(tileIndex);
+            return getTile(tileIndex, 3);
+        });
+
+        assertArrayEquals(new int[]{2, 3}, rows.getShape());
+        assertArrayEquals(new int[]{9, 10, 11, 12, 13, 14}, (int[]) rows.copyTo1DJavaArray());
+        assertEquals(1, requested.size());
+        assertEquals(1, requested.get(0).intValue());
+    }
+
+    @Test
+    public void testAssemble_acrossTiles() throws IOException {
+        final List<Integer> requested = new ArrayList<>();
+        final Array rows = RowBands.assemble(1, 6, 2, tileIndex -> {
+            requested.add(tileIndex);
+            return getTile(tileIndex, 2);
+        });
+
+        assertArrayEquals(new int[]{5, 3}, rows.getShape());
+        assertArrayEquals(new int[]{3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17}, (int[]) rows.copyTo1DJavaArray());
+        assertEquals(3, requested.size());
+        assertEquals(0, requested.get(0).intValue());
+        assertEquals(2, requested.get(2).intValue());
+    }
+
+    private static Array getTile(int tileIndex, int tileHeight) {
+        final int[][] data = new int[tileHeight][3];
+        for (int y = 0; y < tileHeight; y++) {
+            for (int x = 0; x < 3; x++) {
+                data[y][x] = (tileIndex * tileHeight + y) * 3 + x;
+            }
+        }
+        return NetCDFUtils.create(data);
+    }
+}
@@ -0,0 +1,103 @@
+package com.bc.fiduceo.reader;
+
+import org.junit.Before;
+import org.junit.Test;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class TileCacheTest {
+
+    private TileCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new TileCache(100);
+    }
+
+    @Test
+    public void testGet_empty() {
+        assertNull(cache.get("nope"));
+        assertEquals(0, cache.getSizeInBytes());
+        assertEquals(0, cache.getNumTiles());
+        assertEquals(100, cache.getMaxBytes());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        final Array tile = createTile(10);
+        cache.put("a", tile);
+
+        assertSame(tile, cache.get("a"));
+        assertEquals(40, cache.getSizeInBytes());
+        assertEquals(1, cache.getNumTiles());
+    }
+
+    @Test
+    public void testPut_replaceKey() {
+        cache.put("a", createTile(10));
+        cache.put("a", createTile(5));
+
+        assertEquals(20, cache.getSizeInBytes());
+        assertEquals(1, cache.getNumTiles());
+    }
+
+    @Test
+    public void testPut_evictsLeastRecentlyUsed() {
+        cache.put("a", createTile(10));
+        cache.put("b", createTile(10));
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", createTile(10));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testPut_tileLargerThanBudget() {
+        cache.put("a", createTile(10));
+        cache.put("huge", createTile(30));
+
+        assertNull(cache.get("huge"));
+        assertNotNull(cache.get("a"));
+        assertEquals(40, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void testGet_withLoader() throws IOException {
+        final AtomicInteger loadCount = new AtomicInteger();
+        final TileCache.TileLoader loader = () -> {
+            loadCount.incrementAndGet();
+            return createTile(4);
+        };
+
+        final Array first = cache.get("a", loader);
+        final Array second = cache.get("a", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void testClear() {
+        cache.put("a", createTile(10));
+        cache.put("b", createTile(10));
+
+        cache.clear();
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getSizeInBytes());
+        assertEquals(0, cache.getNumTiles());
+    }
+
+    private static Array createTile(int size) {
+        return Array.factory(DataType.INT, new int[]{size});
+    }
+}
@@ -8,6 +8,8 @@ import com.bc.fiduceo.util.NetCDFUtils;
 import org.junit.*;
 import ucar.ma2.Array;
 
+import java.util.Arrays;
+
 public class CALIOP_L2_VFM_ReaderTest {
 
     @Test
@@ -38,6 +40,24 @@ public class CALIOP_L2_VFM_ReaderTest {
         assertArrayEquals(expected, (short[]) flags.getStorage());
     }
 
+    @Test
+    public void testReadNadirClassificationFlags_withOffsets() {
+        //preparation
+        final short[] profile = createFullStorage();
+        final short[] profiles = new short[2 * 5515];
+        System.arraycopy(profile, 0, profiles, 5515, 5515);
+        final short[] target = new short[3 * 545];
+
+        //execution
+        CALIOP_L2_VFM_Reader.readNadirClassificationFlags(profiles, 5515, target, 545);
+
+        //verification
+        final short[] expected = createExpectedFlagsStorage();
+        assertArrayEquals(expected, Arrays.copyOfRange(target, 545, 1090));
+        assertEquals(0, target[544]);
+        assertEquals(0, target[1090]);
+    }
+
     private short[] createExpectedFlagsStorage() {
         final short[] indices = CALIOP_L2_VFM_Reader.calcalculateIndizes();
 
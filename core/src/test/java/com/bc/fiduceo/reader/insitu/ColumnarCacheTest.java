@@ -0,0 +1,225 @@
+package com.bc.fiduceo.reader.insitu;
+
+import com.bc.fiduceo.TestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ucar.ma2.DataType;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ColumnarCacheTest {
+
+    private File testDir;
+    private File sourceFile;
+
+    @Before
+    public void setUp() throws IOException {
+        testDir = TestUtil.createTestDirectory();
+        sourceFile = new File(testDir, "41001h2017.txt");
+        try (FileWriter writer = new FileWriter(sourceFile)) {
+            writer.write("some in-situ text data\n");
+        }
+    }
+
+    @After
+    public void tearDown() {
+        TestUtil.deleteTestDirectory();
+    }
+
+    @Test
+    public void testCreate_accessors() {
+        final ColumnarCache cache = ColumnarCache.create(sourceFile, createColumns(), "time");
+
+        assertEquals(4, cache.getRecordCount());
+        assertTrue(cache.hasColumn("flag"));
+        assertFalse(cache.hasColumn("nope"));
+        assertEquals("time", cache.getTimeColumnName());
+
+        assertEquals(DataType.BYTE, cache.getDataType("flag"));
+        assertEquals(DataType.SHORT, cache.getDataType("dir"));
+        assertEquals(DataType.INT, cache.getDataType("time"));
+        assertEquals(DataType.LONG, cache.getDataType("id"));
+        assertEquals(DataType.FLOAT, cache.getDataType("sst"));
+        assertEquals(DataType.DOUBLE, cache.getDataType("pressure"));
+        assertEquals(DataType.STRING, cache.getDataType("station"));
+
+        assertEquals((byte) 3, cache.getValue("flag", 1));
+        assertEquals((short) 270, cache.getValue("dir", 2));
+        assertEquals(1000, cache.getValue("time", 0));
+        assertEquals(7000000000L, cache.getValue("id", 3));
+        assertEquals(Float.NaN, (Float) cache.getValue("sst", 2), 1e-8);
+        assertEquals(1013.25, (Double) cache.getValue("pressure", 1), 1e-8);
+        assertEquals("\u00c4quator", cache.getValue("station", 2));
+        assertEquals("", cache.getValue("station", 3));
+
+        assertEquals(270L, cache.getLong("dir", 2));
+        assertEquals(18.5, cache.getDouble("sst", 0), 1e-8);
+        assertEquals(-1.0, cache.getDouble("flag", 3), 1e-8);
+        assertArrayEquals(new long[]{1000, 900, 1200, 900}, cache.getLongs("time"));
+    }
+
+    @Test
+    public void testCreate_timeIndex() {
+        final ColumnarCache cache = ColumnarCache.create(sourceFile, createColumns(), "time");
+
+        assertEquals(900, cache.getMinTime());
+        assertEquals(1200, cache.getMaxTime());
+        assertArrayEquals(new int[]{1, 3, 0, 2}, cache.getTimeIndex());
+    }
+
+    @Test
+    public void testCreate_noTimeColumn() {
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("sst", new float[]{1.f, 2.f});
+
+        final ColumnarCache cache = ColumnarCache.create(sourceFile, columns, null);
+        assertEquals(2, cache.getRecordCount());
+        assertNull(cache.getTimeColumnName());
+
+        try {
+            cache.getTimeIndex();
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testCreate_invalidColumns() {
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("sst", new float[]{1.f, 2.f});
+        columns.put("time", new int[]{1, 2, 3});
+
+        try {
+            ColumnarCache.create(sourceFile, columns, "time");
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        columns.remove("time");
+        try {
+            ColumnarCache.create(sourceFile, columns, "time");
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testGetValue_invalidAccess() {
+        final ColumnarCache cache = ColumnarCache.create(sourceFile, createColumns(), "time");
+
+        try {
+            cache.getValue("nope", 0);
+            fail("RuntimeException expected");
+        } catch (RuntimeException expected) {
+        }
+
+        try {
+            cache.getValue("sst", 4);
+            fail("IndexOutOfBoundsException expected");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+
+        try {
+            cache.getLong("sst", 0);
+            fail("RuntimeException expected");
+        } catch (RuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void testCreateTimeIndex() {
+        assertArrayEquals(new int[]{0, 1, 2}, ColumnarCache.createTimeIndex(new long[]{4, 4, 7}));
+        assertArrayEquals(new int[]{2, 0, 3, 1}, ColumnarCache.createTimeIndex(new long[]{5, 8, 2, 5}));
+        assertArrayEquals(new int[0], ColumnarCache.createTimeIndex(new long[0]));
+    }
+
+    @Test
+    public void testIsEnabled() {
+        assertFalse(ColumnarCache.isEnabled(null));
+        assertFalse(ColumnarCache.isEnabled(" "));
+        assertTrue(ColumnarCache.isEnabled(ColumnarCache.SIDECAR));
+    }
+
+    @Test
+    public void testGetCacheFile() {
+        assertNull(ColumnarCache.getCacheFile(sourceFile, "NDBC_SM", null));
+
+        assertEquals(new File(testDir, "41001h2017.txt.NDBC_SM.mmscol"), ColumnarCache.getCacheFile(sourceFile, "NDBC_SM", ColumnarCache.SIDECAR));
+
+        final File cacheDir = new File(testDir, "cache");
+        final File cacheFile = ColumnarCache.getCacheFile(sourceFile, "NDBC_SM", cacheDir.getAbsolutePath());
+        assertEquals(cacheDir, cacheFile.getParentFile());
+        assertTrue(cacheFile.getName().startsWith("41001h2017.txt."));
+        assertTrue(cacheFile.getName().endsWith(".NDBC_SM.mmscol"));
+    }
+
+    @Test
+    public void testStoreAndLoad() {
+        final String cacheDir = new File(testDir, "cache").getAbsolutePath();
+
+        assertNull(ColumnarCache.load(sourceFile, "TEST", cacheDir));
+
+        ColumnarCache.create(sourceFile, createColumns(), "time").store(sourceFile, "TEST", cacheDir);
+        assertTrue(ColumnarCache.getCacheFile(sourceFile, "TEST", cacheDir).isFile());
+
+        final ColumnarCache cache = ColumnarCache.load(sourceFile, "TEST", cacheDir);
+        assertNotNull(cache);
+        assertEquals(4, cache.getRecordCount());
+        assertEquals(DataType.LONG, cache.getDataType("id"));
+        assertEquals(1013.25, (Double) cache.getValue("pressure", 1), 1e-8);
+        assertEquals("\u00c4quator", cache.getValue("station", 2));
+        assertEquals(900, cache.getMinTime());
+        assertEquals(1200, cache.getMaxTime());
+        assertArrayEquals(new int[]{1, 3, 0, 2}, cache.getTimeIndex());
+
+        assertNull(ColumnarCache.load(sourceFile, "OTHER_FORMAT", cacheDir));
+    }
+
+    @Test
+    public void testLoad_sourceModified() throws IOException {
+        ColumnarCache.create(sourceFile, createColumns(), "time").store(sourceFile, "TEST", ColumnarCache.SIDECAR);
+        assertNotNull(ColumnarCache.load(sourceFile, "TEST", ColumnarCache.SIDECAR));
+
+        try (FileWriter writer = new FileWriter(sourceFile, true)) {
+            writer.write("another line\n");
+        }
+        assertNull(ColumnarCache.load(sourceFile, "TEST", ColumnarCache.SIDECAR));
+    }
+
+    @Test
+    public void testLoad_corruptFile() throws IOException {
+        try (FileWriter writer = new FileWriter(ColumnarCache.getCacheFile(sourceFile, "TEST", ColumnarCache.SIDECAR))) {
+            writer.write("garbage");
+        }
+
+        assertNull(ColumnarCache.load(sourceFile, "TEST", ColumnarCache.SIDECAR));
+    }
+
+    @Test
+    public void testStore_disabled() {
+        ColumnarCache.create(sourceFile, createColumns(), "time").store(sourceFile, "TEST", null);
+
+        final File[] files = testDir.listFiles();
+        assertNotNull(files);
+        assertEquals(1, files.length);
+    }
+
+    private static Map<String, Object> createColumns() {
+        final Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("flag", new byte[]{0, 3, 1, -1});
+        columns.put("dir", new short[]{90, 180, 270, 360});
+        columns.put("time", new int[]{1000, 900, 1200, 900});
+        columns.put("id", new long[]{1L, 2L, 3L, 7000000000L});
+        columns.put("sst", new float[]{18.5f, 19.f, Float.NaN, 17.25f});
+        columns.put("pressure", new double[]{1012.0, 1013.25, 1014.5, 1009.75});
+        columns.put("station", new String[]{"buoy", "ship", "\u00c4quator", null});
+        return columns;
+    }
+}
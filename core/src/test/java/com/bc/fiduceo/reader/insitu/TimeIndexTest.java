@@ -0,0 +1,86 @@
+package com.bc.fiduceo.reader.insitu;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimeIndexTest {
+
+    @Test
+    public void testCreate_sortedTimes() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{1000L, 2000L, 2000L, 5000L});
+
+        assertEquals(4, timeIndex.getRecordCount());
+        assertEquals(0, timeIndex.getRecordIndex(0));
+        assertEquals(2, timeIndex.getRecordIndex(2));
+        assertEquals(2000L, timeIndex.getTime(1));
+        assertEquals(5000L, timeIndex.getTime(3));
+    }
+
+    @Test
+    public void testCreate_unsortedTimes() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{5000L, 1000L, 3000L, 1000L});
+
+        assertEquals(1, timeIndex.getRecordIndex(0));
+        assertEquals(3, timeIndex.getRecordIndex(1));
+        assertEquals(2, timeIndex.getRecordIndex(2));
+        assertEquals(0, timeIndex.getRecordIndex(3));
+        assertEquals(1000L, timeIndex.getTime(1));
+        assertEquals(5000L, timeIndex.getTime(3));
+    }
+
+    @Test
+    public void testCreate_fromTimeLocator() {
+        final TimeIndex timeIndex = TimeIndex.create((x, y) -> 10000L - y * 1000L, 3);
+
+        assertEquals(3, timeIndex.getRecordCount());
+        assertEquals(2, timeIndex.getRecordIndex(0));
+        assertEquals(8000L, timeIndex.getTime(0));
+        assertEquals(0, timeIndex.getRecordIndex(2));
+    }
+
+    @Test
+    public void testConstruct_invalidLength() {
+        try {
+            new TimeIndex(new long[]{1000L, 2000L}, new int[]{0});
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testGetStartAndEndPosition() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{1000L, 2000L, 2000L, 5000L});
+
+        assertEquals(0, timeIndex.getStartPosition(0L));
+        assertEquals(0, timeIndex.getStartPosition(1000L));
+        assertEquals(1, timeIndex.getStartPosition(1001L));
+        assertEquals(1, timeIndex.getStartPosition(2000L));
+        assertEquals(4, timeIndex.getStartPosition(6000L));
+
+        assertEquals(0, timeIndex.getEndPosition(999L));
+        assertEquals(3, timeIndex.getEndPosition(2000L));
+        assertEquals(3, timeIndex.getEndPosition(4999L));
+        assertEquals(4, timeIndex.getEndPosition(5000L));
+    }
+
+    @Test
+    public void testGetRecordIndices() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{5000L, 1000L, 3000L, 1000L, 4000L});
+
+        assertArrayEquals(new int[]{0, 2, 4}, timeIndex.getRecordIndices(3000L, 5000L));
+        assertArrayEquals(new int[]{1, 3}, timeIndex.getRecordIndices(0L, 1000L));
+        assertArrayEquals(new int[0], timeIndex.getRecordIndices(1500L, 2500L));
+        assertArrayEquals(new int[0], timeIndex.getRecordIndices(6000L, 2000L));
+    }
+
+    @Test
+    public void testEmpty() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[0]);
+
+        assertEquals(0, timeIndex.getRecordCount());
+        assertEquals(0, timeIndex.getStartPosition(1000L));
+        assertEquals(0, timeIndex.getEndPosition(1000L));
+        assertArrayEquals(new int[0], timeIndex.getRecordIndices(0L, 1000L));
+    }
+}
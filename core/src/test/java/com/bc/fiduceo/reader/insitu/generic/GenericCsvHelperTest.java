@@ -1,9 +1,13 @@
 package com.bc.fiduceo.reader.insitu.generic;
 
+import com.bc.fiduceo.reader.insitu.ColumnarCache;
+import org.esa.snap.core.datamodel.ProductData;
 import org.junit.Test;
 import ucar.ma2.DataType;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.Assert.*;
 
@@ -158,4 +162,40 @@ public class GenericCsvHelperTest {
         num = GenericCsvHelper.castFillValue(1.0, "sdyhgsr");
         assertEquals(1.0, num);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testToColumnarCache() {
+        final List<GenericVariable> variables = new ArrayList<>();
+        variables.add(new GenericVariable("time", 'v', "int", ProductData.TYPE_INT32, -1.0, null, null, null, null));
+        variables.add(new GenericVariable("WDIR", 'v', "short", ProductData.TYPE_INT16, 999.0, null, null, null, null));
+        variables.add(new GenericVariable("WSPD", 'v', "float", ProductData.TYPE_FLOAT32, null, null, null, null, null));
+        variables.add(new GenericVariable("QC", 'v', "byte", ProductData.TYPE_INT8, null, null, null, null, null));
+
+        final List<GenericRecord> records = new ArrayList<>();
+        records.add(createRecord(1200, (short) 270, 4.5f, (byte) 1));
+        records.add(createRecord(600, null, Float.NaN, null));
+
+        final ColumnarCache cache = GenericCsvHelper.toColumnarCache(records, variables, "time", new File("not_existing.txt"));
+        assertEquals(2, cache.getRecordCount());
+        assertEquals("time", cache.getTimeColumnName());
+        assertEquals(600, cache.getMinTime());
+        assertEquals(1200, cache.getMaxTime());
+
+        assertEquals(DataType.SHORT, cache.getDataType("WDIR"));
+        assertEquals((short) 270, cache.getValue("WDIR", 0));
+        assertEquals((short) 999, cache.getValue("WDIR", 1));
+        assertEquals(4.5f, (Float) cache.getValue("WSPD", 0), 1e-8);
+        assertEquals(Float.NaN, (Float) cache.getValue("WSPD", 1), 1e-8);
+        assertEquals(DataType.BYTE, cache.getDataType("QC"));
+        assertEquals((byte) -127, cache.getValue("QC", 1));
+    }
+
+    private static GenericRecord createRecord(int time, Short wdir, float wspd, Byte qc) {
+        final GenericRecord record = new GenericRecord();
+        record.put("time", time);
+        record.put("WDIR", wdir);
+        record.put("WSPD", wspd);
+        record.put("QC", qc);
+        return record;
+    }
+}
@@ -7,6 +7,7 @@ import com.bc.fiduceo.core.Dimension;
 import com.bc.fiduceo.core.Interval;
 import com.bc.fiduceo.core.NodeType;
 import com.bc.fiduceo.reader.AcquisitionInfo;
+import com.bc.fiduceo.reader.ReaderContext;
 import com.bc.fiduceo.reader.netcdf.StringVariable;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.VariableProxy;
@@ -32,7 +33,7 @@ public class GenericCsvReader_GBOV_IO_Test {
 
     @Before
     public void setUp() {
-        reader = new GenericCsvReader(GenericCsvHelper.RESOURCE_KEY_GBOV);
+        reader = new GenericCsvReader(new ReaderContext(), GenericCsvHelper.RESOURCE_KEY_GBOV);
     }
 
     @Test
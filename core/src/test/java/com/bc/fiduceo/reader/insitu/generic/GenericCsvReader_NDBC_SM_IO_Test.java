@@ -7,6 +7,9 @@ import com.bc.fiduceo.core.Dimension;
 import com.bc.fiduceo.core.Interval;
 import com.bc.fiduceo.core.NodeType;
 import com.bc.fiduceo.reader.AcquisitionInfo;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.reader.insitu.ColumnarCache;
+import com.bc.fiduceo.reader.insitu.TimeIndex;
 import com.bc.fiduceo.reader.netcdf.StringVariable;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.util.VariableProxy;
@@ -21,6 +24,7 @@ import ucar.nc2.Variable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -33,7 +37,7 @@ public class GenericCsvReader_NDBC_SM_IO_Test {
 
     @Before
     public void setUp() {
-        reader = new GenericCsvReader(GenericCsvHelper.RESOURCE_KEY_NDBC_SM);
+        reader = new GenericCsvReader(new ReaderContext(), GenericCsvHelper.RESOURCE_KEY_NDBC_SM);
     }
 
     @Test
@@ -74,6 +78,27 @@ public class GenericCsvReader_NDBC_SM_IO_Test {
         }
     }
 
+    @Test
+    public void testGetTimeIndex() throws IOException {
+        final File testFile = getSM();
+
+        try {
+            reader.open(testFile);
+            final TimeIndex timeIndex = reader.getTimeIndex();
+
+            final int recordCount = timeIndex.getRecordCount();
+            assertEquals(reader.getProductSize().getNy(), recordCount);
+            assertEquals(1483228800000L, timeIndex.getTime(0));
+            assertEquals(1508374800000L, timeIndex.getTime(recordCount - 1));
+            assertSame(timeIndex, reader.getTimeIndex());
+
+            final int[] recordIndices = timeIndex.getRecordIndices(1496464200000L, 1496464200000L);
+            assertTrue(Arrays.binarySearch(recordIndices, 22000) >= 0);
+        } finally {
+            reader.close();
+        }
+    }
+
     @Test
     public void testExtractYearMonthDayFromFilename_GBOV_success() throws IOException {
         final File testFile = getSM();
@@ -385,6 +410,46 @@ public class GenericCsvReader_NDBC_SM_IO_Test {
         }
     }
 
+    @Test
+    public void testColumnarCache_sameAsParsedRecords() throws IOException, InvalidRangeException {
+        final File testFile = getSM();
+        final File cacheDir = new File(TestUtil.createTestDirectory(), "cache");
+
+        final ReaderContext readerContext = new ReaderContext();
+        readerContext.setInsituCacheLocation(cacheDir.getAbsolutePath());
+        final GenericCsvReader cachedReader = new GenericCsvReader(readerContext, GenericCsvHelper.RESOURCE_KEY_NDBC_SM);
+        try {
+            reader.open(testFile);
+
+            // the first open parses and stores the image, the second one maps it
+            for (int run = 0; run < 2; run++) {
+                cachedReader.open(testFile);
+                assertTrue(ColumnarCache.getCacheFile(testFile, GenericCsvHelper.RESOURCE_KEY_NDBC_SM, cacheDir.getAbsolutePath()).isFile());
+
+                assertEquals(reader.getProductSize().getNy(), cachedReader.getProductSize().getNy());
+                assertEquals(reader.read().getSensingStart(), cachedReader.read().getSensingStart());
+                assertEquals(reader.read().getSensingStop(), cachedReader.read().getSensingStop());
+                assertEquals(reader.getTimeIndex().getTime(100), cachedReader.getTimeIndex().getTime(100));
+
+                final Interval interval = new Interval(1, 1);
+                for (final Variable variable : reader.getVariables()) {
+                    final String name = variable.getShortName();
+                    for (final int y : new int[]{0, 2004, 22000, 41833}) {
+                        final Array expected = reader.readRaw(0, y, interval, name);
+                        final Array actual = cachedReader.readRaw(0, y, interval, name);
+                        assertEquals(name, expected.getDataType(), actual.getDataType());
+                        assertEquals(name, expected.getObject(0), actual.getObject(0));
+                    }
+                }
+                cachedReader.close();
+            }
+        } finally {
+            cachedReader.close();
+            reader.close();
+            TestUtil.deleteTestDirectory();
+        }
+    }
+
     private static File getSM() throws IOException {
         final String relativePath = TestUtil.assembleFileSystemPath(new String[]{"insitu", "ndbc", "ndbc-sm-cb", "v1", "2017", "42088h2017.txt"}, false);
         return TestUtil.getTestDataFileAsserted(relativePath);
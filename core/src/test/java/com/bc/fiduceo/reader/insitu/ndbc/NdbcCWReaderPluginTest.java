@@ -2,6 +2,7 @@ package com.bc.fiduceo.reader.insitu.ndbc;
 
 import com.bc.fiduceo.reader.DataType;
 import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.ReaderContext;
 import com.bc.fiduceo.reader.insitu.generic.GenericCsvReader;
 import org.junit.Before;
 import org.junit.Test;
@@ -33,7 +34,7 @@ public class NdbcCWReaderPluginTest {
 
     @Test
     public void testCreateReader() {
-        final Reader reader = plugin.createReader(null);
+        final Reader reader = plugin.createReader(new ReaderContext());
         assertNotNull(reader);
         assertTrue(reader instanceof GenericCsvReader);
     }
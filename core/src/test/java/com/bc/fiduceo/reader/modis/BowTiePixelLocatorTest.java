@@ -0,0 +1,122 @@
+package com.bc.fiduceo.reader.modis;
+
+import com.bc.fiduceo.TestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class BowTiePixelLocatorTest {
+
+    @Before
+    public void setUp() {
+        TestUtil.createTestDirectory();
+        BowTiePixelLocator.clearShared();
+    }
+
+    @After
+    public void tearDown() {
+        BowTiePixelLocator.clearShared();
+        TestUtil.deleteTestDirectory();
+    }
+
+    @Test
+    public void testCreateCenterLine() {
+        final float[] lons = {20.f, 21.f, 22.f, 23.f, 20.f, 21.f, 22.f, 23.f};
+        final float[] lats = {10.f, 10.f, 10.f, 10.f, 11.f, 11.f, 11.f, 11.f};
+
+        final double[][] centerLine = BowTiePixelLocator.createCenterLine(lons, lats, 4, 2);
+        assertEquals(11, centerLine[0].length);
+        assertEquals(11, centerLine[1].length);
+
+        // pixel centers are at x + 0.5, the outer points are extrapolated
+        assertEquals(19.5, centerLine[0][0], 1e-3);
+        assertEquals(10.5, centerLine[1][0], 1e-6);
+        assertEquals(21.5, centerLine[0][5], 1e-4);
+        assertEquals(10.5, centerLine[1][5], 1e-6);
+        assertEquals(23.5, centerLine[0][10], 1e-3);
+        assertEquals(10.5, centerLine[1][10], 1e-6);
+    }
+
+    @Test
+    public void testCreateCenterLine_antiMeridian() {
+        final float[] lons = {179.f, -179.f, 179.f, -179.f};
+        final float[] lats = {-60.f, -60.f, -61.f, -61.f};
+
+        final double[][] centerLine = BowTiePixelLocator.createCenterLine(lons, lats, 2, 2);
+
+        assertEquals(180.0, Math.abs(centerLine[0][5]), 1e-4);
+        assertEquals(-60.5, centerLine[1][5], 1e-6);
+        assertEquals(178.0, centerLine[0][0], 1e-3);
+        assertEquals(-178.0, centerLine[0][10], 1e-3);
+    }
+
+    @Test
+    public void testGeoCodingsAreCreatedLazily() throws IOException {
+        final BowTiePixelLocator pixelLocator = new BowTiePixelLocator(createLongitudes(), createLatitudes(), 2);
+        assertEquals(0, pixelLocator.getNumGeoCodingsCreated());
+
+        final Point2D geoLocation = pixelLocator.getGeoLocation(2.5, 0.5, null);
+        assertNotNull(geoLocation);
+        assertEquals(1, pixelLocator.getNumGeoCodingsCreated());
+
+        pixelLocator.getGeoLocation(1.5, 1.5, null);
+        assertEquals(1, pixelLocator.getNumGeoCodingsCreated());
+
+        pixelLocator.getGeoLocation(1.5, 2.5, null);
+        assertEquals(2, pixelLocator.getNumGeoCodingsCreated());
+    }
+
+    @Test
+    public void testGetShared_sameGranule() throws IOException {
+        final File file = TestUtil.createFileInTestDir("MOD03.A2013037.0000.006.2013037054716.hdf");
+
+        final BowTiePixelLocator locator = BowTiePixelLocator.getShared(file, 2, this::createLongitudes, this::createLatitudes);
+        final BowTiePixelLocator sharedLocator = BowTiePixelLocator.getShared(file, 2,
+                () -> {
+                    throw new IOException("must not be read again");
+                },
+                () -> {
+                    throw new IOException("must not be read again");
+                });
+
+        assertSame(locator, sharedLocator);
+    }
+
+    @Test
+    public void testGetShared_differentStripHeight() throws IOException {
+        final File file = TestUtil.createFileInTestDir("MOD03.A2013037.0000.006.2013037054716.hdf");
+
+        final BowTiePixelLocator locator = BowTiePixelLocator.getShared(file, 2, this::createLongitudes, this::createLatitudes);
+        final BowTiePixelLocator otherLocator = BowTiePixelLocator.getShared(file, 4, this::createLongitudes, this::createLatitudes);
+
+        assertNotSame(locator, otherLocator);
+    }
+
+    private Array createLongitudes() {
+        final float[] lons = new float[4 * 6];
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 6; x++) {
+                lons[y * 6 + x] = 10.f + 0.1f * x;
+            }
+        }
+        return Array.factory(DataType.FLOAT, new int[]{4, 6}, lons);
+    }
+
+    private Array createLatitudes() {
+        final float[] lats = new float[4 * 6];
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 6; x++) {
+                lats[y * 6 + x] = 50.f - 0.1f * y;
+            }
+        }
+        return Array.factory(DataType.FLOAT, new int[]{4, 6}, lats);
+    }
+}
@@ -406,6 +406,74 @@ public class MxD021KM_Reader_IO_Test {
         NCTestUtils.assertValueAt(1308348618, 1, 4, acquisitionTime);
     }
 
+    @Test
+    public void testReadAcquisitionTimes_Terra_borders() throws IOException {
+        // fillValue see {@link com.bc.fiduceo.reader.Reader#readAcquisitionTime(int, int, Interval)}
+        final int fillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
+        reader.open(getTerraFile());
+
+        final int maxX = reader.getProductSize().getNx() - 1;
+        // inside, at the left and right product border and partially outside at the top
+        final int[] centerX = {35, 0, maxX, 37};
+        final int[] centerY = {109, 109, 109, 1};
+        final Interval interval = new Interval(3, 5);
+        final int[] times = new int[centerX.length * 15];
+
+        reader.readAcquisitionTimes(centerX, centerY, centerX.length, interval, times);
+
+        // the acquisition time does not depend on x
+        for (int i = 0; i < 3; i++) {
+            // one scan
+            assertWindowRow(1053614716, times, i, 0, interval);
+            assertWindowRow(1053614716, times, i, 1, interval);
+
+            // next scan
+            assertWindowRow(1053614717, times, i, 3, interval);
+            assertWindowRow(1053614717, times, i, 4, interval);
+        }
+
+        // outside
+        assertWindowRow(fillValue, times, 3, 0, interval);
+
+        // first scan
+        assertWindowRow(1053614701, times, 3, 1, interval);
+        assertWindowRow(1053614701, times, 3, 4, interval);
+    }
+
+    @Test
+    public void testReadAcquisitionTimes_Aqua_borders() throws IOException {
+        // fillValue see {@link com.bc.fiduceo.reader.Reader#readAcquisitionTime(int, int, Interval)}
+        final int fillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
+        reader.open(getAquaFile());
+
+        final Dimension productSize = reader.getProductSize();
+        final int maxX = productSize.getNx() - 1;
+        final int ny = productSize.getNy();
+        // inside, at the left and right product border and partially outside at the bottom
+        final int[] centerX = {36, 0, maxX, 36};
+        final int[] centerY = {119, 119, 119, ny - 2};
+        final Interval interval = new Interval(3, 5);
+        final int[] times = new int[centerX.length * 15];
+
+        reader.readAcquisitionTimes(centerX, centerY, centerX.length, interval, times);
+
+        for (int i = 0; i < 3; i++) {
+            // one scan
+            assertWindowRow(1308348617, times, i, 0, interval);
+            assertWindowRow(1308348617, times, i, 1, interval);
+
+            // next scan
+            assertWindowRow(1308348618, times, i, 3, interval);
+            assertWindowRow(1308348618, times, i, 4, interval);
+        }
+
+        // last scan
+        assertWindowRow(1308348899, times, 3, 3, interval);
+
+        // outside
+        assertWindowRow(fillValue, times, 3, 4, interval);
+    }
+
     @Test
     public void testReadAcquisitionTime_Terra_outside_top() throws IOException {
         // fillValue see {@link com.bc.fiduceo.reader.Reader#readAcquisitionTime(int, int, Interval)}
@@ -833,4 +901,12 @@ public class MxD021KM_Reader_IO_Test {
         final String testFilePath = TestUtil.assembleFileSystemPath(new String[]{"myd021km-aq", "v61", "2011", "06", "17", "MYD021KM.A2011168.2210.061.2018032001033.hdf"}, false);
         return TestUtil.getTestDataFileAsserted(testFilePath);
     }
+
+    private static void assertWindowRow(int expected, int[] times, int window, int row, Interval interval) {
+        final int width = interval.getX();
+        final int offset = (window * interval.getY() + row) * width;
+        for (int x = 0; x < width; x++) {
+            assertEquals(expected, times[offset + x]);
+        }
+    }
 }
@@ -287,6 +287,48 @@ public class MxD06_Reader_IO_Test {
         NCTestUtils.assertValueAt(1360161380, 2, 3, acquisitionTime);
     }
 
+    @Test
+    public void testReadAcquisitionTimes_Terra_borders() throws IOException {
+        // fillValue see {@link com.bc.fiduceo.reader.Reader#readAcquisitionTime(int, int, Interval)}
+        final int fillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
+        reader.open(getTerraFile());
+
+        final Dimension productSize = reader.getProductSize();
+        final int maxX = productSize.getNx() - 1;
+        final int ny = productSize.getNy();
+        // inside, at the left and right product border and partially outside at the top and the bottom
+        final int[] centerX = {34, 0, maxX, 36, 36};
+        final int[] centerY = {108, 108, 108, 1, ny - 2};
+        final Interval interval = new Interval(5, 5);
+        final int[] times = new int[centerX.length * 25];
+
+        reader.readAcquisitionTimes(centerX, centerY, centerX.length, interval, times);
+
+        // the acquisition time does not depend on x
+        for (int i = 0; i < 3; i++) {
+            // one scan
+            assertWindowRow(1360161379, times, i, 0, interval);
+            assertWindowRow(1360161379, times, i, 1, interval);
+
+            // next scan
+            assertWindowRow(1360161380, times, i, 2, interval);
+            assertWindowRow(1360161380, times, i, 3, interval);
+        }
+
+        // top
+        assertWindowRow(fillValue, times, 3, 0, interval);
+        assertWindowRow(1360161300, times, 3, 1, interval);
+        assertWindowRow(1360161300, times, 3, 2, interval);
+        assertWindowRow(1360161302, times, 3, 3, interval);
+
+        // bottom
+        assertWindowRow(1360161597, times, 4, 0, interval);
+        assertWindowRow(1360161597, times, 4, 1, interval);
+        assertWindowRow(1360161599, times, 4, 2, interval);
+        assertWindowRow(1360161599, times, 4, 3, interval);
+        assertWindowRow(fillValue, times, 4, 4, interval);
+    }
+
     @Test
     public void testReadAcquisitionTime_Terra_outside_top() throws IOException {
         // fillValue see {@link com.bc.fiduceo.reader.Reader#readAcquisitionTime(int, int, Interval)}
@@ -977,4 +1019,12 @@ public class MxD06_Reader_IO_Test {
         final String testFilePath = TestUtil.assembleFileSystemPath(new String[]{"myd06-aq", "LatLonWithGaps", "MYD06_L2.A2008155.1205.006.2013347220947.hdf"}, false);
         return TestUtil.getTestDataFileAsserted(testFilePath);
     }
+
+    private static void assertWindowRow(int expected, int[] times, int window, int row, Interval interval) {
+        final int width = interval.getX();
+        final int offset = (window * interval.getY() + row) * width;
+        for (int x = 0; x < width; x++) {
+            assertEquals(expected, times[offset + x]);
+        }
+    }
 }
@@ -261,6 +261,41 @@ public class MxD35_Reader_IO_Test {
         NCTestUtils.assertValueAt(1650885917, 1, 3, acquisitionTime);
     }
 
+    @Test
+    public void testReadAcquisitionTimes_Terra_borders() throws IOException {
+        // fillValue see {@link com.bc.fiduceo.reader.Reader#readAcquisitionTime(int, int, Interval)}
+        final int fillValue = NetCDFUtils.getDefaultFillValue(int.class).intValue();
+        reader.open(getTerraFile());
+
+        final Dimension productSize = reader.getProductSize();
+        final int maxX = productSize.getNx() - 1;
+        final int ny = productSize.getNy();
+        // at the top in the left and right product corner and partially outside at the bottom
+        final int[] centerX = {36, 0, maxX, 36};
+        final int[] centerY = {0, 0, 0, ny - 1};
+        final Interval interval = new Interval(2, 3);
+        final int[] times = new int[centerX.length * 6];
+
+        reader.readAcquisitionTimes(centerX, centerY, centerX.length, interval, times);
+
+        // the acquisition time does not depend on x
+        for (int i = 0; i < 3; i++) {
+            // outside line
+            assertWindowRow(fillValue, times, i, 0, interval);
+
+            // inside lines
+            assertWindowRow(1650885901, times, i, 1, interval);
+            assertWindowRow(1650885901, times, i, 2, interval);
+        }
+
+        // inside lines
+        assertWindowRow(725846400, times, 3, 0, interval);
+        assertWindowRow(725846400, times, 3, 1, interval);
+
+        // outside line
+        assertWindowRow(fillValue, times, 3, 2, interval);
+    }
+
     @Test
     public void testReadAcquisitionTime_Terra_outside_top() throws IOException {
         // fillValue see {@link com.bc.fiduceo.reader.Reader#readAcquisitionTime(int, int, Interval)}
@@ -784,4 +819,12 @@ public class MxD35_Reader_IO_Test {
         final String testFilePath = TestUtil.assembleFileSystemPath(new String[]{"myd35-aq", "v61", "2022", "115", "MYD35_L2.A2022115.1135.061.2022116151528.hdf"}, false);
         return TestUtil.getTestDataFileAsserted(testFilePath);
     }
+
+    private static void assertWindowRow(int expected, int[] times, int window, int row, Interval interval) {
+        final int width = interval.getX();
+        final int offset = (window * interval.getY() + row) * width;
+        for (int x = 0; x < width; x++) {
+            assertEquals(expected, times[offset + x]);
+        }
+    }
 }
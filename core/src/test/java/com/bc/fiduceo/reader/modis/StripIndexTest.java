@@ -0,0 +1,85 @@
+package com.bc.fiduceo.reader.modis;
+
+import com.bc.fiduceo.math.SphericalDistance;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class StripIndexTest {
+
+    @Test
+    public void testNearest_singlePoint() {
+        final StripIndex stripIndex = new StripIndex(new double[]{12.5}, new double[]{-33.0});
+
+        assertEquals(1, stripIndex.size());
+        assertEquals(0, stripIndex.nearest(12.5, -33.0));
+        assertEquals(0, stripIndex.nearest(-170.0, 80.0));
+    }
+
+    @Test
+    public void testNearest_empty() {
+        final StripIndex stripIndex = new StripIndex(new double[0], new double[0]);
+
+        assertEquals(0, stripIndex.size());
+        assertEquals(-1, stripIndex.nearest(12.5, -33.0));
+    }
+
+    @Test
+    public void testNearest_skipsInvalidStrips() {
+        final double[] lons = {10.0, Double.NaN, 10.0, 10.0};
+        final double[] lats = {10.0, Double.NaN, 12.0, 14.0};
+        final StripIndex stripIndex = new StripIndex(lons, lats);
+
+        assertEquals(3, stripIndex.size());
+        assertEquals(0, stripIndex.nearest(10.0, 10.8));
+        assertEquals(2, stripIndex.nearest(10.0, 11.2));
+        assertEquals(3, stripIndex.nearest(10.1, 20.0));
+    }
+
+    @Test
+    public void testNearest_acrossAntiMeridian() {
+        final double[] lons = {179.8, -179.9, 0.0};
+        final double[] lats = {45.0, 45.0, 45.0};
+        final StripIndex stripIndex = new StripIndex(lons, lats);
+
+        assertEquals(1, stripIndex.nearest(-179.98, 45.0));
+        assertEquals(0, stripIndex.nearest(179.88, 45.0));
+    }
+
+    @Test
+    public void testNearest_equalsBruteForce_orbitStrips() {
+        final int numStrips = 203;
+        final double[] lons = new double[numStrips];
+        final double[] lats = new double[numStrips];
+        for (int i = 0; i < numStrips; i++) {
+            // a descending track crossing the pole region
+            lats[i] = 85.0 - i * 0.9;
+            lons[i] = -20.0 + i * 0.4;
+        }
+        final StripIndex stripIndex = new StripIndex(lons, lats);
+
+        final Random random = new Random(1234);
+        for (int k = 0; k < 2000; k++) {
+            final double lon = random.nextDouble() * 360.0 - 180.0;
+            final double lat = random.nextDouble() * 180.0 - 90.0;
+
+            assertEquals(bruteForceNearest(lons, lats, lon, lat), stripIndex.nearest(lon, lat));
+        }
+    }
+
+    private static int bruteForceNearest(double[] lons, double[] lats, double lon, double lat) {
+        final SphericalDistance sphericalDistance = new SphericalDistance(lon, lat);
+        int minIndex = -1;
+        double minDistance = Double.MAX_VALUE;
+        for (int i = 0; i < lons.length; i++) {
+            final double distance = sphericalDistance.distance(lons[i], lats[i]);
+            if (distance <= minDistance) {
+                minDistance = distance;
+                minIndex = i;
+            }
+        }
+        return minIndex;
+    }
+}
@@ -2,13 +2,19 @@ package com.bc.fiduceo.reader.slstr_subset;
 
 import com.bc.fiduceo.IOTestRunner;
 import com.bc.fiduceo.TestUtil;
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
 import com.bc.fiduceo.store.FileSystemStore;
 import com.bc.fiduceo.store.Store;
+import com.bc.fiduceo.util.NetCDFUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import ucar.ma2.Array;
 import ucar.ma2.DataType;
+import ucar.ma2.Index;
+import ucar.ma2.InvalidRangeException;
 import ucar.nc2.Variable;
 
 import java.io.File;
@@ -20,6 +26,8 @@ import static org.junit.Assert.*;
 @RunWith(IOTestRunner.class)
 public class NcCacheTest {
 
+    private static final Dimension PRODUCT_SIZE = new Dimension("product", 1500, 1200);
+
     private NcCache cache;
 
     @Before
@@ -95,6 +103,63 @@ public class NcCacheTest {
         }
     }
 
+    @Test
+    public void testReadRaw() throws IOException {
+        final Array array = cache.readRaw("S4_radiance_io", 412, 618, new Interval(3, 3), PRODUCT_SIZE);
+        assertArrayEquals(new int[]{3, 3}, array.getShape());
+
+        final Array expected = readWindow("S4_radiance_io", 411, 617, 3);
+        assertWindowEquals(expected, array);
+    }
+
+    @Test
+    public void testReadRaw_acrossTileBorder() throws IOException {
+        final Array array = cache.readRaw("scan_in", 200, 64, new Interval(5, 5), PRODUCT_SIZE);
+        assertArrayEquals(new int[]{5, 5}, array.getShape());
+
+        final Array expected = readWindow("scan_in", 198, 62, 5);
+        assertWindowEquals(expected, array);
+        assertEquals(2, cache.getTileCache().getNumTiles());
+    }
+
+    @Test
+    public void testReadRaw_borderFilled() throws IOException {
+        final Array array = cache.readRaw("S4_radiance_io", 0, 0, new Interval(3, 3), PRODUCT_SIZE);
+        final Variable variable = cache.getVariable("S4_radiance_io");
+        final Number fillValue = NetCDFUtils.getFillValue(variable);
+
+        final Index index = array.getIndex();
+        assertEquals(fillValue.intValue(), array.getInt(index.set(0, 0)));
+        assertEquals(fillValue.intValue(), array.getInt(index.set(1, 0)));
+        assertEquals(readWindow("S4_radiance_io", 0, 0, 1).getInt(0), array.getInt(index.set(1, 1)));
+    }
+
+    @Test
+    public void testReadScaled() throws IOException {
+        final Array array = cache.readScaled("S8_BT_in", 700, 500, new Interval(1, 1), PRODUCT_SIZE);
+        final Variable variable = cache.getVariable("S8_BT_in");
+        final double scaleFactor = variable.findAttribute("scale_factor").getNumericValue().doubleValue();
+        final double offset = variable.findAttribute("add_offset").getNumericValue().doubleValue();
+
+        final double expected = readWindow("S8_BT_in", 700, 500, 1).getDouble(0) * scaleFactor + offset;
+        assertEquals(expected, array.getDouble(0), 1e-5);
+    }
+
+    @Test
+    public void testReadRaw_tiePointVariable() throws IOException, InvalidRangeException {
+        final Array array = cache.readRaw("solar_zenith_tn", 756, 410, new Interval(3, 3), PRODUCT_SIZE);
+
+        final Array expected = cache.getVariable("solar_zenith_tn").read().section(new int[]{409, 755}, new int[]{3, 3});
+        assertWindowEquals(expected, array);
+    }
+
+    @Test
+    public void testGetTileShape() {
+        assertArrayEquals(new int[]{64, 1500}, NcCache.getTileShape(0, 1200, 1500));
+        assertArrayEquals(new int[]{64, 1500}, NcCache.getTileShape(17, 1200, 1500));
+        assertArrayEquals(new int[]{48, 1500}, NcCache.getTileShape(18, 1200, 1500));
+    }
+
     @Test
     public void testIsTiePointVariable() {
         assertTrue(NcCache.isTiePointVariable("sat_azimuth_tn"));
@@ -103,4 +168,23 @@ public class NcCacheTest {
         assertFalse(NcCache.isTiePointVariable("confidence_in"));
         assertFalse(NcCache.isTiePointVariable("S3_radiance_io"));
     }
+
+    private Array readWindow(String variableName, int x, int y, int size) throws IOException {
+        try {
+            return cache.getVariable(variableName).read(new int[]{y, x}, new int[]{size, size});
+        } catch (InvalidRangeException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    private static void assertWindowEquals(Array expected, Array actual) {
+        final Index expectedIndex = expected.getIndex();
+        final Index actualIndex = actual.getIndex();
+        final int[] shape = expected.getShape();
+        for (int y = 0; y < shape[0]; y++) {
+            for (int x = 0; x < shape[1]; x++) {
+                assertEquals(expected.getDouble(expectedIndex.set(y, x)), actual.getDouble(actualIndex.set(y, x)), 1e-8);
+            }
+        }
+    }
 }
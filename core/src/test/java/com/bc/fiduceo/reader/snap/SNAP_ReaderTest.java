@@ -7,9 +7,15 @@ import org.junit.Test;
 import ucar.ma2.Array;
 import ucar.ma2.DataType;
 
+import java.awt.Rectangle;
+import java.io.IOException;
+
 import static org.junit.Assert.*;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -134,4 +140,94 @@ public class SNAP_ReaderTest {
         assertEquals(23, shape[0]);
         assertEquals(12, shape[1]);
     }
+
+    @Test
+    public void testCopyTileRows_inside() {
+        // raster 5 x 4, tile covers lines 2 and 3
+        final Array tile = Array.factory(DataType.FLOAT, new int[]{2, 5}, new float[]{
+                10, 11, 12, 13, 14,
+                15, 16, 17, 18, 19});
+        final Array target = Array.factory(DataType.FLOAT, new int[]{2, 3});
+
+        SNAP_Reader.copyTileRows(tile, 2, 5, new Rectangle(1, 2, 3, 2), target, 3, 1, 2);
+
+        assertArrayEquals(new float[]{11, 12, 13, 16, 17, 18}, (float[]) target.getStorage(), 1e-8f);
+    }
+
+    @Test
+    public void testCopyTileRows_windowExceedsRaster() {
+        // raster 4 x 3, one tile with all lines, window 3 x 3 at the upper left corner
+        final Array tile = Array.factory(DataType.INT, new int[]{3, 4}, new int[]{
+                0, 1, 2, 3,
+                4, 5, 6, 7,
+                8, 9, 10, 11});
+        final Array target = Array.factory(DataType.INT, new int[]{3, 3}, new int[]{
+                -1, -1, -1,
+                -1, -1, -1,
+                -1, -1, -1});
+
+        SNAP_Reader.copyTileRows(tile, 0, 4, new Rectangle(0, 0, 2, 2), target, 3, -1, -1);
+
+        assertArrayEquals(new int[]{-1, -1, -1, -1, 0, 1, -1, 4, 5}, (int[]) target.getStorage());
+    }
+
+    @Test
+    public void testCopyTileRows_windowSpansTiles() {
+        // raster 3 x 4, tiles of two lines, window covers lines 1 and 2
+        final Array tile_0 = Array.factory(DataType.SHORT, new int[]{2, 3}, new short[]{0, 1, 2, 3, 4, 5});
+        final Array tile_1 = Array.factory(DataType.SHORT, new int[]{2, 3}, new short[]{6, 7, 8, 9, 10, 11});
+        final Array target = Array.factory(DataType.SHORT, new int[]{2, 3});
+        final Rectangle intersection = new Rectangle(0, 1, 3, 2);
+
+        SNAP_Reader.copyTileRows(tile_0, 0, 3, intersection, target, 3, 0, 1);
+        SNAP_Reader.copyTileRows(tile_1, 2, 3, intersection, target, 3, 0, 1);
+
+        assertArrayEquals(new short[]{3, 4, 5, 6, 7, 8}, (short[]) target.getStorage());
+    }
+
+    @Test
+    public void testReadTile_geophysical() throws IOException {
+        final RasterDataNode dataNode = mock(RasterDataNode.class);
+        doAnswer(invocation -> {
+            final float[] pixels = invocation.getArgument(4);
+            for (int i = 0; i < pixels.length; i++) {
+                pixels[i] = 0.5f * i;
+            }
+            return pixels;
+        }).when(dataNode).readPixels(eq(0), eq(64), eq(3), eq(2), any(float[].class));
+
+        final Array tile = SNAP_Reader.readTile(dataNode, DataType.FLOAT, false, 64, 3, 2);
+        assertEquals(DataType.FLOAT, tile.getDataType());
+        assertArrayEquals(new int[]{2, 3}, tile.getShape());
+        assertEquals(2.5f, tile.getFloat(5), 1e-8f);
+    }
+
+    @Test
+    public void testReadTile_raw() throws IOException {
+        final RasterDataNode dataNode = mock(RasterDataNode.class);
+        doAnswer(invocation -> {
+            final ProductData productData = invocation.getArgument(4);
+            for (int i = 0; i < productData.getNumElems(); i++) {
+                productData.setElemIntAt(i, i - 3);
+            }
+            return null;
+        }).when(dataNode).readRasterData(eq(0), eq(0), eq(4), eq(2), any(ProductData.class));
+
+        final Array tile = SNAP_Reader.readTile(dataNode, DataType.SHORT, true, 0, 4, 2);
+        assertEquals(DataType.SHORT, tile.getDataType());
+        assertArrayEquals(new int[]{2, 4}, tile.getShape());
+        assertEquals(-3, tile.getShort(0));
+        assertEquals(4, tile.getShort(7));
+    }
+
+    @Test
+    public void testReadTile_unsupportedGeophysicalType() throws IOException {
+        final RasterDataNode dataNode = mock(RasterDataNode.class);
+
+        try {
+            SNAP_Reader.readTile(dataNode, DataType.SHORT, false, 0, 4, 2);
+            fail("RuntimeException expected");
+        } catch (RuntimeException expected) {
+        }
+    }
 }
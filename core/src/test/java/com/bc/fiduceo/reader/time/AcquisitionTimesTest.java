@@ -0,0 +1,129 @@
+package com.bc.fiduceo.reader.time;
+
+import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.reader.RawDataReader;
+import com.bc.fiduceo.util.NetCDFUtils;
+import org.junit.Test;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayInt;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class AcquisitionTimesTest {
+
+    private static final int FILL = -1;
+
+    @Test
+    public void testPerLine_readWindow() {
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.perLine(new int[]{100, 200, 300}, 4, FILL);
+
+        final ArrayInt.D2 window = acquisitionTimes.readWindow(0, 0, new Interval(3, 3));
+        assertArrayEquals(new int[]{3, 3}, window.getShape());
+        assertArrayEquals(new int[]{FILL, FILL, FILL, FILL, 100, 100, FILL, 200, 200}, (int[]) window.getStorage());
+    }
+
+    @Test
+    public void testPerLine_unboundedWidth() {
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.perLine(new int[]{100, 200, 300}, AcquisitionTimes.UNBOUNDED_WIDTH, FILL);
+
+        final ArrayInt.D2 window = acquisitionTimes.readWindow(-5, 2, new Interval(3, 3));
+        assertArrayEquals(new int[]{200, 200, 200, 300, 300, 300, FILL, FILL, FILL}, (int[]) window.getStorage());
+    }
+
+    @Test
+    public void testPerPixel_readWindow() {
+        final int[] times = {1, 2, 3,
+                4, 5, 6};
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.perPixel(times, 3, 2, FILL);
+
+        final ArrayInt.D2 window = acquisitionTimes.readWindow(2, 1, new Interval(3, 1));
+        assertArrayEquals(new int[]{5, 6, FILL}, (int[]) window.getStorage());
+    }
+
+    @Test
+    public void testPerPixel_invalidSize() {
+        try {
+            AcquisitionTimes.perPixel(new int[5], 3, 2, FILL);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testReadWindows() {
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.perLine(new int[]{100, 200, 300}, 4, FILL);
+        final int[] target = new int[12];
+
+        acquisitionTimes.readWindows(new int[]{1, 3}, new int[]{0, 2}, 2, new Interval(3, 1), target);
+        assertArrayEquals(new int[]{100, 100, 100, 300, 300, FILL, 0, 0, 0, 0, 0, 0}, target);
+    }
+
+    @Test
+    public void testReadWindows_targetTooSmall() {
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.perLine(new int[]{100, 200, 300}, 4, FILL);
+
+        try {
+            acquisitionTimes.readWindows(new int[]{1, 3}, new int[]{0, 2}, 2, new Interval(3, 3), new int[17]);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testCreate_vector_sameAsRawDataReader() throws IOException {
+        final Array rawTimes = NetCDFUtils.create(new double[]{10.4, -9.0, 30.6, 40.0});
+        final Dimension productSize = new Dimension("size", 5, 4);
+        final AcquisitionTimes.Converter converter = (rawValue, y) -> rawValue != -9.0 ? (int) Math.round(rawValue) : FILL;
+
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.create(rawTimes, productSize, -9.0, converter);
+
+        assertSameAsRawDataReader(acquisitionTimes, rawTimes, productSize, -9.0, converter, 0, 0);
+        assertSameAsRawDataReader(acquisitionTimes, rawTimes, productSize, -9.0, converter, 4, 3);
+        assertSameAsRawDataReader(acquisitionTimes, rawTimes, productSize, -9.0, converter, 2, 1);
+    }
+
+    @Test
+    public void testCreate_image_sameAsRawDataReader() throws IOException {
+        final Array rawTimes = NetCDFUtils.create(new float[][]{
+                {1.f, 2.f, 3.f},
+                {4.f, -1.5f, 6.f},
+                {7.f, 8.f, 9.f}
+        });
+        final Dimension productSize = new Dimension("size", 3, 3);
+        final AcquisitionTimes.Converter converter = (rawValue, y) -> (float) rawValue != -1.5f ? (int) (rawValue * 100) + y : -2;
+
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.create(rawTimes, productSize, -1.5f, converter);
+
+        assertSameAsRawDataReader(acquisitionTimes, rawTimes, productSize, -1.5f, converter, 0, 0);
+        assertSameAsRawDataReader(acquisitionTimes, rawTimes, productSize, -1.5f, converter, 1, 1);
+        assertSameAsRawDataReader(acquisitionTimes, rawTimes, productSize, -1.5f, converter, 2, 2);
+    }
+
+    @Test
+    public void testCreate_scalar() {
+        final Array rawTimes = NetCDFUtils.create(new int[]{1234});
+        final Dimension productSize = new Dimension("size", 2, 2);
+
+        final AcquisitionTimes acquisitionTimes = AcquisitionTimes.create(rawTimes, productSize, -7, (rawValue, y) -> (int) rawValue);
+
+        final ArrayInt.D2 window = acquisitionTimes.readWindow(0, 1, new Interval(3, 3));
+        assertArrayEquals(new int[]{-7, 1234, 1234, -7, 1234, 1234, -7, -7, -7}, (int[]) window.getStorage());
+    }
+
+    private static void assertSameAsRawDataReader(AcquisitionTimes acquisitionTimes, Array rawTimes, Dimension productSize,
+                                                  Number fillValue, AcquisitionTimes.Converter converter, int x, int y) throws IOException {
+        final Interval interval = new Interval(3, 3);
+        final Array raw = RawDataReader.read(x, y, interval, fillValue, rawTimes, productSize);
+        final ArrayInt.D2 window = acquisitionTimes.readWindow(x, y, interval);
+
+        for (int i = 0; i < raw.getSize(); i++) {
+            final int line = y - 1 + i / 3;
+            final boolean inside = line >= 0 && line < productSize.getNy();
+            final int expected = converter.toSeconds(raw.getDouble(i), inside ? line : -1);
+            assertEquals("window element " + i, expected, window.getInt(i));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bc.geometry.s2;
+
+import com.google.common.geometry.S2Loop;
+import com.google.common.geometry.S2Point;
+import com.google.common.geometry.S2Polygon;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ring handling shared by the {@link S2WKTReader} and the {@link S2WKBReader}, so that both create identical S2
+ * polygons for the same geometry.
+ */
+class S2Rings {
+
+    /**
+     * Removes the explicit closing point of a ring or line string, S2 loops are closed implicitly.
+     *
+     * @param points the points, modified in place
+     */
+    static void removeClosingPoint(List<S2Point> points) {
+        if (points.size() > 1 && points.get(0).equals(points.get(points.size() - 1))) {
+            points.remove(points.size() - 1);
+        }
+    }
+
+    /**
+     * Creates a polygon from the shell and the hole rings, as read from WKT or WKB. S2 expects every loop oriented
+     * counter-clockwise around its own interior, whereas OGC holes are oriented clockwise - so the holes are always
+     * normalized. The shell keeps its orientation unless normalizeShell is set.
+     *
+     * @param rings          the shell followed by the holes, closing points included or not
+     * @param normalizeShell whether to normalize the shell as well
+     * @return the polygon, empty if there are no rings
+     */
+    static S2Polygon createPolygon(List<List<S2Point>> rings, boolean normalizeShell) {
+        if (rings.isEmpty()) {
+            return new S2Polygon();
+        }
+
+        final List<S2Loop> loops = new ArrayList<>(rings.size());
+        for (int i = 0; i < rings.size(); i++) {
+            final List<S2Point> points = rings.get(i);
+            removeClosingPoint(points);
+            final S2Loop loop = new S2Loop(points);
+            if (i > 0 || normalizeShell) {
+                loop.normalize();
+            }
+            loops.add(loop);
+        }
+        return new S2Polygon(loops);
+    }
+}
@@ -0,0 +1,162 @@
+package com.bc.geometry.s2;
+
+import com.google.common.geometry.S2LatLng;
+import com.google.common.geometry.S2Point;
+import com.google.common.geometry.S2Polygon;
+import com.google.common.geometry.S2Polyline;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads OGC Well-Known Binary into the same S2 objects the {@link S2WKTReader} creates for the equivalent WKT:
+ * a <code>S2Point</code>, <code>S2Polyline</code>, <code>S2Polygon</code> or a list of polylines or polygons.
+ * Both byte orders are supported, as well as the ISO and the extended (PostGIS) WKB flavours; Z and M ordinates
+ * and SRIDs are skipped.
+ */
+public class S2WKBReader {
+
+    private static final int EWKB_Z_FLAG = 0x80000000;
+    private static final int EWKB_M_FLAG = 0x40000000;
+    private static final int EWKB_SRID_FLAG = 0x20000000;
+
+    /**
+     * Reads a Well-Known Binary representation of a S2 geometry.
+     *
+     * @param wkb the WKB bytes
+     * @return the geometry object
+     * @throws IllegalArgumentException if a parsing problem occurs
+     */
+    public Object read(byte[] wkb) throws IllegalArgumentException {
+        final ByteBuffer buffer = ByteBuffer.wrap(wkb);
+        try {
+            return readGeometry(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Unexpected end of WKB data");
+        }
+    }
+
+    private Object readGeometry(ByteBuffer buffer) {
+        final Header header = readHeader(buffer);
+        switch (header.type) {
+            case S2WKBWriter.WKB_POINT:
+                return readPoint(buffer, header.numOrdinates);
+            case S2WKBWriter.WKB_LINESTRING:
+                return new S2Polyline(readPoints(buffer, header.numOrdinates));
+            case S2WKBWriter.WKB_POLYGON:
+                return readPolygon(buffer, header.numOrdinates, false);
+            case S2WKBWriter.WKB_MULTILINESTRING:
+                return readMultiLineString(buffer);
+            case S2WKBWriter.WKB_MULTIPOLYGON:
+                return readMultiPolygon(buffer);
+        }
+        throw new IllegalArgumentException("Unsupported WKB geometry type: " + header.type);
+    }
+
+    private List<S2Polyline> readMultiLineString(ByteBuffer buffer) {
+        final int numLineStrings = buffer.getInt();
+        final List<S2Polyline> polylines = new ArrayList<>(numLineStrings);
+        for (int i = 0; i < numLineStrings; i++) {
+            final Header header = readHeader(buffer);
+            expectType(S2WKBWriter.WKB_LINESTRING, header);
+
+            final List<S2Point> points = readPoints(buffer, header.numOrdinates);
+            S2Rings.removeClosingPoint(points);
+            polylines.add(new S2Polyline(points));
+        }
+        return polylines;
+    }
+
+    private List<S2Polygon> readMultiPolygon(ByteBuffer buffer) {
+        final int numPolygons = buffer.getInt();
+        final List<S2Polygon> polygons = new ArrayList<>(numPolygons);
+        for (int i = 0; i < numPolygons; i++) {
+            final Header header = readHeader(buffer);
+            expectType(S2WKBWriter.WKB_POLYGON, header);
+            polygons.add(readPolygon(buffer, header.numOrdinates, true));
+        }
+        return polygons;
+    }
+
+    private S2Polygon readPolygon(ByteBuffer buffer, int numOrdinates, boolean normalizeShell) {
+        final int numRings = buffer.getInt();
+        final List<List<S2Point>> rings = new ArrayList<>();
+        for (int i = 0; i < numRings; i++) {
+            rings.add(readPoints(buffer, numOrdinates));
+        }
+        return S2Rings.createPolygon(rings, normalizeShell);
+    }
+
+    private static List<S2Point> readPoints(ByteBuffer buffer, int numOrdinates) {
+        final int numPoints = buffer.getInt();
+        if (numPoints < 0 || (long) numPoints * numOrdinates * 8 > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid number of WKB points: " + numPoints);
+        }
+
+        final List<S2Point> points = new ArrayList<>(numPoints);
+        for (int i = 0; i < numPoints; i++) {
+            points.add(readPoint(buffer, numOrdinates));
+        }
+        return points;
+    }
+
+    private static S2Point readPoint(ByteBuffer buffer, int numOrdinates) {
+        final double lon = buffer.getDouble();
+        final double lat = buffer.getDouble();
+        for (int i = 2; i < numOrdinates; i++) {
+            buffer.getDouble();
+        }
+        return S2LatLng.fromDegrees(lat, lon).toPoint();
+    }
+
+    private static void expectType(int expectedType, Header header) {
+        if (header.type != expectedType) {
+            throw new IllegalArgumentException("Expected WKB geometry type " + expectedType + " but found " + header.type);
+        }
+    }
+
+    private static Header readHeader(ByteBuffer buffer) {
+        final byte byteOrder = buffer.get();
+        if (byteOrder == S2WKBWriter.LITTLE_ENDIAN) {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (byteOrder == 0) {
+            buffer.order(ByteOrder.BIG_ENDIAN);
+        } else {
+            throw new IllegalArgumentException("Invalid WKB byte order: " + byteOrder);
+        }
+
+        final int typeInt = buffer.getInt();
+        int numOrdinates = 2;
+        if ((typeInt & EWKB_Z_FLAG) != 0) {
+            numOrdinates++;
+        }
+        if ((typeInt & EWKB_M_FLAG) != 0) {
+            numOrdinates++;
+        }
+        if ((typeInt & EWKB_SRID_FLAG) != 0) {
+            buffer.getInt();
+        }
+
+        // ISO WKB encodes the dimensions as thousands: 1000 = Z, 2000 = M, 3000 = ZM
+        final int isoType = typeInt & 0x0FFFFFFF;
+        final int dimensions = isoType / 1000;
+        if (dimensions == 1 || dimensions == 2) {
+            numOrdinates++;
+        } else if (dimensions == 3) {
+            numOrdinates += 2;
+        }
+
+        final Header header = new Header();
+        header.type = isoType % 1000;
+        header.numOrdinates = numOrdinates;
+        return header;
+    }
+
+    private static class Header {
+        private int type;
+        private int numOrdinates;
+    }
+}
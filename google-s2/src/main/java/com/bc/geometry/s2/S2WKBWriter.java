@@ -0,0 +1,154 @@
+package com.bc.geometry.s2;
+
+import com.google.common.geometry.S2LatLng;
+import com.google.common.geometry.S2Loop;
+import com.google.common.geometry.S2Point;
+import com.google.common.geometry.S2Polygon;
+import com.google.common.geometry.S2Polyline;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Writes S2 geometries as OGC Well-Known Binary (little endian, 2D). The vertices are written as longitude/latitude
+ * in degrees, i.e. the same values the {@link S2WKTWriter} formats, so both encodings decode to identical S2
+ * geometries. In contrast to the WKT writer, each loop of a polygon is written as a separate ring.
+ */
+public class S2WKBWriter {
+
+    static final byte LITTLE_ENDIAN = 1;
+
+    static final int WKB_POINT = 1;
+    static final int WKB_LINESTRING = 2;
+    static final int WKB_POLYGON = 3;
+    static final int WKB_MULTILINESTRING = 5;
+    static final int WKB_MULTIPOLYGON = 6;
+
+    private static final int HEADER_SIZE = 5;
+    private static final int COORDINATE_SIZE = 16;
+
+    @SuppressWarnings("unchecked")
+    public static byte[] write(Object geometry) {
+        if (geometry instanceof S2Polyline) {
+            final S2Polyline polyline = (S2Polyline) geometry;
+            final ByteBuffer buffer = allocate(getSize(polyline));
+            writeLineString(polyline, buffer);
+            return buffer.array();
+        } else if (geometry instanceof List) {
+            final List geometryList = (List) geometry;
+            if (!geometryList.isEmpty() && geometryList.get(0) instanceof S2Polyline) {
+                return writeMultiLineString((List<S2Polyline>) geometry);
+            }
+            if (!geometryList.isEmpty() && geometryList.get(0) instanceof S2Polygon) {
+                return writeMultiPolygon((List<S2Polygon>) geometry);
+            }
+        } else if (geometry instanceof S2Point) {
+            return writePoint(new S2LatLng((S2Point) geometry));
+        } else if (geometry instanceof S2LatLng) {
+            return writePoint((S2LatLng) geometry);
+        } else if (geometry instanceof S2Polygon) {
+            final S2Polygon polygon = (S2Polygon) geometry;
+            final ByteBuffer buffer = allocate(getSize(polygon));
+            writePolygon(polygon, buffer);
+            return buffer.array();
+        }
+
+        throw new IllegalArgumentException("unsupported geometry type: " + geometry);
+    }
+
+    private static byte[] writePoint(S2LatLng latLng) {
+        final ByteBuffer buffer = allocate(HEADER_SIZE + COORDINATE_SIZE);
+        writeHeader(WKB_POINT, buffer);
+        buffer.putDouble(latLng.lngDegrees());
+        buffer.putDouble(latLng.latDegrees());
+        return buffer.array();
+    }
+
+    private static byte[] writeMultiLineString(List<S2Polyline> polylines) {
+        int size = HEADER_SIZE + 4;
+        for (final S2Polyline polyline : polylines) {
+            size += getSize(polyline);
+        }
+
+        final ByteBuffer buffer = allocate(size);
+        writeHeader(WKB_MULTILINESTRING, buffer);
+        buffer.putInt(polylines.size());
+        for (final S2Polyline polyline : polylines) {
+            writeLineString(polyline, buffer);
+        }
+        return buffer.array();
+    }
+
+    private static byte[] writeMultiPolygon(List<S2Polygon> polygons) {
+        int size = HEADER_SIZE + 4;
+        for (final S2Polygon polygon : polygons) {
+            size += getSize(polygon);
+        }
+
+        final ByteBuffer buffer = allocate(size);
+        writeHeader(WKB_MULTIPOLYGON, buffer);
+        buffer.putInt(polygons.size());
+        for (final S2Polygon polygon : polygons) {
+            writePolygon(polygon, buffer);
+        }
+        return buffer.array();
+    }
+
+    private static void writeLineString(S2Polyline polyline, ByteBuffer buffer) {
+        final int numVertices = polyline.numVertices();
+        if (numVertices < 2) {
+            throw new IllegalArgumentException("Linestring contains less that 2 vertices.");
+        }
+
+        writeHeader(WKB_LINESTRING, buffer);
+        buffer.putInt(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            writeVertex(polyline.vertex(i), buffer);
+        }
+    }
+
+    private static void writePolygon(S2Polygon polygon, ByteBuffer buffer) {
+        writeHeader(WKB_POLYGON, buffer);
+        final int numLoops = polygon.numLoops();
+        buffer.putInt(numLoops);
+        for (int i = 0; i < numLoops; i++) {
+            final S2Loop loop = polygon.loop(i);
+            final int numVertices = loop.numVertices();
+            // rings are closed explicitly, as in WKT
+            buffer.putInt(numVertices + 1);
+            for (int k = 0; k < numVertices; k++) {
+                writeVertex(loop.vertex(k), buffer);
+            }
+            writeVertex(loop.vertex(0), buffer);
+        }
+    }
+
+    private static int getSize(S2Polyline polyline) {
+        return HEADER_SIZE + 4 + polyline.numVertices() * COORDINATE_SIZE;
+    }
+
+    private static int getSize(S2Polygon polygon) {
+        int size = HEADER_SIZE + 4;
+        final int numLoops = polygon.numLoops();
+        for (int i = 0; i < numLoops; i++) {
+            size += 4 + (polygon.loop(i).numVertices() + 1) * COORDINATE_SIZE;
+        }
+        return size;
+    }
+
+    private static ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void writeHeader(int type, ByteBuffer buffer) {
+        buffer.put(LITTLE_ENDIAN);
+        buffer.putInt(type);
+    }
+
+    private static void writeVertex(S2Point vertex, ByteBuffer buffer) {
+        final S2LatLng latLng = new S2LatLng(vertex);
+        buffer.putDouble(latLng.lngDegrees());
+        buffer.putDouble(latLng.latDegrees());
+    }
+}
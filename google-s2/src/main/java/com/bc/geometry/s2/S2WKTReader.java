@@ -278,7 +278,7 @@ public class S2WKTReader {
         } else if ("MULTILINESTRING".equalsIgnoreCase(type)) {
             return readMultiLineString();
         } else if ("POLYGON".equalsIgnoreCase(type)) {
-            return readPolygonText();
+            return readPolygonText(false);
         } else if ("MULTIPOLYGON".equalsIgnoreCase(type)) {
             return readMultiPolygonText();
         } else if ("POINT".equalsIgnoreCase(type)) {
@@ -313,9 +313,7 @@ public class S2WKTReader {
      */
     private S2Loop readLinearRingText() throws IOException, IllegalArgumentException {
         List<S2Point> points = getPoints();
-        if (points.size() > 1 && points.get(0).equals(points.get(points.size() - 1))) {
-            points.remove(points.size() - 1);
-        }
+        S2Rings.removeClosingPoint(points);
         return new S2Loop(points);
     }
 
@@ -323,25 +321,24 @@ public class S2WKTReader {
     /**
      * Creates a <code>Polygon</code> using the next token in the stream.
      *
+     * @param normalizeShell whether to normalize the orientation of the shell, holes are always normalized
      * @return a <code>Polygon</code> specified by the next token
      * in the stream
      * @throws IOException if an I/O error occurs
      */
-    private S2Polygon readPolygonText() throws IOException {
+    private S2Polygon readPolygonText(boolean normalizeShell) throws IOException {
+        final List<List<S2Point>> rings = new ArrayList<>();
         String nextToken = getNextEmptyOrOpener();
         if (EMPTY.equals(nextToken)) {
-            return new S2Polygon();
+            return S2Rings.createPolygon(rings, normalizeShell);
         }
-        ArrayList<S2Loop> loops = new ArrayList<>();
-        S2Loop shell = readLinearRingText();
-        loops.add(shell);
+        rings.add(new ArrayList<>(getPoints()));
         nextToken = getNextCloserOrComma();
         while (COMMA.equals(nextToken)) {
-            S2Loop e = readLinearRingText();
-            loops.add(e);
+            rings.add(new ArrayList<>(getPoints()));
             nextToken = getNextCloserOrComma();
         }
-        return new S2Polygon(loops);
+        return S2Rings.createPolygon(rings, normalizeShell);
     }
 
     private S2Point readPointText() throws IOException {
@@ -349,43 +346,18 @@ public class S2WKTReader {
         return points.get(0);
     }
 
-    private List<S2Point> getMultiPolygonPoints() throws IOException, IllegalArgumentException {
-        ArrayList<S2Point> points = new ArrayList<>();
-        points.add(getPreciseCoordinate());
-        String nextToken = getNextCloserOrComma();
+    private List<S2Polygon> readMultiPolygonText() throws IOException, IllegalArgumentException {
+        final List<S2Polygon> s2PolygonList = new ArrayList<>();
+        String nextToken = getNextEmptyOrOpener();
+        if (EMPTY.equals(nextToken)) {
+            return s2PolygonList;
+        }
+        s2PolygonList.add(readPolygonText(true));
+        nextToken = getNextCloserOrComma();
         while (COMMA.equals(nextToken)) {
-            points.add(getPreciseCoordinate());
+            s2PolygonList.add(readPolygonText(true));
             nextToken = getNextCloserOrComma();
         }
-        final S2Point first = points.get(0);
-        final int lastIndex = points.size() - 1;
-        final S2Point last = points.get(lastIndex);
-        if (first.equals(last)) {
-            points.remove(lastIndex);
-        }
-        return points;
-    }
-
-
-    private List<S2Polygon> readMultiPolygonText() throws IOException, IllegalArgumentException {
-        List<S2Polygon> s2PolygonList = new ArrayList<>();
-        while (true) {
-            int i = tokenizer.nextToken();
-            if (StreamTokenizer.TT_WORD == i) {
-                tokenizer.pushBack();
-                List<S2Point> points = getMultiPolygonPoints();
-                S2Loop s2Loop = new S2Loop(points);
-                s2Loop.normalize();
-                s2PolygonList.add(new S2Polygon(s2Loop));
-            }
-            if (i == ')') {
-                int i1 = tokenizer.nextToken();
-                if (i1 == StreamTokenizer.TT_EOF) {
-                    break;
-                }
-                tokenizer.pushBack();
-            }
-        }
         return s2PolygonList;
     }
 
@@ -420,9 +392,7 @@ public class S2WKTReader {
             nextToken = getNextCloserOrComma();
         }
 
-        if (points.size() > 1 && points.get(0).equals(points.get(points.size() - 1))) {
-            points.remove(points.size() - 1);
-        }
+        S2Rings.removeClosingPoint(points);
         return new S2Polyline(points);
     }
 }
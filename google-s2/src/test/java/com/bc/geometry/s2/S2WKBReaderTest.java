@@ -0,0 +1,198 @@
+package com.bc.geometry.s2;
+
+import com.google.common.geometry.S2LatLng;
+import com.google.common.geometry.S2Loop;
+import com.google.common.geometry.S2Point;
+import com.google.common.geometry.S2Polygon;
+import com.google.common.geometry.S2Polyline;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class S2WKBReaderTest {
+
+    private S2WKBReader reader;
+    private S2WKTReader wktReader;
+
+    @Before
+    public void setUp() {
+        reader = new S2WKBReader();
+        wktReader = new S2WKTReader();
+    }
+
+    // the WKB and the WKT round trip of a geometry both go through the same longitude/latitude doubles,
+    // hence the decoded geometries are identical
+    @Test
+    public void testRead_point() {
+        final Object wktGeometry = wktReader.read("POINT(-22.5 67.23)");
+
+        final Object geometry = reader.read(S2WKBWriter.write(wktGeometry));
+        assertTrue(geometry instanceof S2Point);
+        assertEquals(wktReader.read(S2WKTWriter.write(wktGeometry)), geometry);
+    }
+
+    @Test
+    public void testRead_lineString() {
+        final Object wktGeometry = wktReader.read("LINESTRING(1 8, 2 8.5, 3 8.7)");
+
+        final Object geometry = reader.read(S2WKBWriter.write(wktGeometry));
+        assertTrue(geometry instanceof S2Polyline);
+        assertEquals(wktReader.read(S2WKTWriter.write(wktGeometry)), geometry);
+    }
+
+    @Test
+    public void testRead_polygon() {
+        final String wkt = "POLYGON((-10 -20, 10 -20, 10 20, 0 25, -10 20, -10 -20))";
+        final S2Polygon wktGeometry = (S2Polygon) wktReader.read(wkt);
+
+        final Object geometry = reader.read(S2WKBWriter.write(wktGeometry));
+        assertTrue(geometry instanceof S2Polygon);
+        final S2Polygon polygon = (S2Polygon) geometry;
+        assertEquals(1, polygon.numLoops());
+        assertEquals(5, polygon.loop(0).numVertices());
+        final S2Polygon wktRoundTrip = (S2Polygon) wktReader.read(S2WKTWriter.write(wktGeometry));
+        assertEquals(S2WKTWriter.write(wktRoundTrip), S2WKTWriter.write(polygon));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRead_multiLineString() {
+        final Object wktGeometry = wktReader.read("MULTILINESTRING((10 18, 20 20, 10 40),(40 40, 30 30, 40 20, 30 10))");
+
+        final Object geometry = reader.read(S2WKBWriter.write(wktGeometry));
+        assertTrue(geometry instanceof List);
+        final List<S2Polyline> polylines = (List<S2Polyline>) geometry;
+        assertEquals(2, polylines.size());
+        assertEquals(wktReader.read(S2WKTWriter.write(wktGeometry)), polylines);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRead_multiPolygon() {
+        final String wkt = "MULTIPOLYGON(((0 0, 2 0, 2 2, 0 2, 0 0)),((10 0, 12 0, 12 2, 10 0)))";
+        final List<S2Polygon> wktGeometry = (List<S2Polygon>) wktReader.read(wkt);
+
+        final Object geometry = reader.read(S2WKBWriter.write(wktGeometry));
+        assertTrue(geometry instanceof List);
+        final List<S2Polygon> polygons = (List<S2Polygon>) geometry;
+        assertEquals(2, polygons.size());
+        final Object wktRoundTrip = wktReader.read(S2WKTWriter.write(wktGeometry));
+        assertEquals(S2WKTWriter.write(wktRoundTrip), S2WKTWriter.write(polygons));
+    }
+
+    @Test
+    public void testRead_polygonWithClockwiseHole_sameAsWkt() {
+        final double[] shell = {0, 0, 10, 0, 10, 10, 0, 10, 0, 0};
+        final double[] hole = {4, 4, 4, 6, 6, 6, 6, 4, 4, 4};
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 + 2 * (4 + 5 * 16)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 1);
+        buffer.putInt(3);
+        buffer.putInt(2);
+        putRing(shell, buffer);
+        putRing(hole, buffer);
+
+        final S2Polygon polygon = (S2Polygon) reader.read(buffer.array());
+        final S2Polygon wktPolygon = (S2Polygon) wktReader.read("POLYGON((0 0, 10 0, 10 10, 0 10, 0 0),(4 4, 4 6, 6 6, 6 4, 4 4))");
+        assertSameLoops(wktPolygon, polygon);
+        assertTrue(polygon.contains(S2LatLng.fromDegrees(2, 2).toPoint()));
+        assertFalse(polygon.contains(S2LatLng.fromDegrees(5, 5).toPoint()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRead_multiPolygonWithHole_sameAsWkt() {
+        final String wkt = "MULTIPOLYGON(((0 0, 10 0, 10 10, 0 10, 0 0),(4 4, 4 6, 6 6, 6 4, 4 4)),((20 0, 22 0, 22 2, 20 0)))";
+        final List<S2Polygon> wktGeometry = (List<S2Polygon>) wktReader.read(wkt);
+
+        final List<S2Polygon> polygons = (List<S2Polygon>) reader.read(S2WKBWriter.write(wktGeometry));
+        assertEquals(2, polygons.size());
+        assertSameLoops(wktGeometry.get(0), polygons.get(0));
+        assertSameLoops(wktGeometry.get(1), polygons.get(1));
+    }
+
+    @Test
+    public void testRead_bigEndianWithSridAndZ() {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 + 4 + 2 * 24).order(ByteOrder.BIG_ENDIAN);
+        buffer.put((byte) 0);
+        buffer.putInt(2 | 0x80000000 | 0x20000000);
+        buffer.putInt(4326);
+        buffer.putInt(2);
+        buffer.putDouble(1.0).putDouble(8.0).putDouble(100.0);
+        buffer.putDouble(2.0).putDouble(8.5).putDouble(200.0);
+
+        final S2Polyline polyline = (S2Polyline) reader.read(buffer.array());
+        assertEquals(2, polyline.numVertices());
+        assertEquals(S2LatLng.fromDegrees(8.0, 1.0).toPoint(), polyline.vertex(0));
+        assertEquals(S2LatLng.fromDegrees(8.5, 2.0).toPoint(), polyline.vertex(1));
+    }
+
+    @Test
+    public void testRead_isoPointZM() {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 * 8).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 1);
+        buffer.putInt(3001);
+        buffer.putDouble(-22.5).putDouble(67.23).putDouble(1.0).putDouble(2.0);
+
+        final Object point = reader.read(buffer.array());
+        assertEquals(S2LatLng.fromDegrees(67.23, -22.5).toPoint(), point);
+    }
+
+    @Test
+    public void testRead_invalidByteOrder() {
+        try {
+            reader.read(new byte[]{7, 1, 0, 0, 0});
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testRead_truncated() {
+        final byte[] wkb = S2WKBWriter.write(wktReader.read("LINESTRING(1 8, 2 8.5, 3 8.7)"));
+
+        try {
+            reader.read(Arrays.copyOf(wkb, wkb.length - 4));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testRead_unsupportedType() {
+        final ByteBuffer buffer = ByteBuffer.allocate(9).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 1);
+        buffer.putInt(7);
+        buffer.putInt(0);
+
+        try {
+            reader.read(buffer.array());
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static void putRing(double[] lonLats, ByteBuffer buffer) {
+        buffer.putInt(lonLats.length / 2);
+        for (final double lonLat : lonLats) {
+            buffer.putDouble(lonLat);
+        }
+    }
+
+    private static void assertSameLoops(S2Polygon expected, S2Polygon actual) {
+        assertEquals(expected.numLoops(), actual.numLoops());
+        for (int i = 0; i < expected.numLoops(); i++) {
+            final S2Loop expectedLoop = expected.loop(i);
+            final S2Loop actualLoop = actual.loop(i);
+            assertEquals(expectedLoop.numVertices(), actualLoop.numVertices());
+            for (int k = 0; k < expectedLoop.numVertices(); k++) {
+                assertEquals(expectedLoop.vertex(k), actualLoop.vertex(k));
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.bc.geometry.s2;
+
+import com.google.common.geometry.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class S2WKBWriterTest {
+
+    private ArrayList<S2Point> vertices;
+
+    @Before
+    public void setUp() {
+        vertices = new ArrayList<>();
+    }
+
+    @Test
+    public void testWritePoint() {
+        final S2Point s2Point = createS2Point(-18.7, 45.9);
+
+        final ByteBuffer buffer = wrap(S2WKBWriter.write(s2Point));
+        assertEquals(21, buffer.capacity());
+        assertEquals(1, buffer.get());
+        assertEquals(1, buffer.getInt());
+        assertEquals(-18.7, buffer.getDouble(), 1e-12);
+        assertEquals(45.9, buffer.getDouble(), 1e-12);
+    }
+
+    @Test
+    public void testWritePoint_S2LatLong() {
+        final S2LatLng s2LatLng = S2LatLng.fromDegrees(46.0, -19.8);
+
+        final ByteBuffer buffer = wrap(S2WKBWriter.write(s2LatLng));
+        assertEquals(21, buffer.capacity());
+        buffer.position(5);
+        assertEquals(-19.8, buffer.getDouble(), 1e-12);
+        assertEquals(46.0, buffer.getDouble(), 1e-12);
+    }
+
+    @Test
+    public void testWriteLineString() {
+        vertices.add(createS2Point(2, -39));
+        vertices.add(createS2Point(1, -39.5));
+        vertices.add(createS2Point(0, -40));
+
+        final ByteBuffer buffer = wrap(S2WKBWriter.write(new S2Polyline(vertices)));
+        assertEquals(9 + 3 * 16, buffer.capacity());
+        assertEquals(1, buffer.get());
+        assertEquals(2, buffer.getInt());
+        assertEquals(3, buffer.getInt());
+        assertEquals(2.0, buffer.getDouble(), 1e-12);
+        assertEquals(-39.0, buffer.getDouble(), 1e-12);
+        buffer.position(buffer.position() + 16);
+        assertEquals(0.0, buffer.getDouble(), 1e-12);
+        assertEquals(-40.0, buffer.getDouble(), 1e-12);
+    }
+
+    @Test
+    public void testWriteLineString_oneVertex() {
+        vertices.add(new S2Point());
+
+        try {
+            S2WKBWriter.write(new S2Polyline(vertices));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testWritePolygon() {
+        vertices.add(createS2Point(0, 0));
+        vertices.add(createS2Point(0, 1));
+        vertices.add(createS2Point(1, 1));
+        vertices.add(createS2Point(1, 0));
+        final S2Polygon s2Polygon = new S2Polygon(new S2Loop(vertices));
+
+        final ByteBuffer buffer = wrap(S2WKBWriter.write(s2Polygon));
+        assertEquals(9 + 4 + 5 * 16, buffer.capacity());
+        assertEquals(1, buffer.get());
+        assertEquals(3, buffer.getInt());
+        assertEquals(1, buffer.getInt());
+        assertEquals(5, buffer.getInt());
+        final double firstLon = buffer.getDouble();
+        final double firstLat = buffer.getDouble();
+        buffer.position(buffer.capacity() - 16);
+        assertEquals(firstLon, buffer.getDouble(), 0.0);
+        assertEquals(firstLat, buffer.getDouble(), 0.0);
+    }
+
+    @Test
+    public void testWriteMultiLineString() {
+        vertices.add(createS2Point(0, 1));
+        vertices.add(createS2Point(-1, 0.56));
+        vertices.add(createS2Point(-1.5, 0.237));
+
+        final ArrayList<S2Point> secondVertices = new ArrayList<>();
+        secondVertices.add(createS2Point(11, 1));
+        secondVertices.add(createS2Point(12, 1));
+
+        final ArrayList<S2Polyline> multiLine = new ArrayList<>();
+        multiLine.add(new S2Polyline(vertices));
+        multiLine.add(new S2Polyline(secondVertices));
+
+        final ByteBuffer buffer = wrap(S2WKBWriter.write(multiLine));
+        assertEquals(9 + (9 + 3 * 16) + (9 + 2 * 16), buffer.capacity());
+        assertEquals(1, buffer.get());
+        assertEquals(5, buffer.getInt());
+        assertEquals(2, buffer.getInt());
+        assertEquals(1, buffer.get());
+        assertEquals(2, buffer.getInt());
+        assertEquals(3, buffer.getInt());
+    }
+
+    @Test
+    public void testWriteMultiPolygon() {
+        vertices.add(createS2Point(0, 1));
+        vertices.add(createS2Point(2, 2));
+        vertices.add(createS2Point(1, 1));
+
+        final ArrayList<S2Point> secondVertices = new ArrayList<>();
+        secondVertices.add(createS2Point(11, 1));
+        secondVertices.add(createS2Point(12, 1));
+        secondVertices.add(createS2Point(13, 2));
+
+        final ArrayList<S2Polygon> multiPolygon = new ArrayList<>();
+        multiPolygon.add(new S2Polygon(new S2Loop(vertices)));
+        multiPolygon.add(new S2Polygon(new S2Loop(secondVertices)));
+
+        final ByteBuffer buffer = wrap(S2WKBWriter.write(multiPolygon));
+        assertEquals(9 + 2 * (9 + 4 + 4 * 16), buffer.capacity());
+        assertEquals(1, buffer.get());
+        assertEquals(6, buffer.getInt());
+        assertEquals(2, buffer.getInt());
+        assertEquals(1, buffer.get());
+        assertEquals(3, buffer.getInt());
+        assertEquals(1, buffer.getInt());
+        assertEquals(4, buffer.getInt());
+    }
+
+    @Test
+    public void testWrite_unsupportedType() {
+        try {
+            S2WKBWriter.write("POINT(1 2)");
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static ByteBuffer wrap(byte[] wkb) {
+        return ByteBuffer.wrap(wkb).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static S2Point createS2Point(double lon, double lat) {
+        return S2LatLng.fromDegrees(lat, lon).toPoint();
+    }
+}
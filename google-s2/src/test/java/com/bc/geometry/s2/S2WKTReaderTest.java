@@ -1,5 +1,6 @@
 package com.bc.geometry.s2;
 
+import com.google.common.geometry.S2LatLng;
 import com.google.common.geometry.S2Polygon;
 import com.google.common.geometry.S2Polyline;
 import org.junit.Assert;
@@ -9,6 +10,7 @@ import java.io.IOException;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -46,4 +48,27 @@ public class S2WKTReaderTest {
         assertEquals(read.get(1).vertex(0).getX(), 0.5868240888334652, 1e-8);
         assertEquals(read.get(1).vertex(0).getY(), 0.49240387650610395, 1e-8);
     }
+
+    @Test
+    public void testWKReader_S2PolygonWithClockwiseHole() {
+        S2WKTReader reader = new S2WKTReader();
+        S2Polygon polygon = (S2Polygon) reader.read("POLYGON((0 0, 10 0, 10 10, 0 10, 0 0),(4 4, 4 6, 6 6, 6 4, 4 4))");
+
+        assertEquals(2, polygon.numLoops());
+        assertTrue(polygon.contains(S2LatLng.fromDegrees(2, 2).toPoint()));
+        assertFalse(polygon.contains(S2LatLng.fromDegrees(5, 5).toPoint()));
+        assertFalse(polygon.contains(S2LatLng.fromDegrees(20, 20).toPoint()));
+    }
+
+    @Test
+    public void testWKReader_S2MultiPolygonWithHole() {
+        S2WKTReader reader = new S2WKTReader();
+        List<S2Polygon> read = (List<S2Polygon>) reader.read("MULTIPOLYGON(((0 0, 10 0, 10 10, 0 10, 0 0),(4 4, 4 6, 6 6, 6 4, 4 4)),((20 0, 22 0, 22 2, 20 0)))");
+
+        assertEquals(2, read.size());
+        assertEquals(2, read.get(0).numLoops());
+        assertTrue(read.get(0).contains(S2LatLng.fromDegrees(2, 2).toPoint()));
+        assertFalse(read.get(0).contains(S2LatLng.fromDegrees(5, 5).toPoint()));
+        assertEquals(1, read.get(1).numLoops());
+    }
 }
@@ -22,6 +22,7 @@ package com.bc.fiduceo.ingest;
 
 import com.bc.fiduceo.archive.Archive;
 import com.bc.fiduceo.archive.ArchiveConfig;
+import com.bc.fiduceo.archive.ArchiveListing;
 import com.bc.fiduceo.core.SatelliteObservation;
 import com.bc.fiduceo.core.Sensor;
 import com.bc.fiduceo.core.SystemConfig;
@@ -46,10 +47,13 @@ import org.esa.snap.core.util.StringUtils;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -58,6 +62,9 @@ import static com.bc.fiduceo.FiduceoConstants.VERSION_NUMBER;
 
 class IngestionTool {
 
+    // number of observations inserted into the database with a single commit
+    static final int INSERT_BATCH_SIZE = 64;
+
     private final Logger logger;
 
     IngestionTool() {
@@ -73,6 +80,7 @@ class IngestionTool {
         final String sensorType = commandLine.getOptionValue("s");
         final String processingVersion = commandLine.getOptionValue("v");
         final boolean update = commandLine.hasOption("u");
+        final String listingFile = commandLine.getOptionValue("l");
 
         final ToolContext context = initializeContext(commandLine, confDirPath);
 
@@ -81,14 +89,14 @@ class IngestionTool {
         Runtime.getRuntime().addShutdownHook(new ShutdownHook(context));
 
         try {
-            ingestMetadata(context, sensorType, processingVersion, update);
+            ingestMetadata(context, sensorType, processingVersion, update, listingFile);
         } finally {
             context.getStorage().close();
             context.getTempFileUtils().cleanup();
         }
     }
 
-    private void ingestMetadata(ToolContext context, String sensorType, String processingVersion, boolean update) throws SQLException, IOException {
+    private void ingestMetadata(ToolContext context, String sensorType, String processingVersion, boolean update, String listingFile) throws SQLException, IOException {
         final ReaderFactory readerFactory = context.getReaderFactory();
         final Reader reader = readerFactory.getReader(sensorType);
 
@@ -102,8 +110,13 @@ class IngestionTool {
         final Date endDate = context.getEndDate();
 
         final Archive archive = context.getArchive();
-        final Path[] productPaths = archive.get(startDate, endDate, processingVersion, sensorType);
-        for (final Path filePath : productPaths) {
+        final boolean useSnapshot = StringUtils.isNotNullAndNotEmpty(listingFile);
+        final ArchiveListing listing = archive.list(startDate, endDate, processingVersion, sensorType, useSnapshot);
+        final Path snapshotPath = useSnapshot ? Paths.get(listingFile) : null;
+        final ArchiveListing snapshot = loadSnapshot(snapshotPath);
+
+        final List<SatelliteObservation> insertBatch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (final Path filePath : listing.getPaths()) {
             final Matcher matcher = getMatcher(filePath, pattern);
             final String dataFilePath = filePath.toString();
             if (!matcher.matches()) {
@@ -112,11 +125,18 @@ class IngestionTool {
             }
 
             final Path relativePath = archive.toRelative(Paths.get(dataFilePath));
+            final long lastModified = listing.getLastModified(filePath);
+            if (!update && snapshot.isUnchanged(relativePath, lastModified)) {
+                logger.info("The file '" + dataFilePath + "' is unchanged since the last listing snapshot. Skipping");
+                continue;
+            }
+
             queryParameter.setPath(relativePath.toString());
 
             boolean registered = storage.isAlreadyRegistered(queryParameter);
             if (registered && !update) {
                 logger.info("The file '" + dataFilePath + "' is already registered to the database. Skipping");
+                snapshot.add(relativePath, lastModified);
                 continue;
             }
 
@@ -137,8 +157,10 @@ class IngestionTool {
                 satelliteObservation.setVersion(processingVersion);
                 if (update) {
                     storage.update(satelliteObservation);
+                    logger.info("success");
                 } else {
-                    storage.insert(satelliteObservation);
+                    // success is reported when the batch containing the observation is committed
+                    insertBatch.add(satelliteObservation);
                 }
             } catch (Exception e) {
                 logger.severe("Unable to register the file '" + dataFilePath + "'");
@@ -148,10 +170,67 @@ class IngestionTool {
             } finally {
                 reader.close();
             }
-            logger.info("success");
+            snapshot.add(relativePath, lastModified);
+
+            if (insertBatch.size() >= INSERT_BATCH_SIZE) {
+                removeFailed(snapshot, insert(insertBatch, storage));
+            }
+        }
+        removeFailed(snapshot, insert(insertBatch, storage));
+
+        if (snapshotPath != null) {
+            snapshot.writeTo(snapshotPath);
+            logger.info("Wrote listing snapshot with " + snapshot.size() + " product(s) to '" + snapshotPath + "'");
         }
     }
 
+    // package access for testing only
+    static ArchiveListing loadSnapshot(Path snapshotPath) throws IOException {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return new ArchiveListing();
+        }
+        return ArchiveListing.readFrom(snapshotPath);
+    }
+
+    private static void removeFailed(ArchiveListing snapshot, List<SatelliteObservation> failed) {
+        for (final SatelliteObservation satelliteObservation : failed) {
+            snapshot.remove(Paths.get(satelliteObservation.getDataFilePath()));
+        }
+    }
+
+    // package access for testing only
+    List<SatelliteObservation> insert(List<SatelliteObservation> insertBatch, Storage storage) {
+        final List<SatelliteObservation> failed = new ArrayList<>();
+        if (insertBatch.isEmpty()) {
+            return failed;
+        }
+
+        try {
+            storage.insert(insertBatch);
+            for (final SatelliteObservation satelliteObservation : insertBatch) {
+                logSuccess(satelliteObservation);
+            }
+        } catch (Exception e) {
+            logger.warning("Batch insert failed, inserting " + insertBatch.size() + " observations one by one. Cause: " + e.getMessage());
+            for (final SatelliteObservation satelliteObservation : insertBatch) {
+                try {
+                    storage.insert(satelliteObservation);
+                    logSuccess(satelliteObservation);
+                } catch (Exception singleException) {
+                    logger.severe("Unable to register the file '" + satelliteObservation.getDataFilePath() + "'");
+                    logger.severe("Cause: " + singleException.getMessage());
+                    failed.add(satelliteObservation);
+                }
+            }
+        }
+        insertBatch.clear();
+        return failed;
+    }
+
+    private void logSuccess(SatelliteObservation satelliteObservation) {
+        logger.info("registered '" + satelliteObservation.getDataFilePath() + "' - success");
+    }
+
     void printUsageTo(OutputStream outputStream) {
         final String ls = System.lineSeparator();
         final PrintWriter writer = new PrintWriter(outputStream);
@@ -191,6 +270,9 @@ class IngestionTool {
         final Option updateOption = new Option("u", "update", false, "Update database entries if already existing.");
         options.addOption(updateOption);
 
+        final Option listingOption = new Option("l", "listing", true, "Defines a listing snapshot file, products unchanged since the last run are skipped.");
+        options.addOption(listingOption);
+
         return options;
     }
 
@@ -236,6 +318,8 @@ class IngestionTool {
         context.setArchive(archive);
         final ReaderFactory readerFactory = ReaderFactory.create(geometryFactory, context.getTempFileUtils(),
                 archive, confDirPath.toString());
+        readerFactory.setTileCacheSize(systemConfig.getTileCacheSize());
+        readerFactory.setInsituCacheLocation(systemConfig.getInsituCacheLocation());
         context.setReaderFactory(readerFactory);
 
         final Storage storage = Storage.create(databaseConfig, geometryFactory);
@@ -20,6 +20,10 @@
 
 package com.bc.fiduceo.ingest;
 
+import com.bc.fiduceo.TestUtil;
+import com.bc.fiduceo.archive.ArchiveListing;
+import com.bc.fiduceo.core.SatelliteObservation;
+import com.bc.fiduceo.db.Storage;
 import com.bc.fiduceo.reader.Reader;
 import com.bc.fiduceo.tool.ToolContext;
 import org.apache.commons.cli.CommandLine;
@@ -29,17 +33,31 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 public class IngestionToolTest {
@@ -66,6 +84,7 @@ public class IngestionToolTest {
                 "   -c,--config <arg>            Defines the configuration directory. Defaults to './config'." + ls +
                 "   -end,--end-time <Date>       Define the ending time of products to inject." + ls +
                 "   -h,--help                    Prints the tool usage." + ls +
+                "   -l,--listing <arg>           Defines a listing snapshot file, products unchanged since the last run are skipped." + ls +
                 "   -s,--sensor <arg>            Defines the sensor to be ingested." + ls +
                 "   -start,--start-time <Date>   Define the starting time of products to inject." + ls +
                 "   -u,--update                  Update database entries if already existing." + ls +
@@ -125,6 +144,13 @@ public class IngestionToolTest {
         assertEquals("update", update.getLongOpt());
         assertEquals("Update database entries if already existing.", update.getDescription());
         assertFalse(update.hasArg());
+
+        final Option listing = options.getOption("listing");
+        assertNotNull(listing);
+        assertEquals("l", listing.getOpt());
+        assertEquals("listing", listing.getLongOpt());
+        assertEquals("Defines a listing snapshot file, products unchanged since the last run are skipped.", listing.getDescription());
+        assertTrue(listing.hasArg());
     }
 
     @Test
@@ -226,4 +252,78 @@ public class IngestionToolTest {
         } catch (RuntimeException expected) {
         }
     }
+
+    @Test
+    public void testInsert_batch() throws SQLException {
+        final Storage storage = mock(Storage.class);
+        final List<SatelliteObservation> insertBatch = new ArrayList<>();
+        insertBatch.add(new SatelliteObservation());
+        insertBatch.add(new SatelliteObservation());
+
+        final List<SatelliteObservation> failed = ingestionTool.insert(insertBatch, storage);
+
+        verify(storage, times(1)).insert(anyList());
+        assertTrue(failed.isEmpty());
+        verify(storage, never()).insert(any(SatelliteObservation.class));
+        assertTrue(insertBatch.isEmpty());
+    }
+
+    @Test
+    public void testInsert_batchFails_insertsSingleObservations() throws SQLException {
+        final Storage storage = mock(Storage.class);
+        doThrow(new SQLException("boom")).when(storage).insert(anyList());
+        final SatelliteObservation first = new SatelliteObservation();
+        final SatelliteObservation second = new SatelliteObservation();
+        doThrow(new SQLException("broken")).when(storage).insert(first);
+
+        final List<SatelliteObservation> insertBatch = new ArrayList<>();
+        insertBatch.add(first);
+        insertBatch.add(second);
+
+        final List<SatelliteObservation> failed = ingestionTool.insert(insertBatch, storage);
+
+        verify(storage, times(1)).insert(first);
+        verify(storage, times(1)).insert(second);
+        assertTrue(insertBatch.isEmpty());
+        assertEquals(1, failed.size());
+        assertSame(first, failed.get(0));
+    }
+
+    @Test
+    public void testInsert_emptyBatch() throws SQLException {
+        final Storage storage = mock(Storage.class);
+
+        ingestionTool.insert(new ArrayList<>(), storage);
+
+        verifyNoInteractions(storage);
+    }
+
+    @Test
+    public void testLoadSnapshot_noFile() throws IOException {
+        assertEquals(0, IngestionTool.loadSnapshot(null).size());
+
+        final File testDirectory = TestUtil.createTestDirectory();
+        try {
+            assertEquals(0, IngestionTool.loadSnapshot(testDirectory.toPath().resolve("not_existing.txt")).size());
+        } finally {
+            TestUtil.deleteTestDirectory();
+        }
+    }
+
+    @Test
+    public void testLoadSnapshot() throws IOException {
+        final File testDirectory = TestUtil.createTestDirectory();
+        try {
+            final Path snapshotFile = testDirectory.toPath().resolve("listing.txt");
+            final ArchiveListing listing = new ArchiveListing();
+            listing.add(Paths.get("mhs", "v1", "product.nc"), 1234567L);
+            listing.writeTo(snapshotFile);
+
+            final ArchiveListing snapshot = IngestionTool.loadSnapshot(snapshotFile);
+            assertEquals(1, snapshot.size());
+            assertTrue(snapshot.isUnchanged(Paths.get("mhs", "v1", "product.nc"), 1234567L));
+        } finally {
+            TestUtil.deleteTestDirectory();
+        }
+    }
 }
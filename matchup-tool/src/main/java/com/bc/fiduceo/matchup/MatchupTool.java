@@ -31,6 +31,7 @@ import com.bc.fiduceo.log.FiduceoLogger;
 import com.bc.fiduceo.matchup.strategy.AbstractMatchupStrategy;
 import com.bc.fiduceo.matchup.strategy.MatchupStrategyFactory;
 import com.bc.fiduceo.matchup.writer.*;
+import com.bc.fiduceo.monitor.Instrumentation;
 import com.bc.fiduceo.reader.ReaderFactory;
 import com.bc.fiduceo.tool.ShutdownHook;
 import com.bc.fiduceo.tool.ToolContext;
@@ -48,10 +49,12 @@ import ucar.nc2.Attribute;
 
 import java.io.*;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static com.bc.fiduceo.FiduceoConstants.VERSION_NUMBER;
@@ -61,6 +64,7 @@ class MatchupTool {
 
     private static final String SPERICAL_DISTANCE_VAR_NAME = "matchup_spherical_distance";
     private static final String DESCRIPTION_ATTRIBUTE_NAME = "description";
+    private static final String RUN_REPORT_SUFFIX = "_run_report.json";
 
     private final Logger logger;
 
@@ -296,6 +300,13 @@ class MatchupTool {
         return p + "_" + s + "_" + SPERICAL_DISTANCE_VAR_NAME;
     }
 
+    // package access for testing only
+    static Path createRunReportPath(UseCaseConfig useCaseConfig, Date startDate, Date endDate) {
+        final String mmdFileName = MmdWriterFactory.createMMDFileName(useCaseConfig, startDate, endDate);
+        final String reportFileName = mmdFileName.substring(0, mmdFileName.length() - ".nc".length()) + RUN_REPORT_SUFFIX;
+        return Paths.get(useCaseConfig.getOutputPath(), reportFileName);
+    }
+
     void run(CommandLine commandLine) throws IOException, SQLException, InvalidRangeException {
         final ToolContext context = initialize(commandLine);
 
@@ -303,11 +314,14 @@ class MatchupTool {
 
         final MmdWriterConfig mmdWriterConfig = loadWriterConfig(commandLine);
 
+        final Instrumentation instrumentation = Instrumentation.get();
+        instrumentation.reset();
         try {
             runMatchupGeneration(context, mmdWriterConfig);
         } finally {
             context.getStorage().close();
             context.getTempFileUtils().cleanup();
+            writeRunReport(instrumentation, context);
         }
     }
 
@@ -370,6 +384,8 @@ class MatchupTool {
 
         final ReaderFactory readerFactory = ReaderFactory.create(geometryFactory, context.getTempFileUtils(),
                 archive, configValue);
+        readerFactory.setTileCacheSize(systemConfig.getTileCacheSize());
+        readerFactory.setInsituCacheLocation(systemConfig.getInsituCacheLocation());
         context.setReaderFactory(readerFactory);
 
         final Storage storage = Storage.create(databaseConfig, geometryFactory);
@@ -383,14 +399,30 @@ class MatchupTool {
         final UseCaseConfig useCaseConfig = context.getUseCaseConfig();
 
         final AbstractMatchupStrategy matchupStrategy = MatchupStrategyFactory.get(useCaseConfig, logger);
-        final MatchupCollection matchupCollection = matchupStrategy.createMatchupCollection(context);
+        final MatchupCollection matchupCollection;
+        try (Instrumentation.Split ignored = Instrumentation.get().start("matchup-strategy")) {
+            matchupCollection = matchupStrategy.createMatchupCollection(context);
+        }
+        Instrumentation.get().add("matchups", matchupCollection.getNumMatchups());
 
         if (matchupCollection.getNumMatchups() == 0) {
             logger.warning("No matchups in time interval, creation of MMD file skipped.");
             return;
         }
 
-        writeMmdFile(matchupCollection, context, writerConfig);
+        try (Instrumentation.Split ignored = Instrumentation.get().start("mmd-writer")) {
+            writeMmdFile(matchupCollection, context, writerConfig);
+        }
+    }
+
+    private void writeRunReport(Instrumentation instrumentation, ToolContext context) {
+        final Path reportPath = createRunReportPath(context.getUseCaseConfig(), context.getStartDate(), context.getEndDate());
+        try {
+            instrumentation.writeReport(reportPath);
+            logger.info("Run report written to " + reportPath);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Unable to write run report \"" + reportPath + "\"", e);
+        }
     }
 
     private void writeMmdFile(MatchupCollection matchupCollection, ToolContext context, MmdWriterConfig writerConfig) throws IOException, InvalidRangeException {
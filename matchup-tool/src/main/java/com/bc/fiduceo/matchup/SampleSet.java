@@ -82,6 +82,18 @@ public class SampleSet {
         this.secondary.put(sensorName, secondary);
     }
 
+    /**
+     * Creates a shallow copy, i.e. a new sample set referencing the same (immutable) samples.
+     *
+     * @return the copy
+     */
+    public SampleSet copy() {
+        final SampleSet copy = new SampleSet();
+        copy.primary = primary;
+        copy.secondary.putAll(secondary);
+        return copy;
+    }
+
     public SampleSet clone() {
         final SampleSet clone = new SampleSet();
         clone.setPrimary(primary.clone());
@@ -25,6 +25,7 @@ import com.bc.fiduceo.core.Sensor;
 import com.bc.fiduceo.core.UseCaseConfig;
 import com.bc.fiduceo.matchup.MatchupSet;
 import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.monitor.Instrumentation;
 import com.bc.fiduceo.tool.ToolContext;
 import org.jdom2.Element;
 
@@ -41,8 +42,14 @@ public class ConditionEngine {
     }
 
     public void process(MatchupSet matchupSet, ConditionEngineContext context) {
+        final Instrumentation instrumentation = Instrumentation.get();
         for (final Condition condition : conditionsList) {
-            condition.apply(matchupSet, context);
+            final String stage = "condition." + condition.getClass().getSimpleName();
+            instrumentation.add(stage + ".samples-in", matchupSet.getNumObservations());
+            try (Instrumentation.Split ignored = instrumentation.start(stage)) {
+                condition.apply(matchupSet, context);
+            }
+            instrumentation.add(stage + ".samples-out", matchupSet.getNumObservations());
         }
     }
 
@@ -0,0 +1,112 @@
+package com.bc.fiduceo.matchup.condition;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from primitive long keys to non-negative int values, using linear probing. Avoids the
+ * boxing and per-entry objects of a HashMap when grouping millions of samples.
+ */
+class LongIntHashMap {
+
+    private static final int EMPTY = -1;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private int growThreshold;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = 16;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Retrieves the value stored for the key.
+     *
+     * @param key the key
+     * @return the value or -1 if the key is not present
+     */
+    int get(long key) {
+        int slot = hash(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Stores the value for the key if the key is not yet present.
+     *
+     * @param key   the key
+     * @param value the value, must not be negative
+     * @return the value already stored for the key or -1 if the value has been added
+     */
+    int putIfAbsent(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("negative values are not supported");
+        }
+
+        int slot = hash(key) & mask;
+        while (values[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (size > growThreshold) {
+            rehash(keys.length << 1);
+        }
+        return EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, EMPTY);
+        mask = capacity - 1;
+        growThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // finalizer of the 64 bit murmur hash, spreads the pixel coordinates over the table
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -26,10 +26,8 @@ import com.bc.fiduceo.matchup.SampleSet;
 import com.bc.fiduceo.math.SphericalDistance;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 public class UniqueSamplesCondition implements Condition {
 
@@ -46,34 +44,15 @@ public class UniqueSamplesCondition implements Condition {
     @Override
     public void apply(MatchupSet matchupSet, ConditionEngineContext context) {
         isReferencePrimary = checkReferenceLocation(matchupSet);
-        final HashMap<String, ReferenceContainer> references = createReferenceSet(matchupSet);
-
-        final List<SampleSet> resultList = new ArrayList<>();
-
-        final Set<Map.Entry<String, ReferenceContainer>> entries = references.entrySet();
-        for (final Map.Entry<String, ReferenceContainer> entry : entries) {
-            final ReferenceContainer referenceContainer = entry.getValue();
-            final List<Sample> associatedList = referenceContainer.associated;
-            if (associatedList.size() == 1) {
-                final SampleSet sampleSet = createSampleSet(referenceContainer.reference, referenceContainer.associated.get(0));
-                resultList.add(sampleSet);
-                continue;
-            }
-
-            final double refLon = referenceContainer.reference.getLon();
-            final double refLat = referenceContainer.reference.getLat();
-            double minDistance = Double.MAX_VALUE;
-            Sample closest = null;
-            final SphericalDistance sphericalDistance = new SphericalDistance(refLon, refLat);
-            for (final Sample associated : associatedList) {
-                final double distance = sphericalDistance.distance(associated.getLon(), associated.getLat());
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    closest = associated;
-                }
-            }
-            final SampleSet sampleSet = createSampleSet(referenceContainer.reference, closest);
-            resultList.add(sampleSet);
+        final List<SampleSet> sampleSets = matchupSet.getSampleSets();
+        final ReferenceGroups groups = createReferenceGroups(sampleSets);
+
+        final List<SampleSet> resultList = new ArrayList<>(groups.size);
+        for (int group = 0; group < groups.size; group++) {
+            final Sample reference = getReference(sampleSets.get(groups.reference[group]));
+            final int associatedIndex = groups.getAssociated(group);
+            final Sample associated = associatedIndex >= 0 ? getAssociated(sampleSets.get(associatedIndex)) : null;
+            resultList.add(createSampleSet(reference, associated));
         }
 
         matchupSet.setSampleSets(resultList);
@@ -103,27 +82,34 @@ public class UniqueSamplesCondition implements Condition {
         return secondary == null;
     }
 
-    private HashMap<String, ReferenceContainer> createReferenceSet(MatchupSet matchupSet) {
-        final HashMap<String, ReferenceContainer> references = new HashMap<>();
+    // groups the sample sets by reference pixel in a single pass, each group keeps the index of the sample set holding
+    // the closest associated sample
+    private ReferenceGroups createReferenceGroups(List<SampleSet> sampleSets) {
+        final int numSampleSets = sampleSets.size();
+        final LongIntHashMap groupIndices = new LongIntHashMap(numSampleSets);
+        final ReferenceGroups groups = new ReferenceGroups(Math.max(16, numSampleSets / 4));
 
-        final List<SampleSet> sampleSets = matchupSet.getSampleSets();
-        for (final SampleSet sampleSet : sampleSets) {
+        for (int i = 0; i < numSampleSets; i++) {
+            final SampleSet sampleSet = sampleSets.get(i);
             final Sample reference = getReference(sampleSet);
-            final String key = createKey(reference);
+            final long key = createKey(reference);
 
-            final ReferenceContainer referenceContainer = references.computeIfAbsent(key, k -> new ReferenceContainer(reference));
+            int group = groupIndices.putIfAbsent(key, groups.size);
+            if (group < 0) {
+                group = groups.add(i, reference.getLon(), reference.getLat());
+            }
 
             final Sample associated = getAssociated(sampleSet);
-            referenceContainer.associated.add(associated);
+            groups.associate(group, i, associated.getLon(), associated.getLat());
         }
-        return references;
+        return groups;
     }
 
-    // package access for testing only tb 2017-10-02
-    static String createKey(Sample reference) {
+    // package access for testing only
+    static long createKey(Sample reference) {
         final int x = reference.getX();
         final int y = reference.getY();
-        return x + "_" + y;
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
     }
 
     // package access for testing only tb 2017-10-02
@@ -144,13 +130,72 @@ public class UniqueSamplesCondition implements Condition {
         return sampleSet.getSecondary(associatedSensorKey);
     }
 
-    private class ReferenceContainer {
-        Sample reference;
-        List<Sample> associated;
+    // compact columnar storage of the reference groups, all entries are sample set indices
+    static class ReferenceGroups {
+
+        int size;
+        int[] reference;
+        private int[] first;
+        private int[] closest;
+        private int[] count;
+        private SphericalDistance[] distances;
+        private double[] minDistance;
+
+        ReferenceGroups(int capacity) {
+            reference = new int[capacity];
+            first = new int[capacity];
+            closest = new int[capacity];
+            count = new int[capacity];
+            distances = new SphericalDistance[capacity];
+            minDistance = new double[capacity];
+        }
+
+        int add(int referenceIndex, double lon, double lat) {
+            if (size == reference.length) {
+                grow();
+            }
+            reference[size] = referenceIndex;
+            first[size] = -1;
+            closest[size] = -1;
+            distances[size] = new SphericalDistance(lon, lat);
+            minDistance[size] = Double.MAX_VALUE;
+            return size++;
+        }
+
+        void associate(int group, int sampleSetIndex, double lon, double lat) {
+            if (count[group] == 0) {
+                first[group] = sampleSetIndex;
+            }
+            count[group]++;
+
+            final double distance = distances[group].distance(lon, lat);
+            if (distance < minDistance[group]) {
+                minDistance[group] = distance;
+                closest[group] = sampleSetIndex;
+            }
+        }
+
+        /**
+         * Retrieves the sample set holding the associated sample of the group, i.e. the only one or the closest.
+         *
+         * @param group the group index
+         * @return the sample set index or -1 if no distance could be calculated
+         */
+        int getAssociated(int group) {
+            if (count[group] == 1) {
+                return first[group];
+            }
+            return closest[group];
+        }
 
-        ReferenceContainer(Sample reference) {
-            this.reference = reference;
-            associated = new ArrayList<>();
+        private void grow() {
+            final int capacity = reference.length * 2;
+            reference = Arrays.copyOf(reference, capacity);
+            first = Arrays.copyOf(first, capacity);
+            closest = Arrays.copyOf(closest, capacity);
+            count = Arrays.copyOf(count, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+            minDistance = Arrays.copyOf(minDistance, capacity);
         }
     }
 
@@ -23,6 +23,7 @@ package com.bc.fiduceo.matchup.screening;
 import com.bc.fiduceo.core.Dimension;
 import com.bc.fiduceo.core.UseCaseConfig;
 import com.bc.fiduceo.matchup.MatchupSet;
+import com.bc.fiduceo.monitor.Instrumentation;
 import com.bc.fiduceo.reader.Reader;
 import com.bc.fiduceo.tool.ToolContext;
 import org.jdom2.Element;
@@ -48,8 +49,14 @@ public class ScreeningEngine {
 
     public void process(MatchupSet matchupSet, final Reader primaryReader, final Map<String, Reader> secondaryReader) throws IOException, InvalidRangeException {
         final Screening.ScreeningContext sc = createScreeningContext();
+        final Instrumentation instrumentation = Instrumentation.get();
         for (final Screening screening : screeningList) {
-            screening.apply(matchupSet, primaryReader, secondaryReader, sc);
+            final String stage = "screening." + screening.getClass().getSimpleName();
+            instrumentation.add(stage + ".samples-in", matchupSet.getNumObservations());
+            try (Instrumentation.Split ignored = instrumentation.start(stage)) {
+                screening.apply(matchupSet, primaryReader, secondaryReader, sc);
+            }
+            instrumentation.add(stage + ".samples-out", matchupSet.getNumObservations());
         }
     }
 
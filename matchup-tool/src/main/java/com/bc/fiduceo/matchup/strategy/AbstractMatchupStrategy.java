@@ -38,11 +38,16 @@ import com.bc.fiduceo.matchup.ObservationsSet;
 import com.bc.fiduceo.matchup.condition.ConditionEngine;
 import com.bc.fiduceo.matchup.condition.ConditionEngineContext;
 import com.bc.fiduceo.matchup.screening.ScreeningEngine;
+import com.bc.fiduceo.math.Intersection;
+import com.bc.fiduceo.math.IntersectionIndex;
+import com.bc.fiduceo.monitor.Instrumentation;
 import com.bc.fiduceo.reader.Reader;
 import com.bc.fiduceo.tool.ToolContext;
+import com.bc.fiduceo.util.TimeUtils;
 import org.esa.snap.core.util.StringUtils;
 import ucar.ma2.InvalidRangeException;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.SQLException;
@@ -75,12 +80,16 @@ public abstract class AbstractMatchupStrategy {
             conditionEngineContext.setSecondarySize(secondarySize, sensorName);
         }
 
-        conditionEngine.process(matchupSet, conditionEngineContext);
+        try (Instrumentation.Split ignored = Instrumentation.get().start("conditions")) {
+            conditionEngine.process(matchupSet, conditionEngineContext);
+        }
         final int numObservations = matchupSet.getNumObservations();
         logger.info("Remaining " + numObservations + " after condition processing");
 
         if (numObservations > 0) {
-            screeningEngine.process(matchupSet, primaryReader, secondaryReader);
+            try (Instrumentation.Split ignored = Instrumentation.get().start("screenings")) {
+                screeningEngine.process(matchupSet, primaryReader, secondaryReader);
+            }
             logger.info("Remaining " + matchupSet.getNumObservations() + " after matchup screening");
         }
     }
@@ -112,13 +121,27 @@ public abstract class AbstractMatchupStrategy {
 
     // package access for testing only tb 2016-11-04
     static PixelLocator getPixelLocator(Reader reader, boolean isSegmented, Polygon polygon) throws IOException {
-        final PixelLocator pixelLocator;
-        if (isSegmented) {
-            pixelLocator = reader.getSubScenePixelLocator(polygon);
-        } else {
-            pixelLocator = reader.getPixelLocator();
+        try (Instrumentation.Split ignored = Instrumentation.get().start("pixel-locator")) {
+            final PixelLocator pixelLocator;
+            if (isSegmented) {
+                pixelLocator = reader.getSubScenePixelLocator(polygon);
+            } else {
+                pixelLocator = reader.getPixelLocator();
+            }
+            return pixelLocator;
+        }
+    }
+
+    static void openReader(Reader reader, File file) throws IOException {
+        try (Instrumentation.Split ignored = Instrumentation.get().start("reader-open")) {
+            reader.open(file);
+        }
+    }
+
+    static Intersection[] getIntersectingIntervals(IntersectionIndex intersectionIndex, SatelliteObservation primary, SatelliteObservation secondary) {
+        try (Instrumentation.Split ignored = Instrumentation.get().start("intersection")) {
+            return intersectionIndex.getIntersectingIntervals(primary, secondary);
         }
-        return pixelLocator;
     }
 
     // package access for testing only tb 2016-02-23
@@ -150,7 +173,10 @@ public abstract class AbstractMatchupStrategy {
 
         final Storage storage = context.getStorage();
         final Archive archive = context.getArchive();
-        final List<SatelliteObservation> primaryObservations = storage.get(parameter);
+        final List<SatelliteObservation> primaryObservations;
+        try (Instrumentation.Split ignored = Instrumentation.get().start("db-query")) {
+            primaryObservations = storage.get(parameter);
+        }
         for (final SatelliteObservation observation : primaryObservations) {
             final Path relativePath = observation.getDataFilePath();
             observation.setDataFilePath(archive.toAbsolute(relativePath).toString());
@@ -172,7 +198,10 @@ public abstract class AbstractMatchupStrategy {
             final String sensorName = parameter.getSensorName();
             logger.info("Requesting secondary data ... (" + sensorName + ", " + parameter.getStartTime() + ", " + parameter.getStopTime());
 
-            final List<SatelliteObservation> secondaryObservations = storage.get(parameter);
+            final List<SatelliteObservation> secondaryObservations;
+            try (Instrumentation.Split ignored = Instrumentation.get().start("db-query")) {
+                secondaryObservations = storage.get(parameter);
+            }
             for (final SatelliteObservation observation : secondaryObservations) {
                 final Path relativePath = observation.getDataFilePath();
                 observation.setDataFilePath(archive.toAbsolute(relativePath).toString());
@@ -183,4 +212,37 @@ public abstract class AbstractMatchupStrategy {
         }
         return observationsSet;
     }
+
+    /**
+     * Requests the secondary observations once for the time span covered by all primary observations and prepares
+     * the temporal join. The time delta is applied in full seconds, as for the per-primary database queries.
+     *
+     * @param context             the tool context
+     * @param primaryObservations the primary observations
+     * @param timeDeltaSeconds    the maximal time delta in seconds
+     * @return the temporal join for the first secondary sensor
+     * @throws SQLException on database errors
+     */
+    TemporalJoin createTemporalJoin(ToolContext context, List<SatelliteObservation> primaryObservations, int timeDeltaSeconds) throws SQLException {
+        final long timeDeltaInMillis = timeDeltaSeconds * 1000L;
+        if (primaryObservations.isEmpty()) {
+            return new TemporalJoin(new ArrayList<>(), timeDeltaInMillis);
+        }
+
+        long minStart = Long.MAX_VALUE;
+        long maxStop = Long.MIN_VALUE;
+        for (final SatelliteObservation primaryObservation : primaryObservations) {
+            minStart = Math.min(minStart, primaryObservation.getStartTime().getTime());
+            maxStop = Math.max(maxStop, primaryObservation.getStopTime().getTime());
+        }
+
+        final Date searchTimeStart = TimeUtils.addSeconds(-timeDeltaSeconds, new Date(minStart));
+        final Date searchTimeEnd = TimeUtils.addSeconds(timeDeltaSeconds, new Date(maxStop));
+        final ObservationsSet secondaryObservationsSet = getSecondaryObservations(context, searchTimeStart, searchTimeEnd);
+
+        // todo se multisensor
+        // still only one secondary sensor case
+        final String secondarySensorName = context.getUseCaseConfig().getSecondarySensors().get(0).getName();
+        return new TemporalJoin(secondaryObservationsSet.get(secondarySensorName), timeDeltaInMillis);
+    }
 }
@@ -39,6 +39,8 @@ import com.bc.fiduceo.math.TimeInterval;
 import com.bc.fiduceo.reader.Reader;
 import com.bc.fiduceo.reader.ReaderCache;
 import com.bc.fiduceo.reader.ReaderFactory;
+import com.bc.fiduceo.reader.insitu.TimeIndex;
+import com.bc.fiduceo.reader.insitu.TimeIndexedReader;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.tool.ToolContext;
 import com.bc.fiduceo.util.TimeUtils;
@@ -50,6 +52,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -91,6 +94,10 @@ class InsituPolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
 
         final ObservationsSet secondaryObservationsSet = retrieveSecondaryObservations(context, timeDeltaSeconds);
         final String[] secSensorNames = secondaryObservationsSet.getSensorKeys();
+        final Map<String, TemporalJoin> temporalJoins = new HashMap<>();
+        for (String secSensorName : secSensorNames) {
+            temporalJoins.put(secSensorName, new TemporalJoin(secondaryObservationsSet.get(secSensorName), timeDeltaInMillis));
+        }
 
         final Map<String, Map<Path, List<MatchupSet>>> mapMatchupSetsInsituOrder = new HashMap<>();
         final Map<String, Map<Path, List<MatchupSet>>> mapMatchupSetsSatelliteOrder = new HashMap<>();
@@ -103,14 +110,14 @@ class InsituPolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
         for (final SatelliteObservation insituObservation : insituObservations) {
             final Path insituPath = insituObservation.getDataFilePath();
             try (final Reader insituReader = readerFactory.getReader(primarySensorName)) {
-                insituReader.open(insituPath.toFile());
+                openReader(insituReader, insituPath.toFile());
 
                 for (String secSensorName : secSensorNames) {
-                    final List<SatelliteObservation> secondaryObservations = secondaryObservationsSet.get(secSensorName);
+                    final TemporalJoin temporalJoin = temporalJoins.get(secSensorName);
                     final Map<Path, List<MatchupSet>> matchupSetsInsituOrder = mapMatchupSetsInsituOrder.get(secSensorName);
                     final Map<Path, List<MatchupSet>> matchupSetsSatelliteOrder = mapMatchupSetsSatelliteOrder.get(secSensorName);
 
-                    final List<MatchupSet> matchupSets = getInsituSamplesPerSatellite(geometryFactory, timeDeltaInMillis, processingInterval, secondaryObservations, insituReader);
+                    final List<MatchupSet> matchupSets = getInsituSamplesPerSatellite(geometryFactory, processingInterval, temporalJoin, insituReader);
                     for (final MatchupSet matchupSet : matchupSets) {
                         matchupSet.setPrimaryObservationPath(insituPath);
                         matchupSet.setPrimaryProcessingVersion(insituObservation.getVersion());
@@ -133,7 +140,7 @@ class InsituPolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
                 final List<MatchupSet> matchupSets = pathListEntry.getValue();
 
                 try (Reader secondaryReader = readerFactory.getReader(secSensorName)) {
-                    secondaryReader.open(secondaryPath.toFile());
+                    openReader(secondaryReader, secondaryPath.toFile());
 
                     final PixelLocator pixelLocator = secondaryReader.getPixelLocator();
                     final TimeLocator timeLocator = secondaryReader.getTimeLocator();
@@ -200,19 +207,6 @@ class InsituPolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
         return getSecondaryObservations(context, searchTimeStart, searchTimeEnd);
     }
 
-    static List<SatelliteObservation> getCandidatesByTime(List<SatelliteObservation> satelliteObservations, Date insituTime, long timeDeltaInMillis) {
-        final List<SatelliteObservation> candidateList = new ArrayList<>();
-        for (final SatelliteObservation observation : satelliteObservations) {
-            final Date startTime = new Date(observation.getStartTime().getTime() - timeDeltaInMillis);
-            final Date stopTime = new Date(observation.getStopTime().getTime() + timeDeltaInMillis);
-            final TimeInterval observationInterval = new TimeInterval(startTime, stopTime);
-            if (observationInterval.contains(insituTime)) {
-                candidateList.add(observation);
-            }
-        }
-        return candidateList;
-    }
-
     static List<SatelliteObservation> getCandidatesByGeometry(List<SatelliteObservation> satelliteObservations, Geometry geometry) {
         final List<SatelliteObservation> candidateList = new ArrayList<>();
         for (final SatelliteObservation observation : satelliteObservations) {
@@ -339,13 +333,13 @@ class InsituPolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
         }
     }
 
-    private List<MatchupSet> getInsituSamplesPerSatellite(GeometryFactory geometryFactory, long timeDeltaInMillis, TimeInterval processingInterval,
-                                                          List<SatelliteObservation> secondaryObservations, Reader insituReader) throws IOException, InvalidRangeException {
+    private List<MatchupSet> getInsituSamplesPerSatellite(GeometryFactory geometryFactory, TimeInterval processingInterval,
+                                                          TemporalJoin temporalJoin, Reader insituReader) throws IOException, InvalidRangeException {
         final HashMap<String, MatchupSet> observationsPerProduct = new HashMap<>();
 
-        final List<Sample> insituSamples = getInsituSamples(processingInterval, insituReader);
+        final List<Sample> insituSamples = getInsituSamples(processingInterval, temporalJoin, insituReader);
         for (final Sample insituSample : insituSamples) {
-            final List<SatelliteObservation> candidatesByTime = getCandidatesByTime(secondaryObservations, new Date(insituSample.getTime()), timeDeltaInMillis);
+            final List<SatelliteObservation> candidatesByTime = temporalJoin.getCandidates(insituSample.getTime());
             if (candidatesByTime.size() == 0) {
                 continue;
             }
@@ -369,28 +363,78 @@ class InsituPolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
         return new ArrayList<>(observationsPerProduct.values());
     }
 
-    private List<Sample> getInsituSamples(TimeInterval processingInterval, Reader insituReader) throws IOException, InvalidRangeException {
+    private List<Sample> getInsituSamples(TimeInterval processingInterval, TemporalJoin temporalJoin, Reader insituReader) throws IOException, InvalidRangeException {
         final List<Sample> insituSamples = new ArrayList<>();
+
+        if (insituReader instanceof TimeIndexedReader) {
+            final TimeIndex timeIndex = ((TimeIndexedReader) insituReader).getTimeIndex();
+            final int[] recordIndices = getRecordIndices(timeIndex, processingInterval, temporalJoin.getTimeWindows());
+            for (final int recordIndex : recordIndices) {
+                addInsituSample(recordIndex, processingInterval, insituReader, insituSamples);
+            }
+            return insituSamples;
+        }
+
         final Dimension productSize = insituReader.getProductSize();
         final int height = productSize.getNy();
+        for (int i = 0; i < height; i++) {
+            addInsituSample(i, processingInterval, insituReader, insituSamples);
+        }
 
-        final String longitudeVariableName = insituReader.getLongitudeVariableName();
-        final String latitudeVariableName = insituReader.getLatitudeVariableName();
+        return insituSamples;
+    }
 
-        for (int i = 0; i < height; i++) {
-            final ArrayInt.D2 acquisitionTimeArray = insituReader.readAcquisitionTime(0, i, singlePixel);
-            final int acquisitionTime = acquisitionTimeArray.getInt(0);
-            final Date acquisitionDate = TimeUtils.create(acquisitionTime * 1000L);
-            if (processingInterval.contains(acquisitionDate)) {
-                final Array lon = insituReader.readRaw(0, i, singlePixel, longitudeVariableName);
-                final Array lat = insituReader.readRaw(0, i, singlePixel, latitudeVariableName);
-
-                final Sample sample = new Sample(0, i, lon.getDouble(0), lat.getDouble(0), acquisitionDate.getTime());
-                insituSamples.add(sample);
+    /**
+     * Retrieves the records which can have secondary candidates: acquired in the processing interval and in one of
+     * the time windows of the secondary observations. As for the samples, the record time truncated to full seconds
+     * is checked against the windows, the window borders are adjusted to the millisecond times of the index.
+     *
+     * @param timeIndex          the time index of the insitu file
+     * @param processingInterval the processing interval
+     * @param timeWindows        the secondary time windows, pairs of start and stop time, ascending and disjoint
+     * @return the record indices, ascending
+     */
+    static int[] getRecordIndices(TimeIndex timeIndex, TimeInterval processingInterval, long[] timeWindows) {
+        final long processingStart = processingInterval.getStartTime().getTime();
+        final long processingStop = processingInterval.getStopTime().getTime();
+
+        int[] recordIndices = new int[16];
+        int numRecords = 0;
+        for (int i = 0; i < timeWindows.length; i += 2) {
+            final long windowStart = Math.max(timeWindows[i], processingStart);
+            final long windowStop = Math.min(timeWindows[i + 1], processingStop);
+            if (windowStart > windowStop) {
+                continue;
+            }
+
+            // the first and last millisecond of the records with a truncated time within the window
+            final int start = timeIndex.getStartPosition(Math.floorDiv(windowStart + 999, 1000) * 1000);
+            final int end = timeIndex.getEndPosition(Math.floorDiv(windowStop, 1000) * 1000 + 999);
+            for (int position = start; position < end; position++) {
+                if (numRecords == recordIndices.length) {
+                    recordIndices = Arrays.copyOf(recordIndices, 2 * numRecords);
+                }
+                recordIndices[numRecords++] = timeIndex.getRecordIndex(position);
             }
         }
 
-        return insituSamples;
+        // samples are collected in file order, as when scanning all records
+        recordIndices = Arrays.copyOf(recordIndices, numRecords);
+        Arrays.sort(recordIndices);
+        return recordIndices;
+    }
+
+    private void addInsituSample(int y, TimeInterval processingInterval, Reader insituReader, List<Sample> insituSamples) throws IOException, InvalidRangeException {
+        final ArrayInt.D2 acquisitionTimeArray = insituReader.readAcquisitionTime(0, y, singlePixel);
+        final int acquisitionTime = acquisitionTimeArray.getInt(0);
+        final Date acquisitionDate = TimeUtils.create(acquisitionTime * 1000L);
+        if (processingInterval.contains(acquisitionDate)) {
+            final Array lon = insituReader.readRaw(0, y, singlePixel, insituReader.getLongitudeVariableName());
+            final Array lat = insituReader.readRaw(0, y, singlePixel, insituReader.getLatitudeVariableName());
+
+            final Sample sample = new Sample(0, y, lon.getDouble(0), lat.getDouble(0), acquisitionDate.getTime());
+            insituSamples.add(sample);
+        }
     }
 
     static class CombineBean {
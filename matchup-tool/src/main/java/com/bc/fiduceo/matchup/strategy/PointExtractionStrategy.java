@@ -75,7 +75,7 @@ class PointExtractionStrategy extends AbstractMatchupStrategy {
                 matchupSet.setPrimaryProcessingVersion(primaryObservation.getVersion());
 
                 try (final Reader primaryReader = readerFactory.getReader(primaryObservation.getSensor().getName())) {
-                    primaryReader.open(primaryObservation.getDataFilePath().toFile());
+                    openReader(primaryReader, primaryObservation.getDataFilePath().toFile());
 
                     final PixelLocator pixelLocator = primaryReader.getPixelLocator();
                     final Point2D[] pixelLocations = pixelLocator.getPixelLocation(lon, lat);
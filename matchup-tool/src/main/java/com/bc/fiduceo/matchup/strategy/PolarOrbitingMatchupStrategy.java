@@ -33,9 +33,10 @@ import com.bc.fiduceo.matchup.condition.ConditionEngine;
 import com.bc.fiduceo.matchup.condition.ConditionEngineContext;
 import com.bc.fiduceo.matchup.screening.ScreeningEngine;
 import com.bc.fiduceo.math.Intersection;
-import com.bc.fiduceo.math.IntersectionEngine;
+import com.bc.fiduceo.math.IntersectionIndex;
 import com.bc.fiduceo.math.TimeInfo;
 import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.ReaderCache;
 import com.bc.fiduceo.reader.ReaderFactory;
 import com.bc.fiduceo.tool.ToolContext;
 import com.bc.fiduceo.util.TimeUtils;
@@ -45,7 +46,9 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 class PolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
@@ -68,46 +71,76 @@ class PolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
 
         final ReaderFactory readerFactory = ReaderFactory.get();
 
+        final boolean scanlineSampling = useCaseConfig.isScanlineSampling();
         final long timeDeltaInMillis = conditionEngine.getMaxTimeDeltaInMillis();
         final int timeDeltaSeconds = (int) (timeDeltaInMillis / 1000);
 
-        final List<SatelliteObservation> primaryObservations = getPrimaryObservations(context);
-        for (final SatelliteObservation primaryObservation : primaryObservations) {
-            final Date searchTimeStart = TimeUtils.addSeconds(-timeDeltaSeconds, primaryObservation.getStartTime());
-            final Date searchTimeEnd = TimeUtils.addSeconds(timeDeltaSeconds, primaryObservation.getStopTime());
-
-            final Geometry primaryGeoBounds = primaryObservation.getGeoBounds();
-            final boolean isPrimarySegmented = AbstractMatchupStrategy.isSegmented(primaryGeoBounds);
-
-            final ObservationsSet secondaryObservationsSet = getSecondaryObservations(context, searchTimeStart, searchTimeEnd);
-            // todo se multisensor
-            // create(0) is still only one secondary sensor case
-            final String secondarySensorName_CaseOneSecondary = useCaseConfig.getSecondarySensors().get(0).getName();
-            // todo se multisensor
-            // still only one secondary sensor case
-            final List<SatelliteObservation> secondaryObservations = secondaryObservationsSet.get(secondarySensorName_CaseOneSecondary);
-            for (final SatelliteObservation secondaryObservation : secondaryObservations) {
-                logger.info("Calculating intersections ... ");
-                final Intersection[] intersectingIntervals = IntersectionEngine.getIntersectingIntervals(primaryObservation, secondaryObservation);
-                if (intersectingIntervals.length == 0) {
-                    logger.info("... no intersections found");
-                    continue;
-                }
-                logger.info("... done. Found " + intersectingIntervals.length + " intersections");
+        final IntersectionIndex intersectionIndex = new IntersectionIndex(timeDeltaInMillis);
+        final List<SatelliteObservation> primaryObservations;
+        final TemporalJoin temporalJoin;
+        if (useCaseConfig.isTemporalJoin()) {
+            primaryObservations = TemporalJoin.sortByStartTime(getPrimaryObservations(context));
+            temporalJoin = createTemporalJoin(context, primaryObservations, timeDeltaSeconds);
+        } else {
+            primaryObservations = getPrimaryObservations(context);
+            temporalJoin = null;
+        }
+        final int readerCacheSize = context.getSystemConfig().getReaderCacheSize();
+        final ReaderCache secondaryReaderCache = new ReaderCache(readerCacheSize, readerFactory, null);
+        try {
+            for (final SatelliteObservation primaryObservation : primaryObservations) {
+                final Geometry primaryGeoBounds = primaryObservation.getGeoBounds();
+                final boolean isPrimarySegmented = AbstractMatchupStrategy.isSegmented(primaryGeoBounds);
 
+                // todo se multisensor
+                // create(0) is still only one secondary sensor case
+                final String secondarySensorName_CaseOneSecondary = useCaseConfig.getSecondarySensors().get(0).getName();
                 // todo se multisensor
                 // still only one secondary sensor case
-                final Geometry secondaryGeoBounds = secondaryObservation.getGeoBounds();
-                final boolean isSecondarySegmented = AbstractMatchupStrategy.isSegmented(secondaryGeoBounds);
+                final List<SatelliteObservation> secondaryObservations;
+                if (temporalJoin != null) {
+                    secondaryObservations = temporalJoin.next(primaryObservation);
+                } else {
+                    final Date searchTimeStart = TimeUtils.addSeconds(-timeDeltaSeconds, primaryObservation.getStartTime());
+                    final Date searchTimeEnd = TimeUtils.addSeconds(timeDeltaSeconds, primaryObservation.getStopTime());
+                    final ObservationsSet secondaryObservationsSet = getSecondaryObservations(context, searchTimeStart, searchTimeEnd);
+                    secondaryObservations = secondaryObservationsSet.get(secondarySensorName_CaseOneSecondary);
+                }
+                final Map<SatelliteObservation, Intersection[]> intersectingSecondaries = new LinkedHashMap<>();
+                for (final SatelliteObservation secondaryObservation : secondaryObservations) {
+                    logger.info("Calculating intersections ... ");
+                    final Intersection[] intersectingIntervals = getIntersectingIntervals(intersectionIndex, primaryObservation, secondaryObservation);
+                    if (intersectingIntervals.length == 0) {
+                        logger.info("... no intersections found");
+                        continue;
+                    }
+                    logger.info("... done. Found " + intersectingIntervals.length + " intersections");
+                    intersectingSecondaries.put(secondaryObservation, intersectingIntervals);
+                }
+                if (intersectingSecondaries.isEmpty()) {
+                    continue;
+                }
 
+                // the primary reader and its locators are shared by all secondary observations overlapping the primary
                 try (final Reader primaryReader = readerFactory.getReader(primaryObservation.getSensor().getName())) {
-                    primaryReader.open(primaryObservation.getDataFilePath().toFile());
+                    openReader(primaryReader, primaryObservation.getDataFilePath().toFile());
+                    final ReaderLocators primaryLocators = new ReaderLocators(primaryReader, isPrimarySegmented);
+
+                    for (final Map.Entry<SatelliteObservation, Intersection[]> entry : intersectingSecondaries.entrySet()) {
+                        final SatelliteObservation secondaryObservation = entry.getKey();
+                        final Intersection[] intersectingIntervals = entry.getValue();
 
-                    // todo se multisensor
-                    // needed by method applyConditionsAndScreenings(...) which is ready to handle multiple secondary sensor
-                    final HashMap<String, Reader> secondaryReaderMap = new HashMap<>();
-                    try (Reader secondaryReader = readerFactory.getReader(secondarySensorName_CaseOneSecondary)) {
-                        secondaryReader.open(secondaryObservation.getDataFilePath().toFile());
+                        // todo se multisensor
+                        // still only one secondary sensor case
+                        final Geometry secondaryGeoBounds = secondaryObservation.getGeoBounds();
+                        final boolean isSecondarySegmented = AbstractMatchupStrategy.isSegmented(secondaryGeoBounds);
+
+                        // todo se multisensor
+                        // needed by method applyConditionsAndScreenings(...) which is ready to handle multiple secondary sensor
+                        final HashMap<String, Reader> secondaryReaderMap = new HashMap<>();
+                        // consecutive primaries overlap the same secondaries, the readers are kept open in the cache
+                        final Reader secondaryReader = secondaryReaderCache.getReaderFor(secondarySensorName_CaseOneSecondary, secondaryObservation.getDataFilePath(), null);
+                        final ReaderLocators secondaryLocators = new ReaderLocators(secondaryReader, isSecondarySegmented);
                         // todo se multisensor
                         // still only one secondary sensor case
                         secondaryReaderMap.put(secondarySensorName_CaseOneSecondary, secondaryReader);
@@ -129,8 +162,8 @@ class PolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
                             // still only one secondary sensor case
                             matchupSet.setSecondaryProcessingVersion(secondarySensorName_CaseOneSecondary, secondaryObservation.getVersion());
 
-                            final PixelLocator primaryPixelLocator = getPixelLocator(primaryReader, isPrimarySegmented, (Polygon) intersection.getPrimaryGeometry());
-                            final PixelLocator secondaryPixelLocator = getPixelLocator(secondaryReader, isSecondarySegmented, (Polygon) intersection.getSecondaryGeometry());
+                            final PixelLocator primaryPixelLocator = primaryLocators.getPixelLocator((Polygon) intersection.getPrimaryGeometry());
+                            final PixelLocator secondaryPixelLocator = secondaryLocators.getPixelLocator((Polygon) intersection.getSecondaryGeometry());
 
                             if (primaryPixelLocator == null || secondaryPixelLocator == null) {
                                 logger.warning("Unable to create valid pixel locators. Skipping intersection segment.");
@@ -139,14 +172,18 @@ class PolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
 
                             logger.info("Start collecting primary pixels ... ");
                             SampleCollector sampleCollector = new SampleCollector(context, primaryPixelLocator);
-                            sampleCollector.addPrimarySamples((Polygon) intersection.getGeometry(), matchupSet, primaryReader.getTimeLocator());
+                            if (scanlineSampling) {
+                                sampleCollector.addPrimarySamplesScanLine((Polygon) intersection.getGeometry(), matchupSet, primaryLocators.getTimeLocator());
+                            } else {
+                                sampleCollector.addPrimarySamples((Polygon) intersection.getGeometry(), matchupSet, primaryLocators.getTimeLocator());
+                            }
                             logger.info("... done. Found " + matchupSet.getNumObservations() + " observations");
 
                             logger.info("Start collecting associated pixels ... ");
                             sampleCollector = new SampleCollector(context, secondaryPixelLocator);
                             // todo se multisensor
                             // still only one secondary sensor case
-                            final List<SampleSet> completeSamples = sampleCollector.addSecondarySamples(matchupSet.getSampleSets(), secondaryReader.getTimeLocator(), secondarySensorName_CaseOneSecondary);
+                            final List<SampleSet> completeSamples = sampleCollector.addSecondarySamples(matchupSet.getSampleSets(), secondaryLocators.getTimeLocator(), secondarySensorName_CaseOneSecondary);
                             matchupSet.setSampleSets(completeSamples);
                             logger.info("... done. Found " + matchupSet.getNumObservations() + " associated observations");
 
@@ -163,8 +200,11 @@ class PolarOrbitingMatchupStrategy extends AbstractMatchupStrategy {
                     }
                 }
             }
+        } finally {
+            secondaryReaderCache.close();
         }
 
+        logger.info("Intersection index statistics: " + intersectionIndex);
         return matchupCollection;
     }
 
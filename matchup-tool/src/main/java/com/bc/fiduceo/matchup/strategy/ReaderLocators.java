@@ -0,0 +1,59 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.geometry.Polygon;
+import com.bc.fiduceo.location.PixelLocator;
+import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.time.TimeLocator;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the locators of an opened reader so that they are created once for all intersections with the observation.
+ * Segmented observations get one sub-scene pixel locator per segment; the segment geometries are compared by identity,
+ * the IntersectionIndex hands out the same geometry instances for all intersections of an observation.
+ */
+class ReaderLocators {
+
+    private final Reader reader;
+    private final boolean segmented;
+    private final Map<Polygon, PixelLocator> subScenePixelLocators;
+
+    private PixelLocator pixelLocator;
+    private TimeLocator timeLocator;
+
+    ReaderLocators(Reader reader, boolean segmented) {
+        this.reader = reader;
+        this.segmented = segmented;
+        subScenePixelLocators = new IdentityHashMap<>();
+    }
+
+    /**
+     * Retrieves the pixel locator for the geometry intersected.
+     *
+     * @param polygon the intersected segment geometry of the observation
+     * @return the pixel locator, null if the reader is unable to supply one
+     * @throws IOException on reading errors
+     */
+    PixelLocator getPixelLocator(Polygon polygon) throws IOException {
+        if (segmented) {
+            if (!subScenePixelLocators.containsKey(polygon)) {
+                subScenePixelLocators.put(polygon, AbstractMatchupStrategy.getPixelLocator(reader, true, polygon));
+            }
+            return subScenePixelLocators.get(polygon);
+        }
+
+        if (pixelLocator == null) {
+            pixelLocator = AbstractMatchupStrategy.getPixelLocator(reader, false, polygon);
+        }
+        return pixelLocator;
+    }
+
+    TimeLocator getTimeLocator() throws IOException {
+        if (timeLocator == null) {
+            timeLocator = reader.getTimeLocator();
+        }
+        return timeLocator;
+    }
+}
@@ -27,19 +27,31 @@ import com.bc.fiduceo.geometry.Polygon;
 import com.bc.fiduceo.location.PixelLocator;
 import com.bc.fiduceo.matchup.MatchupSet;
 import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.monitor.Instrumentation;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.tool.ToolContext;
 
 import java.awt.geom.Point2D;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 class SampleCollector {
 
+    private static final double BORDER_WIDTH = 1.0;
+    // polygon edges are subdivided until their midpoint is closer than this to the straight line in pixel space
+    private static final double MAX_EDGE_DEVIATION = 0.5;
+    private static final int MAX_EDGE_SUBDIVISIONS = 10;
+    private static final byte OUTSIDE = 0;
+    private static final byte INSIDE = 1;
+    private static final byte BORDER = 2;
+    private static final String STAGE_NAME = "sample-collection";
+
     private final PixelLocator pixelLocator;
     private final Range xRange;
     private final Range yRange;
     private final ToolContext context;
+    private int numContainmentTests;
 
     SampleCollector(ToolContext context, PixelLocator pixelLocator) {
         this.context = context;
@@ -57,10 +69,34 @@ class SampleCollector {
      * @return the result list with the sampleSets that contain two observations
      */
     List<SampleSet> addSecondarySamples(List<SampleSet> sampleSets, TimeLocator timeLocator, final String secSensorName) {
+        return collectSecondarySamples(sampleSets, timeLocator, secSensorName, true);
+    }
+
+    /**
+     * Pairs the primary samples with the associated secondary sample location and time. In contrast to
+     * addSecondarySamples(), the input sample sets are left untouched and can be re-used for further secondary
+     * observations. Only the new sample sets are created, the (immutable) samples are shared.
+     *
+     * @param sampleSets    the input data - not modified
+     * @param timeLocator   the time locator for the sample locations
+     * @param secSensorName name of the secondary sensor
+     * @return the result list with new sampleSets that contain the input observations plus the secondary
+     */
+    List<SampleSet> pairSecondarySamples(List<SampleSet> sampleSets, TimeLocator timeLocator, final String secSensorName) {
+        return collectSecondarySamples(sampleSets, timeLocator, secSensorName, false);
+    }
+
+    private List<SampleSet> collectSecondarySamples(List<SampleSet> sampleSets, TimeLocator timeLocator, final String secSensorName, boolean reuseInput) {
+        try (Instrumentation.Split ignored = Instrumentation.get().start(STAGE_NAME)) {
+            return locateSecondarySamples(sampleSets, timeLocator, secSensorName, reuseInput);
+        }
+    }
+
+    private List<SampleSet> locateSecondarySamples(List<SampleSet> sampleSets, TimeLocator timeLocator, final String secSensorName, boolean reuseInput) {
         Point2D geopos = new Point2D.Double();
         final List<SampleSet> toKeep = new ArrayList<>();
-        for (SampleSet sampleSet : sampleSets) {
-            final Sample primary = sampleSet.getPrimary();
+        for (final SampleSet inputSet : sampleSets) {
+            final Sample primary = inputSet.getPrimary();
             final Point2D[] pixelLocations = pixelLocator.getPixelLocation(primary.getLon(), primary.getLat());
             if (pixelLocations == null) {
                 continue;
@@ -79,9 +115,14 @@ class SampleCollector {
                 }
 
                 final Sample sample = new Sample(x, y, geopos.getX(), geopos.getY(), time);
-                if (i > 0) {
+                final SampleSet sampleSet;
+                if (reuseInput && i == 0) {
+                    sampleSet = inputSet;
+                } else if (reuseInput) {
                     sampleSet = new SampleSet();
                     sampleSet.setPrimary(primary);
+                } else {
+                    sampleSet = inputSet.copy();
                 }
                 sampleSet.setSecondary(secSensorName, sample);
                 toKeep.add(sampleSet);
@@ -92,6 +133,12 @@ class SampleCollector {
     }
 
     void addPrimarySamples(Polygon polygon, MatchupSet matchupSet, TimeLocator timeLocator) {
+        try (Instrumentation.Split ignored = Instrumentation.get().start(STAGE_NAME)) {
+            locatePrimarySamples(polygon, matchupSet, timeLocator);
+        }
+    }
+
+    private void locatePrimarySamples(Polygon polygon, MatchupSet matchupSet, TimeLocator timeLocator) {
         final Point[] coordinates = polygon.getCoordinates();
         for (Point coordinate : coordinates) {
             final Point2D[] pixelLocation = pixelLocator.getPixelLocation(coordinate.getLon(), coordinate.getLat());
@@ -117,6 +164,7 @@ class SampleCollector {
                 final double lon = geoLocation.getX();
                 final double lat = geoLocation.getY();
                 final Point geoPoint = factory.createPoint(lon, lat);
+                numContainmentTests++;
                 if (polygon.contains(geoPoint)) {
                     final long time = timeLocator.getTimeFor(x, y);
                     if (time >= 0) {
@@ -127,4 +175,225 @@ class SampleCollector {
             }
         }
     }
+
+    /**
+     * Collects the primary samples by rasterizing the polygon scan line by scan line. The polygon vertices are
+     * transformed to pixel space and for each line the x-intervals inside the polygon are calculated from the
+     * polygon edges. Pixels well inside an interval are emitted without containment test, only pixels closer than
+     * BORDER_WIDTH to the polygon outline are checked against the polygon.
+     * The polygon edges (great circle segments for S2, lon/lat lines for JTS) are curved in pixel space, each edge is
+     * subdivided until its midpoint deviates less than MAX_EDGE_DEVIATION from the straight line in pixel space, so
+     * the true edge stays within the border checked. Falls back to the brute force approach when the polygon vertices or
+     * edge midpoints cannot be located unambiguously.
+     *
+     * @param polygon     the intersection polygon
+     * @param matchupSet  the matchup set to receive the samples
+     * @param timeLocator the time locator for the sample locations
+     */
+    void addPrimarySamplesScanLine(Polygon polygon, MatchupSet matchupSet, TimeLocator timeLocator) {
+        try (Instrumentation.Split ignored = Instrumentation.get().start(STAGE_NAME)) {
+            scanPrimarySamples(polygon, matchupSet, timeLocator);
+        }
+    }
+
+    private void scanPrimarySamples(Polygon polygon, MatchupSet matchupSet, TimeLocator timeLocator) {
+        final double[][] vertices = getPixelVertices(polygon);
+        if (vertices == null) {
+            locatePrimarySamples(polygon, matchupSet, timeLocator);
+            return;
+        }
+
+        final double[] vertexX = vertices[0];
+        final double[] vertexY = vertices[1];
+        for (int i = 0; i < vertexX.length; i++) {
+            xRange.aggregate(vertexX[i]);
+            yRange.aggregate(vertexY[i]);
+        }
+
+        final Point2D.Double geoPos = new Point2D.Double();
+        final GeometryFactory factory = context.getGeometryFactory();
+
+        final int startY = (int) yRange.getMin();
+        final int endY = (int) yRange.getMax();
+        final int startX = (int) xRange.getMin();
+        final int endX = (int) xRange.getMax();
+        final byte[] pixelStates = new byte[endX - startX + 1];
+        final double[] crossings = new double[vertexX.length];
+        final double[] extent = new double[2];
+        for (int y = startY; y <= endY; y++) {
+            final double lineY = y + 0.5;
+            Arrays.fill(pixelStates, OUTSIDE);
+
+            final int numCrossings = getCrossings(vertexX, vertexY, lineY, crossings);
+            for (int k = 0; k + 1 < numCrossings; k += 2) {
+                markPixels(crossings[k], crossings[k + 1], startX, INSIDE, pixelStates);
+            }
+
+            // pixels closer than BORDER_WIDTH to the outline, in any direction, are checked against the polygon
+            for (int i = 0; i < vertexX.length; i++) {
+                final int next = (i + 1) % vertexX.length;
+                if (getSegmentExtent(vertexX[i], vertexY[i], vertexX[next], vertexY[next], lineY - BORDER_WIDTH, lineY + BORDER_WIDTH, extent)) {
+                    markPixels(extent[0] - BORDER_WIDTH, extent[1] + BORDER_WIDTH, startX, BORDER, pixelStates);
+                }
+            }
+
+            for (int x = startX; x <= endX; x++) {
+                final byte state = pixelStates[x - startX];
+                if (state == OUTSIDE) {
+                    continue;
+                }
+
+                final Point2D geoLocation = pixelLocator.getGeoLocation(x + .5, y + .5, geoPos);
+                if (geoLocation == null) {
+                    continue;
+                }
+                final double lon = geoLocation.getX();
+                final double lat = geoLocation.getY();
+
+                if (state == BORDER) {
+                    numContainmentTests++;
+                    if (!polygon.contains(factory.createPoint(lon, lat))) {
+                        continue;
+                    }
+                }
+
+                final long time = timeLocator.getTimeFor(x, y);
+                if (time >= 0) {
+                    final Sample sample = new Sample(x, y, lon, lat, time);
+                    matchupSet.addPrimary(sample);
+                }
+            }
+        }
+    }
+
+    // package access for testing only
+    int getNumContainmentTests() {
+        return numContainmentTests;
+    }
+
+    // package access for testing only
+    static int getCrossings(double[] vertexX, double[] vertexY, double lineY, double[] crossings) {
+        final int numVertices = vertexX.length;
+        int numCrossings = 0;
+        for (int i = 0; i < numVertices; i++) {
+            final int next = (i + 1) % numVertices;
+            final double y0 = vertexY[i];
+            final double y1 = vertexY[next];
+            if ((y0 <= lineY && y1 > lineY) || (y1 <= lineY && y0 > lineY)) {
+                final double x0 = vertexX[i];
+                final double x1 = vertexX[next];
+                crossings[numCrossings] = x0 + (lineY - y0) * (x1 - x0) / (y1 - y0);
+                numCrossings++;
+            }
+        }
+        Arrays.sort(crossings, 0, numCrossings);
+        return numCrossings;
+    }
+
+    // package access for testing only
+    static boolean getSegmentExtent(double x0, double y0, double x1, double y1, double lowerY, double upperY, double[] extent) {
+        if (Math.max(y0, y1) < lowerY || Math.min(y0, y1) > upperY) {
+            return false;
+        }
+        if (y0 == y1) {
+            extent[0] = Math.min(x0, x1);
+            extent[1] = Math.max(x0, x1);
+            return true;
+        }
+
+        final double tLower = (lowerY - y0) / (y1 - y0);
+        final double tUpper = (upperY - y0) / (y1 - y0);
+        final double xStart = x0 + Math.max(0.0, Math.min(tLower, tUpper)) * (x1 - x0);
+        final double xEnd = x0 + Math.min(1.0, Math.max(tLower, tUpper)) * (x1 - x0);
+        extent[0] = Math.min(xStart, xEnd);
+        extent[1] = Math.max(xStart, xEnd);
+        return true;
+    }
+
+    // sets the state of the pixels with centers from minX to maxX
+    private static void markPixels(double minX, double maxX, int startX, byte state, byte[] pixelStates) {
+        final int first = Math.max(0, (int) Math.ceil(minX - 0.5) - startX);
+        final int last = Math.min(pixelStates.length - 1, (int) Math.floor(maxX - 0.5) - startX);
+        for (int i = first; i <= last; i++) {
+            pixelStates[i] = state;
+        }
+    }
+
+    // package access for testing only
+    static double[] getEdgeMidpoint(double lon0, double lat0, double lon1, double lat1, boolean greatCircle) {
+        if (!greatCircle) {
+            return new double[]{(lon0 + lon1) * 0.5, (lat0 + lat1) * 0.5};
+        }
+
+        final double lam0 = Math.toRadians(lon0);
+        final double phi0 = Math.toRadians(lat0);
+        final double lam1 = Math.toRadians(lon1);
+        final double phi1 = Math.toRadians(lat1);
+        final double x = Math.cos(phi0) * Math.cos(lam0) + Math.cos(phi1) * Math.cos(lam1);
+        final double y = Math.cos(phi0) * Math.sin(lam0) + Math.cos(phi1) * Math.sin(lam1);
+        final double z = Math.sin(phi0) + Math.sin(phi1);
+        return new double[]{Math.toDegrees(Math.atan2(y, x)), Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)))};
+    }
+
+    private double[][] getPixelVertices(Polygon polygon) {
+        final Point[] coordinates = polygon.getCoordinates();
+        int numVertices = coordinates.length;
+        if (numVertices > 1 && coordinates[0].equals(coordinates[numVertices - 1])) {
+            numVertices--;
+        }
+        if (numVertices < 3) {
+            return null;
+        }
+
+        final boolean greatCircleEdges = context.getGeometryFactory().getType() == GeometryFactory.Type.S2;
+        final List<double[]> vertices = new ArrayList<>();
+        final double[] first = locateVertex(coordinates[0].getLon(), coordinates[0].getLat());
+        if (first == null) {
+            return null;
+        }
+        double[] start = first;
+        for (int i = 1; i <= numVertices; i++) {
+            final double[] end = i < numVertices ? locateVertex(coordinates[i].getLon(), coordinates[i].getLat()) : first;
+            if (end == null || !addEdge(start, end, greatCircleEdges, 0, vertices)) {
+                return null;
+            }
+            start = end;
+        }
+
+        final double[] vertexX = new double[vertices.size()];
+        final double[] vertexY = new double[vertices.size()];
+        for (int i = 0; i < vertexX.length; i++) {
+            vertexX[i] = vertices.get(i)[2];
+            vertexY[i] = vertices.get(i)[3];
+        }
+        return new double[][]{vertexX, vertexY};
+    }
+
+    // adds the start vertex of the edge and the subdivision vertices, returns false if a midpoint cannot be located
+    private boolean addEdge(double[] start, double[] end, boolean greatCircle, int depth, List<double[]> vertices) {
+        final double[] midpoint = getEdgeMidpoint(start[0], start[1], end[0], end[1], greatCircle);
+        final double[] middle = locateVertex(midpoint[0], midpoint[1]);
+        if (middle == null) {
+            return false;
+        }
+
+        final double deviation = Math.hypot(middle[2] - (start[2] + end[2]) * 0.5, middle[3] - (start[3] + end[3]) * 0.5);
+        if (deviation < MAX_EDGE_DEVIATION) {
+            vertices.add(start);
+            return true;
+        }
+        if (depth == MAX_EDGE_SUBDIVISIONS) {
+            return false;
+        }
+        return addEdge(start, middle, greatCircle, depth + 1, vertices) && addEdge(middle, end, greatCircle, depth + 1, vertices);
+    }
+
+    // returns lon, lat, x, y - or null when the location is not unique
+    private double[] locateVertex(double lon, double lat) {
+        final Point2D[] pixelLocation = pixelLocator.getPixelLocation(lon, lat);
+        if (pixelLocation == null || pixelLocation.length != 1) {
+            return null;
+        }
+        return new double[]{lon, lat, pixelLocation[0].getX(), pixelLocation[0].getY()};
+    }
 }
@@ -0,0 +1,229 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.core.SamplingPoint;
+import com.bc.fiduceo.geometry.Geometry;
+import com.google.common.geometry.S2CellId;
+import com.google.common.geometry.S2LatLng;
+import com.google.common.geometry.S2Region;
+import com.google.common.geometry.S2RegionCoverer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Buckets the seed points by time slot and S2 cell, so that each primary observation only needs to test the
+ * points of the buckets intersecting its time range and cell covering.
+ * The candidates are always returned in the order of the original seed point list, so the sampling
+ * result is identical to testing the complete list.
+ */
+class SeedPointIndex {
+
+    // level 4 cells are approx. 500 km wide, 1536 cells on the globe
+    static final int CELL_LEVEL = 4;
+    static final long TIME_SLOT_MILLIS = 60L * 60L * 1000L;
+
+    private static final int NUM_CELL_KEYS = 6 << (2 * CELL_LEVEL);
+    private static final int CELL_KEY_SHIFT = 2 * (S2CellId.MAX_LEVEL - CELL_LEVEL) + 1;
+
+    private final List<SamplingPoint> seedPoints;
+    private final long startTime;
+    private final long numSlots;
+    private final long[] bucketKeys;
+    private final int[] bucketStarts;
+    private final int[] pointIndices;
+    private final S2RegionCoverer coverer;
+
+    SeedPointIndex(List<SamplingPoint> seedPoints) {
+        this.seedPoints = seedPoints;
+
+        final int numPoints = seedPoints.size();
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (final SamplingPoint seedPoint : seedPoints) {
+            minTime = Math.min(minTime, seedPoint.getTime());
+            maxTime = Math.max(maxTime, seedPoint.getTime());
+        }
+        startTime = numPoints > 0 ? minTime : 0L;
+        numSlots = numPoints > 0 ? (maxTime - minTime) / TIME_SLOT_MILLIS + 1 : 0L;
+
+        // sort by bucket key, then by index - keeps the original order within each bucket
+        final long[] keyedIndices = new long[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            final SamplingPoint seedPoint = seedPoints.get(i);
+            final long slot = getSlot(seedPoint.getTime());
+            final int cellKey = getCellKey(seedPoint.getLon(), seedPoint.getLat());
+            final long bucketKey = slot * NUM_CELL_KEYS + cellKey;
+            keyedIndices[i] = (bucketKey << 32) | i;
+        }
+        Arrays.sort(keyedIndices);
+
+        pointIndices = new int[numPoints];
+        final long[] keys = new long[numPoints];
+        final int[] starts = new int[numPoints + 1];
+        int numBuckets = 0;
+        long lastKey = -1;
+        for (int i = 0; i < numPoints; i++) {
+            final long bucketKey = keyedIndices[i] >>> 32;
+            pointIndices[i] = (int) (keyedIndices[i] & 0xFFFFFFFFL);
+            if (bucketKey != lastKey) {
+                keys[numBuckets] = bucketKey;
+                starts[numBuckets] = i;
+                numBuckets++;
+                lastKey = bucketKey;
+            }
+        }
+        starts[numBuckets] = numPoints;
+        bucketKeys = Arrays.copyOf(keys, numBuckets);
+        bucketStarts = Arrays.copyOf(starts, numBuckets + 1);
+
+        coverer = new S2RegionCoverer();
+        coverer.setMinLevel(CELL_LEVEL);
+        coverer.setMaxLevel(CELL_LEVEL);
+        coverer.setMaxCells(NUM_CELL_KEYS);
+    }
+
+    /**
+     * Retrieves the seed points that may be located inside the time range and the geometries. The candidates
+     * still need to be tested exactly.
+     *
+     * @param searchStartTime the start of the time range (inclusive)
+     * @param searchStopTime  the stop of the time range (inclusive)
+     * @param geometries      the geometries to be covered
+     * @return the candidate points, in the order of the original seed point list
+     */
+    List<SamplingPoint> getCandidates(long searchStartTime, long searchStopTime, Geometry[] geometries) {
+        final List<SamplingPoint> candidates = new ArrayList<>();
+        if (numSlots == 0 || searchStopTime < startTime || searchStartTime > searchStopTime) {
+            return candidates;
+        }
+
+        final long firstSlot = Math.max(0, getSlot(searchStartTime));
+        final long lastSlot = Math.min(numSlots - 1, getSlot(searchStopTime));
+        if (firstSlot > lastSlot) {
+            return candidates;
+        }
+
+        final int[] cellKeys = getCoveringCellKeys(geometries);
+
+        final IndexBuffer buffer = new IndexBuffer();
+        for (long slot = firstSlot; slot <= lastSlot; slot++) {
+            final long slotOffset = slot * NUM_CELL_KEYS;
+            if (cellKeys == null) {
+                collect(slotOffset, slotOffset + NUM_CELL_KEYS - 1, buffer);
+                continue;
+            }
+            for (final int cellKey : cellKeys) {
+                collect(slotOffset + cellKey, slotOffset + cellKey, buffer);
+            }
+        }
+
+        final int[] indices = buffer.indices;
+        final int numIndices = buffer.size;
+        Arrays.sort(indices, 0, numIndices);
+        for (int i = 0; i < numIndices; i++) {
+            candidates.add(seedPoints.get(indices[i]));
+        }
+        return candidates;
+    }
+
+    // package access for testing only
+    static int getCellKey(double lon, double lat) {
+        final S2CellId cellId = S2CellId.fromLatLng(S2LatLng.fromDegrees(lat, lon)).parent(CELL_LEVEL);
+        return (int) (cellId.id() >>> CELL_KEY_SHIFT);
+    }
+
+    private long getSlot(long time) {
+        return Math.floorDiv(time - startTime, TIME_SLOT_MILLIS);
+    }
+
+    // returns null if the geometries cannot be covered, i.e. no spatial filtering is possible
+    private int[] getCoveringCellKeys(Geometry[] geometries) {
+        final boolean[] covered = new boolean[NUM_CELL_KEYS];
+        final ArrayList<S2CellId> covering = new ArrayList<>();
+        for (final Geometry geometry : geometries) {
+            final List<S2Region> regions = getRegions(geometry);
+            if (regions == null) {
+                return null;
+            }
+            for (final S2Region region : regions) {
+                covering.clear();
+                coverer.getCovering(region, covering);
+                for (final S2CellId cellId : covering) {
+                    covered[(int) (cellId.parent(CELL_LEVEL).id() >>> CELL_KEY_SHIFT)] = true;
+                }
+            }
+        }
+
+        int numCovered = 0;
+        for (final boolean isCovered : covered) {
+            if (isCovered) {
+                numCovered++;
+            }
+        }
+        final int[] cellKeys = new int[numCovered];
+        int index = 0;
+        for (int i = 0; i < NUM_CELL_KEYS; i++) {
+            if (covered[i]) {
+                cellKeys[index++] = i;
+            }
+        }
+        return cellKeys;
+    }
+
+    private static List<S2Region> getRegions(Geometry geometry) {
+        final Object inner = geometry.getInner();
+        final List<S2Region> regions = new ArrayList<>();
+        if (inner instanceof S2Region) {
+            regions.add((S2Region) inner);
+            return regions;
+        }
+        if (inner instanceof List) {
+            for (final Object element : (List<?>) inner) {
+                if (!(element instanceof S2Region)) {
+                    return null;
+                }
+                regions.add((S2Region) element);
+            }
+            return regions;
+        }
+        return null;
+    }
+
+    private void collect(long minKey, long maxKey, IndexBuffer buffer) {
+        int bucket = lowerBound(minKey);
+        while (bucket < bucketKeys.length && bucketKeys[bucket] <= maxKey) {
+            buffer.add(pointIndices, bucketStarts[bucket], bucketStarts[bucket + 1]);
+            bucket++;
+        }
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = bucketKeys.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (bucketKeys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static class IndexBuffer {
+
+        private int[] indices = new int[256];
+        private int size;
+
+        void add(int[] source, int start, int end) {
+            final int length = end - start;
+            if (size + length > indices.length) {
+                indices = Arrays.copyOf(indices, Math.max(2 * indices.length, size + length));
+            }
+            System.arraycopy(source, start, indices, size, length);
+            size += length;
+        }
+    }
+}
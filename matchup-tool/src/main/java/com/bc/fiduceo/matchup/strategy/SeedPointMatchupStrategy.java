@@ -27,9 +27,10 @@ import com.bc.fiduceo.matchup.condition.ConditionEngine;
 import com.bc.fiduceo.matchup.condition.ConditionEngineContext;
 import com.bc.fiduceo.matchup.screening.ScreeningEngine;
 import com.bc.fiduceo.math.Intersection;
-import com.bc.fiduceo.math.IntersectionEngine;
+import com.bc.fiduceo.math.IntersectionIndex;
 import com.bc.fiduceo.math.TimeInfo;
 import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.ReaderCache;
 import com.bc.fiduceo.reader.ReaderFactory;
 import com.bc.fiduceo.reader.time.TimeLocator;
 import com.bc.fiduceo.tool.ToolContext;
@@ -84,116 +85,136 @@ public class SeedPointMatchupStrategy extends AbstractMatchupStrategy {
         final int timeDeltaSeconds = (int) (timeDeltaInMillis / 1000);
 
         final List<SamplingPoint> seedPoints = createRandomPoints(context, useCaseConfig);
-
-        final List<SatelliteObservation> primaryObservations = getPrimaryObservations(context);
-        for (final SatelliteObservation primaryObservation : primaryObservations) {
-            final Date primaryStartTime = primaryObservation.getStartTime();
-            final Date primaryStopTime = primaryObservation.getStopTime();
-
-            final Geometry[] primaryGeometries = extractGeometries(primaryObservation);
-
-            final List<SamplingPoint> primarySeedPoints = getPrimarySeedPoints(geometryFactory, seedPoints, primaryStartTime, primaryStopTime, primaryGeometries);
-            if (primarySeedPoints.size() == 0) {
-                continue;
-            }
-
-            try (final Reader primaryReader = readerFactory.getReader(primaryObservation.getSensor().getName())) {
-                final Path primaryObservationDataFilePath = primaryObservation.getDataFilePath();
-                primaryReader.open(primaryObservationDataFilePath.toFile());
-
-                MatchupSet primaryMatchups = getPrimaryMatchupSet(primaryReader, primarySeedPoints, primaryObservationDataFilePath);
-                if (primaryMatchups == null) {
+        final SeedPointIndex seedPointIndex = new SeedPointIndex(seedPoints);
+        final IntersectionIndex intersectionIndex = new IntersectionIndex(timeDeltaInMillis);
+
+        final List<SatelliteObservation> primaryObservations;
+        final TemporalJoin temporalJoin;
+        if (useCaseConfig.isTemporalJoin()) {
+            primaryObservations = TemporalJoin.sortByStartTime(getPrimaryObservations(context));
+            temporalJoin = createTemporalJoin(context, primaryObservations, timeDeltaSeconds);
+        } else {
+            primaryObservations = getPrimaryObservations(context);
+            temporalJoin = null;
+        }
+        final int readerCacheSize = context.getSystemConfig().getReaderCacheSize();
+        final ReaderCache secondaryReaderCache = new ReaderCache(readerCacheSize, readerFactory, null);
+        try {
+            for (final SatelliteObservation primaryObservation : primaryObservations) {
+                final Date primaryStartTime = primaryObservation.getStartTime();
+                final Date primaryStopTime = primaryObservation.getStopTime();
+
+                final Geometry[] primaryGeometries = extractGeometries(primaryObservation);
+
+                final List<SamplingPoint> candidatePoints = seedPointIndex.getCandidates(primaryStartTime.getTime(), primaryStopTime.getTime(), primaryGeometries);
+                final List<SamplingPoint> primarySeedPoints = getPrimarySeedPoints(geometryFactory, candidatePoints, primaryStartTime, primaryStopTime, primaryGeometries);
+                if (primarySeedPoints.size() == 0) {
                     continue;
                 }
 
-                final Date searchTimeStart = TimeUtils.addSeconds(-timeDeltaSeconds, primaryStartTime);
-                final Date searchTimeEnd = TimeUtils.addSeconds(timeDeltaSeconds, primaryStopTime);
-                final ObservationsSet mapSecondaryObservations = getSecondaryObservations(context, searchTimeStart, searchTimeEnd);
-
-                // todo se multisensor
-                // needed by method applyConditionsAndScreenings(...) which is ready to handle multiple secondary sensor
-                final HashMap<String, Reader> secondaryReaderMap = new HashMap<>();
-
-                // todo se multisensor
-                // create(0) is still only one secondary sensor case
-                final String secondarySensorName_CaseOneSecondary = useCaseConfig.getSecondarySensors().get(0).getName();
-
-                // todo se multisensor
-                // still only one secondary sensor case
-                final List<SatelliteObservation> secondaryObservations = mapSecondaryObservations.get(secondarySensorName_CaseOneSecondary);
-                boolean mustClone = false;
-                for (final SatelliteObservation secondaryObservation : secondaryObservations) {
-                    final Intersection[] intersectingIntervals = IntersectionEngine.getIntersectingIntervals(primaryObservation, secondaryObservation);
-                    if (intersectingIntervals.length == 0) {
+                try (final Reader primaryReader = readerFactory.getReader(primaryObservation.getSensor().getName())) {
+                    final Path primaryObservationDataFilePath = primaryObservation.getDataFilePath();
+                    openReader(primaryReader, primaryObservationDataFilePath.toFile());
+
+                    final MatchupSet primaryMatchups = getPrimaryMatchupSet(primaryReader, primarySeedPoints, primaryObservationDataFilePath);
+                    if (primaryMatchups == null) {
                         continue;
                     }
 
-                    try (Reader secondaryReader = readerFactory.getReader(secondarySensorName_CaseOneSecondary)) {
-                        if (mustClone) {
-                            primaryMatchups = primaryMatchups.clone();
+                    // todo se multisensor
+                    // needed by method applyConditionsAndScreenings(...) which is ready to handle multiple secondary sensor
+                    final HashMap<String, Reader> secondaryReaderMap = new HashMap<>();
+
+                    // todo se multisensor
+                    // create(0) is still only one secondary sensor case
+                    final String secondarySensorName_CaseOneSecondary = useCaseConfig.getSecondarySensors().get(0).getName();
+
+                    // todo se multisensor
+                    // still only one secondary sensor case
+                    final List<SatelliteObservation> secondaryObservations;
+                    if (temporalJoin != null) {
+                        secondaryObservations = temporalJoin.next(primaryObservation);
+                    } else {
+                        final Date searchTimeStart = TimeUtils.addSeconds(-timeDeltaSeconds, primaryStartTime);
+                        final Date searchTimeEnd = TimeUtils.addSeconds(timeDeltaSeconds, primaryStopTime);
+                        final ObservationsSet mapSecondaryObservations = getSecondaryObservations(context, searchTimeStart, searchTimeEnd);
+                        secondaryObservations = mapSecondaryObservations.get(secondarySensorName_CaseOneSecondary);
+                    }
+                    for (final SatelliteObservation secondaryObservation : secondaryObservations) {
+                        final Intersection[] intersectingIntervals = getIntersectingIntervals(intersectionIndex, primaryObservation, secondaryObservation);
+                        if (intersectingIntervals.length == 0) {
+                            continue;
                         }
-                        secondaryReader.open(secondaryObservation.getDataFilePath().toFile());
-                        // todo se multisensor
-                        // still only one secondary sensor case
-                        secondaryReaderMap.put(secondarySensorName_CaseOneSecondary, secondaryReader);
-
-                        final MatchupSet matchupSet = new MatchupSet();
-                        matchupSet.setPrimaryObservationPath(primaryObservationDataFilePath);
-                        matchupSet.setPrimaryProcessingVersion(primaryObservation.getVersion());
-                        // todo se multisensor
-                        // still only one secondary sensor case
-                        matchupSet.setSecondaryObservationPath(secondarySensorName_CaseOneSecondary, secondaryObservation.getDataFilePath());
-                        // todo se multisensor
-                        // still only one secondary sensor case
-                        matchupSet.setSecondaryProcessingVersion(secondarySensorName_CaseOneSecondary, secondaryObservation.getVersion());
-
-                        // @todo 2 tb/tb extract method
-                        final Geometry secondaryGeoBounds = secondaryObservation.getGeoBounds();
-                        final boolean isSecondarySegmented = AbstractMatchupStrategy.isSegmented(secondaryGeoBounds);
-
-                        for (final Intersection intersection : intersectingIntervals) {
-                            final TimeInfo timeInfo = intersection.getTimeInfo();
-                            if (timeInfo.getMinimalTimeDelta() < timeDeltaInMillis) {
-                                final PixelLocator secondaryPixelLocator = getPixelLocator(secondaryReader, isSecondarySegmented, (Polygon) intersection.getSecondaryGeometry());
-
-                                if (secondaryPixelLocator == null) {
-                                    logger.warning("Unable to create valid pixel locators. Skipping intersection segment.");
-                                    continue;
-                                }
 
-                                SampleCollector sampleCollector = new SampleCollector(context, secondaryPixelLocator);
-                                // todo se multisensor
-                                // still only one secondary sensor case
-                                final List<SampleSet> completeSamples = sampleCollector.addSecondarySamples(primaryMatchups.getSampleSets(), secondaryReader.getTimeLocator(), secondarySensorName_CaseOneSecondary);
-                                matchupSet.setSampleSets(completeSamples);
-
-                                if (matchupSet.getNumObservations() > 0) {
-                                    logger.info("found matches: " + matchupSet.getNumObservations());
-                                    logger.info("primary  : " + primaryObservationDataFilePath);
-                                    logger.info("secondary: " + secondaryObservation.getDataFilePath());
+                        try {
+                            // consecutive primaries overlap the same secondaries, the readers are kept open in the cache
+                            final Reader secondaryReader = secondaryReaderCache.getReaderFor(secondarySensorName_CaseOneSecondary, secondaryObservation.getDataFilePath(), null);
+                            // todo se multisensor
+                            // still only one secondary sensor case
+                            secondaryReaderMap.put(secondarySensorName_CaseOneSecondary, secondaryReader);
+
+                            final MatchupSet matchupSet = new MatchupSet();
+                            matchupSet.setPrimaryObservationPath(primaryObservationDataFilePath);
+                            matchupSet.setPrimaryProcessingVersion(primaryObservation.getVersion());
+                            // todo se multisensor
+                            // still only one secondary sensor case
+                            matchupSet.setSecondaryObservationPath(secondarySensorName_CaseOneSecondary, secondaryObservation.getDataFilePath());
+                            // todo se multisensor
+                            // still only one secondary sensor case
+                            matchupSet.setSecondaryProcessingVersion(secondarySensorName_CaseOneSecondary, secondaryObservation.getVersion());
+
+                            // @todo 2 tb/tb extract method
+                            final Geometry secondaryGeoBounds = secondaryObservation.getGeoBounds();
+                            final boolean isSecondarySegmented = AbstractMatchupStrategy.isSegmented(secondaryGeoBounds);
+                            final ReaderLocators secondaryLocators = new ReaderLocators(secondaryReader, isSecondarySegmented);
+
+                            for (final Intersection intersection : intersectingIntervals) {
+                                final TimeInfo timeInfo = intersection.getTimeInfo();
+                                if (timeInfo.getMinimalTimeDelta() < timeDeltaInMillis) {
+                                    final PixelLocator secondaryPixelLocator = secondaryLocators.getPixelLocator((Polygon) intersection.getSecondaryGeometry());
+
+                                    if (secondaryPixelLocator == null) {
+                                        logger.warning("Unable to create valid pixel locators. Skipping intersection segment.");
+                                        continue;
+                                    }
 
+                                    SampleCollector sampleCollector = new SampleCollector(context, secondaryPixelLocator);
                                     // todo se multisensor
                                     // still only one secondary sensor case
-                                    // uses the secondaryReaderMap instantiated above
-                                    applyConditionsAndScreenings(matchupSet, conditionEngine, conditionEngineContext, screeningEngine, primaryReader, secondaryReaderMap);
+                                    // the primary sample sets are shared by all secondary observations, only the pairings are created
+                                    final List<SampleSet> completeSamples = sampleCollector.pairSecondarySamples(primaryMatchups.getSampleSets(), secondaryLocators.getTimeLocator(), secondarySensorName_CaseOneSecondary);
+                                    matchupSet.setSampleSets(completeSamples);
+
                                     if (matchupSet.getNumObservations() > 0) {
-                                        matchupCollection.add(matchupSet);
+                                        logger.info("found matches: " + matchupSet.getNumObservations());
+                                        logger.info("primary  : " + primaryObservationDataFilePath);
+                                        logger.info("secondary: " + secondaryObservation.getDataFilePath());
+
+                                        // todo se multisensor
+                                        // still only one secondary sensor case
+                                        // uses the secondaryReaderMap instantiated above
+                                        applyConditionsAndScreenings(matchupSet, conditionEngine, conditionEngineContext, screeningEngine, primaryReader, secondaryReaderMap);
+                                        if (matchupSet.getNumObservations() > 0) {
+                                            matchupCollection.add(matchupSet);
+                                        }
                                     }
                                 }
                             }
+                        } catch (IOException e) {
+                            logger.warning("Secondary sensorfile read error: " + secondaryObservation.getDataFilePath());
+                            logger.warning(e.getMessage());
                         }
-                        mustClone = true;
-                    } catch (IOException e) {
-                        logger.warning("Secondary sensorfile read error: " + secondaryObservation.getDataFilePath());
-                        logger.warning(e.getMessage());
                     }
+                } catch (IOException e) {
+                    logger.warning("Primary sensorfile read error: " + primaryObservation.getDataFilePath());
+                    logger.warning(e.getMessage());
                 }
-            } catch (IOException e) {
-                logger.warning("Primary sensorfile read error: " + primaryObservation.getDataFilePath());
-                logger.warning(e.getMessage());
             }
+        } finally {
+            secondaryReaderCache.close();
         }
 
+        logger.info("Intersection index statistics: " + intersectionIndex);
         return matchupCollection;
     }
 
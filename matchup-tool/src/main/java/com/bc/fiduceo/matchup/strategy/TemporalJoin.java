@@ -0,0 +1,158 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.core.SatelliteObservation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pairs observations by time. The secondary observations are requested once for the complete processing interval and
+ * sorted by start time. Primary observations are passed in ascending start time order to {@link #next}, the join
+ * sweeps over the time axis keeping the secondaries active which may still overlap the time window of the following
+ * primaries. Point queries, e.g. for insitu samples, are answered by binary search.
+ * <p>
+ * A secondary observation is a candidate if its acquisition interval, extended by the maximal time delta, overlaps
+ * the acquisition interval of the primary. This is the same criterion as applied by the database queries.
+ */
+class TemporalJoin {
+
+    private final SatelliteObservation[] secondaries;
+    private final long[] startTimes;
+    private final long[] stopTimes;
+    private final long timeDeltaMillis;
+    private final long maxDuration;
+    private final List<Integer> active;
+
+    private int nextSecondary;
+    private long lastPrimaryStart;
+
+    TemporalJoin(List<SatelliteObservation> secondaryObservations, long timeDeltaMillis) {
+        final List<SatelliteObservation> sorted = sortByStartTime(secondaryObservations);
+        final int numObservations = sorted.size();
+        secondaries = sorted.toArray(new SatelliteObservation[0]);
+        startTimes = new long[numObservations];
+        stopTimes = new long[numObservations];
+
+        long maxDuration = 0;
+        for (int i = 0; i < numObservations; i++) {
+            startTimes[i] = secondaries[i].getStartTime().getTime();
+            stopTimes[i] = secondaries[i].getStopTime().getTime();
+            maxDuration = Math.max(maxDuration, stopTimes[i] - startTimes[i]);
+        }
+
+        this.timeDeltaMillis = timeDeltaMillis;
+        this.maxDuration = maxDuration;
+        active = new ArrayList<>();
+        nextSecondary = 0;
+        lastPrimaryStart = Long.MIN_VALUE;
+    }
+
+    /**
+     * Sorts the observations by start time, the order of observations starting at the same time is retained.
+     *
+     * @param observations the observations
+     * @return a new list with the sorted observations
+     */
+    static List<SatelliteObservation> sortByStartTime(List<SatelliteObservation> observations) {
+        final List<SatelliteObservation> sorted = new ArrayList<>(observations);
+        sorted.sort(Comparator.comparingLong(observation -> observation.getStartTime().getTime()));
+        return sorted;
+    }
+
+    /**
+     * Retrieves the secondary observations matching the primary in time, advancing the sweep. The primaries must be
+     * passed in ascending start time order.
+     *
+     * @param primary the primary observation
+     * @return the candidate secondary observations, sorted by start time
+     */
+    List<SatelliteObservation> next(SatelliteObservation primary) {
+        final long primaryStart = primary.getStartTime().getTime();
+        final long primaryStop = primary.getStopTime().getTime();
+        if (primaryStart < lastPrimaryStart) {
+            throw new IllegalArgumentException("Primary observations must be passed in ascending start time order");
+        }
+        lastPrimaryStart = primaryStart;
+
+        final long windowStart = primaryStart - timeDeltaMillis;
+        final long windowStop = primaryStop + timeDeltaMillis;
+        while (nextSecondary < secondaries.length && startTimes[nextSecondary] <= windowStop) {
+            active.add(nextSecondary);
+            nextSecondary++;
+        }
+
+        // secondaries ending before the window can not match any of the following primaries
+        active.removeIf(index -> stopTimes[index] < windowStart);
+
+        final List<SatelliteObservation> candidates = new ArrayList<>();
+        for (final int index : active) {
+            if (startTimes[index] <= windowStop) {
+                candidates.add(secondaries[index]);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Retrieves the secondary observations matching the point in time, does not affect the sweep.
+     *
+     * @param timeMillis the time in milliseconds since the epoch
+     * @return the candidate secondary observations, sorted by start time
+     */
+    List<SatelliteObservation> getCandidates(long timeMillis) {
+        final long windowStart = timeMillis - timeDeltaMillis;
+        final long windowStop = timeMillis + timeDeltaMillis;
+
+        final List<SatelliteObservation> candidates = new ArrayList<>();
+        for (int i = lowerBound(windowStart - maxDuration); i < secondaries.length && startTimes[i] <= windowStop; i++) {
+            if (stopTimes[i] >= windowStart) {
+                candidates.add(secondaries[i]);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Retrieves the time windows in which point queries have candidates: the acquisition intervals of the secondaries
+     * extended by the maximal time delta, overlapping windows merged.
+     *
+     * @return the windows as pairs of start and stop time in milliseconds since the epoch, ascending and disjoint
+     */
+    long[] getTimeWindows() {
+        final long[] windows = new long[2 * secondaries.length];
+        int numWindows = 0;
+        for (int i = 0; i < secondaries.length; i++) {
+            final long windowStart = startTimes[i] - timeDeltaMillis;
+            final long windowStop = stopTimes[i] + timeDeltaMillis;
+            if (numWindows > 0 && windowStart <= windows[2 * numWindows - 1]) {
+                windows[2 * numWindows - 1] = Math.max(windows[2 * numWindows - 1], windowStop);
+            } else {
+                windows[2 * numWindows] = windowStart;
+                windows[2 * numWindows + 1] = windowStop;
+                numWindows++;
+            }
+        }
+        return Arrays.copyOf(windows, 2 * numWindows);
+    }
+
+    int size() {
+        return secondaries.length;
+    }
+
+    // index of the first observation starting at or after the time
+    private int lowerBound(long timeMillis) {
+        int low = 0;
+        int high = startTimes.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (startTimes[mid] < timeMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
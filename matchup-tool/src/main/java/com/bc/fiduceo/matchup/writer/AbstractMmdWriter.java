@@ -107,22 +107,28 @@ abstract class AbstractMmdWriter implements MmdWriter, Target {
 
             final Sensor primarySensor = useCaseConfig.getPrimarySensor();
             final String primarySensorName = primarySensor.getName();
-            final List<IOVariable> primaryVariables = ioVariablesList.getVariablesFor(primarySensorName);
+            final int cacheSize = writerConfig.getCacheSize();
+            final List<IOVariable> primaryIOVariables = ioVariablesList.getVariablesFor(primarySensorName);
+            final List<IOVariable> primaryVariables = getSampleVariables(primaryIOVariables);
             final Dimension primaryDimension = useCaseConfig.getDimensionFor(primarySensorName);
             final Interval primaryInterval = new Interval(primaryDimension.getNx(), primaryDimension.getNy());
+            final SampleRun primaryRun = new SampleRun(getBulkVariables(primaryIOVariables), primaryInterval, cacheSize);
 
             final List<Sensor> secondarySensors = useCaseConfig.getSecondarySensors();
             final int secSize = secondarySensors.size();
             final String[] secSensorNames = new String[secSize];
             final List<List<IOVariable>> secVariablesList = new ArrayList<>();
             final Interval[] secIntervals = new Interval[secSize];
+            final SampleRun[] secRuns = new SampleRun[secSize];
             for (int i = 0; i < secondarySensors.size(); i++) {
                 final Sensor secondarySensor = secondarySensors.get(i);
                 final String secondarySensorName = secondarySensor.getName();
                 secSensorNames[i] = secondarySensorName;
-                secVariablesList.add(ioVariablesList.getVariablesFor(secondarySensorName));
+                final List<IOVariable> secondaryVariables = ioVariablesList.getVariablesFor(secondarySensorName);
+                secVariablesList.add(getSampleVariables(secondaryVariables));
                 final Dimension secondaryDimension = useCaseConfig.getDimensionFor(secondarySensorName);
                 secIntervals[i] = new Interval(secondaryDimension.getNx(), secondaryDimension.getNy());
+                secRuns[i] = new SampleRun(getBulkVariables(secondaryVariables), secIntervals[i], cacheSize);
             }
 
             final List<SampleSetIOVariable> sampleSetVariables = ioVariablesList.getSampleSetIOVariables();
@@ -133,7 +139,6 @@ abstract class AbstractMmdWriter implements MmdWriter, Target {
 
             final List<MatchupSet> sets = matchupCollection.getSets();
             int zIndex = 0;
-            final int cacheSize = writerConfig.getCacheSize();
             for (MatchupSet set : sets) {
                 int numObservations = set.getNumObservations();
                 if (numObservations == 0) {
@@ -158,17 +163,22 @@ abstract class AbstractMmdWriter implements MmdWriter, Target {
                 final List<SampleSet> sampleSets = set.getSampleSets();
                 for (SampleSet sampleSet : sampleSets) {
                     writeMmdValues(sampleSet.getPrimary(), zIndex, primaryVariables, primaryInterval);
+                    primaryRun.add(sampleSet.getPrimary(), zIndex);
                     for (int i = 0; i < secSensorNames.length; i++) {
                         String secSensorName = secSensorNames[i];
                         final List<IOVariable> secIOVariables = secVariablesList.get(i);
                         writeMmdValues(sampleSet.getSecondary(secSensorName), zIndex, secIOVariables, secIntervals[i]);
+                        secRuns[i].add(sampleSet.getSecondary(secSensorName), zIndex);
                     }
                     writeSampleSetVariables(sampleSet, sampleSetVariables, zIndex);
                     zIndex++;
                     if (zIndex % cacheSize == 0) {
+                        writeSampleRuns(primaryRun, secRuns);
                         flush();
                     }
                 }
+                // the readers are replaced for the next matchup set
+                writeSampleRuns(primaryRun, secRuns);
             }
 
             stopWatch.stop();
@@ -193,6 +203,15 @@ abstract class AbstractMmdWriter implements MmdWriter, Target {
         Array.arraycopy(data, 0, target, index.currentElement(), (int) data.getSize());
     }
 
+    @Override
+    public void write(int[] data, int length, String variableName, int zIndex) {
+        final Array target = getTarget(variableName);
+        final Index index = target.getIndex();
+        index.set(zIndex % writerConfig.getCacheSize());
+        final Array source = Array.factory(DataType.INT, new int[]{data.length}, data);
+        Array.arraycopy(source, 0, target, index.currentElement(), length);
+    }
+
     @Override
     public void write(int v, String variableName, int zIndex) {
         final Array data = NetCDFUtils.create(new int[][]{{v}});
@@ -343,6 +362,35 @@ abstract class AbstractMmdWriter implements MmdWriter, Target {
         }
     }
 
+    // package access for testing only
+    static List<IOVariable> getSampleVariables(List<IOVariable> variables) {
+        final List<IOVariable> sampleVariables = new ArrayList<>();
+        for (final IOVariable variable : variables) {
+            if (!(variable instanceof BulkIOVariable)) {
+                sampleVariables.add(variable);
+            }
+        }
+        return sampleVariables;
+    }
+
+    // package access for testing only
+    static List<BulkIOVariable> getBulkVariables(List<IOVariable> variables) {
+        final List<BulkIOVariable> bulkVariables = new ArrayList<>();
+        for (final IOVariable variable : variables) {
+            if (variable instanceof BulkIOVariable) {
+                bulkVariables.add((BulkIOVariable) variable);
+            }
+        }
+        return bulkVariables;
+    }
+
+    private static void writeSampleRuns(SampleRun primaryRun, SampleRun[] secondaryRuns) throws IOException, InvalidRangeException {
+        primaryRun.write();
+        for (final SampleRun secondaryRun : secondaryRuns) {
+            secondaryRun.write();
+        }
+    }
+
     private void writeMmdValues(Sample sample, int zIndex, List<IOVariable> variables, Interval interval) throws IOException, InvalidRangeException {
         final int x = sample.getX();
         final int y = sample.getY();
@@ -434,4 +482,51 @@ abstract class AbstractMmdWriter implements MmdWriter, Target {
             netcdfFileWriter.flush();
         }
     }
+
+    /**
+     * The sample positions of one sensor collected for the bulk variables since the last write. A run never spans a
+     * cache flush or a change of the input products.
+     */
+    static class SampleRun {
+
+        private final List<BulkIOVariable> variables;
+        private final Interval interval;
+        private final int[] centerX;
+        private final int[] centerY;
+        private int count;
+        private int zStart;
+
+        SampleRun(List<BulkIOVariable> variables, Interval interval, int capacity) {
+            this.variables = variables;
+            this.interval = interval;
+            centerX = new int[variables.isEmpty() ? 0 : capacity];
+            centerY = new int[variables.isEmpty() ? 0 : capacity];
+        }
+
+        void add(Sample sample, int zIndex) {
+            if (variables.isEmpty()) {
+                return;
+            }
+            if (count == 0) {
+                zStart = zIndex;
+            }
+            centerX[count] = sample.getX();
+            centerY[count] = sample.getY();
+            ++count;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        void write() throws IOException, InvalidRangeException {
+            if (count == 0) {
+                return;
+            }
+            for (final BulkIOVariable variable : variables) {
+                variable.writeData(centerX, centerY, count, interval, zStart);
+            }
+            count = 0;
+        }
+    }
 }
@@ -20,12 +20,16 @@
 package com.bc.fiduceo.matchup.writer;
 
 import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.reader.BulkAcquisitionTimeReader;
+import com.bc.fiduceo.reader.Reader;
 import ucar.ma2.ArrayInt;
 import ucar.ma2.InvalidRangeException;
 
 import java.io.IOException;
 
-public class AcquisitionTimeReadingIOVariable extends ReaderIOVariable {
+public class AcquisitionTimeReadingIOVariable extends ReaderIOVariable implements BulkIOVariable {
+
+    private int[] buffer;
 
     public AcquisitionTimeReadingIOVariable(ReaderContainer readerContainer) {
         super(readerContainer);
@@ -36,4 +40,22 @@ public class AcquisitionTimeReadingIOVariable extends ReaderIOVariable {
         final ArrayInt.D2 times = readerContainer.getReader().readAcquisitionTime(centerX, centerY, interval);
         target.write(times, targetVariableName, zIndex);
     }
+
+    @Override
+    public void writeData(int[] centerX, int[] centerY, int count, Interval interval, int zIndex) throws IOException, InvalidRangeException {
+        final Reader reader = readerContainer.getReader();
+        if (!(reader instanceof BulkAcquisitionTimeReader)) {
+            for (int i = 0; i < count; i++) {
+                writeData(centerX[i], centerY[i], interval, zIndex + i);
+            }
+            return;
+        }
+
+        final int length = count * interval.getX() * interval.getY();
+        if (buffer == null || buffer.length < length) {
+            buffer = new int[length];
+        }
+        ((BulkAcquisitionTimeReader) reader).readAcquisitionTimes(centerX, centerY, count, interval, buffer);
+        target.write(buffer, length, targetVariableName, zIndex);
+    }
 }
@@ -0,0 +1,26 @@
+package com.bc.fiduceo.matchup.writer;
+
+import com.bc.fiduceo.core.Interval;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+
+/**
+ * An IOVariable that writes the data of a run of consecutive samples at once. The writer collects the sample
+ * positions up to the next cache flush or change of the input products.
+ */
+interface BulkIOVariable extends IOVariable {
+
+    /**
+     * Writes the data of count samples to the z-layers zIndex to zIndex + count - 1.
+     *
+     * @param centerX  the center x positions of the samples
+     * @param centerY  the center y positions of the samples
+     * @param count    the number of samples
+     * @param interval the window sizes
+     * @param zIndex   the z-layer of the first sample
+     * @throws IOException           on disk access failures
+     * @throws InvalidRangeException on incorrect coordinates supplied
+     */
+    void writeData(int[] centerX, int[] centerY, int count, Interval interval, int zIndex) throws IOException, InvalidRangeException;
+}
@@ -22,6 +22,7 @@ package com.bc.fiduceo.matchup.writer;
 
 import com.bc.fiduceo.FiduceoConstants;
 import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.monitor.Instrumentation;
 import com.bc.fiduceo.reader.Reader;
 import com.bc.fiduceo.reader.ReaderFactory;
 import ucar.ma2.Array;
@@ -104,7 +105,9 @@ public class IOVariablesList {
         setReaderContainer(sensorName, readerContainer);
 
         try (final Reader reader = readerFactory.getReader(sensorName)) {
-            reader.open(filePath.toFile());
+            try (Instrumentation.Split ignored = Instrumentation.get().start("reader-open")) {
+                reader.open(filePath.toFile());
+            }
             readerContainer.setReader(reader);
 
             final String dimensionNames = createDimensionNames(dimension);
@@ -11,4 +11,15 @@ public interface Target {
     void write(float data, String variableName, int zIndex);
 
     void write(String data, String variableName, int zIndex);
+
+    /**
+     * Writes consecutive z-layers of integer data, starting at the layer zIndex. The layers must not span a flush of
+     * the target.
+     *
+     * @param data         the data, z-layers in row-major order
+     * @param length       the number of values to write
+     * @param variableName the target variable name
+     * @param zIndex       the first z-layer
+     */
+    void write(int[] data, int length, String variableName, int zIndex);
 }
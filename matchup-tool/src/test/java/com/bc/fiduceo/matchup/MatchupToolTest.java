@@ -25,6 +25,7 @@ import com.bc.fiduceo.FiduceoConstants;
 import com.bc.fiduceo.TestUtil;
 import com.bc.fiduceo.core.*;
 import com.bc.fiduceo.matchup.writer.*;
+import com.bc.fiduceo.util.TimeUtils;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
@@ -569,6 +570,19 @@ public class MatchupToolTest {
         assertEquals("prince_the-seco-one_matchup_spherical_distance", distanceVariableName);
     }
 
+    @Test
+    public void testCreateRunReportPath() {
+        final UseCaseConfig useCaseConfig = UseCaseConfigBuilder.build("mmd22")
+                .withSensors(Arrays.asList(createSensor("amsre-aq", true), createSensor("ssmt2-f14", false)))
+                .withOutputPath("/archive/mmd")
+                .createConfig();
+        final Date startDate = TimeUtils.parseDOYBeginOfDay("2005-101");
+        final Date endDate = TimeUtils.parseDOYEndOfDay("2005-103");
+
+        final Path reportPath = MatchupTool.createRunReportPath(useCaseConfig, startDate, endDate);
+        assertEquals(Paths.get("/archive/mmd", "mmd22_amsre-aq_ssmt2-f14_2005-101_2005-103_run_report.json"), reportPath);
+    }
+
     private Sensor createSensor(String name, boolean isPrimary) {
         final Sensor primarySensor = new Sensor();
         primarySensor.setPrimary(isPrimary);
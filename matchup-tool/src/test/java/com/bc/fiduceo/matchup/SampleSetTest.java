@@ -84,6 +84,24 @@ public class SampleSetTest {
         }
     }
 
+    @Test
+    public void testCopy() {
+        final Sample primarySample = new Sample(6, 7, 8, 9, 10L);
+        sampleSet.setPrimary(primarySample);
+
+        final Sample hansSample = new Sample(7, 8, 9, 10, 11L);
+        sampleSet.setSecondary("Hans", hansSample);
+
+        final SampleSet copy = sampleSet.copy();
+        assertNotSame(sampleSet, copy);
+        assertSame(primarySample, copy.getPrimary());
+        assertSame(hansSample, copy.getSecondary("Hans"));
+
+        copy.setSecondary("Helene", new Sample(8, 9, 10, 11, 12L));
+        assertNotNull(copy.getSecondary("Helene"));
+        assertNull(sampleSet.getSecondary("Helene"));
+    }
+
     @Test
     public void testClone() {
         final Sample primarySample = new Sample(6, 7, 8, 9, 10L);
@@ -0,0 +1,61 @@
+package com.bc.fiduceo.matchup.condition;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void testPutIfAbsentAndGet() {
+        final LongIntHashMap map = new LongIntHashMap(4);
+
+        assertEquals(-1, map.putIfAbsent(12L, 0));
+        assertEquals(-1, map.putIfAbsent(-7L, 1));
+        assertEquals(-1, map.putIfAbsent(Long.MAX_VALUE, 2));
+
+        assertEquals(0, map.get(12L));
+        assertEquals(1, map.get(-7L));
+        assertEquals(2, map.get(Long.MAX_VALUE));
+        assertEquals(-1, map.get(13L));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testPutIfAbsent_keepsFirstValue() {
+        final LongIntHashMap map = new LongIntHashMap(4);
+
+        assertEquals(-1, map.putIfAbsent(0L, 5));
+        assertEquals(5, map.putIfAbsent(0L, 6));
+
+        assertEquals(5, map.get(0L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testGrow() {
+        final LongIntHashMap map = new LongIntHashMap(2);
+
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(-1, map.putIfAbsent(((long) i << 32) | (i % 17), i));
+        }
+
+        assertEquals(10000, map.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, map.get(((long) i << 32) | (i % 17)));
+        }
+        assertEquals(-1, map.get(-1L));
+    }
+
+    @Test
+    public void testPutIfAbsent_negativeValue() {
+        final LongIntHashMap map = new LongIntHashMap(2);
+
+        try {
+            map.putIfAbsent(3L, -1);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.Test;
 import java.util.ArrayList;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 public class UniqueSamplesConditionTest {
 
@@ -186,7 +187,44 @@ public class UniqueSamplesConditionTest {
     public void testCreateKey() {
         final Sample sample = new Sample(34, 66, 1, 2, 3);
 
-        assertEquals("34_66", UniqueSamplesCondition.createKey(sample));
+        assertEquals((34L << 32) | 66L, UniqueSamplesCondition.createKey(sample));
+    }
+
+    @Test
+    public void testCreateKey_isUnique() {
+        assertNotEquals(UniqueSamplesCondition.createKey(new Sample(1, 2, 0, 0, 0)), UniqueSamplesCondition.createKey(new Sample(2, 1, 0, 0, 0)));
+        assertNotEquals(UniqueSamplesCondition.createKey(new Sample(0, -1, 0, 0, 0)), UniqueSamplesCondition.createKey(new Sample(-1, 0, 0, 0, 0)));
+        assertNotEquals(UniqueSamplesCondition.createKey(new Sample(0, -1, 0, 0, 0)), UniqueSamplesCondition.createKey(new Sample(0, 1, 0, 0, 0)));
+    }
+
+    @Test
+    public void testApply_manyReferences() {
+        final UniqueSamplesCondition.Configuration configuration = new UniqueSamplesCondition.Configuration();
+        configuration.referenceSensorKey = "first";
+        configuration.associatedSensorKey = "second";
+
+        final UniqueSamplesCondition condition = new UniqueSamplesCondition(configuration);
+
+        final MatchupSet matchupSet = new MatchupSet();
+        final ArrayList<SampleSet> sampleSets = new ArrayList<>();
+        // 100 reference pixels, each matched by three primary pixels - the one in the middle is closest
+        for (int i = 0; i < 300; i++) {
+            final int reference = i % 100;
+            final int offset = i / 100;
+            final SampleSet sampleSet = new SampleSet();
+            sampleSet.setPrimary(new Sample(i, 7, reference + 0.01 * (offset - 1) + 0.001, 12.0, 100000000));
+            sampleSet.setSecondary("first", new Sample(reference, 3, reference, 12.0, 10000003));
+            sampleSets.add(sampleSet);
+        }
+        matchupSet.setSampleSets(sampleSets);
+
+        condition.apply(matchupSet, new ConditionEngineContext());
+        assertEquals(100, matchupSet.getNumObservations());
+        for (int i = 0; i < 100; i++) {
+            final SampleSet remaining = matchupSet.getSampleSets().get(i);
+            assertEquals(i, remaining.getSecondary("first").getX());
+            assertEquals(100 + i, remaining.getPrimary().getX());
+        }
     }
 
     // @todo 1 tb/tb continue here 2017-10-02
@@ -27,6 +27,8 @@ import com.bc.fiduceo.geometry.GeometryFactory;
 import com.bc.fiduceo.matchup.MatchupCollection;
 import com.bc.fiduceo.matchup.MatchupSet;
 import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.math.TimeInterval;
+import com.bc.fiduceo.reader.insitu.TimeIndex;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -47,83 +49,6 @@ public class InsituPolarOrbitingMatchupStrategyTest {
         geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
     }
 
-    @Test
-    public void testGetCandidatesByTime_emptyList() {
-        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
-
-        final List<SatelliteObservation> resultList = InsituPolarOrbitingMatchupStrategy.getCandidatesByTime(satelliteObservations, new Date(20000), 20);
-        assertEquals(0, resultList.size());
-    }
-
-    @Test
-    public void testGetCandidatesByTime_before() {
-        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
-        final SatelliteObservation observation = createSatelliteObservation(30000L, 40000L);
-        satelliteObservations.add(observation);
-
-        final List<SatelliteObservation> resultList = InsituPolarOrbitingMatchupStrategy.getCandidatesByTime(satelliteObservations, new Date(20000), 500);
-        assertEquals(0, resultList.size());
-    }
-
-    @Test
-    public void testGetCandidatesByTime_after() {
-        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
-        final SatelliteObservation observation = createSatelliteObservation(30000L, 40000L);
-        satelliteObservations.add(observation);
-
-        final List<SatelliteObservation> resultList = InsituPolarOrbitingMatchupStrategy.getCandidatesByTime(satelliteObservations, new Date(41000), 500);
-        assertEquals(0, resultList.size());
-    }
-
-    @Test
-    public void testGetCandidatesByTime_pickOne() {
-        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
-        satelliteObservations.add(createSatelliteObservation(30000L, 40000L));
-        satelliteObservations.add(createSatelliteObservation(35000L, 45000L));
-        satelliteObservations.add(createSatelliteObservation(37000L, 47000L));
-
-        final List<SatelliteObservation> resultList = InsituPolarOrbitingMatchupStrategy.getCandidatesByTime(satelliteObservations, new Date(46000), 500);
-        assertEquals(1, resultList.size());
-        assertEquals(37000L, resultList.get(0).getStartTime().getTime());
-    }
-
-    @Test
-    public void testGetCandidatesByTime_pickOne_useTimeDelta_after() {
-        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
-        satelliteObservations.add(createSatelliteObservation(30000L, 40000L));
-        satelliteObservations.add(createSatelliteObservation(35000L, 45000L));
-        satelliteObservations.add(createSatelliteObservation(37000L, 47000L));
-
-        final List<SatelliteObservation> resultList = InsituPolarOrbitingMatchupStrategy.getCandidatesByTime(satelliteObservations, new Date(47500), 1000);
-        assertEquals(1, resultList.size());
-        assertEquals(37000L, resultList.get(0).getStartTime().getTime());
-    }
-
-    @Test
-    public void testGetCandidatesByTime_pickOne_useTimeDelta_before() {
-        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
-        satelliteObservations.add(createSatelliteObservation(30000L, 40000L));
-        satelliteObservations.add(createSatelliteObservation(35000L, 45000L));
-        satelliteObservations.add(createSatelliteObservation(37000L, 47000L));
-
-        final List<SatelliteObservation> resultList = InsituPolarOrbitingMatchupStrategy.getCandidatesByTime(satelliteObservations, new Date(30500), 1000);
-        assertEquals(1, resultList.size());
-        assertEquals(30000L, resultList.get(0).getStartTime().getTime());
-    }
-
-    @Test
-    public void testGetCandidatesByTime_picktwo() {
-        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
-        satelliteObservations.add(createSatelliteObservation(40000L, 50000L));
-        satelliteObservations.add(createSatelliteObservation(45000L, 55000L));
-        satelliteObservations.add(createSatelliteObservation(47000L, 57000L));
-
-        final List<SatelliteObservation> resultList = InsituPolarOrbitingMatchupStrategy.getCandidatesByTime(satelliteObservations, new Date(52000), 500);
-        assertEquals(2, resultList.size());
-        assertEquals(45000L, resultList.get(0).getStartTime().getTime());
-        assertEquals(47000L, resultList.get(1).getStartTime().getTime());
-    }
-
     @Test
     public void testGetCandidatesByGeometry_emptyList() {
         final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
@@ -325,6 +250,52 @@ public class InsituPolarOrbitingMatchupStrategyTest {
         assertFalse(isValid);
     }
 
+    @Test
+    public void testGetRecordIndices() {
+        // records in file order, not sorted by time
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{5000L, 1000L, 12000L, 3000L, 20000L, 9000L, 12500L});
+        final TimeInterval processingInterval = new TimeInterval(new Date(0L), new Date(30000L));
+
+        final int[] recordIndices = InsituPolarOrbitingMatchupStrategy.getRecordIndices(timeIndex, processingInterval, new long[]{2000L, 5000L, 11000L, 13000L});
+        assertArrayEquals(new int[]{0, 2, 3, 6}, recordIndices);
+    }
+
+    @Test
+    public void testGetRecordIndices_clippedToProcessingInterval() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{1000L, 3000L, 5000L, 9000L, 12000L, 20000L});
+        final TimeInterval processingInterval = new TimeInterval(new Date(4000L), new Date(12000L));
+
+        final int[] recordIndices = InsituPolarOrbitingMatchupStrategy.getRecordIndices(timeIndex, processingInterval, new long[]{0L, 6000L, 10000L, 30000L});
+        assertArrayEquals(new int[]{2, 4}, recordIndices);
+    }
+
+    @Test
+    public void testGetRecordIndices_fractionalSeconds() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{1999L, 2700L, 3000L, 5600L, 6000L});
+        final TimeInterval processingInterval = new TimeInterval(new Date(0L), new Date(30000L));
+
+        // 2700 ms is acquired at 2 s, before the window; 5600 ms at 5 s, at the window stop
+        final int[] recordIndices = InsituPolarOrbitingMatchupStrategy.getRecordIndices(timeIndex, processingInterval, new long[]{2500L, 5000L});
+        assertArrayEquals(new int[]{2, 3}, recordIndices);
+    }
+
+    @Test
+    public void testGetRecordIndices_fractionalSeconds_atProcessingStop() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{1999L, 2700L, 3000L, 5600L, 6000L});
+        final TimeInterval processingInterval = new TimeInterval(new Date(2000L), new Date(5400L));
+
+        final int[] recordIndices = InsituPolarOrbitingMatchupStrategy.getRecordIndices(timeIndex, processingInterval, new long[]{0L, 10000L});
+        assertArrayEquals(new int[]{1, 2, 3}, recordIndices);
+    }
+
+    @Test
+    public void testGetRecordIndices_noWindows() {
+        final TimeIndex timeIndex = TimeIndex.create(new long[]{1000L, 3000L});
+        final TimeInterval processingInterval = new TimeInterval(new Date(0L), new Date(12000L));
+
+        assertEquals(0, InsituPolarOrbitingMatchupStrategy.getRecordIndices(timeIndex, processingInterval, new long[0]).length);
+    }
+
     private SatelliteObservation createSatelliteObservation(long startTime, long stopTime) {
         final SatelliteObservation observation = new SatelliteObservation();
         observation.setStartTime(new Date(startTime));
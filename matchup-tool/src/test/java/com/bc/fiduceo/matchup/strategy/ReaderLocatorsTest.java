@@ -0,0 +1,80 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.geometry.Polygon;
+import com.bc.fiduceo.location.PixelLocator;
+import com.bc.fiduceo.reader.Reader;
+import com.bc.fiduceo.reader.time.TimeLocator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+public class ReaderLocatorsTest {
+
+    private Reader reader;
+
+    @Before
+    public void setUp() {
+        reader = mock(Reader.class);
+    }
+
+    @Test
+    public void testGetPixelLocator_notSegmented() throws IOException {
+        final PixelLocator pixelLocator = mock(PixelLocator.class);
+        when(reader.getPixelLocator()).thenReturn(pixelLocator);
+
+        final ReaderLocators readerLocators = new ReaderLocators(reader, false);
+        assertSame(pixelLocator, readerLocators.getPixelLocator(mock(Polygon.class)));
+        assertSame(pixelLocator, readerLocators.getPixelLocator(mock(Polygon.class)));
+
+        verify(reader, times(1)).getPixelLocator();
+        verify(reader, never()).getSubScenePixelLocator(any());
+    }
+
+    @Test
+    public void testGetPixelLocator_segmented() throws IOException {
+        final Polygon segment_1 = mock(Polygon.class);
+        final Polygon segment_2 = mock(Polygon.class);
+        final PixelLocator pixelLocator_1 = mock(PixelLocator.class);
+        final PixelLocator pixelLocator_2 = mock(PixelLocator.class);
+        when(reader.getSubScenePixelLocator(segment_1)).thenReturn(pixelLocator_1);
+        when(reader.getSubScenePixelLocator(segment_2)).thenReturn(pixelLocator_2);
+
+        final ReaderLocators readerLocators = new ReaderLocators(reader, true);
+        assertSame(pixelLocator_1, readerLocators.getPixelLocator(segment_1));
+        assertSame(pixelLocator_2, readerLocators.getPixelLocator(segment_2));
+        assertSame(pixelLocator_1, readerLocators.getPixelLocator(segment_1));
+        assertSame(pixelLocator_2, readerLocators.getPixelLocator(segment_2));
+
+        verify(reader, times(1)).getSubScenePixelLocator(segment_1);
+        verify(reader, times(1)).getSubScenePixelLocator(segment_2);
+        verify(reader, never()).getPixelLocator();
+    }
+
+    @Test
+    public void testGetPixelLocator_segmented_nullIsKept() throws IOException {
+        final Polygon segment = mock(Polygon.class);
+
+        final ReaderLocators readerLocators = new ReaderLocators(reader, true);
+        assertNull(readerLocators.getPixelLocator(segment));
+        assertNull(readerLocators.getPixelLocator(segment));
+
+        verify(reader, times(1)).getSubScenePixelLocator(segment);
+    }
+
+    @Test
+    public void testGetTimeLocator() throws IOException {
+        final TimeLocator timeLocator = mock(TimeLocator.class);
+        when(reader.getTimeLocator()).thenReturn(timeLocator);
+
+        final ReaderLocators readerLocators = new ReaderLocators(reader, false);
+        assertSame(timeLocator, readerLocators.getTimeLocator());
+        assertSame(timeLocator, readerLocators.getTimeLocator());
+
+        verify(reader, times(1)).getTimeLocator();
+    }
+}
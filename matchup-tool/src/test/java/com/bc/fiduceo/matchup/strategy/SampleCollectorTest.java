@@ -96,6 +96,155 @@ public class SampleCollectorTest {
         }
     }
 
+    @Test
+    public void testAddPrimarySamplesScanLine() {
+        final Polygon polygon = factory.createPolygon(createPoints(new double[]{
+                1, 1,
+                3, 1,
+                3, 3,
+                1, 3,
+                1, 1
+        }));
+
+        final MatchupSet matchupSet = new MatchupSet();
+        collector.addPrimarySamplesScanLine(polygon, matchupSet, new TestTimeLocator());
+
+        final List<SampleSet> sampleSets = matchupSet.getSampleSets();
+        assertEquals(4, sampleSets.size());
+        assertPrimary(12, 14, 1.5, 1.5, 14012L, sampleSets.get(0));
+        assertPrimary(13, 14, 2.5, 1.5, 14013L, sampleSets.get(1));
+        assertPrimary(12, 15, 1.5, 2.5, 15012L, sampleSets.get(2));
+        assertPrimary(13, 15, 2.5, 2.5, 15013L, sampleSets.get(3));
+    }
+
+    @Test
+    public void testAddPrimarySamplesScanLine_equalsBruteForce() {
+        final Polygon polygon = factory.createPolygon(createPoints(new double[]{
+                -2.0, -1.5,
+                3.5, -0.8,
+                4.1, 2.7,
+                0.8, 1.2,
+                -1.6, 3.9,
+                -2.0, -1.5
+        }));
+        final ScalingPixelLocator pixelLocator = new ScalingPixelLocator(0.1, 40, 50);
+
+        final SampleCollector bruteForceCollector = new SampleCollector(context, pixelLocator);
+        final MatchupSet bruteForceSet = new MatchupSet();
+        bruteForceCollector.addPrimarySamples(polygon, bruteForceSet, new TestTimeLocator());
+
+        final SampleCollector scanLineCollector = new SampleCollector(context, pixelLocator);
+        final MatchupSet scanLineSet = new MatchupSet();
+        scanLineCollector.addPrimarySamplesScanLine(polygon, scanLineSet, new TestTimeLocator());
+
+        final List<SampleSet> expected = bruteForceSet.getSampleSets();
+        final List<SampleSet> actual = scanLineSet.getSampleSets();
+        assertTrue(expected.size() > 1000);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final Sample expectedPrimary = expected.get(i).getPrimary();
+            assertPrimary(expectedPrimary.getX(), expectedPrimary.getY(), expectedPrimary.getLon(), expectedPrimary.getLat(), expectedPrimary.getTime(), actual.get(i));
+        }
+
+        assertTrue(scanLineCollector.getNumContainmentTests() < bruteForceCollector.getNumContainmentTests() / 2);
+    }
+
+    @Test
+    public void testAddPrimarySamplesScanLine_curvedEdges_equalsBruteForce() {
+        // the lat/lon lines are parabolas in pixel space, the polygon edges deviate by up to 45 pixels from the
+        // straight lines connecting the vertices. The vertices span the bounding box, as required by the brute force
+        final Polygon polygon = factory.createPolygon(createPoints(new double[]{
+                -3.0, 0.0,
+                0.0, -1.0,
+                3.0, 0.0,
+                3.0, 2.0,
+                -3.0, 2.0,
+                -3.0, 0.0
+        }));
+        final ParabolicPixelLocator pixelLocator = new ParabolicPixelLocator(0.02, 0.1, 200, 100);
+
+        final SampleCollector bruteForceCollector = new SampleCollector(context, pixelLocator);
+        final MatchupSet bruteForceSet = new MatchupSet();
+        bruteForceCollector.addPrimarySamples(polygon, bruteForceSet, new TestTimeLocator());
+
+        final SampleCollector scanLineCollector = new SampleCollector(context, pixelLocator);
+        final MatchupSet scanLineSet = new MatchupSet();
+        scanLineCollector.addPrimarySamplesScanLine(polygon, scanLineSet, new TestTimeLocator());
+
+        final List<SampleSet> expected = bruteForceSet.getSampleSets();
+        final List<SampleSet> actual = scanLineSet.getSampleSets();
+        assertTrue(expected.size() > 20000);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            final Sample expectedPrimary = expected.get(i).getPrimary();
+            assertPrimary(expectedPrimary.getX(), expectedPrimary.getY(), expectedPrimary.getLon(), expectedPrimary.getLat(), expectedPrimary.getTime(), actual.get(i));
+        }
+
+        assertTrue(scanLineCollector.getNumContainmentTests() < bruteForceCollector.getNumContainmentTests() / 2);
+    }
+
+    @Test
+    public void testGetEdgeMidpoint() {
+        double[] midpoint = SampleCollector.getEdgeMidpoint(-3.0, 2.0, 3.0, 2.0, false);
+        assertEquals(0.0, midpoint[0], 1e-8);
+        assertEquals(2.0, midpoint[1], 1e-8);
+
+        // the great circle bulges towards the pole
+        midpoint = SampleCollector.getEdgeMidpoint(-3.0, 2.0, 3.0, 2.0, true);
+        assertEquals(0.0, midpoint[0], 1e-8);
+        assertEquals(2.002742, midpoint[1], 1e-6);
+
+        midpoint = SampleCollector.getEdgeMidpoint(10.0, 0.0, 30.0, 0.0, true);
+        assertEquals(20.0, midpoint[0], 1e-8);
+        assertEquals(0.0, midpoint[1], 1e-8);
+
+        midpoint = SampleCollector.getEdgeMidpoint(179.0, 10.0, -179.0, 10.0, true);
+        assertEquals(180.0, Math.abs(midpoint[0]), 1e-8);
+        assertEquals(10.001493, midpoint[1], 1e-6);
+    }
+
+    @Test
+    public void testAddPrimarySamplesScanLine_fallbackWhenVertexNotLocated() {
+        final PixelLocator locator = Mockito.mock(PixelLocator.class);
+        when(locator.getPixelLocation(anyDouble(), anyDouble())).thenReturn(new Point2D[0]);
+        collector = new SampleCollector(context, locator);
+
+        final Polygon polygon = factory.createPolygon(createPoints(new double[]{
+                1, 1,
+                3, 1,
+                3, 3,
+                1, 1
+        }));
+
+        final MatchupSet matchupSet = new MatchupSet();
+        collector.addPrimarySamplesScanLine(polygon, matchupSet, new TestTimeLocator());
+
+        assertEquals(0, matchupSet.getNumObservations());
+        assertEquals(0, collector.getNumContainmentTests());
+    }
+
+    @Test
+    public void testGetCrossings() {
+        final double[] vertexX = {0.0, 10.0, 10.0, 5.0, 0.0};
+        final double[] vertexY = {0.0, 0.0, 10.0, 5.0, 10.0};
+        final double[] crossings = new double[vertexX.length];
+
+        int numCrossings = SampleCollector.getCrossings(vertexX, vertexY, 2.5, crossings);
+        assertEquals(2, numCrossings);
+        assertEquals(0.0, crossings[0], 1e-8);
+        assertEquals(10.0, crossings[1], 1e-8);
+
+        numCrossings = SampleCollector.getCrossings(vertexX, vertexY, 7.5, crossings);
+        assertEquals(4, numCrossings);
+        assertEquals(0.0, crossings[0], 1e-8);
+        assertEquals(2.5, crossings[1], 1e-8);
+        assertEquals(7.5, crossings[2], 1e-8);
+        assertEquals(10.0, crossings[3], 1e-8);
+
+        numCrossings = SampleCollector.getCrossings(vertexX, vertexY, 11.0, crossings);
+        assertEquals(0, numCrossings);
+    }
+
     @Test
     public void testAddSecondarySamples() {
         final MatchupSet matchupSet = new MatchupSet();
@@ -124,6 +273,75 @@ public class SampleCollectorTest {
         assertEquals(22019L, secondary.getTime());
     }
 
+    @Test
+    public void testPairSecondarySamples_inputIsNotModified() {
+        final MatchupSet matchupSet = new MatchupSet();
+        final Sample primaryOne = new Sample(2, 3, 4.5, 5.5, 100L);
+        final Sample primaryTwo = new Sample(6, 7, 8.5, 9.5, 200L);
+        matchupSet.addPrimary(primaryOne);
+        matchupSet.addPrimary(primaryTwo);
+
+        final List<SampleSet> sampleSets = collector.pairSecondarySamples(matchupSet.getSampleSets(), new TestTimeLocator(), SampleSet.getOnlyOneSecondaryKey());
+        assertEquals(2, sampleSets.size());
+
+        SampleSet sampleSet = sampleSets.get(0);
+        assertNotSame(matchupSet.getSampleSets().get(0), sampleSet);
+        assertSame(primaryOne, sampleSet.getPrimary());
+        Sample secondary = sampleSet.getSecondary(SampleSet.getOnlyOneSecondaryKey());
+        assertEquals(15, secondary.getX());
+        assertEquals(18, secondary.getY());
+        assertEquals(18015L, secondary.getTime());
+
+        sampleSet = sampleSets.get(1);
+        assertSame(primaryTwo, sampleSet.getPrimary());
+        secondary = sampleSet.getSecondary(SampleSet.getOnlyOneSecondaryKey());
+        assertEquals(19, secondary.getX());
+        assertEquals(22, secondary.getY());
+
+        // primary sample sets are untouched and can be paired again
+        assertEquals(2, matchupSet.getNumObservations());
+        for (final SampleSet primarySet : matchupSet.getSampleSets()) {
+            assertNull(primarySet.getSecondary(SampleSet.getOnlyOneSecondaryKey()));
+        }
+    }
+
+    @Test
+    public void testPairSecondarySamples_sameMatchesAsCloning() {
+        // synthetic seed point scenario: 20000 primary seed points, 14 secondary orbits each covering a
+        // longitude band of the primary points. The allocation comparison is done in the SampleCollectorBenchmark.
+        final int numSecondaries = 14;
+        final MatchupSet primaryMatchups = new MatchupSet();
+        for (int i = 0; i < 20000; i++) {
+            final double lon = -180.0 + 360.0 * i / 20000.0;
+            primaryMatchups.addPrimary(new Sample(i % 400, i / 400, lon, 10.0, 1000L + i));
+        }
+        final SampleCollector[] collectors = new SampleCollector[numSecondaries];
+        for (int k = 0; k < numSecondaries; k++) {
+            final double minLon = -180.0 + k * 360.0 / numSecondaries;
+            collectors[k] = new SampleCollector(context, new LonBandPixelLocator(minLon, minLon + 360.0 / numSecondaries));
+        }
+        final String secondaryKey = SampleSet.getOnlyOneSecondaryKey();
+        final TestTimeLocator timeLocator = new TestTimeLocator();
+
+        int clonedMatches = 0;
+        MatchupSet current = primaryMatchups.clone();
+        for (int k = 0; k < numSecondaries; k++) {
+            if (k > 0) {
+                current = current.clone();
+            }
+            clonedMatches += collectors[k].addSecondarySamples(current.getSampleSets(), timeLocator, secondaryKey).size();
+        }
+
+        int pairedMatches = 0;
+        for (int k = 0; k < numSecondaries; k++) {
+            pairedMatches += collectors[k].pairSecondarySamples(primaryMatchups.getSampleSets(), timeLocator, secondaryKey).size();
+        }
+
+        assertEquals(20000, pairedMatches);
+        assertEquals(clonedMatches, pairedMatches);
+        assertEquals(20000, primaryMatchups.getNumObservations());
+    }
+
     @Test
     public void testRemoveSampleSetIfNoSecondarySampleCanBeFound() throws Exception {
         final PixelLocator locator = Mockito.mock(PixelLocator.class);
@@ -169,6 +387,15 @@ public class SampleCollectorTest {
         assertTrue(polygon.contains(factory.createPoint(4, 4)));
     }
 
+    private static void assertPrimary(int x, int y, double lon, double lat, long time, SampleSet sampleSet) {
+        final Sample primary = sampleSet.getPrimary();
+        assertEquals(x, primary.getX());
+        assertEquals(y, primary.getY());
+        assertEquals(lon, primary.getLon(), 0.000001);
+        assertEquals(lat, primary.getLat(), 0.000001);
+        assertEquals(time, primary.getTime());
+    }
+
     private List<Point> createPoints(final double[] lonsLats) {
         final ArrayList<Point> points = new ArrayList<>();
         for (int i = 0; i < lonsLats.length; i++) {
@@ -200,6 +427,84 @@ public class SampleCollectorTest {
         }
     }
 
+    private class ScalingPixelLocator implements PixelLocator {
+
+        private final double degreesPerPixel;
+        private final int offsetX;
+        private final int offsetY;
+
+        ScalingPixelLocator(double degreesPerPixel, int offsetX, int offsetY) {
+            this.degreesPerPixel = degreesPerPixel;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+
+        @Override
+        public Point2D getGeoLocation(double x, double y, Point2D g) {
+            return new Point2D.Double((x - offsetX) * degreesPerPixel, (y - offsetY) * degreesPerPixel);
+        }
+
+        @Override
+        public Point2D[] getPixelLocation(double lon, double lat) {
+            return new Point2D[]{new Point2D.Double(lon / degreesPerPixel + offsetX, lat / degreesPerPixel + offsetY)};
+        }
+    }
+
+    private static class ParabolicPixelLocator implements PixelLocator {
+
+        private final double degreesPerPixel;
+        private final double curvature;
+        private final int offsetX;
+        private final int offsetY;
+
+        ParabolicPixelLocator(double degreesPerPixel, double curvature, int offsetX, int offsetY) {
+            this.degreesPerPixel = degreesPerPixel;
+            this.curvature = curvature;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+
+        @Override
+        public Point2D getGeoLocation(double x, double y, Point2D g) {
+            final double lon = (x - offsetX) * degreesPerPixel;
+            final double lat = (y - offsetY) * degreesPerPixel - curvature * lon * lon;
+            return new Point2D.Double(lon, lat);
+        }
+
+        @Override
+        public Point2D[] getPixelLocation(double lon, double lat) {
+            final double y = (lat + curvature * lon * lon) / degreesPerPixel + offsetY;
+            return new Point2D[]{new Point2D.Double(lon / degreesPerPixel + offsetX, y)};
+        }
+    }
+
+    private static class LonBandPixelLocator implements PixelLocator {
+
+        private static final Point2D[] EMPTY = new Point2D[0];
+
+        private final double minLon;
+        private final double maxLon;
+
+        LonBandPixelLocator(double minLon, double maxLon) {
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+        }
+
+        @Override
+        public Point2D getGeoLocation(double x, double y, Point2D g) {
+            g.setLocation(minLon + x * 0.01, y * 0.01);
+            return g;
+        }
+
+        @Override
+        public Point2D[] getPixelLocation(double lon, double lat) {
+            if (lon < minLon || lon >= maxLon) {
+                return EMPTY;
+            }
+            return new Point2D[]{new Point2D.Double((lon - minLon) * 100.0, lat * 100.0)};
+        }
+    }
+
     private class TestTimeLocator implements TimeLocator {
 
         @Override
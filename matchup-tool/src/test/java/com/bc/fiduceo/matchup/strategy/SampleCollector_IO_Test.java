@@ -0,0 +1,114 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.IOTestRunner;
+import com.bc.fiduceo.TestUtil;
+import com.bc.fiduceo.core.Sample;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.geometry.Point;
+import com.bc.fiduceo.geometry.Polygon;
+import com.bc.fiduceo.location.PixelLocator;
+import com.bc.fiduceo.matchup.MatchupSet;
+import com.bc.fiduceo.matchup.SampleSet;
+import com.bc.fiduceo.reader.ReaderContext;
+import com.bc.fiduceo.reader.amsu_mhs.AMSUB_MHS_L1C_Reader;
+import com.bc.fiduceo.reader.time.TimeLocator;
+import com.bc.fiduceo.tool.ToolContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(IOTestRunner.class)
+public class SampleCollector_IO_Test {
+
+    private GeometryFactory geometryFactory;
+    private ToolContext context;
+    private AMSUB_MHS_L1C_Reader reader;
+
+    @Before
+    public void setUp() {
+        geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+        context = new ToolContext();
+        context.setGeometryFactory(geometryFactory);
+
+        final ReaderContext readerContext = new ReaderContext();
+        readerContext.setGeometryFactory(geometryFactory);
+        reader = new AMSUB_MHS_L1C_Reader(readerContext);
+    }
+
+    @Test
+    public void testAddPrimarySamplesScanLine_MHS_NOAA18_equalsBruteForce() throws IOException {
+        final String testFilePath = TestUtil.assembleFileSystemPath(new String[]{"mhs-n18", "v1.0", "2007", "08", "22", "NSS.MHSX.NN.D07234.S1010.E1156.B1161920.GC.h5"}, false);
+        final File mhsFile = TestUtil.getTestDataFileAsserted(testFilePath);
+
+        try {
+            reader.open(mhsFile);
+
+            // diamond spanning most of the swath width - the great circle edges are curved in pixel space
+            final Polygon polygon = createPolygon(reader.getPixelLocator(), new double[]{
+                    45.5, 300.5,
+                    85.5, 450.5,
+                    45.5, 600.5,
+                    5.5, 450.5
+            });
+            final PixelLocator pixelLocator = reader.getSubScenePixelLocator(polygon);
+            final TimeLocator timeLocator = reader.getTimeLocator();
+
+            final SampleCollector bruteForceCollector = new SampleCollector(context, pixelLocator);
+            final MatchupSet bruteForceSet = new MatchupSet();
+            bruteForceCollector.addPrimarySamples(polygon, bruteForceSet, timeLocator);
+
+            final SampleCollector scanLineCollector = new SampleCollector(context, pixelLocator);
+            final MatchupSet scanLineSet = new MatchupSet();
+            scanLineCollector.addPrimarySamplesScanLine(polygon, scanLineSet, timeLocator);
+
+            final List<SampleSet> expected = bruteForceSet.getSampleSets();
+            final List<SampleSet> actual = scanLineSet.getSampleSets();
+            assertTrue(expected.size() > 5000);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                final Sample expectedPrimary = expected.get(i).getPrimary();
+                final Sample actualPrimary = actual.get(i).getPrimary();
+                assertEquals(expectedPrimary.getX(), actualPrimary.getX());
+                assertEquals(expectedPrimary.getY(), actualPrimary.getY());
+                assertEquals(expectedPrimary.getLon(), actualPrimary.getLon(), 1e-8);
+                assertEquals(expectedPrimary.getLat(), actualPrimary.getLat(), 1e-8);
+                assertEquals(expectedPrimary.getTime(), actualPrimary.getTime());
+            }
+
+            assertTrue(scanLineCollector.getNumContainmentTests() < bruteForceCollector.getNumContainmentTests() / 2);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Polygon createPolygon(PixelLocator pixelLocator, double[] pixelCoordinates) {
+        final List<Point> points = new ArrayList<>();
+        double centerX = 0.0;
+        double centerY = 0.0;
+        for (int i = 0; i < pixelCoordinates.length; i += 2) {
+            final Point2D geoLocation = pixelLocator.getGeoLocation(pixelCoordinates[i], pixelCoordinates[i + 1], null);
+            points.add(geometryFactory.createPoint(geoLocation.getX(), geoLocation.getY()));
+            centerX += pixelCoordinates[i];
+            centerY += pixelCoordinates[i + 1];
+        }
+        final int numPoints = points.size();
+        final Point2D center = pixelLocator.getGeoLocation(centerX / numPoints, centerY / numPoints, null);
+
+        // the S2 loop must be counter-clockwise on the ground, which depends on the orbit direction
+        Polygon polygon = geometryFactory.createPolygon(points);
+        if (!polygon.contains(geometryFactory.createPoint(center.getX(), center.getY()))) {
+            Collections.reverse(points);
+            polygon = geometryFactory.createPolygon(points);
+        }
+        return polygon;
+    }
+}
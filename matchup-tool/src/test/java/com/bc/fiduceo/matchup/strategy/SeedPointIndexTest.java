@@ -0,0 +1,136 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.core.SamplingPoint;
+import com.bc.fiduceo.geometry.Geometry;
+import com.bc.fiduceo.geometry.GeometryFactory;
+import com.bc.fiduceo.util.SobolSamplingPointGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SeedPointIndexTest {
+
+    private static final long START_TIME = 1200000000000L;
+    private static final long STOP_TIME = START_TIME + 3L * 24L * 60L * 60L * 1000L;
+
+    private GeometryFactory geometryFactory;
+    private List<SamplingPoint> seedPoints;
+
+    @Before
+    public void setUp() {
+        geometryFactory = new GeometryFactory(GeometryFactory.Type.S2);
+
+        final SobolSamplingPointGenerator generator = new SobolSamplingPointGenerator(SobolSamplingPointGenerator.Distribution.FLAT);
+        seedPoints = generator.createSamples(30000, 0, START_TIME, STOP_TIME);
+    }
+
+    @Test
+    public void testGetCandidates_sameResultAsFullScan() {
+        final SeedPointIndex index = new SeedPointIndex(seedPoints);
+        final Geometry[] geometries = new Geometry[]{
+                geometryFactory.parse("POLYGON((-20 -40, 10 -40, 25 30, -5 30, -20 -40))"),
+                geometryFactory.parse("POLYGON((-5 30, 25 30, 40 70, 10 70, -5 30))")
+        };
+        final long searchStart = START_TIME + 10L * 60L * 60L * 1000L + 123456L;
+        final long searchStop = searchStart + 100L * 60L * 1000L;
+
+        final List<SamplingPoint> candidates = index.getCandidates(searchStart, searchStop, geometries);
+        assertTrue(candidates.size() < seedPoints.size() / 10);
+
+        final List<SamplingPoint> expected = filter(seedPoints, searchStart, searchStop, geometries);
+        final List<SamplingPoint> actual = filter(candidates, searchStart, searchStop, geometries);
+        assertTrue(expected.size() > 10);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void testGetCandidates_crossingAntiMeridian() {
+        final SeedPointIndex index = new SeedPointIndex(seedPoints);
+        final Geometry[] geometries = new Geometry[]{
+                geometryFactory.parse("POLYGON((170 -20, -170 -20, -170 20, 170 20, 170 -20))")
+        };
+
+        final List<SamplingPoint> candidates = index.getCandidates(START_TIME, STOP_TIME, geometries);
+
+        final List<SamplingPoint> expected = filter(seedPoints, START_TIME, STOP_TIME, geometries);
+        final List<SamplingPoint> actual = filter(candidates, START_TIME, STOP_TIME, geometries);
+        assertTrue(expected.size() > 100);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testGetCandidates_keepsOriginalOrder() {
+        final SeedPointIndex index = new SeedPointIndex(seedPoints);
+        final Geometry[] geometries = new Geometry[]{
+                geometryFactory.parse("POLYGON((-60 -60, 60 -60, 60 60, -60 60, -60 -60))")
+        };
+
+        final List<SamplingPoint> candidates = index.getCandidates(START_TIME, START_TIME + 12L * 60L * 60L * 1000L, geometries);
+        assertTrue(candidates.size() > 100);
+
+        int lastIndex = -1;
+        for (final SamplingPoint candidate : candidates) {
+            final int position = seedPoints.indexOf(candidate);
+            assertTrue(position > lastIndex);
+            lastIndex = position;
+        }
+    }
+
+    @Test
+    public void testGetCandidates_outsideTimeRange() {
+        final SeedPointIndex index = new SeedPointIndex(seedPoints);
+        final Geometry[] geometries = new Geometry[]{
+                geometryFactory.parse("POLYGON((-60 -60, 60 -60, 60 60, -60 60, -60 -60))")
+        };
+
+        assertEquals(0, index.getCandidates(START_TIME - 20000, START_TIME - 10000, geometries).size());
+        assertEquals(0, index.getCandidates(STOP_TIME + 10000, STOP_TIME + 20000, geometries).size());
+    }
+
+    @Test
+    public void testGetCandidates_emptySeedPoints() {
+        final SeedPointIndex index = new SeedPointIndex(new ArrayList<>());
+        final Geometry[] geometries = new Geometry[]{
+                geometryFactory.parse("POLYGON((-60 -60, 60 -60, 60 60, -60 60, -60 -60))")
+        };
+
+        assertEquals(0, index.getCandidates(START_TIME, STOP_TIME, geometries).size());
+    }
+
+    @Test
+    public void testGetCellKey() {
+        assertEquals(SeedPointIndex.getCellKey(10.0, 20.0), SeedPointIndex.getCellKey(10.01, 20.01));
+        assertNotEquals(SeedPointIndex.getCellKey(10.0, 20.0), SeedPointIndex.getCellKey(-170.0, -20.0));
+
+        final int maxKey = 6 << (2 * SeedPointIndex.CELL_LEVEL);
+        for (final SamplingPoint seedPoint : seedPoints) {
+            final int cellKey = SeedPointIndex.getCellKey(seedPoint.getLon(), seedPoint.getLat());
+            assertTrue(cellKey >= 0 && cellKey < maxKey);
+        }
+    }
+
+    // same filter as applied in SeedPointMatchupStrategy
+    private List<SamplingPoint> filter(List<SamplingPoint> points, long startTime, long stopTime, Geometry[] geometries) {
+        final List<SamplingPoint> result = new ArrayList<>();
+        for (final SamplingPoint point : points) {
+            final long time = point.getTime();
+            if (time >= startTime && time <= stopTime) {
+                for (final Geometry geometry : geometries) {
+                    final Geometry intersection = geometry.getIntersection(geometryFactory.createPoint(point.getLon(), point.getLat()));
+                    if (intersection != null && intersection.isValid()) {
+                        result.add(point);
+                        break;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
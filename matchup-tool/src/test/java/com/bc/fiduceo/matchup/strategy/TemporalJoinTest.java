@@ -0,0 +1,311 @@
+package com.bc.fiduceo.matchup.strategy;
+
+import com.bc.fiduceo.core.SatelliteObservation;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class TemporalJoinTest {
+
+    @Test
+    public void testSortByStartTime() {
+        final List<SatelliteObservation> observations = new ArrayList<>();
+        observations.add(createSatelliteObservation(30000L, 40000L));
+        observations.add(createSatelliteObservation(10000L, 20000L));
+        observations.add(createSatelliteObservation(20000L, 30000L));
+
+        final List<SatelliteObservation> sorted = TemporalJoin.sortByStartTime(observations);
+        assertEquals(3, sorted.size());
+        assertEquals(10000L, sorted.get(0).getStartTime().getTime());
+        assertEquals(20000L, sorted.get(1).getStartTime().getTime());
+        assertEquals(30000L, sorted.get(2).getStartTime().getTime());
+
+        // input is not altered
+        assertEquals(30000L, observations.get(0).getStartTime().getTime());
+    }
+
+    @Test
+    public void testSortByStartTime_keepsOrderOfEqualStartTimes() {
+        final List<SatelliteObservation> observations = new ArrayList<>();
+        final SatelliteObservation first = createSatelliteObservation(10000L, 20000L);
+        final SatelliteObservation second = createSatelliteObservation(10000L, 30000L);
+        observations.add(first);
+        observations.add(second);
+
+        final List<SatelliteObservation> sorted = TemporalJoin.sortByStartTime(observations);
+        assertSame(first, sorted.get(0));
+        assertSame(second, sorted.get(1));
+    }
+
+    @Test
+    public void testNext() {
+        final List<SatelliteObservation> secondaries = new ArrayList<>();
+        secondaries.add(createSatelliteObservation(37000L, 47000L));
+        secondaries.add(createSatelliteObservation(10000L, 20000L));
+        secondaries.add(createSatelliteObservation(30000L, 40000L));
+        secondaries.add(createSatelliteObservation(55000L, 65000L));
+
+        final TemporalJoin temporalJoin = new TemporalJoin(secondaries, 1000);
+        assertEquals(4, temporalJoin.size());
+
+        List<SatelliteObservation> candidates = temporalJoin.next(createSatelliteObservation(21000L, 28000L));
+        assertEquals(1, candidates.size());
+        assertEquals(10000L, candidates.get(0).getStartTime().getTime());
+
+        candidates = temporalJoin.next(createSatelliteObservation(41000L, 44000L));
+        assertEquals(2, candidates.size());
+        assertEquals(30000L, candidates.get(0).getStartTime().getTime());
+        assertEquals(37000L, candidates.get(1).getStartTime().getTime());
+
+        candidates = temporalJoin.next(createSatelliteObservation(49000L, 53000L));
+        assertEquals(0, candidates.size());
+
+        candidates = temporalJoin.next(createSatelliteObservation(49500L, 70000L));
+        assertEquals(1, candidates.size());
+        assertEquals(55000L, candidates.get(0).getStartTime().getTime());
+    }
+
+    @Test
+    public void testNext_longPrimaryFollowedByShortPrimary() {
+        final List<SatelliteObservation> secondaries = new ArrayList<>();
+        secondaries.add(createSatelliteObservation(10000L, 20000L));
+        secondaries.add(createSatelliteObservation(50000L, 60000L));
+
+        final TemporalJoin temporalJoin = new TemporalJoin(secondaries, 0);
+
+        List<SatelliteObservation> candidates = temporalJoin.next(createSatelliteObservation(0L, 55000L));
+        assertEquals(2, candidates.size());
+
+        // the second secondary is already active but does not match the short primary
+        candidates = temporalJoin.next(createSatelliteObservation(15000L, 18000L));
+        assertEquals(1, candidates.size());
+        assertEquals(10000L, candidates.get(0).getStartTime().getTime());
+    }
+
+    @Test
+    public void testNext_primariesNotSorted() {
+        final TemporalJoin temporalJoin = new TemporalJoin(new ArrayList<>(), 0);
+        temporalJoin.next(createSatelliteObservation(20000L, 30000L));
+
+        try {
+            temporalJoin.next(createSatelliteObservation(10000L, 30000L));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void testNext_equalsIntervalQuery() {
+        final Random random = new Random(1234);
+        final List<SatelliteObservation> secondaries = createRandomObservations(random, 500);
+        final List<SatelliteObservation> primaries = TemporalJoin.sortByStartTime(createRandomObservations(random, 200));
+        final long timeDelta = 300000;
+
+        final TemporalJoin temporalJoin = new TemporalJoin(secondaries, timeDelta);
+        for (final SatelliteObservation primary : primaries) {
+            final long windowStart = primary.getStartTime().getTime() - timeDelta;
+            final long windowStop = primary.getStopTime().getTime() + timeDelta;
+
+            int expected = 0;
+            for (final SatelliteObservation secondary : secondaries) {
+                if (secondary.getStopTime().getTime() >= windowStart && secondary.getStartTime().getTime() <= windowStop) {
+                    expected++;
+                }
+            }
+
+            assertEquals(expected, temporalJoin.next(primary).size());
+        }
+    }
+
+    @Test
+    public void testGetCandidates() {
+        final List<SatelliteObservation> secondaries = new ArrayList<>();
+        secondaries.add(createSatelliteObservation(37000L, 47000L));
+        secondaries.add(createSatelliteObservation(30000L, 40000L));
+        secondaries.add(createSatelliteObservation(35000L, 45000L));
+
+        final TemporalJoin temporalJoin = new TemporalJoin(secondaries, 500);
+
+        List<SatelliteObservation> candidates = temporalJoin.getCandidates(46000L);
+        assertEquals(1, candidates.size());
+        assertEquals(37000L, candidates.get(0).getStartTime().getTime());
+
+        candidates = temporalJoin.getCandidates(29500L);
+        assertEquals(1, candidates.size());
+        assertEquals(30000L, candidates.get(0).getStartTime().getTime());
+
+        candidates = temporalJoin.getCandidates(38000L);
+        assertEquals(3, candidates.size());
+        assertEquals(30000L, candidates.get(0).getStartTime().getTime());
+        assertEquals(35000L, candidates.get(1).getStartTime().getTime());
+        assertEquals(37000L, candidates.get(2).getStartTime().getTime());
+
+        assertEquals(0, temporalJoin.getCandidates(29499L).size());
+        assertEquals(0, temporalJoin.getCandidates(47501L).size());
+    }
+
+    @Test
+    public void testGetCandidates_emptyList() {
+        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
+
+        final List<SatelliteObservation> resultList = new TemporalJoin(satelliteObservations, 20).getCandidates(20000L);
+        assertEquals(0, resultList.size());
+    }
+
+    @Test
+    public void testGetCandidates_before() {
+        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
+        final SatelliteObservation observation = createSatelliteObservation(30000L, 40000L);
+        satelliteObservations.add(observation);
+
+        final List<SatelliteObservation> resultList = new TemporalJoin(satelliteObservations, 500).getCandidates(20000L);
+        assertEquals(0, resultList.size());
+    }
+
+    @Test
+    public void testGetCandidates_after() {
+        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
+        final SatelliteObservation observation = createSatelliteObservation(30000L, 40000L);
+        satelliteObservations.add(observation);
+
+        final List<SatelliteObservation> resultList = new TemporalJoin(satelliteObservations, 500).getCandidates(41000L);
+        assertEquals(0, resultList.size());
+    }
+
+    @Test
+    public void testGetCandidates_pickOne() {
+        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
+        satelliteObservations.add(createSatelliteObservation(30000L, 40000L));
+        satelliteObservations.add(createSatelliteObservation(35000L, 45000L));
+        satelliteObservations.add(createSatelliteObservation(37000L, 47000L));
+
+        final List<SatelliteObservation> resultList = new TemporalJoin(satelliteObservations, 500).getCandidates(46000L);
+        assertEquals(1, resultList.size());
+        assertEquals(37000L, resultList.get(0).getStartTime().getTime());
+    }
+
+    @Test
+    public void testGetCandidates_pickOne_useTimeDelta_after() {
+        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
+        satelliteObservations.add(createSatelliteObservation(30000L, 40000L));
+        satelliteObservations.add(createSatelliteObservation(35000L, 45000L));
+        satelliteObservations.add(createSatelliteObservation(37000L, 47000L));
+
+        final List<SatelliteObservation> resultList = new TemporalJoin(satelliteObservations, 1000).getCandidates(47500L);
+        assertEquals(1, resultList.size());
+        assertEquals(37000L, resultList.get(0).getStartTime().getTime());
+    }
+
+    @Test
+    public void testGetCandidates_pickOne_useTimeDelta_before() {
+        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
+        satelliteObservations.add(createSatelliteObservation(30000L, 40000L));
+        satelliteObservations.add(createSatelliteObservation(35000L, 45000L));
+        satelliteObservations.add(createSatelliteObservation(37000L, 47000L));
+
+        final List<SatelliteObservation> resultList = new TemporalJoin(satelliteObservations, 1000).getCandidates(30500L);
+        assertEquals(1, resultList.size());
+        assertEquals(30000L, resultList.get(0).getStartTime().getTime());
+    }
+
+    @Test
+    public void testGetCandidates_picktwo() {
+        final List<SatelliteObservation> satelliteObservations = new ArrayList<>();
+        satelliteObservations.add(createSatelliteObservation(40000L, 50000L));
+        satelliteObservations.add(createSatelliteObservation(45000L, 55000L));
+        satelliteObservations.add(createSatelliteObservation(47000L, 57000L));
+
+        final List<SatelliteObservation> resultList = new TemporalJoin(satelliteObservations, 500).getCandidates(52000L);
+        assertEquals(2, resultList.size());
+        assertEquals(45000L, resultList.get(0).getStartTime().getTime());
+        assertEquals(47000L, resultList.get(1).getStartTime().getTime());
+    }
+
+    @Test
+    public void testGetCandidates_equalsLinearScan() {
+        final Random random = new Random(5678);
+        final List<SatelliteObservation> secondaries = createRandomObservations(random, 500);
+        final long timeDelta = 120000;
+
+        final TemporalJoin temporalJoin = new TemporalJoin(secondaries, timeDelta);
+        for (int i = 0; i < 200; i++) {
+            final long time = (long) (random.nextDouble() * 86400000L);
+            final List<SatelliteObservation> expected = getCandidatesByLinearScan(secondaries, time, timeDelta);
+
+            assertEquals(expected.size(), temporalJoin.getCandidates(time).size());
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final TemporalJoin temporalJoin = new TemporalJoin(new ArrayList<>(), 1000);
+
+        assertEquals(0, temporalJoin.size());
+        assertEquals(0, temporalJoin.getCandidates(10000L).size());
+        assertEquals(0, temporalJoin.next(createSatelliteObservation(10000L, 20000L)).size());
+    }
+
+    @Test
+    public void testGetTimeWindows() {
+        final List<SatelliteObservation> secondaries = new ArrayList<>();
+        secondaries.add(createSatelliteObservation(37000L, 47000L));
+        secondaries.add(createSatelliteObservation(10000L, 20000L));
+        secondaries.add(createSatelliteObservation(30000L, 40000L));
+        secondaries.add(createSatelliteObservation(55000L, 65000L));
+        secondaries.add(createSatelliteObservation(32000L, 35000L));
+
+        final TemporalJoin temporalJoin = new TemporalJoin(secondaries, 1000);
+        assertArrayEquals(new long[]{9000L, 21000L, 29000L, 48000L, 54000L, 66000L}, temporalJoin.getTimeWindows());
+    }
+
+    @Test
+    public void testGetTimeWindows_mergedByTimeDelta() {
+        final List<SatelliteObservation> secondaries = new ArrayList<>();
+        secondaries.add(createSatelliteObservation(10000L, 20000L));
+        secondaries.add(createSatelliteObservation(24000L, 30000L));
+
+        assertArrayEquals(new long[]{8000L, 32000L}, new TemporalJoin(secondaries, 2000).getTimeWindows());
+        assertArrayEquals(new long[]{9000L, 21000L, 23000L, 31000L}, new TemporalJoin(secondaries, 1000).getTimeWindows());
+    }
+
+    @Test
+    public void testGetTimeWindows_empty() {
+        final TemporalJoin temporalJoin = new TemporalJoin(new ArrayList<>(), 1000);
+        assertEquals(0, temporalJoin.getTimeWindows().length);
+    }
+
+    private static List<SatelliteObservation> getCandidatesByLinearScan(List<SatelliteObservation> observations, long time, long timeDelta) {
+        final List<SatelliteObservation> candidates = new ArrayList<>();
+        for (final SatelliteObservation observation : observations) {
+            if (observation.getStartTime().getTime() - timeDelta <= time && time <= observation.getStopTime().getTime() + timeDelta) {
+                candidates.add(observation);
+            }
+        }
+        return candidates;
+    }
+
+    private static List<SatelliteObservation> createRandomObservations(Random random, int numObservations) {
+        final List<SatelliteObservation> observations = new ArrayList<>();
+        for (int i = 0; i < numObservations; i++) {
+            final long start = (long) (random.nextDouble() * 86400000L);
+            final long duration = (long) (random.nextDouble() * 6000000L);
+            observations.add(createSatelliteObservation(start, start + duration));
+        }
+        return observations;
+    }
+
+    private static SatelliteObservation createSatelliteObservation(long startTime, long stopTime) {
+        final SatelliteObservation observation = new SatelliteObservation();
+        observation.setStartTime(new Date(startTime));
+        observation.setStopTime(new Date(stopTime));
+        return observation;
+    }
+}
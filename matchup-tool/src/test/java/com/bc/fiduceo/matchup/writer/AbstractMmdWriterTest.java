@@ -22,9 +22,12 @@ package com.bc.fiduceo.matchup.writer;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.*;
 
 import com.bc.fiduceo.core.Dimension;
+import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.core.Sample;
 import com.bc.fiduceo.core.Sensor;
 import com.bc.fiduceo.core.UseCaseConfig;
 import com.bc.fiduceo.matchup.MatchupToolTestUseCaseConfigBuilder;
@@ -34,7 +37,9 @@ import ucar.nc2.Group;
 import ucar.nc2.NetcdfFileWriter;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class AbstractMmdWriterTest {
@@ -130,4 +135,53 @@ public class AbstractMmdWriterTest {
         final String csList = AbstractMmdWriter.getCommaSeparatedListOfSensors(useCaseConfig);
         assertEquals("theMaster,numberThree,otherOne", csList);
     }
+
+    @Test
+    public void testGetSampleAndBulkVariables() {
+        final CenterXWritingIOVariable centerXVariable = new CenterXWritingIOVariable();
+        final AcquisitionTimeReadingIOVariable timeVariable = new AcquisitionTimeReadingIOVariable(new ReaderContainer());
+        final List<IOVariable> variables = new ArrayList<>();
+        variables.add(centerXVariable);
+        variables.add(timeVariable);
+
+        final List<IOVariable> sampleVariables = AbstractMmdWriter.getSampleVariables(variables);
+        assertEquals(1, sampleVariables.size());
+        assertSame(centerXVariable, sampleVariables.get(0));
+
+        final List<BulkIOVariable> bulkVariables = AbstractMmdWriter.getBulkVariables(variables);
+        assertEquals(1, bulkVariables.size());
+        assertSame(timeVariable, bulkVariables.get(0));
+    }
+
+    @Test
+    public void testSampleRun_write() throws Exception {
+        final BulkIOVariable variable = mock(BulkIOVariable.class);
+        final Interval interval = new Interval(3, 5);
+        final AbstractMmdWriter.SampleRun sampleRun = new AbstractMmdWriter.SampleRun(Collections.singletonList(variable), interval, 8);
+
+        sampleRun.add(new Sample(12, 13, 0.0, 0.0, 0L), 17);
+        sampleRun.add(new Sample(14, 15, 0.0, 0.0, 0L), 18);
+        assertEquals(2, sampleRun.getCount());
+
+        sampleRun.write();
+        assertEquals(0, sampleRun.getCount());
+        verify(variable, times(1)).writeData(any(int[].class), any(int[].class), eq(2), eq(interval), eq(17));
+
+        sampleRun.add(new Sample(16, 17, 0.0, 0.0, 0L), 19);
+        sampleRun.write();
+        verify(variable, times(1)).writeData(any(int[].class), any(int[].class), eq(1), eq(interval), eq(19));
+
+        sampleRun.write();
+        verifyNoMoreInteractions(variable);
+    }
+
+    @Test
+    public void testSampleRun_noBulkVariables() throws Exception {
+        final AbstractMmdWriter.SampleRun sampleRun = new AbstractMmdWriter.SampleRun(Collections.emptyList(), new Interval(1, 1), 8);
+
+        sampleRun.add(new Sample(12, 13, 0.0, 0.0, 0L), 17);
+        assertEquals(0, sampleRun.getCount());
+
+        sampleRun.write();
+    }
 }
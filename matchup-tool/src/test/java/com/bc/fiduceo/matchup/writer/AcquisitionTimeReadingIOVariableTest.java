@@ -0,0 +1,82 @@
+package com.bc.fiduceo.matchup.writer;
+
+import com.bc.fiduceo.core.Interval;
+import com.bc.fiduceo.reader.BulkAcquisitionTimeReader;
+import com.bc.fiduceo.reader.Reader;
+import org.junit.Before;
+import org.junit.Test;
+import ucar.ma2.Array;
+import ucar.ma2.ArrayInt;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+
+import java.io.IOException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AcquisitionTimeReadingIOVariableTest {
+
+    private Target target;
+    private ReaderContainer readerContainer;
+    private AcquisitionTimeReadingIOVariable ioVariable;
+
+    @Before
+    public void setUp() {
+        target = mock(Target.class);
+        readerContainer = new ReaderContainer();
+
+        ioVariable = new AcquisitionTimeReadingIOVariable(readerContainer);
+        ioVariable.setTarget(target);
+        ioVariable.setTargetVariableName("amsub_acquisition_time");
+    }
+
+    @Test
+    public void testWriteData() throws IOException, InvalidRangeException {
+        final Reader reader = mock(Reader.class);
+        final ArrayInt.D2 times = (ArrayInt.D2) Array.factory(DataType.INT, new int[]{1, 1}, new int[]{1000});
+        when(reader.readAcquisitionTime(anyInt(), anyInt(), any())).thenReturn(times);
+        readerContainer.setReader(reader);
+
+        final Interval interval = new Interval(1, 1);
+        ioVariable.writeData(5, 6, interval, 7);
+
+        verify(reader, times(1)).readAcquisitionTime(5, 6, interval);
+        verify(target, times(1)).write(times, "amsub_acquisition_time", 7);
+        verifyNoMoreInteractions(reader, target);
+    }
+
+    @Test
+    public void testWriteData_bulk() throws IOException, InvalidRangeException {
+        final Reader reader = mock(Reader.class, withSettings().extraInterfaces(BulkAcquisitionTimeReader.class));
+        readerContainer.setReader(reader);
+
+        final int[] centerX = {3, 4, 5};
+        final int[] centerY = {10, 11, 12};
+        final Interval interval = new Interval(3, 3);
+        ioVariable.writeData(centerX, centerY, 3, interval, 8);
+
+        verify((BulkAcquisitionTimeReader) reader, times(1)).readAcquisitionTimes(eq(centerX), eq(centerY), eq(3), eq(interval), any(int[].class));
+        verify(target, times(1)).write(any(int[].class), eq(27), eq("amsub_acquisition_time"), eq(8));
+        verifyNoMoreInteractions(reader, target);
+    }
+
+    @Test
+    public void testWriteData_bulkFallsBackToSingleWindows() throws IOException, InvalidRangeException {
+        final Reader reader = mock(Reader.class);
+        final ArrayInt.D2 times = (ArrayInt.D2) Array.factory(DataType.INT, new int[]{1, 1}, new int[]{1000});
+        when(reader.readAcquisitionTime(anyInt(), anyInt(), any())).thenReturn(times);
+        readerContainer.setReader(reader);
+
+        final Interval interval = new Interval(1, 1);
+        ioVariable.writeData(new int[]{3, 4}, new int[]{10, 11}, 2, interval, 8);
+
+        verify(reader, times(1)).readAcquisitionTime(3, 10, interval);
+        verify(reader, times(1)).readAcquisitionTime(4, 11, interval);
+        verify(target, times(1)).write(times, "amsub_acquisition_time", 8);
+        verify(target, times(1)).write(times, "amsub_acquisition_time", 9);
+        verifyNoMoreInteractions(reader, target);
+    }
+}
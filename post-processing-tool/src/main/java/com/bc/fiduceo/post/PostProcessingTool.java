@@ -105,6 +105,8 @@ class PostProcessingTool {
         final String geometryLibraryType = systemConfig.getGeometryLibraryType();
         final ReaderFactory readerFactory = ReaderFactory.create(new GeometryFactory(geometryLibraryType), context.getTempFileUtils(),
                 archive, configValue);
+        readerFactory.setTileCacheSize(systemConfig.getTileCacheSize());
+        readerFactory.setInsituCacheLocation(systemConfig.getInsituCacheLocation());
         context.setReaderFactory(readerFactory);
 
         logger.info("Success loading configuration.");
@@ -32,8 +32,14 @@ import ucar.nc2.*;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 
+import static com.bc.fiduceo.reader.caliop.CALIOP_L2_VFM_Reader.NUM_NADIR_FLAGS;
+import static com.bc.fiduceo.reader.caliop.CALIOP_L2_VFM_Reader.NUM_PROFILE_FLAGS;
+
 public class CALIOP_L2_VFM_FLAGS_PP extends PostProcessing {
 
     private static final String CALIOP_VFM_CAL_NY = "caliop_vfm-cal_ny";
@@ -80,7 +86,7 @@ public class CALIOP_L2_VFM_FLAGS_PP extends PostProcessing {
         final Variable sourceFlagsVar = caliopReader.find(FLAG_VAR_NAME);
         final List<Attribute> srcAttributes = sourceFlagsVar.getAttributes();
 
-        writer.addDimension(null, CENTER_FCF_FLAGS, 545);
+        writer.addDimension(null, CENTER_FCF_FLAGS, NUM_NADIR_FLAGS);
         final String dimString = FiduceoConstants.MATCHUP_COUNT + " " + CALIOP_VFM_CAL_NY + " " + CALIOP_VFM_CAL_NX + " " + CENTER_FCF_FLAGS;
         targetFlagsVariable = writer.addVariable(null, targetVariableName_centerFCF, DataType.SHORT, dimString);
         for (Attribute srcAttribute : srcAttributes) {
@@ -90,33 +96,97 @@ public class CALIOP_L2_VFM_FLAGS_PP extends PostProcessing {
 
     @Override
     protected void compute(NetcdfFile reader, NetcdfFileWriter writer) throws IOException, InvalidRangeException {
-        final int[] srcOrigin = {0, 0};
-        final int[] srcShape = {1, 5515};
-        final int[] targetOrigin = {0, 0, 0, 0};
-        final int[] targetShape = {1, 1, 1, 545};
         final int yWindowSize = NetCDFUtils.getDimensionLength(CALIOP_VFM_CAL_NY, reader);
         final int yWindowOffset = yWindowSize / 2;
 
         final Array yMatchupCenter = reader.findVariable(toValidName(srcVariableName_y)).read();
 
         final int matchupCount = (int) yMatchupCenter.getSize();
+        final LinkedHashMap<String, Granule> granules = new LinkedHashMap<>();
         for (int i = 0; i < matchupCount; i++) {
             final String sourceFileName = getSourceFileName(fileNameVariable, i, filenameFieldSize, CALIOP_L2_VFM_Reader.REG_EX);
             final String processingVersion = NetCDFUtils.readString(processingVersionVariable, i, processingVersionSize);
-            final CALIOP_L2_VFM_Reader caliopReader = (CALIOP_L2_VFM_Reader) readerCache.getReaderFor(sensorType, Paths.get(sourceFileName), processingVersion);
+            final Granule granule = granules.computeIfAbsent(sourceFileName + "|" + processingVersion, k -> new Granule(sourceFileName, processingVersion));
+            granule.matchups.add(i);
+        }
+
+        for (final Granule granule : granules.values()) {
+            final CALIOP_L2_VFM_Reader caliopReader = (CALIOP_L2_VFM_Reader) readerCache.getReaderFor(sensorType, Paths.get(granule.fileName), granule.processingVersion);
             final Variable sourceFlagsVar = caliopReader.find(FLAG_VAR_NAME);
-            final int centerY = yMatchupCenter.getInt(i);
-            targetOrigin[0] = i;
-            for (int j = 0; j < yWindowSize; j++) {
-                final int yFlagReadPos = centerY - yWindowOffset + j;
-                srcOrigin[0] = yFlagReadPos;
-                targetOrigin[1] = j;
-                final Array array = sourceFlagsVar.read(srcOrigin, srcShape);
-                final Array centerFlags = CALIOP_L2_VFM_Reader.readNadirClassificationFlags(array);
-                final Array reshapedData = centerFlags.reshape(targetShape);
-                writer.write(targetFlagsVariable, targetOrigin, reshapedData);
+
+            final int[] matchups = granule.matchups.stream().mapToInt(Integer::intValue).toArray();
+            final int[] startRows = new int[matchups.length];
+            for (int m = 0; m < matchups.length; m++) {
+                startRows[m] = yMatchupCenter.getInt(matchups[m]) - yWindowOffset;
+            }
+
+            final int[] rows = getRequiredRows(startRows, yWindowSize);
+            final short[] nadirFlags = readNadirFlags(sourceFlagsVar, rows);
+
+            // flag cube of all matchups of the granule, layout [matchup][window row][flag]
+            final int matchupStride = yWindowSize * NUM_NADIR_FLAGS;
+            final short[] cube = new short[matchups.length * matchupStride];
+            for (int m = 0; m < matchups.length; m++) {
+                for (int j = 0; j < yWindowSize; j++) {
+                    final int rowIndex = Arrays.binarySearch(rows, startRows[m] + j);
+                    System.arraycopy(nadirFlags, rowIndex * NUM_NADIR_FLAGS, cube, m * matchupStride + j * NUM_NADIR_FLAGS, NUM_NADIR_FLAGS);
+                }
+            }
+
+            writeRuns(writer, matchups, cube, yWindowSize);
+        }
+    }
+
+    // package access for testing only
+    static int[] getRequiredRows(int[] startRows, int windowSize) {
+        final int[] rows = new int[startRows.length * windowSize];
+        int idx = 0;
+        for (final int startRow : startRows) {
+            for (int j = 0; j < windowSize; j++) {
+                rows[idx++] = startRow + j;
+            }
+        }
+        return Arrays.stream(rows).sorted().distinct().toArray();
+    }
+
+    // package access for testing only
+    static List<int[]> getRuns(int[] sortedValues) {
+        final List<int[]> runs = new ArrayList<>();
+        int runStart = 0;
+        for (int i = 1; i <= sortedValues.length; i++) {
+            if (i == sortedValues.length || sortedValues[i] != sortedValues[i - 1] + 1) {
+                runs.add(new int[]{runStart, i - runStart});
+                runStart = i;
             }
         }
+        return runs;
+    }
+
+    // reads the profiles in runs of consecutive rows and decodes each profile once
+    private static short[] readNadirFlags(Variable sourceFlagsVar, int[] rows) throws IOException, InvalidRangeException {
+        final short[] nadirFlags = new short[rows.length * NUM_NADIR_FLAGS];
+        for (final int[] run : getRuns(rows)) {
+            final int runStart = run[0];
+            final int runLength = run[1];
+            final Array profiles = sourceFlagsVar.read(new int[]{rows[runStart], 0}, new int[]{runLength, NUM_PROFILE_FLAGS});
+            final short[] profileData = (short[]) profiles.get1DJavaArray(DataType.SHORT);
+            for (int r = 0; r < runLength; r++) {
+                CALIOP_L2_VFM_Reader.readNadirClassificationFlags(profileData, r * NUM_PROFILE_FLAGS, nadirFlags, (runStart + r) * NUM_NADIR_FLAGS);
+            }
+        }
+        return nadirFlags;
+    }
+
+    // writes one slab per run of consecutive matchup indices
+    private void writeRuns(NetcdfFileWriter writer, int[] matchups, short[] cube, int yWindowSize) throws IOException, InvalidRangeException {
+        final int matchupStride = yWindowSize * NUM_NADIR_FLAGS;
+        for (final int[] run : getRuns(matchups)) {
+            final int runStart = run[0];
+            final int runLength = run[1];
+            final short[] slab = Arrays.copyOfRange(cube, runStart * matchupStride, (runStart + runLength) * matchupStride);
+            final Array slabArray = Array.factory(DataType.SHORT, new int[]{runLength, yWindowSize, 1, NUM_NADIR_FLAGS}, slab);
+            writer.write(targetFlagsVariable, new int[]{matchups[runStart], 0, 0, 0}, slabArray);
+        }
     }
 
     @Override
@@ -139,4 +209,16 @@ public class CALIOP_L2_VFM_FLAGS_PP extends PostProcessing {
     void forTestsOnly_dispose() {
         this.dispose();
     }
+
+    private static class Granule {
+        final String fileName;
+        final String processingVersion;
+        final List<Integer> matchups;
+
+        Granule(String fileName, String processingVersion) {
+            this.fileName = fileName;
+            this.processingVersion = processingVersion;
+            matchups = new ArrayList<>();
+        }
+    }
 }
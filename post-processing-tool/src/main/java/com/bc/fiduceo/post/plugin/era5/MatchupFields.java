@@ -93,69 +93,43 @@ class MatchupFields extends FieldsProcessor {
             final Array latArray = readGeolocationVariable(geoDimension, reader, matchupConfig.get_latitude_variable_name());
 
             // for all nwp variables
-            // - get variable
-            // - get data array
+            // - sort the matchup time steps by ERA-5 time stamp
+            // - sweep through time, read each field once as block covering all matchups of the time stamp
+            // - interpolate from the block and write to the matchup/time step position
             final int numMatches = NetCDFUtils.getDimensionLength(matchupConfig.getMatchupDimensionName(), reader);
-            final int[] nwpShape = new int[]{1, 1, 1};
-            final int[] nwpOffset = new int[]{0, 0, 0};
-            final Index timeIndex = targetTimeArray.getIndex();
+            final BilinearInterpolator[] interpolators = getInterpolators(lonArray, latArray, numMatches);
+            final int[] timeStamps = (int[]) targetTimeArray.get1DJavaArray(DataType.INT);
+            final int[] sortedIndices = getTimeSortedIndices(timeStamps);
             final Set<String> variableKeys = variables.keySet();
             final HashMap<String, Array> targetArrays = allocateTargetData(writer, variables);
 
-            // iterate over matchups
             for (final String variableKey : variableKeys) {
                 final float fillValue = variables.get(variableKey).getFillValue();
                 final Array targetArray = targetArrays.get(variableKey);
-                final Index targetIndex = targetArray.getIndex();
-
-                for (int m = 0; m < numMatches; m++) {
-                    nwpOffset[0] = m;
-
-                    final Array lonLayer = lonArray.section(nwpOffset, nwpShape).copy();
-                    final Array latLayer = latArray.section(nwpOffset, nwpShape).copy();
-
-                    final InterpolationContext interpolationContext = Era5PostProcessing.getInterpolationContext(lonLayer, latLayer);
-
-                    // iterate over time stamps
-                    for (int t = 0; t < numTimeSteps; t++) {
-                        timeIndex.set(m, t);
-                        targetIndex.set(m, t);
-
-                        final int timeStamp = targetTimeArray.getInt(timeIndex);
-                        if (VariableUtils.isTimeFill(timeStamp)) {
-                            targetArray.setFloat(targetIndex, fillValue);
-                            continue;
-                        }
+                final float[] targetData = (float[]) targetArray.getStorage();
+                Arrays.fill(targetData, fillValue);
+
+                int start = 0;
+                while (start < sortedIndices.length) {
+                    final int timeStamp = timeStamps[sortedIndices[start]];
+                    int end = start + 1;
+                    while (end < sortedIndices.length && timeStamps[sortedIndices[end]] == timeStamp) {
+                        end++;
+                    }
 
+                    final int[] boundingBox = getBoundingBox(interpolators, sortedIndices, start, end, numTimeSteps);
+                    if (boundingBox != null) {
                         final Variable variable = variableCache.get(variableKey, timeStamp);
-                        final double scaleFactor = NetCDFUtils.getScaleFactor(variable);
-                        final double offset = NetCDFUtils.getOffset(variable);
-                        final boolean mustScale = ReaderUtils.mustScale(scaleFactor, offset);
-
-                        final BilinearInterpolator bilinearInterpolator = interpolationContext.get(0, 0);
-                        if (bilinearInterpolator == null) {
-                            targetArray.setFloat(targetIndex, fillValue);
-                            continue;
-                        }
-
-                        final int offsetX = bilinearInterpolator.getXMin();
-                        final int offsetX1 = (offsetX + 1) % DATA_ARRAY_WIDTH;
-                        final int offsetY = bilinearInterpolator.getYMin();
-
-                            Array leftSide = variable.read(new int[]{0, offsetY, offsetX}, new int[]{1, 2, 1}).reduce();
-                            Array rightSide = variable.read(new int[]{0, offsetY, offsetX1}, new int[]{1, 2, 1}).reduce();
-                            if (mustScale) {
-                                leftSide = NetCDFUtils.scale(leftSide, scaleFactor, offset);
-                                rightSide = NetCDFUtils.scale(rightSide, scaleFactor, offset);
+                        final Array block = readBlock(variable, boundingBox);
+                        for (int i = start; i < end; i++) {
+                            final int targetIndex = sortedIndices[i];
+                            final BilinearInterpolator interpolator = interpolators[targetIndex / numTimeSteps];
+                            if (interpolator != null) {
+                                targetData[targetIndex] = interpolate(block, boundingBox, interpolator);
                             }
-                        final float c00 = leftSide.getFloat(0);
-                        final float c10 = rightSide.getFloat(0);
-                        final float c01 = leftSide.getFloat(1);
-                        final float c11 = rightSide.getFloat(1);
-                        final double interpolated = bilinearInterpolator.interpolate(c00, c10, c01, c11);
-
-                        targetArray.setFloat(targetIndex, (float) interpolated);
+                        }
                     }
+                    start = end;
                 }
             }
 
@@ -170,6 +144,103 @@ class MatchupFields extends FieldsProcessor {
         }
     }
 
+    private static BilinearInterpolator[] getInterpolators(Array lonArray, Array latArray, int numMatches) throws InvalidRangeException {
+        final BilinearInterpolator[] interpolators = new BilinearInterpolator[numMatches];
+        final int[] nwpShape = new int[]{1, 1, 1};
+        final int[] nwpOffset = new int[]{0, 0, 0};
+        for (int m = 0; m < numMatches; m++) {
+            nwpOffset[0] = m;
+
+            final Array lonLayer = lonArray.section(nwpOffset, nwpShape).copy();
+            final Array latLayer = latArray.section(nwpOffset, nwpShape).copy();
+
+            final InterpolationContext interpolationContext = Era5PostProcessing.getInterpolationContext(lonLayer, latLayer);
+            interpolators[m] = interpolationContext.get(0, 0);
+        }
+        return interpolators;
+    }
+
+    // package access for testing purpose only
+    static int[] getTimeSortedIndices(int[] timeStamps) {
+        int numValid = 0;
+        for (final int timeStamp : timeStamps) {
+            if (!VariableUtils.isTimeFill(timeStamp)) {
+                numValid++;
+            }
+        }
+
+        // time stamp in the upper, index in the lower bits - sorting keeps the index order for equal time stamps
+        final long[] keys = new long[numValid];
+        int writeIndex = 0;
+        for (int i = 0; i < timeStamps.length; i++) {
+            if (!VariableUtils.isTimeFill(timeStamps[i])) {
+                keys[writeIndex++] = ((long) timeStamps[i] << 32) | i;
+            }
+        }
+        Arrays.sort(keys);
+
+        final int[] sortedIndices = new int[numValid];
+        for (int i = 0; i < numValid; i++) {
+            sortedIndices[i] = (int) keys[i];
+        }
+        return sortedIndices;
+    }
+
+    // package access for testing purpose only
+    // returns {xMin, yMin, xMax, yMax} of the interpolation corners, null if there is no valid interpolator
+    static int[] getBoundingBox(BilinearInterpolator[] interpolators, int[] sortedIndices, int start, int end, int numTimeSteps) {
+        int xMin = Integer.MAX_VALUE;
+        int yMin = Integer.MAX_VALUE;
+        int xMax = Integer.MIN_VALUE;
+        int yMax = Integer.MIN_VALUE;
+        for (int i = start; i < end; i++) {
+            final BilinearInterpolator interpolator = interpolators[sortedIndices[i] / numTimeSteps];
+            if (interpolator == null) {
+                continue;
+            }
+
+            final int x0 = interpolator.getXMin();
+            final int x1 = (x0 + 1) % DATA_ARRAY_WIDTH;
+            final int y0 = interpolator.getYMin();
+            xMin = Math.min(xMin, Math.min(x0, x1));
+            xMax = Math.max(xMax, Math.max(x0, x1));
+            yMin = Math.min(yMin, y0);
+            yMax = Math.max(yMax, y0 + 1);
+        }
+
+        if (xMin == Integer.MAX_VALUE) {
+            return null;
+        }
+        return new int[]{xMin, yMin, xMax, yMax};
+    }
+
+    private static Array readBlock(Variable variable, int[] boundingBox) throws IOException, InvalidRangeException {
+        final int[] origin = {0, boundingBox[1], boundingBox[0]};
+        final int[] shape = {1, boundingBox[3] - boundingBox[1] + 1, boundingBox[2] - boundingBox[0] + 1};
+        final Array block = variable.read(origin, shape);
+
+        final double scaleFactor = NetCDFUtils.getScaleFactor(variable);
+        final double offset = NetCDFUtils.getOffset(variable);
+        if (ReaderUtils.mustScale(scaleFactor, offset)) {
+            return NetCDFUtils.scale(block, scaleFactor, offset);
+        }
+        return block;
+    }
+
+    // package access for testing purpose only
+    static float interpolate(Array block, int[] boundingBox, BilinearInterpolator interpolator) {
+        final int blockWidth = boundingBox[2] - boundingBox[0] + 1;
+        final int x0 = interpolator.getXMin() - boundingBox[0];
+        final int x1 = (interpolator.getXMin() + 1) % DATA_ARRAY_WIDTH - boundingBox[0];
+        final int y0 = interpolator.getYMin() - boundingBox[1];
+
+        final float c00 = block.getFloat(y0 * blockWidth + x0);
+        final float c10 = block.getFloat(y0 * blockWidth + x1);
+        final float c01 = block.getFloat((y0 + 1) * blockWidth + x0);
+        final float c11 = block.getFloat((y0 + 1) * blockWidth + x1);
+        return (float) interpolator.interpolate(c00, c10, c01, c11);
+    }
+
     private void addTimeVariable(MatchupFieldsConfiguration matchupFieldsConfig, List<Dimension> dimensions, NetcdfFileWriter writer) {
         final String timeVariableName = matchupFieldsConfig.get_nwp_time_variable_name();
 //        final String escapedName = NetCDFUtils.escapeVariableName(timeVariableName);
@@ -24,7 +24,6 @@ import com.bc.fiduceo.core.Interval;
 import com.bc.fiduceo.post.PostProcessing;
 import com.bc.fiduceo.post.util.DistanceToLandMap;
 import com.bc.fiduceo.reader.Reader;
-import com.bc.fiduceo.util.NetCDFUtils;
 import ucar.ma2.*;
 import ucar.nc2.Attribute;
 import ucar.nc2.NetcdfFile;
@@ -33,7 +32,12 @@ import ucar.nc2.Variable;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
 
 import static com.bc.fiduceo.util.NetCDFUtils.*;
 
@@ -47,6 +51,7 @@ class HirsL1CloudyFlags extends PostProcessing {
     private static final float DELTA_1_WATER = 3.5f;
     private static final int DOMAIN_LAND_OR_ICE_NOT_USEABLE = 1;
     private static final int DOMAIN_WATER_NOT_USEABLE = 20;
+    private static final int SOURCE_WINDOW_SIZE = 45;
 
     private final static DataType FLAG_VAR_DATA_TYPE = DataType.BYTE;
     final String sensorName;
@@ -67,9 +72,8 @@ class HirsL1CloudyFlags extends PostProcessing {
     private float fillValue_11_1;
     private float fillValue_6_5;
     private Variable varFlags;
-    private Array data11_1;
-    private Array data6_5;
-    private Array flags;
+    private float[] data11_1;
+    private float[] data6_5;
     private ArrayChar sourcFileNames;
     private ArrayChar processingVersions;
     private Array lats;
@@ -100,12 +104,11 @@ class HirsL1CloudyFlags extends PostProcessing {
         this.distanceToLandMap = distanceToLandMap;
     }
 
-    static MaximumAndFlags getMaximumAndFlags(Array domainData, float fillValue, int maxNumInvalidPixels) {
-        final IndexIterator iterator = domainData.getIndexIterator();
+    static MaximumAndFlags getMaximumAndFlags(float[] domainData, int offset, int length, float fillValue, int maxNumInvalidPixels) {
         int invalidCount = 0;
         float max = fillValue;
-        while (iterator.hasNext()) {
-            final float v = iterator.getFloatNext();
+        for (int i = offset; i < offset + length; i++) {
+            final float v = domainData[i];
             if (v == fillValue) {
                 invalidCount++;
             } else {
@@ -183,24 +186,35 @@ class HirsL1CloudyFlags extends PostProcessing {
     protected void compute(NetcdfFile reader, NetcdfFileWriter writer) throws IOException, InvalidRangeException {
         initDataForComputing(reader, writer);
 
-        final Domain domainLandIce = new Domain(data11_1, data6_5, flags, fillValue_11_1, fillValue_6_5, createLandOrIceDomainDataProvider());
-        final Domain domainWater = new Domain(data11_1, data6_5, flags, fillValue_11_1, fillValue_6_5, createWaterDomainDataProvider());
+        final int numMatchups = shape[0];
+        final int levelSize = shape[1] * shape[2];
+        final double[] thresholds = new double[numMatchups];
+        final byte[] domainFlags = new byte[numMatchups];
 
+        final List<Integer> waterMatchups = new ArrayList<>();
         try {
-            for (int z = 0; z < shape[0]; z++) {
+            // the distance to land map is not thread safe, classify sequentially
+            for (int z = 0; z < numMatchups; z++) {
                 final boolean land = isLand(distanceToLandMap, lons.getDouble(z), lats.getDouble(z));
                 final boolean iceCoveredWater = !land && isIceCoveredWater();
-                final boolean water = !land && !iceCoveredWater;
                 if (land || iceCoveredWater) {
-                    domainLandIce.computeFlags(z);
+                    final MaximumAndFlags mf = getMaximumAndFlags(data11_1, z * levelSize, levelSize, fillValue_11_1, DOMAIN_LAND_OR_ICE_NOT_USEABLE);
+                    thresholds[z] = mf.maximum - DELTA_1_LAND_OR_ICE_COVERED;
+                    domainFlags[z] = mf.flags;
                 } else {
-                    domainWater.computeFlags(z);
+                    waterMatchups.add(z);
                 }
             }
-            writer.write(varFlags, flags);
         } finally {
             distanceToLandMap.close();
         }
+
+        computeWaterDomains(waterMatchups, thresholds, domainFlags);
+
+        final byte[] flags = new byte[numMatchups * levelSize];
+        IntStream.range(0, numMatchups).parallel().forEach(z -> computeFlags(data11_1, data6_5, flags, z * levelSize, levelSize,
+                                                                              thresholds[z], domainFlags[z], fillValue_11_1, fillValue_6_5));
+        writer.write(varFlags, Array.factory(FLAG_VAR_DATA_TYPE, shape, flags));
     }
 
     @Override
@@ -217,34 +231,45 @@ class HirsL1CloudyFlags extends PostProcessing {
         }
     }
 
-    private DomainDataProvider createLandOrIceDomainDataProvider() {
-        final int[] levelShape = data11_1.getShape();
-        levelShape[0] = 1;
-
-        return new DomainDataProvider(DOMAIN_LAND_OR_ICE_NOT_USEABLE, DELTA_1_LAND_OR_ICE_COVERED) {
-            final int[] origin3D = {0, 0, 0};
-
-            @Override
-            public Array getDomainData_11_1(int z) throws IOException {
-                origin3D[0] = z;
-                return NetCDFUtils.section(data11_1, origin3D, levelShape);
+    // reads the source windows grouped by source file, each file is accessed once with the windows ordered by line
+    private void computeWaterDomains(List<Integer> waterMatchups, double[] thresholds, byte[] domainFlags) throws IOException, InvalidRangeException {
+        final Map<String, List<Integer>> matchupsPerFile = groupBySourceFile(waterMatchups, sourcFileNames, processingVersions);
+        final Interval windowSize = new Interval(SOURCE_WINDOW_SIZE, SOURCE_WINDOW_SIZE);
+
+        for (final List<Integer> fileMatchups : matchupsPerFile.values()) {
+            fileMatchups.sort((z1, z2) -> Integer.compare(yValues[z1], yValues[z2]));
+
+            final int first = fileMatchups.get(0);
+            final Reader srcReader = readerCache.getReaderFor(sensorName, Paths.get(sourcFileNames.getString(first)), processingVersions.getString(first));
+            for (final int z : fileMatchups) {
+                final Array window = srcReader.readScaled(xValues[z], yValues[z], windowSize, sourceBt_11_1_um_VarName);
+                final float[] windowData = (float[]) window.get1DJavaArray(DataType.FLOAT);
+                final MaximumAndFlags mf = getMaximumAndFlags(windowData, 0, windowData.length, fillValue_11_1, DOMAIN_WATER_NOT_USEABLE);
+                thresholds[z] = mf.maximum - DELTA_1_WATER;
+                domainFlags[z] = mf.flags;
             }
-        };
+        }
     }
 
-    private DomainDataProvider createWaterDomainDataProvider() {
-        return new DomainDataProvider(DOMAIN_WATER_NOT_USEABLE, DELTA_1_WATER) {
-            final int[] origin2D = {0, 0};
-
-            @Override
-            Array getDomainData_11_1(int z) throws InvalidRangeException, IOException {
-                origin2D[0] = z;
-                final String fileName = sourcFileNames.getString(z);
-                final String version = processingVersions.getString(z);
-                Reader srcReader = readerCache.getReaderFor(sensorName, Paths.get(fileName), version);
-                return srcReader.readScaled(xValues[z], yValues[z], new Interval(45, 45), sourceBt_11_1_um_VarName);
-            }
-        };
+    // package access for testing only
+    static Map<String, List<Integer>> groupBySourceFile(List<Integer> matchups, ArrayChar fileNames, ArrayChar versions) {
+        final Map<String, List<Integer>> matchupsPerFile = new TreeMap<>();
+        for (final int z : matchups) {
+            final String key = fileNames.getString(z) + "|" + versions.getString(z);
+            matchupsPerFile.computeIfAbsent(key, k -> new ArrayList<>()).add(z);
+        }
+        return matchupsPerFile;
+    }
+
+    static void computeFlags(float[] data11_1, float[] data6_5, byte[] flags, int offset, int length,
+                             double spaceContrastThreshold, byte domainFlags, float fillValue_11_1, float fillValue_6_5) {
+        for (int i = offset; i < offset + length; i++) {
+            final float value_11_1 = data11_1[i];
+            byte flagsByte = domainFlags;
+            flagsByte += getCloudy_SpaceContrastTest(spaceContrastThreshold, value_11_1, fillValue_11_1);
+            flagsByte += getCloudy_InterChannelTest(value_11_1, fillValue_11_1, data6_5[i], fillValue_6_5);
+            flags[i] = flagsByte;
+        }
     }
 
     private void initDataForComputing(NetcdfFile reader, NetcdfFileWriter writer) throws IOException, InvalidRangeException {
@@ -267,9 +292,8 @@ class HirsL1CloudyFlags extends PostProcessing {
 
         shape = var11_1um.getShape();
 
-        data11_1 = var11_1um.read();
-        data6_5 = var6_5um.read();
-        flags = varFlags.read();
+        data11_1 = (float[]) var11_1um.read().get1DJavaArray(DataType.FLOAT);
+        data6_5 = (float[]) var6_5um.read().get1DJavaArray(DataType.FLOAT);
 
         final String matchupDimensionName = getMatchupDimensionName();
         lats = getCenterPosArrayFromMMDFile(reader, latVarName, null, null, matchupDimensionName);
@@ -286,57 +310,4 @@ class HirsL1CloudyFlags extends PostProcessing {
             this.flags = flags;
         }
     }
-
-    static class Domain {
-
-        private final float fillValue_11_1;
-        private final float fillValue_6_5;
-        private final Array data11_1um;
-        private final Array data6_5um;
-        private final Array flags;
-        private final int[] shape;
-        private final Index index;
-        private final DomainDataProvider ddp;
-
-        Domain(Array data11_1, Array data6_5, Array flags, float fillValue_11_1, float fillValue_6_5, DomainDataProvider ddp) {
-            this.data11_1um = data11_1;
-            this.data6_5um = data6_5;
-            this.flags = flags;
-            this.fillValue_11_1 = fillValue_11_1;
-            this.fillValue_6_5 = fillValue_6_5;
-            shape = flags.getShape();
-            index = flags.getIndex();
-            this.ddp = ddp;
-        }
-
-        void computeFlags(int z) throws InvalidRangeException, IOException {
-            Array domainData_11_1 = ddp.getDomainData_11_1(z);
-            final MaximumAndFlags mf = getMaximumAndFlags(domainData_11_1, fillValue_11_1, ddp.maxNumUnuseable);
-            final double spaceContrastThreshold = mf.maximum - ddp.delta1;
-            index.set0(z);
-            for (int y = 0; y < shape[1]; y++) {
-                index.set1(y);
-                for (int x = 0; x < shape[2]; x++) {
-                    index.set2(x);
-                    byte flagsByte = mf.flags;
-                    flagsByte += getCloudy_SpaceContrastTest(spaceContrastThreshold, data11_1um.getFloat(index), fillValue_11_1);
-                    flagsByte += getCloudy_InterChannelTest(data11_1um.getFloat(index), fillValue_11_1, data6_5um.getFloat(index), fillValue_6_5);
-                    flags.setByte(index, flagsByte);
-                }
-            }
-        }
-    }
-
-    static abstract class DomainDataProvider {
-
-        final int maxNumUnuseable;
-        final float delta1;
-
-        DomainDataProvider(int maxNumUnuseable, float delta1) {
-            this.maxNumUnuseable = maxNumUnuseable;
-            this.delta1 = delta1;
-        }
-
-        abstract Array getDomainData_11_1(int z) throws InvalidRangeException, IOException;
-    }
 }
@@ -26,6 +26,8 @@ import java.io.File;
 class Configuration {
 
     private boolean deleteOnExit;
+    private boolean nativeEngine;
+    private boolean distanceWeighted;
     private String CDOHome;
     private String NWPAuxDir;
 
@@ -44,6 +46,22 @@ class Configuration {
         return deleteOnExit;
     }
 
+    void setNativeEngine(boolean nativeEngine) {
+        this.nativeEngine = nativeEngine;
+    }
+
+    boolean isNativeEngine() {
+        return nativeEngine;
+    }
+
+    void setDistanceWeighted(boolean distanceWeighted) {
+        this.distanceWeighted = distanceWeighted;
+    }
+
+    boolean isDistanceWeighted() {
+        return distanceWeighted;
+    }
+
     void setCDOHome(String CDOHome) {
         this.CDOHome = CDOHome;
     }
@@ -85,9 +103,11 @@ class Configuration {
     }
 
     boolean verify() {
-        final File cdoDir = new File(CDOHome);
-        if (!cdoDir.isDirectory()) {
-            throw new RuntimeException("cdo executable directory does not exist");
+        if (!nativeEngine) {
+            final File cdoDir = new File(CDOHome);
+            if (!cdoDir.isDirectory()) {
+                throw new RuntimeException("cdo executable directory does not exist");
+            }
         }
 
         final File nwpDir = new File(NWPAuxDir);
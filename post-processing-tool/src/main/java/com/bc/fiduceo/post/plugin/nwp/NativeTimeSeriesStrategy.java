@@ -0,0 +1,299 @@
+package com.bc.fiduceo.post.plugin.nwp;
+
+import com.bc.fiduceo.FiduceoConstants;
+import com.bc.fiduceo.log.FiduceoLogger;
+import com.bc.fiduceo.util.NetCDFUtils;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.NetcdfFileWriter;
+import ucar.nc2.Variable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static com.bc.fiduceo.post.plugin.nwp.Constants.CLWC_NAME;
+
+/**
+ * Time series extraction without CDO: the analysis and forecast fields are read from the step files of the NWP
+ * archive, remapped in memory to the matchup locations and written to the target variables in slabs of matchups.
+ * Same time step selection as the CDO pipeline with FileMerger.
+ */
+class NativeTimeSeriesStrategy extends TimeSeriesStrategy {
+
+    private static final int CHUNK_SIZE = 4096;
+    // consecutive chunks mostly cover the same time steps, the step files are kept open across chunks
+    private static final int MAX_OPEN_FILES = 32;
+
+    // variables taken from the model level and accumulated forecast collections, as selected in the CDO templates
+    private static final Set<String> GGAM_VARIABLES = new HashSet<>(Arrays.asList(CLWC_NAME));
+    private static final Set<String> GGFM_VARIABLES = new HashSet<>(Arrays.asList(CLWC_NAME));
+    private static final Set<String> GAFS_VARIABLES = new HashSet<>(Arrays.asList("SSHF", "SLHF", "SSRD", "STRD", "SSR", "STR", "EWSS", "NSSS", "E", "TP"));
+
+    @Override
+    void compute(Context context) throws IOException, InvalidRangeException {
+        final Configuration configuration = context.getConfiguration();
+        final TimeSeriesConfiguration timeSeriesConfiguration = configuration.getTimeSeriesConfiguration();
+
+        final NetcdfFile reader = context.getReader();
+        final List<String> nwpDataDirectories = extractNwpDataDirectories(timeSeriesConfiguration.getTimeVariableName(), reader);
+        final String nwpAuxDir = configuration.getNWPAuxDir();
+
+        final Variable lonVariable = NetCDFUtils.getVariable(reader, timeSeriesConfiguration.getLongitudeVariableName());
+        final float[] lons = (float[]) FileMerger.extractCenterVector(lonVariable).get1DJavaArray(DataType.FLOAT);
+        final Variable latVariable = NetCDFUtils.getVariable(reader, timeSeriesConfiguration.getLatitudeVariableName());
+        final float[] lats = (float[]) FileMerger.extractCenterVector(latVariable).get1DJavaArray(DataType.FLOAT);
+        final RemappingCache remappings = new RemappingCache(lons, lats, configuration.isDistanceWeighted());
+
+        final NetcdfFileWriter writer = context.getWriter();
+        final Variable mmdTime = NetCDFUtils.getVariable(writer, timeSeriesConfiguration.getTimeVariableName());
+        final Array mmdTimeArray = FileMerger.extractCenterVector(mmdTime);
+        final int matchupCount = NetCDFUtils.getDimensionLength(FiduceoConstants.MATCHUP_COUNT, reader);
+
+        final TemplateVariables templateVariables = context.getTemplateVariables();
+
+        // analysis
+        final NwpCollection ggas = NwpCollection.create(nwpAuxDir + "/ggas", nwpDataDirectories, "ggas[0-9]*.nc", 0);
+        final NwpCollection ggam = NwpCollection.create(nwpAuxDir + "/ggam", nwpDataDirectories, "ggam[0-9]*.grb", 0);
+
+        final int analysisSteps = timeSeriesConfiguration.getAnalysisSteps();
+        final int anPastTimeStepCount = NwpUtils.computePastTimeStepCount(analysisSteps);
+        final int anFutureTimeStepCount = NwpUtils.computeFutureTimeStepCount(analysisSteps);
+
+        final int[] anStartSteps = new int[matchupCount];
+        final int[] anCenterTimes = new int[matchupCount];
+        for (int i = 0; i < matchupCount; i++) {
+            final int timeStep = ggas.nearestStep(mmdTimeArray.getInt(i));
+            if (timeStep - anPastTimeStepCount < 0 || timeStep + anFutureTimeStepCount > ggas.getTimeStepCount() - 1) {
+                throw new RuntimeException("Not enough time steps in NWP time series.");
+            }
+            anStartSteps[i] = timeStep - anPastTimeStepCount;
+            anCenterTimes[i] = ggas.getTime(timeStep);
+        }
+
+        final Map<NwpCollection, List<TemplateVariable>> analysisSources = new LinkedHashMap<>();
+        for (final TemplateVariable variable : templateVariables.getTimeSeriesAnalysisVariables()) {
+            final NwpCollection source = GGAM_VARIABLES.contains(variable.getOriginalName()) ? ggam : ggas;
+            analysisSources.computeIfAbsent(source, k -> new ArrayList<>()).add(variable);
+        }
+        extract(analysisSources, ggas, anStartSteps, analysisSteps, remappings, writer);
+
+        final Variable analysisVariable = NetCDFUtils.getVariable(writer, timeSeriesConfiguration.getAnCenterTimeName());
+        writer.write(analysisVariable, NetCDFUtils.create(anCenterTimes));
+
+        // forecast
+        final NwpCollection gafs = NwpCollection.create(nwpAuxDir + "/gafs", nwpDataDirectories, "gafs[0-9]*.nc", 0);
+        final NwpCollection ggfs = NwpCollection.create(nwpAuxDir + "/ggfs", nwpDataDirectories, "ggfs[0-9]*.nc", 0);
+        final NwpCollection ggfm = NwpCollection.create(nwpAuxDir + "/ggfm", nwpDataDirectories, "ggfm[0-9]*.grb", 0);
+
+        final int forecastSteps = timeSeriesConfiguration.getForecastSteps();
+        final int fcPastTimeStepCount = NwpUtils.computePastTimeStepCount(forecastSteps);
+
+        final Variable forecastVariable = NetCDFUtils.getVariable(writer, timeSeriesConfiguration.getFcCenterTimeName());
+        final int forecastFillValue = NetCDFUtils.getFillValue(forecastVariable).intValue();
+
+        final int[] fcStartSteps = new int[matchupCount];
+        final int[] fcCenterTimes = new int[matchupCount];
+        final Logger logger = FiduceoLogger.getLogger();
+        for (int i = 0; i < matchupCount; i++) {
+            final int timeStep = gafs.nearestStep(mmdTimeArray.getInt(i));
+            final int startIdx = timeStep - fcPastTimeStepCount;
+            if (startIdx < 0 || startIdx + forecastSteps > gafs.getTimeStepCount() - 1) {
+                logger.warning("Not enough time steps in NWP time series for matchup index " + i);
+                fcStartSteps[i] = -1;
+                fcCenterTimes[i] = forecastFillValue;
+                continue;
+            }
+            fcStartSteps[i] = startIdx;
+            fcCenterTimes[i] = gafs.getTime(timeStep);
+        }
+
+        final Map<NwpCollection, List<TemplateVariable>> forecastSources = new LinkedHashMap<>();
+        for (final TemplateVariable variable : templateVariables.getTimeSeriesForecastVariables()) {
+            final String originalName = variable.getOriginalName();
+            final NwpCollection source;
+            if (GAFS_VARIABLES.contains(originalName)) {
+                source = gafs;
+            } else if (GGFM_VARIABLES.contains(originalName)) {
+                source = ggfm;
+            } else {
+                source = ggfs;
+            }
+            forecastSources.computeIfAbsent(source, k -> new ArrayList<>()).add(variable);
+        }
+        extract(forecastSources, gafs, fcStartSteps, forecastSteps, remappings, writer);
+
+        writer.write(forecastVariable, NetCDFUtils.create(fcCenterTimes));
+    }
+
+    private static void extract(Map<NwpCollection, List<TemplateVariable>> sources, NwpCollection timeAxis, int[] startSteps, int stepCount,
+                                RemappingCache remappings, NetcdfFileWriter writer) throws IOException, InvalidRangeException {
+        final List<TemplateVariable> variables = new ArrayList<>();
+        for (final List<TemplateVariable> sourceVariables : sources.values()) {
+            variables.addAll(sourceVariables);
+        }
+
+        try (StepFiles stepFiles = new StepFiles()) {
+            extract(sources, variables, timeAxis, startSteps, stepCount, remappings, writer, stepFiles);
+        }
+    }
+
+    private static void extract(Map<NwpCollection, List<TemplateVariable>> sources, List<TemplateVariable> variables, NwpCollection timeAxis,
+                                int[] startSteps, int stepCount, RemappingCache remappings, NetcdfFileWriter writer,
+                                StepFiles stepFiles) throws IOException, InvalidRangeException {
+        final int matchupCount = startSteps.length;
+        for (int chunkStart = 0; chunkStart < matchupCount; chunkStart += CHUNK_SIZE) {
+            final int chunkSize = Math.min(CHUNK_SIZE, matchupCount - chunkStart);
+
+            final Map<TemplateVariable, float[]> values = new LinkedHashMap<>();
+            for (final TemplateVariable variable : variables) {
+                final float[] variableValues = new float[chunkSize * stepCount];
+                Arrays.fill(variableValues, Float.NaN);
+                values.put(variable, variableValues);
+            }
+
+            // matchup/time step positions of the chunk, grouped by time step of the axis
+            int minStep = Integer.MAX_VALUE;
+            int maxStep = Integer.MIN_VALUE;
+            for (int i = chunkStart; i < chunkStart + chunkSize; i++) {
+                if (startSteps[i] >= 0) {
+                    minStep = Math.min(minStep, startSteps[i]);
+                    maxStep = Math.max(maxStep, startSteps[i] + stepCount - 1);
+                }
+            }
+
+            if (minStep <= maxStep) {
+                final int numSteps = maxStep - minStep + 1;
+                final int[] offsets = new int[numSteps + 1];
+                for (int i = chunkStart; i < chunkStart + chunkSize; i++) {
+                    if (startSteps[i] >= 0) {
+                        for (int slot = 0; slot < stepCount; slot++) {
+                            offsets[startSteps[i] + slot - minStep + 1]++;
+                        }
+                    }
+                }
+                for (int s = 0; s < numSteps; s++) {
+                    offsets[s + 1] += offsets[s];
+                }
+                final int[] positions = new int[offsets[numSteps]];
+                final int[] cursor = Arrays.copyOf(offsets, numSteps);
+                for (int i = chunkStart; i < chunkStart + chunkSize; i++) {
+                    if (startSteps[i] >= 0) {
+                        for (int slot = 0; slot < stepCount; slot++) {
+                            positions[cursor[startSteps[i] + slot - minStep]++] = (i - chunkStart) * stepCount + slot;
+                        }
+                    }
+                }
+
+                for (int s = 0; s < numSteps; s++) {
+                    if (offsets[s] == offsets[s + 1]) {
+                        continue;
+                    }
+
+                    final int time = timeAxis.getTime(minStep + s);
+                    for (final Map.Entry<NwpCollection, List<TemplateVariable>> entry : sources.entrySet()) {
+                        final NwpCollection collection = entry.getKey();
+                        final int step = collection.findStep(time);
+                        if (step < 0) {
+                            continue;
+                        }
+
+                        final NetcdfFile netcdfFile = stepFiles.get(collection.getFile(step));
+                        for (final TemplateVariable variable : entry.getValue()) {
+                            final Variable sourceVariable = NwpCollection.findVariable(netcdfFile, variable.getOriginalName());
+                            if (sourceVariable == null) {
+                                throw new IOException("NWP variable not found: " + variable.getOriginalName() + " in " + netcdfFile.getLocation());
+                            }
+
+                            final Remapping remapping = remappings.get(netcdfFile, sourceVariable);
+                            int yMin = Integer.MAX_VALUE;
+                            int yMax = Integer.MIN_VALUE;
+                            for (int p = offsets[s]; p < offsets[s + 1]; p++) {
+                                final int point = chunkStart + positions[p] / stepCount;
+                                if (remapping.isValid(point)) {
+                                    yMin = Math.min(yMin, remapping.getYMin(point));
+                                    yMax = Math.max(yMax, remapping.getYMax(point));
+                                }
+                            }
+                            if (yMin > yMax) {
+                                continue;
+                            }
+
+                            // the time series use the first level of multi-level fields, as the CDO pipeline
+                            final float[] block = collection.readBlock(netcdfFile, sourceVariable, step, 0, 1, yMin, yMax);
+                            final float[] variableValues = values.get(variable);
+                            for (int p = offsets[s]; p < offsets[s + 1]; p++) {
+                                final int point = chunkStart + positions[p] / stepCount;
+                                variableValues[positions[p]] = (float) remapping.apply(block, 0, yMin, point);
+                            }
+                        }
+                    }
+                }
+            }
+
+            final int[] targetStart = {chunkStart, 0};
+            final int[] targetShape = {chunkSize, stepCount};
+            for (final Map.Entry<TemplateVariable, float[]> entry : values.entrySet()) {
+                final Variable targetVariable = NetCDFUtils.getVariable(writer, entry.getKey().getName());
+                final float fillValue = NetCDFUtils.getFillValue(targetVariable).floatValue();
+                final float[] variableValues = entry.getValue();
+                for (int k = 0; k < variableValues.length; k++) {
+                    if (Float.isNaN(variableValues[k])) {
+                        variableValues[k] = fillValue;
+                    }
+                }
+                writer.write(targetVariable, targetStart, Array.factory(DataType.FLOAT, targetShape, variableValues));
+            }
+        }
+    }
+
+    /**
+     * The opened step files; at most MAX_OPEN_FILES are kept open, the least recently used one is closed first.
+     */
+    private static class StepFiles implements Closeable {
+
+        private final Map<File, NetcdfFile> openFiles = new LinkedHashMap<>(16, 0.75f, true);
+
+        NetcdfFile get(File file) throws IOException {
+            NetcdfFile netcdfFile = openFiles.get(file);
+            if (netcdfFile == null) {
+                if (openFiles.size() >= MAX_OPEN_FILES) {
+                    final Iterator<NetcdfFile> iterator = openFiles.values().iterator();
+                    final NetcdfFile eldest = iterator.next();
+                    iterator.remove();
+                    eldest.close();
+                }
+                netcdfFile = NetcdfFile.open(file.getAbsolutePath());
+                openFiles.put(file, netcdfFile);
+            }
+            return netcdfFile;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException exception = null;
+            for (final NetcdfFile netcdfFile : openFiles.values()) {
+                try {
+                    netcdfFile.close();
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+            openFiles.clear();
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.bc.fiduceo.post.plugin.nwp;
+
+import com.bc.fiduceo.util.NetCDFUtils;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
+import ucar.ma2.InvalidRangeException;
+import ucar.nc2.Attribute;
+import ucar.nc2.Dimension;
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+import ucar.nc2.time.CalendarDateUnit;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time index of one collection of the NWP archive (e.g. "ggas"), replacing the CDO "mergetime" step. Holds the
+ * time steps of all files of the collection in ascending order, each with the file and the index along the
+ * time dimension of that file. The fields are read directly from the step files, NetCDF and GRIB alike.
+ */
+class NwpCollection {
+
+    // ECMWF GRIB table 128 parameter codes of the variables used by the post processing
+    private static final Map<String, Integer> GRIB_PARAMETERS = new HashMap<>();
+
+    static {
+        GRIB_PARAMETERS.put("CI", 31);
+        GRIB_PARAMETERS.put("ASN", 32);
+        GRIB_PARAMETERS.put("SSTK", 34);
+        GRIB_PARAMETERS.put("T", 130);
+        GRIB_PARAMETERS.put("Q", 133);
+        GRIB_PARAMETERS.put("TCWV", 137);
+        GRIB_PARAMETERS.put("SSHF", 146);
+        GRIB_PARAMETERS.put("SLHF", 147);
+        GRIB_PARAMETERS.put("MSL", 151);
+        GRIB_PARAMETERS.put("LNSP", 152);
+        GRIB_PARAMETERS.put("BLH", 159);
+        GRIB_PARAMETERS.put("TCC", 164);
+        GRIB_PARAMETERS.put("U10", 165);
+        GRIB_PARAMETERS.put("V10", 166);
+        GRIB_PARAMETERS.put("T2", 167);
+        GRIB_PARAMETERS.put("D2", 168);
+        GRIB_PARAMETERS.put("SSRD", 169);
+        GRIB_PARAMETERS.put("AL", 174);
+        GRIB_PARAMETERS.put("STRD", 175);
+        GRIB_PARAMETERS.put("SSR", 176);
+        GRIB_PARAMETERS.put("STR", 177);
+        GRIB_PARAMETERS.put("EWSS", 180);
+        GRIB_PARAMETERS.put("NSSS", 181);
+        GRIB_PARAMETERS.put("E", 182);
+        GRIB_PARAMETERS.put("O3", 203);
+        GRIB_PARAMETERS.put("TP", 228);
+        GRIB_PARAMETERS.put("SKT", 235);
+        GRIB_PARAMETERS.put("CLWC", 246);
+        GRIB_PARAMETERS.put("CIWC", 247);
+    }
+
+    private final File[] files;
+    private final int[] fileTimeIndices;
+    private final int[] times;
+
+    // package access for testing only
+    NwpCollection(File[] files, int[] fileTimeIndices, int[] times) {
+        this.files = files;
+        this.fileTimeIndices = fileTimeIndices;
+        this.times = times;
+    }
+
+    /**
+     * Creates the time index of the collection from the files matching the pattern in the day directories. The
+     * skip parameter has the meaning of NwpUtils.composeFilesString().
+     *
+     * @param collectionDir the collection root directory
+     * @param subDirPaths   the day directories, relative to the collection root
+     * @param pattern       the file name pattern
+     * @param skip          number of files to skip at the beginning (positive) or the end (negative)
+     * @return the collection
+     * @throws IOException on disk access failures or unsupported time coordinates
+     */
+    static NwpCollection create(String collectionDir, List<String> subDirPaths, String pattern, int skip) throws IOException {
+        final List<File> files = NwpUtils.listFiles(collectionDir, subDirPaths, pattern, skip);
+
+        final List<long[]> steps = new ArrayList<>();
+        for (int fileIndex = 0; fileIndex < files.size(); fileIndex++) {
+            try (NetcdfFile netcdfFile = NetcdfFile.open(files.get(fileIndex).getAbsolutePath())) {
+                final int[] fileTimes = readTimes(findTimeVariable(netcdfFile));
+                for (int i = 0; i < fileTimes.length; i++) {
+                    steps.add(new long[]{fileTimes[i], fileIndex, i});
+                }
+            }
+        }
+
+        // mergetime semantics: ordered by time, the first occurrence of a time stamp wins
+        steps.sort((o1, o2) -> Long.compare(o1[0], o2[0]));
+        final File[] stepFiles = new File[steps.size()];
+        final int[] stepTimeIndices = new int[steps.size()];
+        final int[] stepTimes = new int[steps.size()];
+        int count = 0;
+        for (final long[] step : steps) {
+            if (count > 0 && stepTimes[count - 1] == (int) step[0]) {
+                continue;
+            }
+            stepTimes[count] = (int) step[0];
+            stepFiles[count] = files.get((int) step[1]);
+            stepTimeIndices[count] = (int) step[2];
+            count++;
+        }
+
+        return new NwpCollection(Arrays.copyOf(stepFiles, count), Arrays.copyOf(stepTimeIndices, count), Arrays.copyOf(stepTimes, count));
+    }
+
+    int getTimeStepCount() {
+        return times.length;
+    }
+
+    int getTime(int step) {
+        return times[step];
+    }
+
+    File getFile(int step) {
+        return files[step];
+    }
+
+    Array getTimesArray() {
+        return NetCDFUtils.create(times);
+    }
+
+    /**
+     * Returns the index of the time step with exactly the given time, -1 if there is none.
+     *
+     * @param time seconds since 1970
+     * @return the time step index or -1
+     */
+    int findStep(int time) {
+        final int index = Arrays.binarySearch(times, time);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Returns the index of the time step closest to the given time; for equal distances the earlier step. Same
+     * result as NwpUtils.nearestTimeStep() on the time axis.
+     *
+     * @param time seconds since 1970
+     * @return the time step index
+     */
+    int nearestStep(int time) {
+        final int index = Arrays.binarySearch(times, time);
+        if (index >= 0) {
+            return index;
+        }
+
+        final int insertionPoint = -index - 1;
+        if (insertionPoint == 0) {
+            return 0;
+        }
+        if (insertionPoint == times.length) {
+            return times.length - 1;
+        }
+
+        final long deltaBefore = (long) time - times[insertionPoint - 1];
+        final long deltaAfter = (long) times[insertionPoint] - time;
+        return deltaBefore <= deltaAfter ? insertionPoint - 1 : insertionPoint;
+    }
+
+    /**
+     * Finds the source variable of the given CDO variable name. Variables of GRIB files are named differently by
+     * the NetCDF library, these are identified by the ECMWF parameter code, either derived from the CDO name
+     * ("CLWC") or the CDO table-less name ("var246").
+     *
+     * @param netcdfFile the step file
+     * @param cdoName    the variable name as used in the CDO pipeline
+     * @return the variable or null when the file does not contain grid point data of the parameter
+     */
+    static Variable findVariable(NetcdfFile netcdfFile, String cdoName) {
+        final Variable variable = netcdfFile.findVariable(cdoName);
+        if (variable != null) {
+            return variable;
+        }
+
+        final List<Variable> variables = netcdfFile.getVariables();
+        for (final Variable candidate : variables) {
+            if (candidate.getShortName().equalsIgnoreCase(cdoName) && candidate.getRank() >= 3) {
+                return candidate;
+            }
+        }
+
+        final int parameterCode = getGribParameterCode(cdoName);
+        if (parameterCode < 0) {
+            return null;
+        }
+        for (final Variable candidate : variables) {
+            final Attribute parameterAttribute = candidate.findAttribute("Grib1_Parameter");
+            if (parameterAttribute != null && candidate.getRank() >= 3) {
+                final Number value = parameterAttribute.getNumericValue();
+                if (value != null && value.intValue() == parameterCode) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the values of one time step and the given level range in the grid rows yMin to yMax (inclusive), full
+     * grid width. Values are scaled; fill values and values outside the valid range are returned as NaN. The
+     * result is ordered level, row, column.
+     *
+     * @param netcdfFile the opened step file
+     * @param variable   the source variable, dimensions (time, [level,] lat, lon)
+     * @param step       the time step index of the collection
+     * @param levelStart the first level
+     * @param levelCount the number of levels
+     * @param yMin       the first grid row
+     * @param yMax       the last grid row
+     * @return the values
+     * @throws IOException           on disk access failures
+     * @throws InvalidRangeException internal error
+     */
+    float[] readBlock(NetcdfFile netcdfFile, Variable variable, int step, int levelStart, int levelCount, int yMin, int yMax) throws IOException, InvalidRangeException {
+        final int timeIndex = findTimeIndex(netcdfFile, variable, step);
+        final int rank = variable.getRank();
+        final int nx = variable.getShape(rank - 1);
+        final int[] origin;
+        final int[] shape;
+        if (rank == 4) {
+            origin = new int[]{timeIndex, levelStart, yMin, 0};
+            shape = new int[]{1, levelCount, yMax - yMin + 1, nx};
+        } else {
+            origin = new int[]{timeIndex, yMin, 0};
+            shape = new int[]{1, yMax - yMin + 1, nx};
+        }
+
+        final Array raw = variable.read(origin, shape);
+        final double fillValue = getDoubleAttribute(variable, NetCDFUtils.CF_FILL_VALUE_NAME);
+        final double missingValue = getDoubleAttribute(variable, "missing_value");
+        final double validMin = NetCDFUtils.getAttributeDouble(variable, "valid_min", Double.NEGATIVE_INFINITY);
+        final double validMax = NetCDFUtils.getAttributeDouble(variable, "valid_max", Double.POSITIVE_INFINITY);
+        final double scaleFactor = NetCDFUtils.getScaleFactor(variable);
+        final double offset = NetCDFUtils.getOffset(variable);
+
+        final int size = (int) raw.getSize();
+        final float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            final double rawValue = raw.getDouble(i);
+            if (rawValue == fillValue || rawValue == missingValue || Double.isNaN(rawValue)) {
+                values[i] = Float.NaN;
+                continue;
+            }
+            final double value = rawValue * scaleFactor + offset;
+            values[i] = value < validMin || value > validMax ? Float.NaN : (float) value;
+        }
+        return values;
+    }
+
+    static double[] readGridLatitudes(NetcdfFile netcdfFile, Variable variable) throws IOException {
+        return readCoordinate(netcdfFile, variable.getDimension(variable.getRank() - 2));
+    }
+
+    static double[] readGridLongitudes(NetcdfFile netcdfFile, Variable variable) throws IOException {
+        return readCoordinate(netcdfFile, variable.getDimension(variable.getRank() - 1));
+    }
+
+    // package access for testing only
+    static int getGribParameterCode(String cdoName) {
+        if (cdoName.startsWith("var")) {
+            try {
+                return Integer.parseInt(cdoName.substring(3));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        final Integer code = GRIB_PARAMETERS.get(cdoName.toUpperCase());
+        return code != null ? code : -1;
+    }
+
+    private int findTimeIndex(NetcdfFile netcdfFile, Variable variable, int step) throws IOException {
+        final Dimension timeDimension = variable.getDimension(0);
+        if (timeDimension.getLength() == 1) {
+            return 0;
+        }
+
+        // variables of GRIB files may use a time coordinate of their own
+        final Variable timeVariable = netcdfFile.findVariable(timeDimension.getShortName());
+        if (timeVariable == null) {
+            return fileTimeIndices[step];
+        }
+        final int[] variableTimes = readTimes(timeVariable);
+        for (int i = 0; i < variableTimes.length; i++) {
+            if (variableTimes[i] == times[step]) {
+                return i;
+            }
+        }
+        throw new IOException("Time step not contained in variable " + variable.getShortName() + " of " + files[step].getAbsolutePath());
+    }
+
+    private static Variable findTimeVariable(NetcdfFile netcdfFile) throws IOException {
+        for (final Variable variable : netcdfFile.getVariables()) {
+            if (variable.isCoordinateVariable()) {
+                final String units = variable.getUnitsString();
+                if (units != null && units.contains(" since ")) {
+                    return variable;
+                }
+            }
+        }
+        throw new IOException("No time coordinate in NWP file: " + netcdfFile.getLocation());
+    }
+
+    private static int[] readTimes(Variable timeVariable) throws IOException {
+        final CalendarDateUnit dateUnit;
+        try {
+            dateUnit = CalendarDateUnit.of(null, timeVariable.getUnitsString());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unsupported time units: " + timeVariable.getUnitsString());
+        }
+
+        final Array timeArray = timeVariable.read();
+        final int[] times = new int[(int) timeArray.getSize()];
+        for (int i = 0; i < times.length; i++) {
+            final long millis = dateUnit.makeCalendarDate(timeArray.getDouble(i)).getMillis();
+            times[i] = (int) Math.round(millis / 1000.0);
+        }
+        return times;
+    }
+
+    private static double[] readCoordinate(NetcdfFile netcdfFile, Dimension dimension) throws IOException {
+        final Variable coordinateVariable = netcdfFile.findVariable(dimension.getShortName());
+        if (coordinateVariable == null) {
+            throw new IOException("No coordinate variable for dimension: " + dimension.getShortName());
+        }
+        return (double[]) coordinateVariable.read().get1DJavaArray(DataType.DOUBLE);
+    }
+
+    private static double getDoubleAttribute(Variable variable, String name) {
+        return NetCDFUtils.getAttributeDouble(variable, name, Double.NaN);
+    }
+}
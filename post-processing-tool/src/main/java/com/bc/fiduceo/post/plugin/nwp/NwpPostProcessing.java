@@ -49,7 +49,7 @@ class NwpPostProcessing extends PostProcessing {
 
         final Context context = createContext(reader, writer);
         if (configuration.isTimeSeriesExtraction()) {
-            final Strategy timeSeries = StrategyFactory.getTimeSeries();
+            final Strategy timeSeries = getTimeSeriesStrategy();
             timeSeries.prepare(context);
         }
 
@@ -68,7 +68,7 @@ class NwpPostProcessing extends PostProcessing {
         final Context context = createContext(reader, writer);
 
         if (configuration.isTimeSeriesExtraction()) {
-            final Strategy timeSeries = StrategyFactory.getTimeSeries();
+            final Strategy timeSeries = getTimeSeriesStrategy();
             timeSeries.compute(context);
         }
 
@@ -79,6 +79,13 @@ class NwpPostProcessing extends PostProcessing {
 
     }
 
+    private Strategy getTimeSeriesStrategy() {
+        if (configuration.isNativeEngine()) {
+            return StrategyFactory.getNativeTimeSeries();
+        }
+        return StrategyFactory.getTimeSeries();
+    }
+
     private Context createContext(NetcdfFile reader, NetcdfFileWriter writer) {
         final Context context = new Context();
 
@@ -40,8 +40,36 @@ public class NwpPostProcessingPlugin implements PostProcessingPlugin {
             configuration.setDeleteOnExit(Boolean.parseBoolean(deleteOnExitValue));
         }
 
-        final String cdoHomeValue = JDomUtils.getMandatoryChildTextTrim(rootElement, "cdo-home");
-        configuration.setCDOHome(cdoHomeValue);
+        final Element engineElement = rootElement.getChild("engine");
+        if (engineElement != null) {
+            final String engineValue = getElementValueTrimmed(engineElement);
+            if ("native".equals(engineValue)) {
+                configuration.setNativeEngine(true);
+            } else if (!"cdo".equals(engineValue)) {
+                throw new RuntimeException("Unsupported nwp engine: " + engineValue);
+            }
+        }
+
+        final Element remappingElement = rootElement.getChild("remapping");
+        if (remappingElement != null) {
+            final String remappingValue = getElementValueTrimmed(remappingElement);
+            if ("distance-weighted".equals(remappingValue)) {
+                configuration.setDistanceWeighted(true);
+            } else if (!"bilinear".equals(remappingValue)) {
+                throw new RuntimeException("Unsupported nwp remapping: " + remappingValue);
+            }
+        }
+
+        // the cdo installation is only needed when the CDO pipeline runs
+        if (configuration.isNativeEngine()) {
+            final Element cdoHomeElement = rootElement.getChild("cdo-home");
+            if (cdoHomeElement != null) {
+                configuration.setCDOHome(getElementValueTrimmed(cdoHomeElement));
+            }
+        } else {
+            final String cdoHomeValue = JDomUtils.getMandatoryChildTextTrim(rootElement, "cdo-home");
+            configuration.setCDOHome(cdoHomeValue);
+        }
 
         final String nwpAuxDirValue = JDomUtils.getMandatoryChildTextTrim(rootElement, "nwp-aux-dir");
         configuration.setNWPAuxDir(nwpAuxDirValue);
@@ -49,6 +77,11 @@ public class NwpPostProcessingPlugin implements PostProcessingPlugin {
         parseTimeExtractionConfiguration(rootElement, configuration);
         parseSensorExtractionConfiguration(rootElement, configuration);
 
+        // the sensor extraction needs the spectral fields (LNSP, T), which can only be converted to grid points by CDO
+        if (configuration.isNativeEngine() && configuration.isSensorExtraction()) {
+            throw new RuntimeException("The native nwp engine supports the time series extraction only - use <engine>cdo</engine> for the sensor extraction");
+        }
+
         return configuration;
     }
 
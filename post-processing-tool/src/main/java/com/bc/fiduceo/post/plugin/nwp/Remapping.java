@@ -0,0 +1,247 @@
+package com.bc.fiduceo.post.plugin.nwp;
+
+/**
+ * Remapping weights from a regular (or Gaussian) latitude/longitude grid to a set of target locations, the native
+ * replacement of CDO "remapbil". Each target location is interpolated from the four grid points enclosing it,
+ * either bilinearly or weighted by the inverse great circle distance. The corners and weights are stored in
+ * primitive arrays, computed once per grid and applied to every field and time step on that grid.
+ */
+class Remapping {
+
+    private static final double MIN_DISTANCE = 1.0e-9;
+
+    private final int[] x0;
+    private final int[] x1;
+    private final int[] y0;
+    private final int[] y1;
+    private final double[] weights;
+    private final int gridWidth;
+
+    private Remapping(int numPoints, int gridWidth) {
+        x0 = new int[numPoints];
+        x1 = new int[numPoints];
+        y0 = new int[numPoints];
+        y1 = new int[numPoints];
+        weights = new double[4 * numPoints];
+        this.gridWidth = gridWidth;
+    }
+
+    /**
+     * Calculates the remapping weights.
+     *
+     * @param gridLons         the grid longitudes, monotonically increasing
+     * @param gridLats         the grid latitudes, monotonic
+     * @param lons             the target longitudes
+     * @param lats             the target latitudes
+     * @param distanceWeighted when true, inverse distance weighting is used instead of bilinear interpolation
+     * @return the remapping
+     */
+    static Remapping create(double[] gridLons, double[] gridLats, float[] lons, float[] lats, boolean distanceWeighted) {
+        final int numPoints = lons.length;
+        final Remapping remapping = new Remapping(numPoints, gridLons.length);
+
+        final int nx = gridLons.length;
+        final double lonStart = gridLons[0];
+        final double lonSpacing = nx > 1 ? gridLons[1] - gridLons[0] : 360.0;
+        final boolean global = Math.abs(gridLons[nx - 1] + lonSpacing - lonStart - 360.0) < 0.5 * Math.abs(lonSpacing);
+
+        for (int i = 0; i < numPoints; i++) {
+            final float lon = lons[i];
+            final float lat = lats[i];
+            if (!(lat >= -90.f && lat <= 90.f && lon >= -180.f && lon <= 360.f)) {
+                remapping.y0[i] = -1;
+                continue;
+            }
+
+            // longitude, normalised to the grid start
+            double gridLon = lon;
+            while (gridLon < lonStart) {
+                gridLon += 360.0;
+            }
+            while (gridLon >= lonStart + 360.0) {
+                gridLon -= 360.0;
+            }
+            final int xLeft = lowerIndex(gridLons, gridLon);
+            final double a;
+            if (xLeft < 0) {
+                remapping.x0[i] = 0;
+                remapping.x1[i] = 0;
+                a = 0.0;
+            } else if (xLeft == nx - 1) {
+                remapping.x0[i] = xLeft;
+                if (global) {
+                    remapping.x1[i] = 0;
+                    a = (gridLon - gridLons[xLeft]) / (lonStart + 360.0 - gridLons[xLeft]);
+                } else {
+                    remapping.x1[i] = xLeft;
+                    a = 0.0;
+                }
+            } else {
+                remapping.x0[i] = xLeft;
+                remapping.x1[i] = xLeft + 1;
+                a = (gridLon - gridLons[xLeft]) / (gridLons[xLeft + 1] - gridLons[xLeft]);
+            }
+
+            // latitude, ascending or descending, clamped outside the grid (Gaussian grids exclude the poles)
+            final int ny = gridLats.length;
+            final boolean descending = ny > 1 && gridLats[1] < gridLats[0];
+            final int yIndex = descending ? lowerIndexDescending(gridLats, lat) : lowerIndex(gridLats, lat);
+            final double b;
+            if (yIndex < 0) {
+                remapping.y0[i] = 0;
+                remapping.y1[i] = 0;
+                b = 0.0;
+            } else if (yIndex == ny - 1) {
+                remapping.y0[i] = yIndex;
+                remapping.y1[i] = yIndex;
+                b = 0.0;
+            } else {
+                remapping.y0[i] = yIndex;
+                remapping.y1[i] = yIndex + 1;
+                b = (lat - gridLats[yIndex]) / (gridLats[yIndex + 1] - gridLats[yIndex]);
+            }
+
+            final int offset = 4 * i;
+            if (distanceWeighted) {
+                final double[] cornerLons = {gridLons[remapping.x0[i]], gridLons[remapping.x1[i]], gridLons[remapping.x0[i]], gridLons[remapping.x1[i]]};
+                final double[] cornerLats = {gridLats[remapping.y0[i]], gridLats[remapping.y0[i]], gridLats[remapping.y1[i]], gridLats[remapping.y1[i]]};
+                setDistanceWeights(remapping.weights, offset, lon, lat, cornerLons, cornerLats);
+            } else {
+                remapping.weights[offset] = (1.0 - a) * (1.0 - b);
+                remapping.weights[offset + 1] = a * (1.0 - b);
+                remapping.weights[offset + 2] = (1.0 - a) * b;
+                remapping.weights[offset + 3] = a * b;
+            }
+        }
+
+        return remapping;
+    }
+
+    int getPointCount() {
+        return x0.length;
+    }
+
+    boolean isValid(int point) {
+        return y0[point] >= 0;
+    }
+
+    int getYMin(int point) {
+        return Math.min(y0[point], y1[point]);
+    }
+
+    int getYMax(int point) {
+        return Math.max(y0[point], y1[point]);
+    }
+
+    /**
+     * Interpolates one target location from a block of full width grid rows. NaN values in the block are invalid,
+     * the weights of the valid corners are renormalised.
+     *
+     * @param block       the grid values, rows yMin to yMin + rows - 1
+     * @param blockOffset offset of the first value in the block (e.g. for levels)
+     * @param yMin        the first grid row in the block
+     * @param point       the target location index
+     * @return the interpolated value, NaN when the location or all corners are invalid
+     */
+    double apply(float[] block, int blockOffset, int yMin, int point) {
+        if (y0[point] < 0) {
+            return Double.NaN;
+        }
+
+        final int row0 = blockOffset + (y0[point] - yMin) * gridWidth;
+        final int row1 = blockOffset + (y1[point] - yMin) * gridWidth;
+        final int offset = 4 * point;
+
+        double sum = 0.0;
+        double weightSum = 0.0;
+        final float c00 = block[row0 + x0[point]];
+        if (!Float.isNaN(c00)) {
+            sum += weights[offset] * c00;
+            weightSum += weights[offset];
+        }
+        final float c10 = block[row0 + x1[point]];
+        if (!Float.isNaN(c10)) {
+            sum += weights[offset + 1] * c10;
+            weightSum += weights[offset + 1];
+        }
+        final float c01 = block[row1 + x0[point]];
+        if (!Float.isNaN(c01)) {
+            sum += weights[offset + 2] * c01;
+            weightSum += weights[offset + 2];
+        }
+        final float c11 = block[row1 + x1[point]];
+        if (!Float.isNaN(c11)) {
+            sum += weights[offset + 3] * c11;
+            weightSum += weights[offset + 3];
+        }
+
+        if (weightSum <= 0.0) {
+            return Double.NaN;
+        }
+        return sum / weightSum;
+    }
+
+    // package access for testing only
+    static int lowerIndex(double[] ascending, double value) {
+        if (value < ascending[0]) {
+            return -1;
+        }
+        int low = 0;
+        int high = ascending.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (ascending[mid] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    // package access for testing only
+    static int lowerIndexDescending(double[] descending, double value) {
+        if (value > descending[0]) {
+            return -1;
+        }
+        int low = 0;
+        int high = descending.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (descending[mid] >= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static void setDistanceWeights(double[] weights, int offset, double lon, double lat, double[] cornerLons, double[] cornerLats) {
+        double weightSum = 0.0;
+        for (int k = 0; k < 4; k++) {
+            final double distance = greatCircleDistance(lon, lat, cornerLons[k], cornerLats[k]);
+            if (distance < MIN_DISTANCE) {
+                for (int j = 0; j < 4; j++) {
+                    weights[offset + j] = j == k ? 1.0 : 0.0;
+                }
+                return;
+            }
+            weights[offset + k] = 1.0 / distance;
+            weightSum += weights[offset + k];
+        }
+        for (int k = 0; k < 4; k++) {
+            weights[offset + k] /= weightSum;
+        }
+    }
+
+    // angular distance in radians
+    private static double greatCircleDistance(double lon1, double lat1, double lon2, double lat2) {
+        final double phi1 = Math.toRadians(lat1);
+        final double phi2 = Math.toRadians(lat2);
+        final double sinDeltaPhi = Math.sin(0.5 * (phi2 - phi1));
+        final double sinDeltaLambda = Math.sin(0.5 * Math.toRadians(lon2 - lon1));
+        final double h = sinDeltaPhi * sinDeltaPhi + Math.cos(phi1) * Math.cos(phi2) * sinDeltaLambda * sinDeltaLambda;
+        return 2.0 * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+}
@@ -0,0 +1,41 @@
+package com.bc.fiduceo.post.plugin.nwp;
+
+import ucar.nc2.NetcdfFile;
+import ucar.nc2.Variable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The remappings of one set of target locations, one per distinct NWP grid (the archive collections use
+ * different grids, e.g. surface and model level data).
+ */
+class RemappingCache {
+
+    private final float[] lons;
+    private final float[] lats;
+    private final boolean distanceWeighted;
+    private final Map<String, Remapping> remappings;
+
+    RemappingCache(float[] lons, float[] lats, boolean distanceWeighted) {
+        this.lons = lons;
+        this.lats = lats;
+        this.distanceWeighted = distanceWeighted;
+        remappings = new HashMap<>();
+    }
+
+    Remapping get(NetcdfFile netcdfFile, Variable variable) throws IOException {
+        final double[] gridLons = NwpCollection.readGridLongitudes(netcdfFile, variable);
+        final double[] gridLats = NwpCollection.readGridLatitudes(netcdfFile, variable);
+        final String key = gridLons.length + ":" + gridLons[0] + ":" + gridLons[gridLons.length - 1] + ":" +
+                gridLats.length + ":" + gridLats[0] + ":" + gridLats[gridLats.length - 1];
+
+        Remapping remapping = remappings.get(key);
+        if (remapping == null) {
+            remapping = Remapping.create(gridLons, gridLats, lons, lats, distanceWeighted);
+            remappings.put(key, remapping);
+        }
+        return remapping;
+    }
+}
@@ -5,6 +5,7 @@ class StrategyFactory {
 
     private static Strategy timeSeriesStrategy;
     private static Strategy sensorExtractsStrategy;
+    private static Strategy nativeTimeSeriesStrategy;
 
     static Strategy getTimeSeries() {
         if (timeSeriesStrategy == null) {
@@ -21,4 +22,12 @@ class StrategyFactory {
 
         return sensorExtractsStrategy;
     }
+
+    static Strategy getNativeTimeSeries() {
+        if (nativeTimeSeriesStrategy == null) {
+            nativeTimeSeriesStrategy = new NativeTimeSeriesStrategy();
+        }
+
+        return nativeTimeSeriesStrategy;
+    }
 }
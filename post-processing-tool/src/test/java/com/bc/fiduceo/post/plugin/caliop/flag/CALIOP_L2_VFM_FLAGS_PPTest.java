@@ -0,0 +1,33 @@
+package com.bc.fiduceo.post.plugin.caliop.flag;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CALIOP_L2_VFM_FLAGS_PPTest {
+
+    @Test
+    public void testGetRequiredRows() {
+        assertArrayEquals(new int[]{3, 4, 5}, CALIOP_L2_VFM_FLAGS_PP.getRequiredRows(new int[]{3}, 3));
+        assertArrayEquals(new int[]{3, 4, 5, 6, 20, 21, 22}, CALIOP_L2_VFM_FLAGS_PP.getRequiredRows(new int[]{20, 4, 3}, 3));
+        assertArrayEquals(new int[]{7}, CALIOP_L2_VFM_FLAGS_PP.getRequiredRows(new int[]{7, 7}, 1));
+    }
+
+    @Test
+    public void testGetRuns() {
+        final List<int[]> runs = CALIOP_L2_VFM_FLAGS_PP.getRuns(new int[]{3, 4, 5, 6, 20, 21, 22, 30});
+
+        assertEquals(3, runs.size());
+        assertArrayEquals(new int[]{0, 4}, runs.get(0));
+        assertArrayEquals(new int[]{4, 3}, runs.get(1));
+        assertArrayEquals(new int[]{7, 1}, runs.get(2));
+    }
+
+    @Test
+    public void testGetRuns_empty() {
+        assertEquals(0, CALIOP_L2_VFM_FLAGS_PP.getRuns(new int[0]).size());
+    }
+}
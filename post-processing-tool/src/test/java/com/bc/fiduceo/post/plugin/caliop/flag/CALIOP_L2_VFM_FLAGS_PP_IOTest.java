@@ -143,18 +143,15 @@ public class CALIOP_L2_VFM_FLAGS_PP_IOTest {
         verify(reader, times(1)).findVariable("caliop_vfm\\.y");
         verifyNoMoreInteractions(yVar, reader);
 
+        // one slab per granule
         assertEquals(1, writer.variables.size());
-        assertEquals(6, writer.origins.size());
+        assertEquals(2, writer.origins.size());
         assertArrayEquals(new int[]{0, 0, 0, 0}, writer.origins.get(0));
-        assertArrayEquals(new int[]{0, 1, 0, 0}, writer.origins.get(1));
-        assertArrayEquals(new int[]{0, 2, 0, 0}, writer.origins.get(2));
-        assertArrayEquals(new int[]{1, 0, 0, 0}, writer.origins.get(3));
-        assertArrayEquals(new int[]{1, 1, 0, 0}, writer.origins.get(4));
-        assertArrayEquals(new int[]{1, 2, 0, 0}, writer.origins.get(5));
-        assertEquals(6, writer.arrays.size());
+        assertArrayEquals(new int[]{1, 0, 0, 0}, writer.origins.get(1));
+        assertEquals(2, writer.arrays.size());
         ArrayList<Array> arrays = writer.arrays;
         for (Array array : arrays) {
-            assertEquals(545, array.getSize());
+            assertArrayEquals(new int[]{1, 3, 1, 545}, array.getShape());
         }
     }
 
@@ -4,6 +4,8 @@ import com.bc.fiduceo.FiduceoConstants;
 import com.bc.fiduceo.util.NetCDFUtils;
 import org.junit.Before;
 import org.junit.Test;
+import ucar.ma2.Array;
+import ucar.ma2.DataType;
 import ucar.nc2.Dimension;
 import ucar.nc2.NetcdfFile;
 import ucar.nc2.NetcdfFileWriter;
@@ -74,4 +76,75 @@ public class MatchupFieldsTest {
         verify(ncFile, times(1)).findDimension(FiduceoConstants.MATCHUP_COUNT);
         verifyNoMoreInteractions(writer, ncFile);
     }
+
+    @Test
+    public void testGetTimeSortedIndices() {
+        final int fill = VariableUtils.TIME_FILL;
+        final int[] timeStamps = {7200, 10800, 3600, 7200, fill, 3600, 7200};
+
+        final int[] sortedIndices = MatchupFields.getTimeSortedIndices(timeStamps);
+        assertArrayEquals(new int[]{2, 5, 0, 3, 6, 1}, sortedIndices);
+    }
+
+    @Test
+    public void testGetTimeSortedIndices_allFill() {
+        final int fill = VariableUtils.TIME_FILL;
+
+        final int[] sortedIndices = MatchupFields.getTimeSortedIndices(new int[]{fill, fill});
+        assertEquals(0, sortedIndices.length);
+    }
+
+    @Test
+    public void testGetBoundingBox() {
+        final BilinearInterpolator[] interpolators = {
+                new BilinearInterpolator(0.5, 0.5, 100, 200),
+                null,
+                new BilinearInterpolator(0.5, 0.5, 98, 207)};
+        // two time steps per matchup
+        final int[] sortedIndices = {0, 3, 4, 1};
+
+        int[] boundingBox = MatchupFields.getBoundingBox(interpolators, sortedIndices, 0, 4, 2);
+        assertArrayEquals(new int[]{98, 200, 101, 208}, boundingBox);
+
+        boundingBox = MatchupFields.getBoundingBox(interpolators, sortedIndices, 0, 1, 2);
+        assertArrayEquals(new int[]{100, 200, 101, 201}, boundingBox);
+
+        assertNull(MatchupFields.getBoundingBox(interpolators, sortedIndices, 1, 2, 2));
+    }
+
+    @Test
+    public void testGetBoundingBox_antiMeridian() {
+        final BilinearInterpolator[] interpolators = {new BilinearInterpolator(0.5, 0.5, 1439, 300)};
+
+        final int[] boundingBox = MatchupFields.getBoundingBox(interpolators, new int[]{0}, 0, 1, 1);
+        assertArrayEquals(new int[]{0, 300, 1439, 301}, boundingBox);
+    }
+
+    @Test
+    public void testInterpolate() {
+        // block of 3 x 2 pixels at x = 10, y = 20
+        final Array block = Array.factory(DataType.FLOAT, new int[]{1, 2, 3}, new float[]{
+                1.f, 2.f, 3.f,
+                4.f, 5.f, 6.f});
+        final int[] boundingBox = {10, 20, 12, 21};
+
+        assertEquals(3.0f, MatchupFields.interpolate(block, boundingBox, new BilinearInterpolator(0.5, 0.5, 10, 20)), 1e-6f);
+        assertEquals(4.0f, MatchupFields.interpolate(block, boundingBox, new BilinearInterpolator(0.5, 0.5, 11, 20)), 1e-6f);
+        assertEquals(2.0f, MatchupFields.interpolate(block, boundingBox, new BilinearInterpolator(1.0, 0.0, 10, 20)), 1e-6f);
+        assertEquals(4.0f, MatchupFields.interpolate(block, boundingBox, new BilinearInterpolator(0.0, 1.0, 10, 20)), 1e-6f);
+    }
+
+    @Test
+    public void testInterpolate_antiMeridian() {
+        // block covers the full width, the interpolation wraps from the last to the first column
+        final float[] data = new float[2 * 1440];
+        data[1439] = 1.f;
+        data[0] = 3.f;
+        data[1440 + 1439] = 5.f;
+        data[1440] = 7.f;
+        final Array block = Array.factory(DataType.FLOAT, new int[]{1, 2, 1440}, data);
+        final int[] boundingBox = {0, 300, 1439, 301};
+
+        assertEquals(4.0f, MatchupFields.interpolate(block, boundingBox, new BilinearInterpolator(0.5, 0.5, 1439, 300)), 1e-6f);
+    }
 }
@@ -32,10 +32,10 @@ import static org.mockito.Mockito.*;
 
 import com.bc.fiduceo.post.PostProcessing;
 import com.bc.fiduceo.post.util.DistanceToLandMap;
-import com.bc.fiduceo.util.NetCDFUtils;
 import org.junit.*;
 import ucar.ma2.Array;
 import ucar.ma2.ArrayByte;
+import ucar.ma2.ArrayChar;
 import ucar.ma2.DataType;
 import ucar.nc2.Attribute;
 import ucar.nc2.NetcdfFile;
@@ -43,6 +43,9 @@ import ucar.nc2.NetcdfFileWriter;
 import ucar.nc2.Variable;
 
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 public class HirsL1CloudyFlagsTest {
 
@@ -175,19 +178,80 @@ public class HirsL1CloudyFlagsTest {
         final int maxNumInvalidPixels = 1;
         final int F = 2; // _FillValue
 
-        mf = HirsL1CloudyFlags.getMaximumAndFlags(NetCDFUtils.create(new float[]{4, 5, 8, 6, 1, 6, 7, 5, 3}), F, maxNumInvalidPixels);
+        mf = HirsL1CloudyFlags.getMaximumAndFlags(new float[]{4, 5, 8, 6, 1, 6, 7, 5, 3}, 0, 9, F, maxNumInvalidPixels);
         assertThat(mf.maximum, is(equalTo(8.0)));
         assertThat(mf.flags, is(equalTo((byte) 1))); // 1 means all pixel are usable
 
-        mf = HirsL1CloudyFlags.getMaximumAndFlags(NetCDFUtils.create(new float[]{4, 5, F, 6, 1, 6, 7, 5, 3}), F, maxNumInvalidPixels);
+        mf = HirsL1CloudyFlags.getMaximumAndFlags(new float[]{4, 5, F, 6, 1, 6, 7, 5, 3}, 0, 9, F, maxNumInvalidPixels);
         assertThat(mf.maximum, is(equalTo(7.0)));
         assertThat(mf.flags, is(equalTo((byte) 0))); // 1 means all pixel are usable
 
-        mf = HirsL1CloudyFlags.getMaximumAndFlags(NetCDFUtils.create(new float[]{4, 5, F, 6, 1, 6, F, 5, 3}), F, maxNumInvalidPixels);
+        mf = HirsL1CloudyFlags.getMaximumAndFlags(new float[]{4, 5, F, 6, 1, 6, F, 5, 3}, 0, 9, F, maxNumInvalidPixels);
         assertThat(mf.maximum, is(equalTo(6.0)));
         assertThat(mf.flags, is(equalTo((byte) 2))); // 2 means warning, because there are more invalids than maxNumInvalidPixels
     }
 
+    @Test
+    public void testGetMaximumAndFlags_primitive() {
+        HirsL1CloudyFlags.MaximumAndFlags mf;
+        final int maxNumInvalidPixels = 1;
+        final int F = 2; // _FillValue
+        final float[] data = {9, 9, 4, 5, 8, 6, 1, 6, 7, 5, 3, 4, 5, F, 6, 1, 6, F, 5, 3};
+
+        mf = HirsL1CloudyFlags.getMaximumAndFlags(data, 2, 9, F, maxNumInvalidPixels);
+        assertThat(mf.maximum, is(equalTo(8.0)));
+        assertThat(mf.flags, is(equalTo((byte) 1)));
+
+        mf = HirsL1CloudyFlags.getMaximumAndFlags(data, 11, 9, F, maxNumInvalidPixels);
+        assertThat(mf.maximum, is(equalTo(6.0)));
+        assertThat(mf.flags, is(equalTo((byte) 2)));
+
+        mf = HirsL1CloudyFlags.getMaximumAndFlags(data, 11, 5, F, maxNumInvalidPixels);
+        assertThat(mf.maximum, is(equalTo(6.0)));
+        assertThat(mf.flags, is(equalTo((byte) 0)));
+    }
+
+    @Test
+    public void testComputeFlags() {
+        final float F = -1;
+        final float[] data11_1 = {300, 300, 270, F, 280, 290};
+        final float[] data6_5 = {250, 290, 260, 260, F, 280};
+        final byte[] flags = new byte[6];
+
+        HirsL1CloudyFlags.computeFlags(data11_1, data6_5, flags, 2, 4, 285.0, SPACE_CONTRAST_TEST_ALL_PIXELS_USABLE, F, F);
+
+        assertEquals(0, flags[0]);
+        assertEquals(0, flags[1]);
+        assertEquals(SPACE_CONTRAST_TEST_ALL_PIXELS_USABLE | SPACE_CONTRAST_TEST_CLOUDY | INTERCHANNEL_TEST_CLOUDY, flags[2]);
+        assertEquals(SPACE_CONTRAST_TEST_ALL_PIXELS_USABLE, flags[3]);
+        assertEquals(SPACE_CONTRAST_TEST_ALL_PIXELS_USABLE | SPACE_CONTRAST_TEST_CLOUDY, flags[4]);
+        assertEquals(SPACE_CONTRAST_TEST_ALL_PIXELS_USABLE | INTERCHANNEL_TEST_CLOUDY, flags[5]);
+    }
+
+    @Test
+    public void testGroupBySourceFile() {
+        final ArrayChar fileNames = new ArrayChar.D2(5, 8);
+        fileNames.setString(0, "orbit_b");
+        fileNames.setString(1, "orbit_a");
+        fileNames.setString(2, "orbit_b");
+        fileNames.setString(3, "orbit_a");
+        fileNames.setString(4, "orbit_a");
+        final ArrayChar versions = new ArrayChar.D2(5, 4);
+        versions.setString(0, "1.0");
+        versions.setString(1, "1.0");
+        versions.setString(2, "1.0");
+        versions.setString(3, "1.0");
+        versions.setString(4, "2.0");
+
+        final Map<String, List<Integer>> groups = HirsL1CloudyFlags.groupBySourceFile(Arrays.asList(0, 1, 2, 3, 4), fileNames, versions);
+        assertEquals(3, groups.size());
+
+        final Iterator<List<Integer>> iterator = groups.values().iterator();
+        assertEquals(Arrays.asList(1, 3), iterator.next());
+        assertEquals(Arrays.asList(4), iterator.next());
+        assertEquals(Arrays.asList(0, 2), iterator.next());
+    }
+
     @Test
     public void testGetCloudy_SpaceContrastTest() throws Exception {
         final float threshold = 24.0f;
@@ -48,6 +48,24 @@ public class ConfigurationTest {
         assertTrue(config.isDeleteOnExit());
     }
 
+    @Test
+    public void testSetIsNativeEngine() {
+        config.setNativeEngine(true);
+        assertTrue(config.isNativeEngine());
+
+        config.setNativeEngine(false);
+        assertFalse(config.isNativeEngine());
+    }
+
+    @Test
+    public void testSetIsDistanceWeighted() {
+        config.setDistanceWeighted(true);
+        assertTrue(config.isDistanceWeighted());
+
+        config.setDistanceWeighted(false);
+        assertFalse(config.isDistanceWeighted());
+    }
+
     @Test
     public void testSetGetCDOHome() {
         final String cdoHome = "/here/is/it";
@@ -101,6 +119,8 @@ public class ConfigurationTest {
     @Test
     public void testDefaultValues() {
         assertTrue(config.isDeleteOnExit());
+        assertFalse(config.isNativeEngine());
+        assertFalse(config.isDistanceWeighted());
         assertNull(config.getCDOHome());
         assertNull(config.getNWPAuxDir());
 
@@ -78,6 +78,17 @@ public class Configuration_IO_Test {
         }
     }
 
+    @Test
+    public void testVerify_nativeEngine_noCdo() {
+        final File nwpDir = createDirectory(testDir, "nwp");
+
+        final Configuration configuration = new Configuration();
+        configuration.setNativeEngine(true);
+        configuration.setNWPAuxDir(nwpDir.getAbsolutePath());
+
+        assertTrue(configuration.verify());
+    }
+
     @Test
     public void testVerify_missingNwp() {
         final File cdoDir = createDirectory(testDir, "cdo_exec");
@@ -0,0 +1,50 @@
+package com.bc.fiduceo.post.plugin.nwp;
+
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+
+public class NwpCollectionTest {
+
+    @Test
+    public void testGetGribParameterCode() {
+        assertEquals(246, NwpCollection.getGribParameterCode(Constants.CLWC_NAME));
+        assertEquals(246, NwpCollection.getGribParameterCode("CLWC"));
+        assertEquals(34, NwpCollection.getGribParameterCode("SSTK"));
+        assertEquals(152, NwpCollection.getGribParameterCode("lnsp"));
+    }
+
+    @Test
+    public void testGetGribParameterCode_unknown() {
+        assertEquals(-1, NwpCollection.getGribParameterCode("varXY"));
+        assertEquals(-1, NwpCollection.getGribParameterCode("HEIGHT"));
+    }
+
+    @Test
+    public void testFindStep() {
+        final NwpCollection collection = createCollection(100, 200, 300);
+
+        assertEquals(0, collection.findStep(100));
+        assertEquals(2, collection.findStep(300));
+        assertEquals(-1, collection.findStep(150));
+    }
+
+    @Test
+    public void testNearestStep_sameAsNwpUtils() {
+        final NwpCollection collection = createCollection(100, 200, 300, 400);
+
+        for (int time = 0; time < 500; time += 10) {
+            assertEquals(NwpUtils.nearestTimeStep(collection.getTimesArray(), time), collection.nearestStep(time));
+        }
+    }
+
+    private static NwpCollection createCollection(int... times) {
+        final File[] files = new File[times.length];
+        for (int i = 0; i < times.length; i++) {
+            files[i] = new File("step_" + i + ".nc");
+        }
+        return new NwpCollection(files, new int[times.length], times);
+    }
+}
@@ -32,6 +32,7 @@ import java.io.IOException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -90,6 +91,78 @@ public class NwpPostProcessingPluginTest {
         }
     }
 
+    @Test
+    public void testCreateConfiguration_nativeEngine_withoutCdoHome() throws JDOMException, IOException {
+        final String XML = "<nwp>" +
+                "    <engine>native</engine>" +
+                "    <remapping>distance-weighted</remapping>" +
+                "    <nwp-aux-dir>we need this, its mandatory</nwp-aux-dir>" +
+                "</nwp>";
+        final Element rootElement = TestUtil.createDomElement(XML);
+
+        final Configuration configuration = NwpPostProcessingPlugin.createConfiguration(rootElement);
+        assertTrue(configuration.isNativeEngine());
+        assertTrue(configuration.isDistanceWeighted());
+        assertNull(configuration.getCDOHome());
+    }
+
+    @Test
+    public void testCreateConfiguration_nativeEngine_sensorExtraction() throws JDOMException, IOException {
+        final String XML = "<nwp>" +
+                "    <engine>native</engine>" +
+                "    <sensor-extraction>" +
+                "        <x-dimension>17</x-dimension>" +
+                "        <y-dimension>18</y-dimension>" +
+                "        <z-dimension>19</z-dimension>" +
+                "        <time-variable-name>the_time</time-variable-name>" +
+                "        <longitude-variable-name>longi-tude</longitude-variable-name>" +
+                "        <latitude-variable-name>lati-tude</latitude-variable-name>" +
+                "    </sensor-extraction>" +
+                "    <nwp-aux-dir>we need this, its mandatory</nwp-aux-dir>" +
+                "</nwp>";
+        final Element rootElement = TestUtil.createDomElement(XML);
+
+        try {
+            NwpPostProcessingPlugin.createConfiguration(rootElement);
+            fail("RuntimeException expected");
+        } catch (RuntimeException expected) {
+            assertEquals("The native nwp engine supports the time series extraction only - use <engine>cdo</engine> for the sensor extraction",
+                    expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testCreateConfiguration_cdoEngine_bilinear() throws JDOMException, IOException {
+        final String XML = "<nwp>" +
+                "    <engine>cdo</engine>" +
+                "    <remapping>bilinear</remapping>" +
+                "    <cdo-home>/in/this/directory</cdo-home>" +
+                "    <nwp-aux-dir>we need this, its mandatory</nwp-aux-dir>" +
+                "</nwp>";
+        final Element rootElement = TestUtil.createDomElement(XML);
+
+        final Configuration configuration = NwpPostProcessingPlugin.createConfiguration(rootElement);
+        assertFalse(configuration.isNativeEngine());
+        assertFalse(configuration.isDistanceWeighted());
+        assertEquals("/in/this/directory", configuration.getCDOHome());
+    }
+
+    @Test
+    public void testCreateConfiguration_invalidEngine() throws JDOMException, IOException {
+        final String XML = "<nwp>" +
+                "    <engine>python</engine>" +
+                "    <cdo-home>/in/this/directory</cdo-home>" +
+                "    <nwp-aux-dir>we need this, its mandatory</nwp-aux-dir>" +
+                "</nwp>";
+        final Element rootElement = TestUtil.createDomElement(XML);
+
+        try {
+            NwpPostProcessingPlugin.createConfiguration(rootElement);
+            fail("RuntimeException expected");
+        } catch (RuntimeException expected) {
+        }
+    }
+
     @Test
     public void testCreateConfiguration_TimeSeriesExtract_allRelevantVariables() throws JDOMException, IOException {
         final String XML = "<nwp>" +
@@ -272,7 +345,6 @@ public class NwpPostProcessingPluginTest {
                 "        <an-t2-name>temp_at_height</an-t2-name>" +
                 "        <an-d2-name>dewy</an-d2-name>" +
                 "        <an-al-name>albe_do</an-al-name>" +
-                "        <an-lnsp-name>log_surf_pressure</an-lnsp-name>" +
                 "        <an-skt-name>skin_temp</an-skt-name>" +
                 "        <an-t-name>temp_profile</an-t-name>" +
                 "        <an-q-name>vapour_profile</an-q-name>" +
@@ -0,0 +1,102 @@
+package com.bc.fiduceo.post.plugin.nwp;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RemappingTest {
+
+    // global grid of 4 x 3 points, 90 degrees in longitude, latitudes descending
+    private static final double[] GRID_LONS = {0.0, 90.0, 180.0, 270.0};
+    private static final double[] GRID_LATS = {45.0, 0.0, -45.0};
+    private static final float[] FIELD = {
+            1.f, 2.f, 3.f, 4.f,
+            5.f, 6.f, 7.f, 8.f,
+            9.f, 10.f, 11.f, 12.f
+    };
+
+    @Test
+    public void testBilinear() {
+        final Remapping remapping = Remapping.create(GRID_LONS, GRID_LATS, new float[]{45.f, 90.f, -45.f}, new float[]{22.5f, 0.f, -22.5f}, false);
+        assertEquals(3, remapping.getPointCount());
+
+        assertEquals(3.5, remapping.apply(FIELD, 0, 0, 0), 1e-8);
+        assertEquals(6.0, remapping.apply(FIELD, 0, 0, 1), 1e-8);
+        // -45 degrees is 315 on the grid, interpolated between the last and the first column
+        assertEquals(8.5, remapping.apply(FIELD, 0, 0, 2), 1e-8);
+    }
+
+    @Test
+    public void testBilinear_blockOffset() {
+        final float[] block = {5.f, 6.f, 7.f, 8.f, 9.f, 10.f, 11.f, 12.f};
+        final Remapping remapping = Remapping.create(GRID_LONS, GRID_LATS, new float[]{135.f}, new float[]{-22.5f}, false);
+
+        assertEquals(1, remapping.getYMin(0));
+        assertEquals(2, remapping.getYMax(0));
+        assertEquals(8.5, remapping.apply(block, 0, 1, 0), 1e-8);
+    }
+
+    @Test
+    public void testBilinear_invalidCornersAreSkipped() {
+        final float[] field = FIELD.clone();
+        field[0] = Float.NaN;
+        final Remapping remapping = Remapping.create(GRID_LONS, GRID_LATS, new float[]{45.f}, new float[]{22.5f}, false);
+
+        assertEquals((2.0 + 5.0 + 6.0) / 3.0, remapping.apply(field, 0, 0, 0), 1e-8);
+
+        field[1] = Float.NaN;
+        field[4] = Float.NaN;
+        field[5] = Float.NaN;
+        assertTrue(Double.isNaN(remapping.apply(field, 0, 0, 0)));
+    }
+
+    @Test
+    public void testInvalidLocation() {
+        final Remapping remapping = Remapping.create(GRID_LONS, GRID_LATS, new float[]{10.f, -999.f}, new float[]{-120.f, 10.f}, false);
+
+        assertFalse(remapping.isValid(0));
+        assertFalse(remapping.isValid(1));
+        assertTrue(Double.isNaN(remapping.apply(FIELD, 0, 0, 0)));
+    }
+
+    @Test
+    public void testOutsideLatitudeRange_isClamped() {
+        final Remapping remapping = Remapping.create(GRID_LONS, GRID_LATS, new float[]{0.f}, new float[]{80.f}, false);
+
+        assertTrue(remapping.isValid(0));
+        assertEquals(1.0, remapping.apply(FIELD, 0, 0, 0), 1e-8);
+    }
+
+    @Test
+    public void testDistanceWeighted() {
+        final Remapping remapping = Remapping.create(GRID_LONS, GRID_LATS, new float[]{45.f, 90.f}, new float[]{22.5f, 0.f}, true);
+
+        // cell center: the upper corners are closer on the sphere than the lower ones
+        assertEquals(3.362989127675078, remapping.apply(FIELD, 0, 0, 0), 1e-8);
+        // on a grid point
+        assertEquals(6.0, remapping.apply(FIELD, 0, 0, 1), 1e-8);
+    }
+
+    @Test
+    public void testLowerIndex() {
+        final double[] values = {0.0, 1.0, 2.0, 3.0};
+
+        assertEquals(-1, Remapping.lowerIndex(values, -0.5));
+        assertEquals(0, Remapping.lowerIndex(values, 0.0));
+        assertEquals(1, Remapping.lowerIndex(values, 1.5));
+        assertEquals(3, Remapping.lowerIndex(values, 3.0));
+        assertEquals(3, Remapping.lowerIndex(values, 7.0));
+    }
+
+    @Test
+    public void testLowerIndexDescending() {
+        final double[] values = {3.0, 2.0, 1.0, 0.0};
+
+        assertEquals(-1, Remapping.lowerIndexDescending(values, 3.5));
+        assertEquals(0, Remapping.lowerIndexDescending(values, 3.0));
+        assertEquals(1, Remapping.lowerIndexDescending(values, 1.5));
+        assertEquals(3, Remapping.lowerIndexDescending(values, -1.0));
+    }
+}
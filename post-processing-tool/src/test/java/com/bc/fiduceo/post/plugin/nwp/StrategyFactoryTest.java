@@ -26,4 +26,13 @@ public class StrategyFactoryTest {
         final Strategy strategy_2 = StrategyFactory.getSensorExtracts();
         assertSame(strategy, strategy_2);
     }
+
+    @Test
+    public void testGetNativeTimeSeriesStrategy() {
+        final Strategy strategy = StrategyFactory.getNativeTimeSeries();
+        assertTrue(strategy instanceof NativeTimeSeriesStrategy);
+
+        final Strategy strategy_2 = StrategyFactory.getNativeTimeSeries();
+        assertSame(strategy, strategy_2);
+    }
 }